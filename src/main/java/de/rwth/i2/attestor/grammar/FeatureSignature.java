@@ -0,0 +1,135 @@
+package de.rwth.i2.attestor.grammar;
+
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.types.Type;
+import de.rwth.i2.attestor.types.Types;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A summary of the features of a heap configuration that are preserved by embeddings.
+ * That is, whenever a pattern heap configuration can be embedded in a target heap configuration,
+ * the signature of the pattern is covered by the signature of the target, see {@link #isCoveredBy(FeatureSignature)}.
+ * <p>
+ * Signatures of right-hand sides of rules are precomputed by {@link Grammar}. Comparing them against the
+ * signature of a heap configuration that should be abstracted allows to discard rules that are not applicable
+ * without searching for an embedding.
+ * <p>
+ * A signature consists of
+ * <ul>
+ * <li>the number of nodes and nonterminal edges,</li>
+ * <li>the number of selector edges and nonterminal edges for each label,</li>
+ * <li>the number of nodes of each constant type,</li>
+ * <li>the node types occurring in the heap configuration, in particular the types of external nodes, and</li>
+ * <li>the maximal number of outgoing selector edges and attached tentacles of a single node.</li>
+ * </ul>
+ * Labels are compared by their names only, which is coarser than the comparison performed by embedding checkers.
+ */
+public final class FeatureSignature {
+
+    private final int nodes;
+    private final int nonterminalEdges;
+    private final int maxSelectorDegree;
+    private final int maxTentacleDegree;
+    private final Map<String, Integer> selectorCounts = new HashMap<>();
+    private final Map<String, Integer> nonterminalCounts = new HashMap<>();
+    private final Map<Type, Integer> nodeTypeCounts = new HashMap<>();
+
+    private FeatureSignature(HeapConfiguration heapConfiguration) {
+
+        nodes = heapConfiguration.countNodes();
+        nonterminalEdges = heapConfiguration.countNonterminalEdges();
+
+        int maxSelectors = 0;
+        TIntArrayList nodeList = heapConfiguration.nodes();
+        for (int i = 0; i < nodeList.size(); i++) {
+            int node = nodeList.get(i);
+            nodeTypeCounts.merge(heapConfiguration.nodeTypeOf(node), 1, Integer::sum);
+            for (SelectorLabel sel : heapConfiguration.selectorLabelsOf(node)) {
+                selectorCounts.merge(sel.getLabel(), 1, Integer::sum);
+            }
+            maxSelectors = Math.max(maxSelectors, heapConfiguration.selectorLabelsOf(node).size());
+        }
+        maxSelectorDegree = maxSelectors;
+
+        TIntIntMap tentacles = new TIntIntHashMap();
+        TIntIterator iterator = heapConfiguration.nonterminalEdges().iterator();
+        while (iterator.hasNext()) {
+            int edge = iterator.next();
+            nonterminalCounts.merge(heapConfiguration.labelOf(edge).getLabel(), 1, Integer::sum);
+            TIntArrayList attachedNodes = heapConfiguration.attachedNodesOf(edge);
+            for (int i = 0; i < attachedNodes.size(); i++) {
+                tentacles.adjustOrPutValue(attachedNodes.get(i), 1, 1);
+            }
+        }
+
+        int maxTentacles = 0;
+        for (int count : tentacles.values()) {
+            maxTentacles = Math.max(maxTentacles, count);
+        }
+        maxTentacleDegree = maxTentacles;
+    }
+
+    /**
+     * @param heapConfiguration The heap configuration whose signature should be computed.
+     * @return The signature of the given heap configuration.
+     */
+    public static FeatureSignature of(HeapConfiguration heapConfiguration) {
+
+        return new FeatureSignature(heapConfiguration);
+    }
+
+    /**
+     * Checks a necessary condition for the existence of an embedding.
+     *
+     * @param target The signature of a target heap configuration.
+     * @return False if there exists no embedding of a heap configuration with this signature in a heap
+     * configuration with the given signature. True if such an embedding might exist.
+     */
+    public boolean isCoveredBy(FeatureSignature target) {
+
+        if (nodes > target.nodes
+                || nonterminalEdges > target.nonterminalEdges
+                || maxSelectorDegree > target.maxSelectorDegree
+                || maxTentacleDegree > target.maxTentacleDegree) {
+            return false;
+        }
+
+        if (!isCoveredBy(selectorCounts, target.selectorCounts)
+                || !isCoveredBy(nonterminalCounts, target.nonterminalCounts)) {
+            return false;
+        }
+
+        for (Map.Entry<Type, Integer> entry : nodeTypeCounts.entrySet()) {
+            Type type = entry.getKey();
+            if (Types.isConstantType(type)) {
+                // nodes of constant type are only matched by nodes of the same type
+                if (entry.getValue() > target.nodeTypeCounts.getOrDefault(type, 0)) {
+                    return false;
+                }
+            } else if (!target.nodeTypeCounts.containsKey(type)
+                    && !target.nodeTypeCounts.containsKey(Types.NULL)) {
+                // nodes of all other types may also be matched by the null node
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static <T> boolean isCoveredBy(Map<T, Integer> required, Map<T, Integer> available) {
+
+        for (Map.Entry<T, Integer> entry : required.entrySet()) {
+            if (entry.getValue() > available.getOrDefault(entry.getKey(), 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
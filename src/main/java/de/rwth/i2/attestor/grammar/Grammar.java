@@ -17,11 +17,28 @@ public class Grammar {
     final Map<Nonterminal, List<HeapConfiguration>> rules;
     final Map<Nonterminal, List<CollapsedHeapConfiguration>> collapsedRules;
 
+    /**
+     * The feature signature of every right-hand side, including collapsed ones.
+     * Right-hand sides are compared by identity.
+     */
+    private final Map<HeapConfiguration, FeatureSignature> signatures = new IdentityHashMap<>();
+
     Grammar(Map<Nonterminal, List<HeapConfiguration>> rules,
             Map<Nonterminal, List<CollapsedHeapConfiguration>> collapsedRules) {
 
         this.rules = rules;
         this.collapsedRules = collapsedRules;
+
+        for (List<HeapConfiguration> rhsList : rules.values()) {
+            for (HeapConfiguration rhs : rhsList) {
+                signatures.put(rhs, FeatureSignature.of(rhs));
+            }
+        }
+        for (List<CollapsedHeapConfiguration> rhsList : collapsedRules.values()) {
+            for (CollapsedHeapConfiguration rhs : rhsList) {
+                signatures.put(rhs.getCollapsed(), FeatureSignature.of(rhs.getCollapsed()));
+            }
+        }
     }
 
     public static GrammarBuilder builder() {
@@ -53,6 +70,18 @@ public class Grammar {
         return Collections.unmodifiableSet(rules.keySet());
     }
 
+    /**
+     * Gets the precomputed feature signature of a right-hand side of this grammar.
+     *
+     * @param rhs A right-hand side as returned by {@link #getRightHandSidesFor(Nonterminal)} or
+     *            a collapsed heap configuration as returned by {@link #getCollapsedRightHandSidesFor(Nonterminal)}.
+     * @return The signature of rhs or null if rhs is not a right-hand side of this grammar.
+     */
+    public FeatureSignature getSignatureOf(HeapConfiguration rhs) {
+
+        return signatures.get(rhs);
+    }
+
     public Set<CollapsedHeapConfiguration> getCollapsedRightHandSidesFor(Nonterminal nonterminal) {
 
         if (!collapsedRules.containsKey(nonterminal)) {
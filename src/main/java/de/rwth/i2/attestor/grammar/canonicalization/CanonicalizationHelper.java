@@ -39,5 +39,50 @@ public interface CanonicalizationHelper {
     HeapConfiguration tryReplaceMatching(HeapConfiguration toAbstract,
                                          CollapsedHeapConfiguration rhs, Nonterminal lhs);
 
+    /**
+     * Replaces several pairwise disjoint embeddings of rhs in toAbstract by nonterminal edges labeled with lhs
+     * at once. The result is the same as repeatedly applying
+     * {@link #tryReplaceMatching(HeapConfiguration, HeapConfiguration, Nonterminal)} to these embeddings,
+     * each of which remains an embedding after the others have been replaced.
+     * Helpers that do not support batched replacements replace a single embedding.
+     *
+     * @param toAbstract the target graph
+     * @param rhs        the pattern graph
+     * @param lhs        the label of the replacing nonterminal edges
+     * @return the abstracted graph if an embedding of rhs can be found, null otherwise.
+     */
+    default HeapConfiguration tryReplaceAllMatchings(HeapConfiguration toAbstract,
+                                                     HeapConfiguration rhs, Nonterminal lhs) {
+
+        return tryReplaceMatching(toAbstract, rhs, lhs);
+    }
+
+    /**
+     * Replaces several pairwise disjoint embeddings of the collapsed rhs in toAbstract by nonterminal edges
+     * labeled with lhs at once.
+     *
+     * @param toAbstract the target graph
+     * @param rhs        the pattern graph
+     * @param lhs        the label of the replacing nonterminal edges
+     * @return the abstracted graph if an embedding of rhs can be found, null otherwise.
+     * @see #tryReplaceAllMatchings(HeapConfiguration, HeapConfiguration, Nonterminal)
+     */
+    default HeapConfiguration tryReplaceAllMatchings(HeapConfiguration toAbstract,
+                                                     CollapsedHeapConfiguration rhs, Nonterminal lhs) {
+
+        return tryReplaceMatching(toAbstract, rhs, lhs);
+    }
+
+    /**
+     * Determines whether abstraction steps performed by this helper are local.
+     * That is, replacing an embedding of a rule graph by a nonterminal edge only affects the embedded elements,
+     * and there exists an embedding of a rule graph that does not contain the new nonterminal edge
+     * after the replacement only if this embedding already existed before the replacement.
+     *
+     * @return True if and only if abstraction steps are local.
+     */
+    default boolean hasLocalReplacements() {
 
-}
\ No newline at end of file
+        return false;
+    }
+}
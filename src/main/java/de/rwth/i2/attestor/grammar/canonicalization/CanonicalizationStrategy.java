@@ -17,4 +17,12 @@ public interface CanonicalizationStrategy {
      * @return An abstract heap configuration that covers the original one.
      */
     HeapConfiguration canonicalize(HeapConfiguration heapConfiguration);
+
+    /**
+     * @return true if and only if {@link #canonicalize(HeapConfiguration)} may be called by multiple
+     * threads without additional synchronization.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -37,4 +37,14 @@ public class EmbeddingCheckerProvider {
         return graph.getEmbeddingsOf(pattern, morphismOptions);
     }
 
+    /**
+     * @return True if and only if the embeddings computed by the provided EmbeddingCheckers only depend on
+     * the embedded elements and their incident edges, i.e. they are not subject to global conditions
+     * such as the distance of nodes to variables.
+     */
+    public boolean providesLocalEmbeddings() {
+
+        return !morphismOptions.isAdmissibleAbstraction();
+    }
+
 }
@@ -1,9 +1,14 @@
 package de.rwth.i2.attestor.grammar.canonicalization;
 
 import de.rwth.i2.attestor.grammar.CollapsedHeapConfiguration;
+import de.rwth.i2.attestor.grammar.FeatureSignature;
 import de.rwth.i2.attestor.grammar.Grammar;
 import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.iterator.TIntIterator;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
 
 public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy {
@@ -11,24 +16,87 @@ public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy
     private final Grammar grammar;
     private final CanonicalizationHelper canonicalizationHelper;
 
+    /**
+     * All rules of the grammar in the order in which they are applied during canonicalization.
+     */
+    private final List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Maps the label of each nonterminal to the positions of all rules in rules whose right-hand side
+     * contains a nonterminal edge with that label.
+     */
+    private final Map<String, BitSet> rulesByNonterminalLabel = new HashMap<>();
+
+    /**
+     * The number of embedding checks that have been performed.
+     */
+    private final LongAdder embeddingSearches = new LongAdder();
+
+    /**
+     * The number of embedding checks that have been skipped, because the feature signature of a rule
+     * is not covered by the feature signature of the heap configuration to abstract.
+     */
+    private final LongAdder prunedEmbeddingSearches = new LongAdder();
+
     public GeneralCanonicalizationStrategy(Grammar grammar,
                                            CanonicalizationHelper canonicalizationHelper) {
 
         this.grammar = grammar;
         this.canonicalizationHelper = canonicalizationHelper;
+
+        if (canonicalizationHelper.hasLocalReplacements()) {
+            initRuleIndex();
+        }
+    }
+
+    private void initRuleIndex() {
+
+        for (Nonterminal lhs : grammar.getAllLeftHandSides()) {
+            for (HeapConfiguration rhs : grammar.getRightHandSidesFor(lhs)) {
+                addRule(new Rule(lhs, rhs, null), rhs);
+            }
+            for (CollapsedHeapConfiguration rhs : grammar.getCollapsedRightHandSidesFor(lhs)) {
+                addRule(new Rule(lhs, null, rhs), rhs.getCollapsed());
+            }
+        }
+
+        for (int position = 0; position < rules.size(); position++) {
+            Rule rule = rules.get(position);
+            BitSet affectedRules = rulesByNonterminalLabel.get(rule.lhs.getLabel());
+            rule.replacesAllMatchings = affectedRules == null || affectedRules.nextSetBit(0) > position;
+        }
+    }
+
+    private void addRule(Rule rule, HeapConfiguration pattern) {
+
+        int position = rules.size();
+        rules.add(rule);
+
+        TIntIterator iterator = pattern.nonterminalEdges().iterator();
+        while (iterator.hasNext()) {
+            String label = pattern.labelOf(iterator.next()).getLabel();
+            rulesByNonterminalLabel.computeIfAbsent(label, l -> new BitSet()).set(position);
+        }
     }
 
     @Override
     public HeapConfiguration canonicalize(HeapConfiguration heapConfiguration) {
 
+        if (canonicalizationHelper.hasLocalReplacements()) {
+            return performIncrementalCanonicalization(heapConfiguration);
+        }
         return performCanonicalization(heapConfiguration);
     }
 
     private HeapConfiguration performCanonicalization(HeapConfiguration heapConfiguration) {
 
         heapConfiguration = canonicalizationHelper.prepareHeapForCanonicalization(heapConfiguration);
+        FeatureSignature heapSignature = FeatureSignature.of(heapConfiguration);
         for (Nonterminal lhs : grammar.getAllLeftHandSides()) {
             for (HeapConfiguration rhs : grammar.getRightHandSidesFor(lhs)) {
+                if (!mayEmbed(rhs, heapSignature)) {
+                    continue;
+                }
                 HeapConfiguration abstractedHeap =
                         canonicalizationHelper.tryReplaceMatching(heapConfiguration, rhs, lhs);
                 if (abstractedHeap != null) {
@@ -37,7 +105,10 @@ public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy
             }
 
             for(CollapsedHeapConfiguration rhs : grammar.getCollapsedRightHandSidesFor(lhs)) {
-                        HeapConfiguration abstractedHeap =
+                if (!mayEmbed(rhs.getCollapsed(), heapSignature)) {
+                    continue;
+                }
+                HeapConfiguration abstractedHeap =
                         canonicalizationHelper.tryReplaceMatching(heapConfiguration, rhs, lhs);
                 if (abstractedHeap != null) {
                     return performCanonicalization(abstractedHeap);
@@ -47,4 +118,140 @@ public class GeneralCanonicalizationStrategy implements CanonicalizationStrategy
         }
         return heapConfiguration;
     }
+
+    /**
+     * Computes the same result as {@link #performCanonicalization(HeapConfiguration)}, i.e. it repeatedly
+     * replaces an embedding of the first applicable rule until no rule is applicable anymore.
+     * Since replacements are local, see {@link CanonicalizationHelper#hasLocalReplacements()},
+     * a rule that is not applicable to a heap configuration only becomes applicable after a
+     * replacement if its right-hand side contains a nonterminal edge labeled with the nonterminal
+     * of the applied rule. All other rules that failed before are skipped without searching for an embedding.
+     * <p>
+     * If no rule up to the applied one contains the nonterminal of the applied rule, the next rule tried is
+     * the applied rule again. In this case, all of its embeddings that are still present after previous
+     * replacements are replaced at once.
+     *
+     * @param heapConfiguration The heap configuration that should be abstracted.
+     * @return The abstracted heap configuration.
+     */
+    private HeapConfiguration performIncrementalCanonicalization(HeapConfiguration heapConfiguration) {
+
+        heapConfiguration = canonicalizationHelper.prepareHeapForCanonicalization(heapConfiguration);
+        FeatureSignature heapSignature = FeatureSignature.of(heapConfiguration);
+
+        BitSet inapplicableRules = new BitSet(rules.size());
+        int position = inapplicableRules.nextClearBit(0);
+        while (position < rules.size()) {
+
+            Rule rule = rules.get(position);
+            HeapConfiguration abstractedHeap = null;
+            if (mayEmbed(rule.pattern(), heapSignature)) {
+                abstractedHeap = rule.replacesAllMatchings
+                        ? rule.tryReplaceAllMatchings(heapConfiguration)
+                        : rule.tryReplaceMatching(heapConfiguration);
+            }
+            if (abstractedHeap == null) {
+                inapplicableRules.set(position);
+            } else {
+                heapConfiguration = canonicalizationHelper.prepareHeapForCanonicalization(abstractedHeap);
+                heapSignature = FeatureSignature.of(heapConfiguration);
+                BitSet affectedRules = rulesByNonterminalLabel.get(rule.lhs.getLabel());
+                if (affectedRules != null) {
+                    inapplicableRules.andNot(affectedRules);
+                }
+            }
+            position = inapplicableRules.nextClearBit(0);
+        }
+
+        return heapConfiguration;
+    }
+
+    /**
+     * @return true, since the rule index is not modified after construction and statistics are
+     * collected by thread-safe counters.
+     */
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
+
+    /**
+     * Checks whether the precomputed feature signature of a rule graph admits an embedding
+     * in a heap configuration with the given signature and updates the pruning statistics accordingly.
+     *
+     * @param pattern       A right-hand side of a rule of the grammar.
+     * @param heapSignature The signature of the heap configuration to abstract.
+     * @return False if pattern cannot be embedded. True if an embedding has to be searched for.
+     */
+    private boolean mayEmbed(HeapConfiguration pattern, FeatureSignature heapSignature) {
+
+        FeatureSignature patternSignature = grammar.getSignatureOf(pattern);
+        if (patternSignature != null && !patternSignature.isCoveredBy(heapSignature)) {
+            prunedEmbeddingSearches.increment();
+            return false;
+        }
+        embeddingSearches.increment();
+        return true;
+    }
+
+    /**
+     * @return The number of searches for embeddings of rule graphs performed so far.
+     */
+    public long getNumberOfEmbeddingSearches() {
+
+        return embeddingSearches.sum();
+    }
+
+    /**
+     * @return The number of searches for embeddings of rule graphs that have been avoided so far,
+     * because the features of the rule graph were not covered by the heap configuration to abstract.
+     */
+    public long getNumberOfPrunedEmbeddingSearches() {
+
+        return prunedEmbeddingSearches.sum();
+    }
+
+    /**
+     * A single rule of the grammar whose right-hand side is either an ordinary or a collapsed heap configuration.
+     */
+    private final class Rule {
+
+        private final Nonterminal lhs;
+        private final HeapConfiguration rhs;
+        private final CollapsedHeapConfiguration collapsedRhs;
+
+        /**
+         * True if and only if applying this rule cannot make this rule or any rule before it applicable.
+         */
+        private boolean replacesAllMatchings = false;
+
+        private Rule(Nonterminal lhs, HeapConfiguration rhs, CollapsedHeapConfiguration collapsedRhs) {
+
+            this.lhs = lhs;
+            this.rhs = rhs;
+            this.collapsedRhs = collapsedRhs;
+        }
+
+        private HeapConfiguration pattern() {
+
+            return collapsedRhs != null ? collapsedRhs.getCollapsed() : rhs;
+        }
+
+        private HeapConfiguration tryReplaceMatching(HeapConfiguration heapConfiguration) {
+
+            if (collapsedRhs != null) {
+                return canonicalizationHelper.tryReplaceMatching(heapConfiguration, collapsedRhs, lhs);
+            }
+            return canonicalizationHelper.tryReplaceMatching(heapConfiguration, rhs, lhs);
+        }
+
+        private HeapConfiguration tryReplaceAllMatchings(HeapConfiguration heapConfiguration) {
+
+            if (collapsedRhs != null) {
+                return canonicalizationHelper.tryReplaceAllMatchings(heapConfiguration, collapsedRhs, lhs);
+            }
+            return canonicalizationHelper.tryReplaceAllMatchings(heapConfiguration, rhs, lhs);
+        }
+    }
 }
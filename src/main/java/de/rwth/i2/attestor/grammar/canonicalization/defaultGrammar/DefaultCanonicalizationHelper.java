@@ -5,9 +5,15 @@ import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationHelper;
 import de.rwth.i2.attestor.grammar.canonicalization.EmbeddingCheckerProvider;
 import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
 import de.rwth.i2.attestor.graph.heap.Matching;
 import de.rwth.i2.attestor.graph.heap.matching.AbstractMatchingChecker;
 import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This class provides the methodExecution to canonicalisation which are specific for
@@ -56,6 +62,91 @@ public class DefaultCanonicalizationHelper implements CanonicalizationHelper {
         return toAbstract.clone().builder().replaceMatching(embedding, nonterminal).build();
     }
 
+    @Override
+    public HeapConfiguration tryReplaceAllMatchings(HeapConfiguration toAbstract,
+                                                    HeapConfiguration rhs, Nonterminal lhs) {
+
+        List<Matching> embeddings = findIndependentEmbeddings(toAbstract, rhs);
+        if (embeddings.isEmpty()) {
+            return null;
+        }
+
+        HeapConfigurationBuilder builder = toAbstract.clone().builder();
+        for (Matching embedding : embeddings) {
+            builder.replaceMatching(embedding, lhs);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public HeapConfiguration tryReplaceAllMatchings(HeapConfiguration toAbstract,
+                                                    CollapsedHeapConfiguration rhs, Nonterminal lhs) {
+
+        List<Matching> embeddings = findIndependentEmbeddings(toAbstract, rhs.getCollapsed());
+        if (embeddings.isEmpty()) {
+            return null;
+        }
+
+        HeapConfigurationBuilder builder = toAbstract.clone().builder();
+        for (Matching embedding : embeddings) {
+            builder.replaceMatchingWithCollapsedExternals(embedding, lhs, rhs.getOriginalToCollapsedExternalIndices());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Enumerates all embeddings of pattern in toAbstract in a single search and greedily selects embeddings
+     * that are disjoint from all previously selected ones, i.e. they share neither a node, not even an
+     * external one, nor a nonterminal edge with them.
+     * Since the internal nodes of an embedding have no edges besides the embedded ones, replacing an embedding
+     * only removes its own elements and attaches a new nonterminal edge to its own external nodes.
+     * Every selected embedding thus remains an embedding after all previously selected ones have been replaced.
+     * Embeddings that overlap with selected ones are left to subsequent searches.
+     *
+     * @param toAbstract the target graph
+     * @param pattern    the pattern graph
+     * @return The selected embeddings in the order in which they are found.
+     */
+    private List<Matching> findIndependentEmbeddings(HeapConfiguration toAbstract, HeapConfiguration pattern) {
+
+        List<Matching> result = new ArrayList<>();
+        AbstractMatchingChecker checker = provider.getEmbeddingChecker(toAbstract, pattern);
+
+        TIntSet usedElements = new TIntHashSet();
+        TIntArrayList patternNodes = pattern.nodes();
+        TIntArrayList patternEdges = pattern.nonterminalEdges();
+
+        checker.getMatchings().forEach(embedding -> {
+
+            for (int i = 0; i < patternNodes.size(); i++) {
+                if (usedElements.contains(embedding.match(patternNodes.get(i)))) {
+                    return;
+                }
+            }
+            for (int i = 0; i < patternEdges.size(); i++) {
+                if (usedElements.contains(embedding.match(patternEdges.get(i)))) {
+                    return;
+                }
+            }
+
+            for (int i = 0; i < patternNodes.size(); i++) {
+                usedElements.add(embedding.match(patternNodes.get(i)));
+            }
+            for (int i = 0; i < patternEdges.size(); i++) {
+                usedElements.add(embedding.match(patternEdges.get(i)));
+            }
+            result.add(embedding);
+        });
+
+        return result;
+    }
+
+    @Override
+    public boolean hasLocalReplacements() {
+
+        return provider.providesLocalEmbeddings();
+    }
+
     @Override
     public HeapConfiguration prepareHeapForCanonicalization(HeapConfiguration toAbstract) {
 
@@ -1,6 +1,7 @@
 package de.rwth.i2.attestor.grammar.materialization.indexedGrammar;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.rwth.i2.attestor.grammar.IndexMatcher;
 import de.rwth.i2.attestor.grammar.materialization.communication.*;
@@ -23,7 +24,7 @@ public class IndexedMaterializationRuleManager extends DefaultMaterializationRul
 
     IndexedRuleAdapter indexRuleAdapter;
 
-	private final Map<GrammarRequest, GrammarResponse> instantiatedRuleGraphsCreatingSelector = new LinkedHashMap<>();
+	private final Map<GrammarRequest, GrammarResponse> instantiatedRuleGraphsCreatingSelector = new ConcurrentHashMap<>();
 
     public IndexedMaterializationRuleManager(ViolationPointResolver vioResolver, IndexMatcher indexMatcher) {
 
@@ -90,6 +90,15 @@ public class GeneralMaterializationStrategy implements MaterializationStrategy {
         return res;
     }
 
+    /**
+     * @return true, since the rule managers cache the rules resolving violation points in concurrent maps.
+     */
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
+
     private Collection<? extends HeapConfiguration> resolveViolationPoint(HeapConfiguration current,
                                                                      Pair<Integer, String> actualViolationPoint) {
 
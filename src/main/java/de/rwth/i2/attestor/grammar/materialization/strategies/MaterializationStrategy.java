@@ -25,4 +25,11 @@ public interface MaterializationStrategy {
      */
     Collection<HeapConfiguration> materialize(HeapConfiguration heapConfiguration, ViolationPoints potentialViolationPoints);
 
+    /**
+     * @return true if and only if {@link #materialize(HeapConfiguration, ViolationPoints)} may be called by
+     * multiple threads without additional synchronization.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -7,6 +7,7 @@ import de.rwth.i2.attestor.graph.SelectorLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Responsible for computing and caching the rules (lhs &#8594; rhs) in the grammar which resolve a certain
@@ -19,7 +20,7 @@ public class ViolationPointResolver {
     private final GrammarAdapter grammar;
 
     private final Map<GrammarRequest, Map<Nonterminal, Collection<HeapConfiguration>>>
-            ruleGraphsCreatingSelector = new LinkedHashMap<>();
+            ruleGraphsCreatingSelector = new ConcurrentHashMap<>();
 
     public ViolationPointResolver(Grammar grammar) {
 
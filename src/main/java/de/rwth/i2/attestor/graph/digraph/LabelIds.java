@@ -0,0 +1,48 @@
+package de.rwth.i2.attestor.graph.digraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Assigns small integer ids to node and edge labels of {@link LabeledDigraph}s such that two labels receive
+ * the same id if and only if they are equal.
+ * Ids are only meaningful with respect to a single LabelIds object. There is one such object per scene,
+ * see {@link de.rwth.i2.attestor.main.scene.Labels#labelIds()}, which is shared by all heap configurations
+ * created within this scene.
+ */
+public final class LabelIds {
+
+    private final ConcurrentMap<Object, Integer> ids = new ConcurrentHashMap<>();
+    private final List<Object> labels = new ArrayList<>();
+
+    /**
+     * @param label A node or edge label.
+     * @return The unique id of the given label.
+     */
+    public int idOf(Object label) {
+
+        Integer id = ids.get(label);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(label, key -> {
+            synchronized (labels) {
+                labels.add(key);
+                return labels.size() - 1;
+            }
+        });
+    }
+
+    /**
+     * @param id An id that has previously been returned by {@link #idOf(Object)}.
+     * @return The label with the given id.
+     */
+    public Object labelOf(int id) {
+
+        synchronized (labels) {
+            return labels.get(id);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import gnu.trove.list.array.TIntArrayList;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 
@@ -14,6 +15,13 @@ import java.util.List;
  * Edges can be labeled with arbitrary objects and are identified by their source node and either
  * their label or their position on the sequence of outgoing edges of a node.
  * Note that multiple edges between two nodes as well as loops are allowed.
+ * <p>
+ * While a LabeledDigraph is modified, the successors, predecessors and edge labels of every node are
+ * stored in separate lists. Freezing a graph, see {@link #freeze(LabelIds)}, moves all edges into compact
+ * arrays in compressed sparse row format and drops the lists. Copies of a frozen graph share these arrays.
+ * Modifying a node of a copy only creates the lists of the affected nodes again.
+ * Copying a graph never modifies the original graph. Hence, frozen graphs may be copied by several
+ * threads at the same time.
  *
  * @author Christoph
  */
@@ -30,17 +38,17 @@ public class LabeledDigraph {
     private final List<NodeLabel> nodeLabels;
 
     /**
-     * List of all successor nodes of each node.
+     * List of all successor nodes of each node or null if the edges of a node are stored in compactEdges.
      */
     private final List<TIntArrayList> successors;
 
     /**
-     * List of all predecessor nodes of each node.
+     * List of all predecessor nodes of each node or null if the edges of a node are stored in compactEdges.
      */
     private final List<TIntArrayList> predecessors;
 
     /**
-     * A list of edge labels for each node.
+     * A list of edge labels for each node or null if the edges of a node are stored in compactEdges.
      * The list is ordered in the same way as the list of successors.
      * Hence, {@code successors.get(i).get(j)}
      * refers to the edge labels from the i-th node to its j-th successor node.
@@ -53,6 +61,18 @@ public class LabeledDigraph {
      */
     private final TIntArrayList externalNodes;
 
+    /**
+     * The edges of all nodes whose lists of successors, predecessors and edge labels are null
+     * or null if every node has its own lists.
+     * The arrays are never modified and may thus be shared between copies of this graph.
+     */
+    private CompactEdges compactEdges;
+
+    /**
+     * True if and only if this graph has not been modified since the last call of {@link #freeze(LabelIds)}.
+     */
+    private boolean frozen = false;
+
     /**
      * Creates a new LabeledDigraph.
      *
@@ -69,27 +89,69 @@ public class LabeledDigraph {
     }
 
     /**
-     * Creates a deep copy of a given LabeledDigraph.
+     * Creates a copy of a given LabeledDigraph.
+     * The compact arrays of the original graph are shared with the copy, whereas all lists of successors,
+     * predecessors and edge labels are copied. A frozen graph has no such lists and is thus copied in time
+     * linear in the number of its nodes.
+     * The copy is frozen if and only if the original graph is frozen.
      *
-     * @param digraph The original graph.
+     * @param digraph The original graph. It is not modified.
      */
     public LabeledDigraph(LabeledDigraph digraph) {
 
-        int size = digraph.nodeLabels.size();
-
         nodeLabels = new ArrayList<>(digraph.nodeLabels);
         externalNodes = new TIntArrayList(digraph.externalNodes);
+        compactEdges = digraph.compactEdges;
+        frozen = digraph.frozen;
 
+        int size = digraph.size();
         successors = new ArrayList<>(size);
         predecessors = new ArrayList<>(size);
         edgeLabels = new ArrayList<>(size);
-
         for (int i = 0; i < size; i++) {
+            TIntArrayList succ = digraph.successors.get(i);
+            if (digraph.nodeLabels.get(i) == null || succ == null) {
+                successors.add(null);
+                predecessors.add(null);
+                edgeLabels.add(null);
+            } else {
+                successors.add(new TIntArrayList(succ));
+                predecessors.add(new TIntArrayList(digraph.predecessors.get(i)));
+                edgeLabels.add(new ArrayList<>(digraph.edgeLabels.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Equivalent to {@code freeze(null)}.
+     */
+    public void freeze() {
+
+        freeze(null);
+    }
+
+    /**
+     * Moves all edges of this graph into compact arrays and drops the lists of successors, predecessors and
+     * edge labels of all nodes. The graph is frozen until it is modified the next time.
+     * Nodes that are modified afterwards obtain their own lists again.
+     *
+     * @param labelIds The ids used to additionally store edge labels as integers or null.
+     *                 Edge labels of two graphs are compared by their ids if both graphs have been
+     *                 frozen with the same labelIds.
+     */
+    public void freeze(LabelIds labelIds) {
+
+        if (frozen && (labelIds == null || compactEdges.labelIds == labelIds)) {
+            return;
+        }
 
-            successors.add(new TIntArrayList(digraph.successors.get(i)));
-            predecessors.add(new TIntArrayList(digraph.predecessors.get(i)));
-            edgeLabels.add(new ArrayList<>(digraph.edgeLabels.get(i)));
+        compactEdges = new CompactEdges(this, labelIds);
+        for (int i = 0; i < successors.size(); i++) {
+            successors.set(i, null);
+            predecessors.set(i, null);
+            edgeLabels.set(i, null);
         }
+        frozen = true;
     }
 
     /**
@@ -111,12 +173,38 @@ public class LabeledDigraph {
      */
     public void addNode(NodeLabel label, int successorCapacity, int predecessorCapacity) {
 
+        frozen = false;
         nodeLabels.add(label);
         successors.add(new TIntArrayList(successorCapacity));
         predecessors.add(new TIntArrayList(predecessorCapacity));
         edgeLabels.add(new ArrayList<>());
     }
 
+    /**
+     * Ensures that the given node has its own lists of successors, predecessors and edge labels
+     * that may be modified.
+     *
+     * @param node An existing node of this graph.
+     */
+    private void ensureOwned(int node) {
+
+        frozen = false;
+        if (successors.get(node) == null) {
+            successors.set(node, compactEdges.successorsOf(node));
+            predecessors.set(node, compactEdges.predecessorsOf(node));
+            edgeLabels.set(node, compactEdges.edgeLabelsOf(node));
+        }
+    }
+
+    /**
+     * @param node An existing node of this graph.
+     * @return True if and only if the edges of the given node are stored in compactEdges.
+     */
+    private boolean isCompact(int node) {
+
+        return successors.get(node) == null;
+    }
+
     /**
      * @param node The requested node.
      * @return NodeLabel of the given node or null if the provided index does not correspond to a node.
@@ -148,12 +236,14 @@ public class LabeledDigraph {
 
         if (containsNode(node)) {
 
+            ensureOwned(node);
             removeOccurrences(successors.get(node), predecessors, node);
             removeOccurrences(predecessors.get(node), successors, node);
 
             nodeLabels.set(node, null);
             successors.set(node, null);
             predecessors.set(node, null);
+            edgeLabels.set(node, null);
 
             //noinspection StatementWithEmptyBody
             while (externalNodes.remove(node)) ;
@@ -177,7 +267,13 @@ public class LabeledDigraph {
 
         for (int i = 0; i < listsToConsider.size(); i++) {
 
-            TIntArrayList l = listOfLists.get(listsToConsider.get(i));
+            int node = listsToConsider.get(i);
+            if (node == value) {
+                // the lists of a loop are removed together with the node itself
+                continue;
+            }
+            ensureOwned(node);
+            TIntArrayList l = listOfLists.get(node);
             //noinspection StatementWithEmptyBody
             while (l.remove(value)) ;
         }
@@ -195,6 +291,8 @@ public class LabeledDigraph {
 
         if (containsNode(from) && containsNode(to) && label != null) {
 
+            ensureOwned(from);
+            ensureOwned(to);
             successors.get(from).add(to);
             predecessors.get(to).add(from);
             edgeLabels.get(from).add(label);
@@ -210,13 +308,23 @@ public class LabeledDigraph {
     public int successorSizeOf(int node) {
 
         if (containsNode(node)) {
-            return successors.get(node).size();
+            return isCompact(node) ? compactEdges.successorSizeOf(node) : successors.get(node).size();
         } else {
             return 0;
         }
 
     }
 
+    /**
+     * @param node A node in the graph.
+     * @param pos  The position of an outgoing edge of the given node.
+     * @return The target of the outgoing edge of node at position pos.
+     */
+    public int successorAt(int node, int pos) {
+
+        return isCompact(node) ? compactEdges.successorAt(node, pos) : successors.get(node).get(pos);
+    }
+
     /**
      * @return True if and only if this LabeledDigraph is currently 'packed'.
      * That is, the set of all nodes contained in this graph is a compact
@@ -243,22 +351,49 @@ public class LabeledDigraph {
     public int predecessorSizeOf(int node) {
 
         if (containsNode(node)) {
-            return predecessors.get(node).size();
+            return isCompact(node) ? compactEdges.predecessorSizeOf(node) : predecessors.get(node).size();
         } else {
             return 0;
         }
     }
 
+    /**
+     * @param node A node in the graph.
+     * @param pos  The position of an ingoing edge of the given node.
+     * @return The source of the ingoing edge of node at position pos.
+     */
+    public int predecessorAt(int node, int pos) {
+
+        return isCompact(node) ? compactEdges.predecessorAt(node, pos) : predecessors.get(node).get(pos);
+    }
+
+    /**
+     * @param from The source node.
+     * @param to   The target node.
+     * @return True if and only if there is at least one edge from 'from' to 'to'.
+     */
+    public boolean hasEdge(int from, int to) {
+
+        int size = successorSizeOf(from);
+        for (int i = 0; i < size; i++) {
+            if (successorAt(from, i) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * @param node A node in the graph.
      * @return A list of all edge labels that occur as labels of edges
      * whose source is the provided node.
      * If node does not belong to this graph the result is null.
+     * The returned list must not be modified.
      */
     public List<Object> outgoingEdgeLabelsOf(int node) {
 
         if (containsNode(node)) {
-            return edgeLabels.get(node);
+            return isCompact(node) ? compactEdges.edgeLabelView(node) : edgeLabels.get(node);
         }
 
         return null;
@@ -274,11 +409,8 @@ public class LabeledDigraph {
      */
     public Object edgeLabelAt(int node, int pos) {
 
-        if (containsNode(node)) {
-            List<Object> labels = edgeLabels.get(node);
-            if (pos < labels.size()) {
-                return labels.get(pos);
-            }
+        if (containsNode(node) && pos < successorSizeOf(node)) {
+            return isCompact(node) ? compactEdges.edgeLabelAt(node, pos) : edgeLabels.get(node).get(pos);
         }
 
         return null;
@@ -293,9 +425,11 @@ public class LabeledDigraph {
      */
     public boolean removeEdgeAt(int node, int pos) {
 
-        if (containsNode(node) && pos < successors.get(node).size()) {
+        if (containsNode(node) && pos < successorSizeOf(node)) {
 
-            int to = successors.get(node).get(pos);
+            int to = successorAt(node, pos);
+            ensureOwned(node);
+            ensureOwned(to);
             int toPos = predecessorPosOf(to, node);
             predecessors.get(to).removeAt(toPos);
 
@@ -353,10 +487,10 @@ public class LabeledDigraph {
      */
     public int posOfEdgeLabel(int node, Object label) {
 
-        List<Object> l = edgeLabels.get(node);
-        for (int i = 0; i < l.size(); i++) {
+        int size = successorSizeOf(node);
+        for (int i = 0; i < size; i++) {
 
-            if (label.equals(l.get(i))) {
+            if (label.equals(edgeLabelAt(node, i))) {
                 return i;
             }
         }
@@ -432,10 +566,11 @@ public class LabeledDigraph {
      */
     public void replaceEdgeLabel(int node, Object oldLabel, Object newLabel) {
 
-        List<Object> l = edgeLabels.get(node);
-        for (int i = 0; i < l.size(); i++) {
-            if (l.get(i).equals(oldLabel)) {
-                l.set(i, newLabel);
+        int size = successorSizeOf(node);
+        for (int i = 0; i < size; i++) {
+            if (edgeLabelAt(node, i).equals(oldLabel)) {
+                ensureOwned(node);
+                edgeLabels.get(node).set(i, newLabel);
             }
         }
     }
@@ -454,11 +589,13 @@ public class LabeledDigraph {
     /**
      * @param node The node whose predecessors are considered.
      * @return A list of all predecessor nodes of the provided node.
+     * The returned list must not be modified. If this graph is frozen, it is a fresh copy.
+     * Use {@link #predecessorSizeOf(int)} and {@link #predecessorAt(int, int)} to avoid the copy.
      */
     public TIntArrayList predecessorsOf(int node) {
 
         if (containsNode(node)) {
-            return predecessors.get(node);
+            return isCompact(node) ? compactEdges.predecessorsOf(node) : predecessors.get(node);
         }
 
         return null;
@@ -467,11 +604,13 @@ public class LabeledDigraph {
     /**
      * @param node The node whose successor nodes are considered.
      * @return A list of all successor nodes of the provided node.
+     * The returned list must not be modified. If this graph is frozen, it is a fresh copy.
+     * Use {@link #successorSizeOf(int)} and {@link #successorAt(int, int)} to avoid the copy.
      */
     public TIntArrayList successorsOf(int node) {
 
         if (containsNode(node)) {
-            return successors.get(node);
+            return isCompact(node) ? compactEdges.successorsOf(node) : successors.get(node);
         }
 
         return null;
@@ -490,13 +629,11 @@ public class LabeledDigraph {
 
         if (containsNode(from) && containsNode(to)) {
 
-            List<Object> l = edgeLabels.get(from);
-            TIntArrayList succ = successorsOf(from);
-
-            List<Object> res = new ArrayList<>(l.size());
-            for (int i = 0; i < l.size(); i++) {
-                if (succ.get(i) == to) {
-                    res.add(l.get(i));
+            int size = successorSizeOf(from);
+            List<Object> res = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (successorAt(from, i) == to) {
+                    res.add(edgeLabelAt(from, i));
                 }
             }
 
@@ -506,6 +643,82 @@ public class LabeledDigraph {
         return null;
     }
 
+    /**
+     * Checks whether the edge labels of all edges from 'from' to 'to' in this graph and the edge labels of all
+     * edges from 'otherFrom' to 'otherTo' in another graph are equal if they are interpreted as multi-sets.
+     * In contrast to comparing the results of {@link #edgeLabelsFromTo(int, int)}, no lists are allocated.
+     *
+     * @param from      The source node in this graph.
+     * @param to        The target node in this graph.
+     * @param other     The other graph.
+     * @param otherFrom The source node in the other graph.
+     * @param otherTo   The target node in the other graph.
+     * @return True if and only if both multi-sets of edge labels are equal.
+     */
+    public boolean hasEqualEdgeLabels(int from, int to, LabeledDigraph other, int otherFrom, int otherTo) {
+
+        return countEdges(from, to, null) == other.countEdges(otherFrom, otherTo, null)
+                && hasCoveredEdgeLabels(from, to, other, otherFrom, otherTo);
+    }
+
+    /**
+     * Checks whether the edge labels of all edges from 'from' to 'to' in this graph are contained in
+     * the edge labels of all edges from 'otherFrom' to 'otherTo' in another graph
+     * if both are interpreted as multi-sets.
+     * In contrast to comparing the results of {@link #edgeLabelsFromTo(int, int)}, no lists are allocated.
+     *
+     * @param from      The source node in this graph.
+     * @param to        The target node in this graph.
+     * @param other     The other graph.
+     * @param otherFrom The source node in the other graph.
+     * @param otherTo   The target node in the other graph.
+     * @return True if and only if the multi-set of edge labels in this graph is a subset of the one
+     * in the other graph.
+     */
+    public boolean hasCoveredEdgeLabels(int from, int to, LabeledDigraph other, int otherFrom, int otherTo) {
+
+        if (hasSameLabelIds(from, other, otherFrom)) {
+            return compactEdges.hasCoveredEdgeLabels(from, to, other.compactEdges, otherFrom, otherTo);
+        }
+
+        int size = successorSizeOf(from);
+        for (int i = 0; i < size; i++) {
+            if (successorAt(from, i) == to) {
+                Object label = edgeLabelAt(from, i);
+                if (countEdges(from, to, label) > other.countEdges(otherFrom, otherTo, label)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return True if and only if the edge labels of 'from' in this graph and of 'otherFrom' in the other graph
+     * are stored as ids that have been assigned by the same LabelIds.
+     */
+    private boolean hasSameLabelIds(int from, LabeledDigraph other, int otherFrom) {
+
+        return isCompact(from) && other.isCompact(otherFrom)
+                && compactEdges.labelIds != null && compactEdges.labelIds == other.compactEdges.labelIds;
+    }
+
+    /**
+     * @return The number of edges from 'from' to 'to' that are labeled with the given label or
+     * the number of all edges from 'from' to 'to' if label is null.
+     */
+    private int countEdges(int from, int to, Object label) {
+
+        int size = successorSizeOf(from);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (successorAt(from, i) == to && (label == null || label.equals(edgeLabelAt(from, i)))) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
     /**
      * Transforms this LabeledDigraph into a more compact form
      * in which the size of the underlying data structures containsSubsumingState
@@ -564,17 +777,20 @@ public class LabeledDigraph {
     private void move(int from, int to) {
 
         replaceAll(externalNodes, from, to);
+        ensureOwned(from);
 
         TIntArrayList predecessorsCopy = new TIntArrayList(predecessors.get(from));
         for (int i = 0; i < successors.get(from).size(); i++) {
 
             int s = successors.get(from).get(i);
+            ensureOwned(s);
             replaceAll(predecessors.get(s), from, to);
         }
 
         for (int i = 0; i < predecessorsCopy.size(); i++) {
 
             int p = predecessorsCopy.get(i);
+            ensureOwned(p);
             replaceAll(successors.get(p), from, to);
         }
 
@@ -645,11 +861,11 @@ public class LabeledDigraph {
             sb.append(" : ");
             sb.append(nodeLabels.get(i));
             sb.append("\n\tsuccessors: ");
-            sb.append(successors.get(i));
+            sb.append(successorsOf(i));
             sb.append("\n\tedge labels: ");
-            sb.append(edgeLabels.get(i));
+            sb.append(outgoingEdgeLabelsOf(i));
             sb.append("\n\tpredecessors: ");
-            sb.append(predecessors.get(i));
+            sb.append(predecessorsOf(i));
             sb.append("\n");
         }
         sb.append("external nodes: ");
@@ -658,4 +874,147 @@ public class LabeledDigraph {
         return sb.toString();
     }
 
+    /**
+     * The edges of a frozen LabeledDigraph in compressed sparse row format.
+     * The successors of node i are stored in successorTargets at the positions from
+     * successorOffsets[i] (inclusive) to successorOffsets[i+1] (exclusive).
+     * The labels of these edges are stored at the same positions in edgeLabels and, optionally, edgeLabelIds.
+     * Predecessors are stored analogously.
+     * Removed nodes have no edges.
+     */
+    private static final class CompactEdges {
+
+        private final int[] successorOffsets;
+        private final int[] successorTargets;
+        private final Object[] edgeLabels;
+        private final List<Object> edgeLabelList;
+        private final int[] edgeLabelIds;
+        private final LabelIds labelIds;
+        private final int[] predecessorOffsets;
+        private final int[] predecessorSources;
+
+        private CompactEdges(LabeledDigraph graph, LabelIds labelIds) {
+
+            int size = graph.size();
+            int countSuccessors = 0;
+            int countPredecessors = 0;
+            for (int i = 0; i < size; i++) {
+                countSuccessors += graph.successorSizeOf(i);
+                countPredecessors += graph.predecessorSizeOf(i);
+            }
+
+            this.labelIds = labelIds;
+            successorOffsets = new int[size + 1];
+            successorTargets = new int[countSuccessors];
+            edgeLabels = new Object[countSuccessors];
+            edgeLabelList = Arrays.asList(edgeLabels);
+            edgeLabelIds = labelIds == null ? null : new int[countSuccessors];
+            predecessorOffsets = new int[size + 1];
+            predecessorSources = new int[countPredecessors];
+
+            int pos = 0;
+            for (int i = 0; i < size; i++) {
+                successorOffsets[i] = pos;
+                int count = graph.successorSizeOf(i);
+                for (int j = 0; j < count; j++) {
+                    successorTargets[pos] = graph.successorAt(i, j);
+                    edgeLabels[pos] = graph.edgeLabelAt(i, j);
+                    if (edgeLabelIds != null) {
+                        edgeLabelIds[pos] = labelIds.idOf(edgeLabels[pos]);
+                    }
+                    ++pos;
+                }
+            }
+            successorOffsets[size] = pos;
+
+            pos = 0;
+            for (int i = 0; i < size; i++) {
+                predecessorOffsets[i] = pos;
+                int count = graph.predecessorSizeOf(i);
+                for (int j = 0; j < count; j++) {
+                    predecessorSources[pos] = graph.predecessorAt(i, j);
+                    ++pos;
+                }
+            }
+            predecessorOffsets[size] = pos;
+        }
+
+        private int successorSizeOf(int node) {
+
+            return successorOffsets[node + 1] - successorOffsets[node];
+        }
+
+        private int successorAt(int node, int pos) {
+
+            return successorTargets[successorOffsets[node] + pos];
+        }
+
+        private Object edgeLabelAt(int node, int pos) {
+
+            return edgeLabels[successorOffsets[node] + pos];
+        }
+
+        private int predecessorSizeOf(int node) {
+
+            return predecessorOffsets[node + 1] - predecessorOffsets[node];
+        }
+
+        private int predecessorAt(int node, int pos) {
+
+            return predecessorSources[predecessorOffsets[node] + pos];
+        }
+
+        private TIntArrayList successorsOf(int node) {
+
+            TIntArrayList result = new TIntArrayList(successorSizeOf(node));
+            result.add(successorTargets, successorOffsets[node], successorSizeOf(node));
+            return result;
+        }
+
+        private TIntArrayList predecessorsOf(int node) {
+
+            TIntArrayList result = new TIntArrayList(predecessorSizeOf(node));
+            result.add(predecessorSources, predecessorOffsets[node], predecessorSizeOf(node));
+            return result;
+        }
+
+        private List<Object> edgeLabelsOf(int node) {
+
+            return new ArrayList<>(edgeLabelView(node));
+        }
+
+        private List<Object> edgeLabelView(int node) {
+
+            return Collections.unmodifiableList(edgeLabelList.subList(successorOffsets[node], successorOffsets[node + 1]));
+        }
+
+        /**
+         * Compares edge labels by their ids. Both CompactEdges have to use the same labelIds.
+         *
+         * @see LabeledDigraph#hasCoveredEdgeLabels(int, int, LabeledDigraph, int, int)
+         */
+        private boolean hasCoveredEdgeLabels(int from, int to, CompactEdges other, int otherFrom, int otherTo) {
+
+            for (int i = successorOffsets[from]; i < successorOffsets[from + 1]; i++) {
+                if (successorTargets[i] == to) {
+                    int id = edgeLabelIds[i];
+                    if (countEdges(from, to, id) > other.countEdges(otherFrom, otherTo, id)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private int countEdges(int from, int to, int labelId) {
+
+            int count = 0;
+            for (int i = successorOffsets[from]; i < successorOffsets[from + 1]; i++) {
+                if (successorTargets[i] == to && edgeLabelIds[i] == labelId) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+    }
 }
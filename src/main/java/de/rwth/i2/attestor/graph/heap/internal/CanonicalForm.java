@@ -0,0 +1,372 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
+import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Computes a canonical form of the packed {@link LabeledDigraph} underlying an immutable
+ * {@link InternalHeapConfiguration}.
+ * Two graphs have the same canonical form if and only if they are isomorphic.
+ * Hence, isomorphism checks between heap configurations reduce to comparing byte strings.
+ * <p>
+ * The canonical form is computed by partition refinement and individualization in the spirit of nauty:
+ * Elements are initially partitioned by their label and their position in the sequence of external nodes.
+ * This ordered partition is refined until it is equitable, i.e. until all elements in the same cell have the same
+ * number of outgoing and incoming edges with each edge label into each other cell.
+ * If the resulting partition is not discrete, every element of its smallest cell is individualized in turn and
+ * the search continues recursively.
+ * Every discrete partition yields an ordering of all elements and thus an encoding of the graph.
+ * The canonical form is the smallest encoding found.
+ * <p>
+ * Since the search does not prune automorphisms, the number of explored discrete partitions is bounded.
+ * If this bound is exceeded, no canonical form is computed and clients have to fall back to an ordinary
+ * isomorphism check.
+ */
+final class CanonicalForm {
+
+    /**
+     * The maximal number of discrete partitions explored before giving up.
+     */
+    private static final int MAX_LEAVES = 64;
+
+    private final boolean ignoreExternalOrder;
+    private final int size;
+    private final int[] labels;
+    private final int[] externalNodes;
+    private final int[] externalPositions;
+    private final int[][] outgoingLabels;
+    private final int[][] outgoingTargets;
+    private final int[][] incomingLabels;
+    private final int[][] incomingSources;
+
+    private int[] best = null;
+    private int leaves = 0;
+
+    private CanonicalForm(LabeledDigraph graph, boolean ignoreExternalOrder, LabelIds labelIds) {
+
+        this.ignoreExternalOrder = ignoreExternalOrder;
+        size = graph.size();
+        labels = new int[size];
+        externalPositions = new int[size];
+        externalNodes = new int[graph.rank()];
+        outgoingLabels = new int[size][];
+        outgoingTargets = new int[size][];
+        incomingLabels = new int[size][];
+        incomingSources = new int[size][];
+
+        int[] inDegree = new int[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = labelIds.idOf(graph.nodeLabelOf(i));
+            externalPositions[i] = ignoreExternalOrder ? Math.min(graph.externalPosOf(i), 0) : graph.externalPosOf(i);
+
+            int outDegree = graph.successorSizeOf(i);
+            outgoingLabels[i] = new int[outDegree];
+            outgoingTargets[i] = new int[outDegree];
+            for (int j = 0; j < outDegree; j++) {
+                outgoingLabels[i][j] = labelIds.idOf(graph.edgeLabelAt(i, j));
+                outgoingTargets[i][j] = graph.successorAt(i, j);
+                ++inDegree[outgoingTargets[i][j]];
+            }
+        }
+
+        for (int i = 0; i < externalNodes.length; i++) {
+            externalNodes[i] = graph.externalNodeAt(i);
+        }
+
+        for (int i = 0; i < size; i++) {
+            incomingLabels[i] = new int[inDegree[i]];
+            incomingSources[i] = new int[inDegree[i]];
+            inDegree[i] = 0;
+        }
+        for (int from = 0; from < size; from++) {
+            for (int j = 0; j < outgoingTargets[from].length; j++) {
+                int to = outgoingTargets[from][j];
+                incomingLabels[to][inDegree[to]] = outgoingLabels[from][j];
+                incomingSources[to][inDegree[to]] = from;
+                ++inDegree[to];
+            }
+        }
+    }
+
+    /**
+     * @param graph    A packed LabeledDigraph.
+     * @param labelIds The ids of node and edge labels. Labels are compared by equality, which coincides with
+     *                 the comparison of labels performed by
+     *                 {@link de.rwth.i2.attestor.graph.heap.matching.IsomorphismChecker}.
+     * @return The canonical form of the given graph or null if the search for a canonical form
+     * has been aborted.
+     */
+    static byte[] of(LabeledDigraph graph, LabelIds labelIds) {
+
+        return of(graph, false, labelIds);
+    }
+
+    /**
+     * @param graph               A packed LabeledDigraph.
+     * @param ignoreExternalOrder True if the canonical form should only take into account which elements are
+     *                            external, but not their position in the sequence of external nodes.
+     * @param labelIds            The ids of node and edge labels.
+     * @return The canonical form of the given graph or null if the search for a canonical form
+     * has been aborted.
+     */
+    static byte[] of(LabeledDigraph graph, boolean ignoreExternalOrder, LabelIds labelIds) {
+
+        CanonicalForm canonicalForm = new CanonicalForm(graph, ignoreExternalOrder, labelIds);
+        int[] encoding = canonicalForm.compute();
+        if (encoding == null) {
+            return null;
+        }
+        return toBytes(encoding);
+    }
+
+    private int[] compute() {
+
+        long[] initialKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            initialKeys[i] = ((long) labels[i] << 32) | (externalPositions[i] + 1);
+        }
+
+        search(refine(rank(initialKeys)));
+
+        if (leaves > MAX_LEAVES) {
+            return null;
+        }
+        return best;
+    }
+
+    /**
+     * Explores all discrete partitions that are reachable from the given equitable partition
+     * by individualizing elements.
+     *
+     * @param colors An equitable ordered partition, i.e. the rank of the cell of each element.
+     */
+    private void search(int[] colors) {
+
+        if (leaves > MAX_LEAVES) {
+            return;
+        }
+
+        int targetCell = smallestNonSingletonCell(colors);
+        if (targetCell < 0) {
+            ++leaves;
+            int[] encoding = encode(colors);
+            if (best == null || compare(encoding, best) < 0) {
+                best = encoding;
+            }
+            return;
+        }
+
+        for (int v = 0; v < size && leaves <= MAX_LEAVES; v++) {
+            if (colors[v] == targetCell) {
+                long[] keys = new long[size];
+                for (int u = 0; u < size; u++) {
+                    keys[u] = 2L * colors[u] + ((u == v || colors[u] != targetCell) ? 0 : 1);
+                }
+                search(refine(rank(keys)));
+            }
+        }
+    }
+
+    /**
+     * Refines an ordered partition until it is equitable.
+     * The relative order of existing cells is preserved and split cells are ordered by the
+     * labels and cells of the neighbours of their elements.
+     *
+     * @param colors An ordered partition.
+     * @return The coarsest equitable ordered partition refining the given one.
+     */
+    private int[] refine(int[] colors) {
+
+        int cells = countCells(colors);
+        while (cells < size) {
+
+            long[][] signatures = new long[size][];
+            for (int v = 0; v < size; v++) {
+                int outDegree = outgoingTargets[v].length;
+                long[] signature = new long[outDegree + incomingSources[v].length];
+                for (int j = 0; j < outDegree; j++) {
+                    signature[j] = pack(0, outgoingLabels[v][j], colors[outgoingTargets[v][j]]);
+                }
+                for (int j = 0; j < incomingSources[v].length; j++) {
+                    signature[outDegree + j] = pack(1, incomingLabels[v][j], colors[incomingSources[v][j]]);
+                }
+                Arrays.sort(signature);
+                signatures[v] = signature;
+            }
+
+            final int[] currentColors = colors;
+            Integer[] order = sortedElements((a, b) -> {
+                int result = Integer.compare(currentColors[a], currentColors[b]);
+                return result != 0 ? result : compare(signatures[a], signatures[b]);
+            });
+
+            int[] refined = new int[size];
+            int rank = 0;
+            for (int i = 1; i < size; i++) {
+                int prev = order[i - 1];
+                int cur = order[i];
+                if (colors[prev] != colors[cur] || compare(signatures[prev], signatures[cur]) != 0) {
+                    ++rank;
+                }
+                refined[cur] = rank;
+            }
+
+            colors = refined;
+            int refinedCells = rank + 1;
+            if (refinedCells == cells) {
+                break;
+            }
+            cells = refinedCells;
+        }
+
+        return colors;
+    }
+
+    /**
+     * @param keys A key for each element.
+     * @return The rank of the key of each element among all distinct keys.
+     */
+    private int[] rank(long[] keys) {
+
+        Integer[] order = sortedElements((a, b) -> Long.compare(keys[a], keys[b]));
+        int[] ranks = new int[size];
+        int rank = 0;
+        for (int i = 1; i < size; i++) {
+            if (keys[order[i - 1]] != keys[order[i]]) {
+                ++rank;
+            }
+            ranks[order[i]] = rank;
+        }
+        return ranks;
+    }
+
+    private Integer[] sortedElements(Comparator<Integer> comparator) {
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, comparator);
+        return order;
+    }
+
+    private int countCells(int[] colors) {
+
+        int max = -1;
+        for (int color : colors) {
+            max = Math.max(max, color);
+        }
+        return max + 1;
+    }
+
+    private int smallestNonSingletonCell(int[] colors) {
+
+        int[] cellSizes = new int[size];
+        for (int color : colors) {
+            ++cellSizes[color];
+        }
+
+        int result = -1;
+        for (int cell = 0; cell < size; cell++) {
+            if (cellSizes[cell] > 1 && (result < 0 || cellSizes[cell] < cellSizes[result])) {
+                result = cell;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Encodes the graph with respect to the ordering of elements given by a discrete partition.
+     *
+     * @param colors A discrete ordered partition, i.e. a permutation of all elements.
+     * @return The encoding of the graph in which each element is renamed to its cell.
+     */
+    private int[] encode(int[] colors) {
+
+        int[] elements = new int[size];
+        int edges = 0;
+        for (int v = 0; v < size; v++) {
+            elements[colors[v]] = v;
+            edges += outgoingTargets[v].length;
+        }
+
+        int[] encoding = new int[2 + externalNodes.length + 2 * size + 2 * edges];
+        int pos = 0;
+        encoding[pos++] = size;
+        encoding[pos++] = externalNodes.length;
+        for (int external : externalNodes) {
+            encoding[pos++] = colors[external];
+        }
+        if (ignoreExternalOrder) {
+            Arrays.sort(encoding, 2, pos);
+        }
+
+        for (int v : elements) {
+            encoding[pos++] = labels[v];
+            int outDegree = outgoingTargets[v].length;
+            encoding[pos++] = outDegree;
+            long[] edgesOfV = new long[outDegree];
+            for (int j = 0; j < outDegree; j++) {
+                edgesOfV[j] = pack(0, outgoingLabels[v][j], colors[outgoingTargets[v][j]]);
+            }
+            Arrays.sort(edgesOfV);
+            for (long edge : edgesOfV) {
+                encoding[pos++] = (int) (edge >>> 31);
+                encoding[pos++] = (int) (edge & Integer.MAX_VALUE);
+            }
+        }
+
+        return encoding;
+    }
+
+    private static long pack(int direction, int label, int color) {
+
+        return ((long) direction << 62) | ((long) label << 31) | color;
+    }
+
+    private static int compare(int[] left, int[] right) {
+
+        if (left.length != right.length) {
+            return Integer.compare(left.length, right.length);
+        }
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] != right[i]) {
+                return Integer.compare(left[i], right[i]);
+            }
+        }
+        return 0;
+    }
+
+    private static int compare(long[] left, long[] right) {
+
+        if (left.length != right.length) {
+            return Integer.compare(left.length, right.length);
+        }
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] != right[i]) {
+                return Long.compare(left[i], right[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Writes all (non-negative) values using a variable-length encoding with seven bits per byte.
+     */
+    private static byte[] toBytes(int[] encoding) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoding.length + 16);
+        for (int value : encoding) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,135 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * Supports incremental garbage collection on {@link InternalHeapConfiguration}s.
+ * <p>
+ * Once a heap configuration is known to contain no unreachable nodes, i.e. every node is reachable from
+ * a variable or an external node, its builders record every node that might have become unreachable since then:
+ * targets of removed selector edges and variable edges, nodes attached to removed or relabeled nonterminal edges,
+ * nodes that are no longer external and newly added nodes. These garbage candidates are copied along with
+ * the heap configuration.
+ * If each candidate is still reachable, the whole heap configuration contains no unreachable nodes.
+ * Reachability of candidates is determined by a bounded backwards search.
+ */
+public final class GarbageCandidates {
+
+    /**
+     * The maximal number of nodes visited by the backwards search for a single candidate.
+     */
+    private static final int MAX_VISITED_NODES = 64;
+
+    private GarbageCandidates() {
+    }
+
+    /**
+     * Marks the given heap configuration as containing no unreachable nodes. From now on, all nodes
+     * that might become unreachable are tracked.
+     * Since this modifies the given heap configuration, it must not be shared with other threads, e.g.
+     * as part of a state that has already been added to a state space.
+     *
+     * @param heapConfiguration An immutable heap configuration in which every node is reachable.
+     *                          Other heap configurations than InternalHeapConfigurations are ignored.
+     */
+    public static void markGarbageFree(HeapConfiguration heapConfiguration) {
+
+        if (heapConfiguration instanceof InternalHeapConfiguration) {
+            InternalHeapConfiguration hc = (InternalHeapConfiguration) heapConfiguration;
+            if (hc.builder == null) {
+                hc.garbageCandidates = new TIntHashSet();
+            }
+        }
+    }
+
+    /**
+     * @param heapConfiguration A heap configuration.
+     * @return True if the given heap configuration provably contains no unreachable nodes without inspecting
+     * the whole heap configuration. False if the heap configuration contains unreachable nodes or nothing is
+     * known about its unreachable nodes.
+     */
+    public static boolean isGarbageFree(HeapConfiguration heapConfiguration) {
+
+        if (!(heapConfiguration instanceof InternalHeapConfiguration)) {
+            return false;
+        }
+
+        InternalHeapConfiguration hc = (InternalHeapConfiguration) heapConfiguration;
+        TIntSet candidates = hc.garbageCandidates;
+        if (hc.builder != null || candidates == null) {
+            return false;
+        }
+
+        TIntSet reachableNodes = new TIntHashSet();
+        TIntIterator iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            if (!isReachable(hc, iterator.next(), reachableNodes)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches backwards from the given node for a variable, an external node or a node that is already
+     * known to be reachable.
+     *
+     * @param hc             An immutable InternalHeapConfiguration.
+     * @param node           The private ID of the node to check.
+     * @param reachableNodes Private IDs of nodes known to be reachable. The given node is added if it is reachable.
+     * @return True if and only if the given node has been found to be reachable within the search bound.
+     */
+    private static boolean isReachable(InternalHeapConfiguration hc, int node, TIntSet reachableNodes) {
+
+        LabeledDigraph graph = hc.graph;
+        TIntSet visited = new TIntHashSet();
+        TIntArrayList queue = new TIntArrayList();
+        visited.add(node);
+        queue.add(node);
+
+        for (int next = 0; next < queue.size(); next++) {
+
+            int current = queue.get(next);
+            if (reachableNodes.contains(current) || graph.isExternal(current)) {
+                reachableNodes.add(node);
+                return true;
+            }
+
+            int inDegree = graph.predecessorSizeOf(current);
+            for (int i = 0; i < inDegree; i++) {
+                int predecessor = graph.predecessorAt(current, i);
+                if (hc.isVariable(predecessor)) {
+                    reachableNodes.add(node);
+                    return true;
+                } else if (hc.isNode(predecessor)) {
+                    if (visited.add(predecessor)) {
+                        queue.add(predecessor);
+                    }
+                } else if (hc.isNonterminalEdge(predecessor)) {
+                    // mirrors the forward traversal of ReachabilityChecker
+                    Nonterminal label = (Nonterminal) graph.nodeLabelOf(predecessor);
+                    TIntArrayList attachedNodes = graph.successorsOf(predecessor);
+                    for (int j = 0; j < attachedNodes.size(); j++) {
+                        int attachedNode = attachedNodes.get(j);
+                        if (!label.isReductionTentacle(attachedNodes.indexOf(attachedNode))
+                                && visited.add(attachedNode)) {
+                            queue.add(attachedNode);
+                        }
+                    }
+                }
+            }
+
+            if (visited.size() > MAX_VISITED_NODES) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,183 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
+import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
+import de.rwth.i2.attestor.graph.digraph.NodeLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import gnu.trove.iterator.TIntIntIterator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A compact binary encoding of immutable {@link InternalHeapConfiguration}s that allows to keep heap configurations
+ * outside of the Java heap and to restore them later on.
+ * <p>
+ * The encoding consists of the packed {@link LabeledDigraph} underlying a heap configuration together with its
+ * mapping from public to private IDs, see {@link InternalHeapConfiguration}. Thus, a decoded heap configuration
+ * is equal to the encoded one and even uses the same public IDs.
+ * All integers are stored as variable-length quantities. Node and edge labels are replaced by their ids
+ * with respect to the {@link LabelIds} of the encoded heap configuration, usually those of its scene.
+ * Hence, encodings can only be decoded using the same LabelIds and must not be kept across different runs.
+ */
+public final class HeapConfigurationEncoding {
+
+    private HeapConfigurationEncoding() {
+    }
+
+    /**
+     * @param heapConfiguration A heap configuration.
+     * @param labelIds          The label ids used for encoding.
+     * @return True if and only if the given heap configuration can be encoded using the given label ids,
+     * i.e. it is an immutable InternalHeapConfiguration whose canonical form is computed using these label ids.
+     */
+    public static boolean isEncodable(HeapConfiguration heapConfiguration, LabelIds labelIds) {
+
+        if (heapConfiguration == null || heapConfiguration.getClass() != InternalHeapConfiguration.class) {
+            return false;
+        }
+        InternalHeapConfiguration hc = (InternalHeapConfiguration) heapConfiguration;
+        return hc.builder == null && hc.graph.isPacked() && labelIds != null && hc.labelIds == labelIds;
+    }
+
+    /**
+     * @param heapConfiguration A heap configuration that is encodable,
+     *                          see {@link #isEncodable(HeapConfiguration, LabelIds)}.
+     * @return The canonical form of the given heap configuration, see {@link CanonicalForm}, or an empty array
+     * if no canonical form could be determined. Two heap configurations with non-empty canonical forms are
+     * equal if and only if their canonical forms are equal.
+     */
+    public static byte[] canonicalFormOf(HeapConfiguration heapConfiguration) {
+
+        return ((InternalHeapConfiguration) heapConfiguration).canonicalForm();
+    }
+
+    /**
+     * @param heapConfiguration A heap configuration that is encodable,
+     *                          see {@link #isEncodable(HeapConfiguration, LabelIds)}.
+     * @param labelIds          The label ids used for encoding.
+     * @return The encoding of the given heap configuration.
+     */
+    public static byte[] encode(HeapConfiguration heapConfiguration, LabelIds labelIds) {
+
+        if (!isEncodable(heapConfiguration, labelIds)) {
+            throw new IllegalArgumentException("Only immutable InternalHeapConfigurations using the given "
+                    + "label ids can be encoded.");
+        }
+
+        InternalHeapConfiguration hc = (InternalHeapConfiguration) heapConfiguration;
+        LabeledDigraph graph = hc.graph;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * graph.size() + 16);
+
+        writeInt(out, graph.size());
+        writeInt(out, hc.countNodes);
+        writeInt(out, hc.countVariableEdges);
+        writeInt(out, hc.countNonterminalEdges);
+
+        for (int i = 0; i < graph.size(); i++) {
+            writeInt(out, labelIds.idOf(graph.nodeLabelOf(i)));
+            int outDegree = graph.successorSizeOf(i);
+            writeInt(out, outDegree);
+            for (int j = 0; j < outDegree; j++) {
+                writeInt(out, labelIds.idOf(graph.edgeLabelAt(i, j)));
+                writeInt(out, graph.successorAt(i, j));
+            }
+        }
+
+        writeInt(out, graph.rank());
+        for (int i = 0; i < graph.rank(); i++) {
+            writeInt(out, graph.externalNodeAt(i));
+        }
+
+        writeInt(out, hc.publicToPrivateIDs.size());
+        TIntIntIterator iterator = hc.publicToPrivateIDs.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            writeInt(out, iterator.key());
+            writeInt(out, iterator.value());
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a heap configuration starting at the current position of the given buffer.
+     * Afterwards, the position of the buffer points to the first byte after the encoding.
+     *
+     * @param buffer   A buffer containing the encoding of a heap configuration,
+     *                 see {@link #encode(HeapConfiguration, LabelIds)}.
+     * @param labelIds The label ids that have been used for encoding.
+     * @return The decoded heap configuration.
+     */
+    public static HeapConfiguration decode(ByteBuffer buffer, LabelIds labelIds) {
+
+        InternalHeapConfiguration hc = new InternalHeapConfiguration(labelIds);
+        LabeledDigraph graph = hc.graph;
+
+        int size = readInt(buffer);
+        hc.countNodes = readInt(buffer);
+        hc.countVariableEdges = readInt(buffer);
+        hc.countNonterminalEdges = readInt(buffer);
+
+        NodeLabel[] nodeLabels = new NodeLabel[size];
+        int[][] edges = new int[size][];
+        int[] inDegree = new int[size];
+        for (int i = 0; i < size; i++) {
+            nodeLabels[i] = (NodeLabel) labelIds.labelOf(readInt(buffer));
+            int[] outgoing = new int[2 * readInt(buffer)];
+            for (int j = 0; j < outgoing.length; j++) {
+                outgoing[j] = readInt(buffer);
+            }
+            for (int j = 1; j < outgoing.length; j += 2) {
+                ++inDegree[outgoing[j]];
+            }
+            edges[i] = outgoing;
+        }
+        for (int i = 0; i < size; i++) {
+            graph.addNode(nodeLabels[i], edges[i].length / 2, inDegree[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            int[] outgoing = edges[i];
+            for (int j = 0; j < outgoing.length; j += 2) {
+                graph.addEdge(i, labelIds.labelOf(outgoing[j]), outgoing[j + 1]);
+            }
+        }
+
+        int rank = readInt(buffer);
+        for (int i = 0; i < rank; i++) {
+            graph.setExternal(readInt(buffer));
+        }
+
+        int ids = readInt(buffer);
+        for (int i = 0; i < ids; i++) {
+            int publicId = readInt(buffer);
+            hc.publicToPrivateIDs.put(publicId, readInt(buffer));
+        }
+
+        hc.updateStructuralHash();
+        graph.freeze(labelIds);
+        return hc;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readInt(ByteBuffer buffer) {
+
+        int result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+}
@@ -2,6 +2,7 @@ package de.rwth.i2.attestor.graph.heap.internal;
 
 import de.rwth.i2.attestor.graph.Nonterminal;
 import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
 import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
 import de.rwth.i2.attestor.graph.digraph.NodeLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
@@ -14,7 +15,6 @@ import de.rwth.i2.attestor.graph.heap.matching.MinDistanceEmbeddingChecker;
 import de.rwth.i2.attestor.graph.morphism.Graph;
 import de.rwth.i2.attestor.graph.morphism.MorphismOptions;
 import de.rwth.i2.attestor.markingGeneration.Markings;
-import de.rwth.i2.attestor.types.GeneralType;
 import de.rwth.i2.attestor.types.Type;
 import gnu.trove.iterator.TIntIntIterator;
 import gnu.trove.iterator.TIntIterator;
@@ -25,9 +25,11 @@ import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.StringJoiner;
 import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
 
 /**
  * <p>An implementation of {@link HeapConfiguration} based on bipartite graphs, which are implemented in
@@ -106,8 +108,16 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
      * stable -- even in the presence of delete operations.
      * The map thus maps "public IDs" that remain stable and are accessible from outside
      * to "private IDs" that are mutable and only used within this package.
+     * The map may be shared with copies of this InternalHeapConfiguration and must thus only
+     * be modified through {@link #mutablePublicToPrivateIDs()}.
      */
-    final TIntIntMap publicToPrivateIDs;
+    TIntIntMap publicToPrivateIDs;
+    /**
+     * True if publicToPrivateIDs might be shared with another InternalHeapConfiguration.
+     * Copies of an immutable InternalHeapConfiguration share its mapping without updating this flag
+     * in the original. Instead, it is set whenever a new builder is created.
+     */
+    private boolean sharesPublicToPrivateIDs = false;
     /**
      * Stores the unique builder if the object is currently mutable.
      * If the object is immutable, builder is set to null.
@@ -129,10 +139,55 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     TIntSet markedNodes;
 
     /**
-     * Sets up an empty InternalHeapConfiguration.
+     * An isomorphism-invariant fingerprint of graph, see {@link StructuralFingerprint}.
+     * The fingerprint is computed whenever this InternalHeapConfiguration becomes immutable and
+     * is only valid if hasStructuralHash is true.
+     */
+    private int structuralHash;
+    private volatile boolean hasStructuralHash = false;
+
+    /**
+     * The ids of node and edge labels used to compute canonical forms, see {@link CanonicalForm}.
+     * Canonical forms are only comparable if they have been computed using the same ids.
+     * The value null means that no canonical forms are computed.
+     */
+    final LabelIds labelIds;
+
+    /**
+     * The canonical form of graph, see {@link CanonicalForm}, that is computed on demand while
+     * this InternalHeapConfiguration is immutable.
+     * The value null means that the canonical form has not been computed yet.
+     * An empty array means that no canonical form could be determined.
+     */
+    private volatile byte[] canonicalForm = null;
+
+    /**
+     * The private IDs of nodes that might have become unreachable since this InternalHeapConfiguration has last
+     * been known to contain no garbage, see {@link GarbageCandidates}.
+     * The value null means that no such information is available.
+     * A set that has been assigned to this field is never modified afterwards, because copies of this
+     * InternalHeapConfiguration may be created concurrently; builders work on a private copy instead.
+     */
+    volatile TIntSet garbageCandidates = null;
+
+    /**
+     * Sets up an empty InternalHeapConfiguration without canonical forms.
+     * Equality checks thus always require an isomorphism check.
      */
     public InternalHeapConfiguration() {
 
+        this((LabelIds) null);
+    }
+
+    /**
+     * Sets up an empty InternalHeapConfiguration.
+     *
+     * @param labelIds The ids of labels used to compute canonical forms or null if no canonical forms
+     *                 should be computed.
+     */
+    public InternalHeapConfiguration(LabelIds labelIds) {
+
+        this.labelIds = labelIds;
         builder = null;
         graph = new LabeledDigraph(10);
         countNodes = 0;
@@ -143,7 +198,11 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     }
 
     /**
-     * Creates a deep copy of an InternalHeapConfiguration.
+     * Creates a copy of an InternalHeapConfiguration.
+     * If the given InternalHeapConfiguration is immutable, the underlying graph and the mapping from
+     * public to private IDs are copied lazily, i.e. the copy only allocates memory for parts that are
+     * subsequently modified, see {@link LabeledDigraph#LabeledDigraph(LabeledDigraph)}.
+     * The given InternalHeapConfiguration itself is never modified.
      *
      * @param hc The InternalHeapConfiguration that should be copied.
      */
@@ -154,9 +213,28 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         countNonterminalEdges = hc.countNonterminalEdges;
         countVariableEdges = hc.countVariableEdges;
         builder = null;
+        labelIds = hc.labelIds;
         graph = new LabeledDigraph(hc.graph);
 
-        publicToPrivateIDs = new TIntIntHashMap(hc.publicToPrivateIDs);
+        if (hc.builder == null) {
+            publicToPrivateIDs = hc.publicToPrivateIDs;
+            sharesPublicToPrivateIDs = true;
+        } else {
+            publicToPrivateIDs = new TIntIntHashMap(hc.publicToPrivateIDs);
+        }
+
+        if (hc.builder == null) {
+            if (hc.hasStructuralHash) {
+                structuralHash = hc.structuralHash;
+                hasStructuralHash = true;
+            }
+            canonicalForm = hc.canonicalForm;
+        }
+
+        TIntSet candidates = hc.garbageCandidates;
+        if (candidates != null) {
+            garbageCandidates = new TIntHashSet(candidates);
+        }
     }
 
     @SuppressWarnings("MethodDoesntCallSuperMethod")
@@ -168,13 +246,19 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
 
     @Override
     public HeapConfiguration getEmpty() {
-        return new InternalHeapConfiguration();
+        return new InternalHeapConfiguration(labelIds);
     }
 
     @Override
     public HeapConfigurationBuilder builder() {
 
         if (builder == null) {
+            // copies created while this object was immutable might share the mapping of IDs
+            sharesPublicToPrivateIDs = true;
+            TIntSet candidates = garbageCandidates;
+            if (candidates != null) {
+                garbageCandidates = new TIntHashSet(candidates);
+            }
             builder = new InternalHeapConfigurationBuilder(this);
         }
 
@@ -235,24 +319,56 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     public TIntArrayList attachedVariablesOf(int node) {
 
         int privateId = checkNodeAndGetPrivateId(node);
-        return filterAttachedElements(graph.predecessorsOf(privateId), this::isVariable);
+        return filterPredecessors(privateId, this::isVariable);
+    }
+
+    /**
+     * Creates a repetition-free list containing the public IDs of all predecessors of the given element
+     * that satisfy the provided predicate.
+     *
+     * @param privateId       The private ID of an element of this InternalHeapConfiguration.
+     * @param filterPredicate A predicate that takes a private ID of an element of this InternalHeapConfiguration
+     *                        and returns true if and only if the element should belong to the returned list.
+     * @return A repetition-free list that containsSubsumingState all public IDs whose corresponding private IDs satisfy filterPredicate.
+     */
+    private TIntArrayList filterPredecessors(int privateId, IntPredicate filterPredicate) {
+
+        return filterAttachedElements(graph.predecessorSizeOf(privateId),
+                pos -> graph.predecessorAt(privateId, pos), filterPredicate);
+    }
+
+    /**
+     * Creates a repetition-free list containing the public IDs of all successors of the given element
+     * that satisfy the provided predicate.
+     *
+     * @param privateId       The private ID of an element of this InternalHeapConfiguration.
+     * @param filterPredicate A predicate that takes a private ID of an element of this InternalHeapConfiguration
+     *                        and returns true if and only if the element should belong to the returned list.
+     * @return A repetition-free list that containsSubsumingState all public IDs whose corresponding private IDs satisfy filterPredicate.
+     */
+    private TIntArrayList filterSuccessors(int privateId, IntPredicate filterPredicate) {
+
+        return filterAttachedElements(graph.successorSizeOf(privateId),
+                pos -> graph.successorAt(privateId, pos), filterPredicate);
     }
 
     /**
-     * Creates a repetition-free list containing the public IDs of all elements in the provided list that satisfy
-     * the provided predicate.
+     * Creates a repetition-free list containing the public IDs of all elements in the provided sequence that
+     * satisfy the provided predicate.
      *
-     * @param attached        A list of private IDs of elements belonging to this InternalHeapConfiguration.
+     * @param size            The number of elements in the sequence.
+     * @param attached        Maps every position in the sequence to a private ID of an element belonging to
+     *                        this InternalHeapConfiguration.
      * @param filterPredicate A predicate that takes a private ID of an element of this InternalHeapConfiguration
      *                        and returns true if and only if the element should belong to the returned list.
      * @return A repetition-free list that containsSubsumingState all public IDs whose corresponding private IDs satisfy filterPredicate.
      */
-    private TIntArrayList filterAttachedElements(TIntArrayList attached, IntPredicate filterPredicate) {
+    private TIntArrayList filterAttachedElements(int size, IntUnaryOperator attached, IntPredicate filterPredicate) {
 
-        TIntArrayList result = new TIntArrayList(attached.size());
+        TIntArrayList result = new TIntArrayList(size);
 
-        for (int i = 0; i < attached.size(); i++) {
-            int a = attached.get(i);
+        for (int i = 0; i < size; i++) {
+            int a = attached.applyAsInt(i);
             if (filterPredicate.test(a)) {
 
                 int publicId = getPublicId(a);
@@ -269,7 +385,7 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     public TIntArrayList attachedNonterminalEdgesOf(int node) {
 
         int privateId = checkNodeAndGetPrivateId(node);
-        return filterAttachedElements(graph.predecessorsOf(privateId), this::isNonterminalEdge);
+        return filterPredecessors(privateId, this::isNonterminalEdge);
     }
 
     /**
@@ -294,14 +410,14 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     public TIntArrayList successorNodesOf(int node) {
 
         int privateId = checkNodeAndGetPrivateId(node);
-        return filterAttachedElements(graph.successorsOf(privateId), this::isNode);
+        return filterSuccessors(privateId, this::isNode);
     }
 
     @Override
     public TIntArrayList predecessorNodesOf(int node) {
 
         int privateId = checkNodeAndGetPrivateId(node);
-        return filterAttachedElements(graph.predecessorsOf(privateId), this::isNode);
+        return filterPredecessors(privateId, this::isNode);
     }
 
     @Override
@@ -344,11 +460,11 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     public int selectorTargetOf(int node, SelectorLabel sel) {
 
         int privateId = checkNodeAndGetPrivateId(node);
-        TIntArrayList succ = graph.successorsOf(privateId);
+        int size = graph.successorSizeOf(privateId);
 
-        for (int i = 0; i < succ.size(); i++) {
+        for (int i = 0; i < size; i++) {
 
-            int to = succ.get(i);
+            int to = graph.successorAt(privateId, i);
             if (isNode(to)) {
 
                 Object label = graph.edgeLabelAt(privateId, i);
@@ -487,11 +603,11 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
 
         int privateId = checkNonterminalAndGetPrivateId(ntEdge);
 
-        TIntArrayList succ = graph.successorsOf(privateId);
-        TIntArrayList result = new TIntArrayList(succ.size());
+        int size = graph.successorSizeOf(privateId);
+        TIntArrayList result = new TIntArrayList(size);
 
-        for (int i = 0; i < succ.size(); i++) {
-            int s = succ.get(i);
+        for (int i = 0; i < size; i++) {
+            int s = graph.successorAt(privateId, i);
             result.add(getPublicId(s));
         }
 
@@ -566,7 +682,7 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         int privateId = checkVariableAndGetPrivateId(varEdge);
 
         return getPublicId(
-                graph.successorsOf(privateId).get(0)
+                graph.successorAt(privateId, 0)
         );
 
 
@@ -597,15 +713,15 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     public TIntIntMap attachedNonterminalEdgesWithNonReductionTentacle(int node) {
 
         int privateId = checkNodeAndGetPrivateId(node);
-        TIntIntMap result = new TIntIntHashMap(graph.predecessorSizeOf(privateId));
-        TIntIterator predIter = graph.predecessorsOf(privateId).iterator();
-        while (predIter.hasNext()) {
-            int pred = predIter.next();
+        int size = graph.predecessorSizeOf(privateId);
+        TIntIntMap result = new TIntIntHashMap(size);
+        for (int i = 0; i < size; i++) {
+            int pred = graph.predecessorAt(privateId, i);
             if (isNonterminalEdge(pred)) {
-                TIntArrayList att = graph.successorsOf(pred);
+                int rank = graph.successorSizeOf(pred);
                 Nonterminal label = (Nonterminal) graph.nodeLabelOf(pred);
-                for (int tentacle = 0; tentacle < att.size(); tentacle++) {
-                    if (att.get(tentacle) == privateId && !label.isReductionTentacle(tentacle)) {
+                for (int tentacle = 0; tentacle < rank; tentacle++) {
+                    if (graph.successorAt(pred, tentacle) == privateId && !label.isReductionTentacle(tentacle)) {
                         result.put(getPublicId(pred), tentacle);
                         break;
                     }
@@ -630,6 +746,24 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         // otherObject instanceof HeapConfiguration omitted to improve performance
         // Notice that it is *not* sufficient to check classes here.
 
+        if (otherObject instanceof InternalHeapConfiguration) {
+            InternalHeapConfiguration other = (InternalHeapConfiguration) otherObject;
+            // isomorphic heap configurations always have the same fingerprint and,
+            // if it can be determined using the same label ids, the same canonical form
+            if (builder == null && other.builder == null) {
+                if (structuralHash() != other.structuralHash()) {
+                    return false;
+                }
+                if (labelIds == other.labelIds) {
+                    byte[] form = canonicalForm();
+                    byte[] otherForm = other.canonicalForm();
+                    if (form.length > 0 && otherForm.length > 0) {
+                        return Arrays.equals(form, otherForm);
+                    }
+                }
+            }
+        }
+
         HeapConfiguration hc = (HeapConfiguration) otherObject;
         IsomorphismChecker isoChecker = new IsomorphismChecker(this, hc);
         return isoChecker.hasMatching();
@@ -638,31 +772,94 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     @Override
     public int hashCode() {
 
-        int hash = countNodes();
-        hash = (hash << 1) ^ countExternalNodes();
-        hash = (hash << 1) ^ countVariableEdges();
-        hash = (hash << 1) ^ countNonterminalEdges();
+        return structuralHash();
+    }
 
-        int variableHash = 0;
-        int ntHash = 0;
-        int nodeHash = 0;
-        for (int i = 0; i < graph.size(); i++) {
-            Object label = graph.nodeLabelOf(i);
-            int labelHash = label.hashCode();
-            if (label.getClass() == Variable.class) {
-                variableHash ^= labelHash;
-            } else if (label.getClass() == GeneralType.class) {
-                ntHash ^= labelHash;
-            } else {
-                nodeHash ^= labelHash;
-            }
+    /**
+     * @return An isomorphism-invariant fingerprint of this InternalHeapConfiguration.
+     * The fingerprint is cached as long as this InternalHeapConfiguration is immutable.
+     */
+    private int structuralHash() {
+
+        if (hasStructuralHash) {
+            return structuralHash;
         }
 
-        hash = (hash << 1) ^ nodeHash;
-        hash = (hash << 1) ^ variableHash;
-        hash = (hash << 1) ^ ntHash;
+        if (builder != null) {
+            return StructuralFingerprint.of(graph);
+        }
 
-        return hash;
+        updateStructuralHash();
+        return structuralHash;
+    }
+
+    /**
+     * Computes and caches the fingerprint of this InternalHeapConfiguration.
+     * Called by {@link InternalHeapConfigurationBuilder#build()} once the underlying graph has been packed.
+     */
+    void updateStructuralHash() {
+
+        structuralHash = StructuralFingerprint.of(graph);
+        hasStructuralHash = true;
+    }
+
+    /**
+     * Discards the cached fingerprint and canonical form of this InternalHeapConfiguration.
+     * Called whenever a builder that may modify the underlying graph is created.
+     */
+    void invalidateStructuralHash() {
+
+        hasStructuralHash = false;
+        canonicalForm = null;
+    }
+
+    /**
+     * Records that the given element might become unreachable, see {@link GarbageCandidates}.
+     * Has no effect if no information about unreachable nodes is tracked.
+     *
+     * @param privateId The private ID of a node.
+     */
+    void addGarbageCandidate(int privateId) {
+
+        if (garbageCandidates != null) {
+            garbageCandidates.add(privateId);
+        }
+    }
+
+    /**
+     * Records that all elements the given element points to might become unreachable.
+     * This is the case whenever the given element, e.g. a selector edge or a nonterminal edge, is removed.
+     *
+     * @param privateId The private ID of an element.
+     */
+    void addSuccessorsAsGarbageCandidates(int privateId) {
+
+        if (garbageCandidates != null) {
+            garbageCandidates.addAll(graph.successorsOf(privateId));
+        }
+    }
+
+    /**
+     * Determines the canonical form of this immutable InternalHeapConfiguration.
+     *
+     * @return The canonical form or an empty array if no canonical form could be determined.
+     * Canonical forms of two InternalHeapConfigurations are only comparable if both use the same labelIds.
+     */
+    byte[] canonicalForm() {
+
+        if (labelIds == null) {
+            return new byte[0];
+        }
+
+        byte[] result = canonicalForm;
+        if (result == null) {
+            result = CanonicalForm.of(graph, labelIds);
+            if (result == null) {
+                result = new byte[0];
+            }
+            canonicalForm = result;
+        }
+        return result;
     }
 
     @Override
@@ -731,15 +928,29 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
     @Override
     public boolean hasEdge(int privateIdFrom, int privateIdTo) {
 
-        return graph.successorsOf(privateIdFrom).contains(privateIdTo);
+        return graph.hasEdge(privateIdFrom, privateIdTo);
     }
 
 
+    /**
+     * @return The mapping from public to private IDs of this InternalHeapConfiguration such that
+     * it can be modified without affecting any other InternalHeapConfiguration.
+     */
+    TIntIntMap mutablePublicToPrivateIDs() {
+
+        if (sharesPublicToPrivateIDs) {
+            publicToPrivateIDs = new TIntIntHashMap(publicToPrivateIDs);
+            sharesPublicToPrivateIDs = false;
+        }
+        return publicToPrivateIDs;
+    }
+
     /**
      * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
      * underlying an InternalHeapConfiguration through private IDs.
      * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
      * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     * The returned list must not be modified.
      */
     @Override
     public TIntArrayList getSuccessorsOf(int privateNodeId) {
@@ -747,12 +958,37 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         return graph.successorsOf(privateNodeId);
     }
 
+    /**
+     * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
+     * underlying an InternalHeapConfiguration through private IDs.
+     * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
+     * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     */
+    @Override
+    public int countSuccessorsOf(int privateNodeId) {
+
+        return graph.successorSizeOf(privateNodeId);
+    }
+
+    /**
+     * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
+     * underlying an InternalHeapConfiguration through private IDs.
+     * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
+     * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     */
+    @Override
+    public int getSuccessorAt(int privateNodeId, int pos) {
+
+        return graph.successorAt(privateNodeId, pos);
+    }
+
 
     /**
      * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
      * underlying an InternalHeapConfiguration through private IDs.
      * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
      * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     * The returned list must not be modified.
      */
     @Override
     public TIntArrayList getPredecessorsOf(int privateNodeId) {
@@ -760,6 +996,30 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         return graph.predecessorsOf(privateNodeId);
     }
 
+    /**
+     * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
+     * underlying an InternalHeapConfiguration through private IDs.
+     * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
+     * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     */
+    @Override
+    public int countPredecessorsOf(int privateNodeId) {
+
+        return graph.predecessorSizeOf(privateNodeId);
+    }
+
+    /**
+     * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
+     * underlying an InternalHeapConfiguration through private IDs.
+     * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
+     * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     */
+    @Override
+    public int getPredecessorAt(int privateNodeId, int pos) {
+
+        return graph.predecessorAt(privateNodeId, pos);
+    }
+
 
     /**
      * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
@@ -786,6 +1046,38 @@ public class InternalHeapConfiguration implements HeapConfiguration, Graph {
         return graph.edgeLabelsFromTo(privateIdFrom, privateIdTo);
     }
 
+    /**
+     * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
+     * underlying an InternalHeapConfiguration through private IDs.
+     * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
+     * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     */
+    @Override
+    public boolean hasEqualEdgeLabels(int from, int to, Graph other, int otherFrom, int otherTo) {
+
+        if (other instanceof InternalHeapConfiguration) {
+            LabeledDigraph otherGraph = ((InternalHeapConfiguration) other).graph;
+            return graph.hasEqualEdgeLabels(from, to, otherGraph, otherFrom, otherTo);
+        }
+        return Graph.super.hasEqualEdgeLabels(from, to, other, otherFrom, otherTo);
+    }
+
+    /**
+     * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
+     * underlying an InternalHeapConfiguration through private IDs.
+     * It should thus only be used if it can be guaranteed that a HeapConfiguration is immutable.
+     * That is, {@link HeapConfiguration#builder()} is {@code null}.
+     */
+    @Override
+    public boolean hasCoveredEdgeLabels(int from, int to, Graph other, int otherFrom, int otherTo) {
+
+        if (other instanceof InternalHeapConfiguration) {
+            LabeledDigraph otherGraph = ((InternalHeapConfiguration) other).graph;
+            return graph.hasCoveredEdgeLabels(from, to, otherGraph, otherFrom, otherTo);
+        }
+        return Graph.super.hasCoveredEdgeLabels(from, to, other, otherFrom, otherTo);
+    }
+
 
     /**
      * This method directly access the {@link de.rwth.i2.attestor.graph.digraph.LabeledDigraph}
@@ -7,6 +7,8 @@ import de.rwth.i2.attestor.graph.heap.*;
 import de.rwth.i2.attestor.types.Type;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
 
 /**
  * All the messy details of a {@link HeapConfigurationBuilder} for {@link InternalHeapConfiguration}s.
@@ -38,13 +40,15 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         }
 
         this.heapConf = heapConf;
-
+        heapConf.invalidateStructuralHash();
     }
 
     @Override
     public HeapConfiguration build() {
 
         cleanupGraphAndIDs();
+        heapConf.updateStructuralHash();
+        heapConf.graph.freeze(heapConf.labelIds);
 
         // invalidate this builder
         heapConf.builder = null;
@@ -59,14 +63,39 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
      * of elements that have not been deleted unchanged.
      */
     private void cleanupGraphAndIDs() {
+
+        // Deleted elements are no garbage candidates.
+        TIntSet candidates = heapConf.garbageCandidates;
+        if (candidates != null) {
+            TIntSet remainingCandidates = new TIntHashSet(candidates.size());
+            TIntIterator iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                int candidate = iterator.next();
+                if (heapConf.graph.containsNode(candidate) && heapConf.isNode(candidate)) {
+                    remainingCandidates.add(candidate);
+                }
+            }
+            candidates = remainingCandidates;
+        }
+
         // Swap all deleted elements to the end and remove them from the
         // graph to get a tight representation.
         // The obtained map stores all performed swaps
         int[] swaps = heapConf.graph.pack();
 
+        if (candidates != null) {
+            TIntSet packedCandidates = new TIntHashSet(candidates.size());
+            TIntIterator iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                int candidate = iterator.next();
+                packedCandidates.add(swaps[candidate] != HeapConfiguration.INVALID_ELEMENT ? swaps[candidate] : candidate);
+            }
+            heapConf.garbageCandidates = packedCandidates;
+        }
+
         // Update the mapping from private to public IDs such that swapped
         // private IDs still refer to the same public ID as before.
-        heapConf.publicToPrivateIDs.transformValues(value -> {
+        heapConf.mutablePublicToPrivateIDs().transformValues(value -> {
 
             if (swaps[value] != HeapConfiguration.INVALID_ELEMENT) {
                 return swaps[value];
@@ -89,6 +118,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
         for (int i = 0; i < count; i++) {
 
+            heapConf.addGarbageCandidate(getNextPrivateId());
             int publicId = addPrivatePublicIdPair();
             heapConf.graph.addNode(type, 10, 10);
             buffer.add(publicId);
@@ -105,6 +135,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             throw new NullPointerException();
         }
 
+        heapConf.addGarbageCandidate(getNextPrivateId());
         int publicId = addPrivatePublicIdPair();
         heapConf.graph.addNode(type, 10, 10);
         ++heapConf.countNodes;
@@ -120,7 +151,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
         int privateId = getNextPrivateId();
         int publicId = getNextPublicId();
-        heapConf.publicToPrivateIDs.put(publicId, privateId);
+        heapConf.mutablePublicToPrivateIDs().put(publicId, privateId);
         return publicId;
     }
 
@@ -232,7 +263,8 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
      */
     private boolean removeElement(int publicId, int privateId) {
 
-        heapConf.publicToPrivateIDs.remove(publicId);
+        heapConf.addSuccessorsAsGarbageCandidates(privateId);
+        heapConf.mutablePublicToPrivateIDs().remove(publicId);
         return heapConf.graph.removeNodeAt(privateId);
     }
 
@@ -277,11 +309,28 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
             throw new NullPointerException();
         }
 
-        heapConf.graph.removeEdgeLabelAt(privateId, sel);
+        removeSelectorEdge(privateId, sel);
 
         return this;
     }
 
+    /**
+     * Removes the selector edge with the given label from a node and records its target as a garbage candidate.
+     *
+     * @param privateId The private ID of the source node.
+     * @param sel       The label of the selector edge.
+     */
+    private void removeSelectorEdge(int privateId, Object sel) {
+
+        TIntArrayList successors = heapConf.graph.successorsOf(privateId);
+        for (int i = 0; i < successors.size(); i++) {
+            if (sel.equals(heapConf.graph.edgeLabelAt(privateId, i))) {
+                heapConf.addGarbageCandidate(successors.get(i));
+            }
+        }
+        heapConf.graph.removeEdgeLabelAt(privateId, sel);
+    }
+
     @Override
     public HeapConfigurationBuilder replaceSelector(int node, SelectorLabel oldSel, SelectorLabel newSel) {
 
@@ -332,6 +381,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
         }
 
         heapConf.graph.unsetExternal(privateId);
+        heapConf.addGarbageCandidate(privateId);
 
         return this;
     }
@@ -468,6 +518,8 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
                     "different from the original rank: " + rank + " vs. " + newNt.getRank());
         }
 
+        // reduction tentacles might have changed
+        heapConf.addSuccessorsAsGarbageCandidates(privateId);
         heapConf.graph.replaceNodeLabel(privateId, newNt);
 
         return this;
@@ -567,6 +619,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
                     int privateId = getNextPrivateId();
                     addPrivatePublicIdPair();
+                    heapConf.addGarbageCandidate(privateId);
                     heapConf.graph.addNode(replacement.graph.nodeLabelOf(i), 10, 10);
                     ++heapConf.countNodes;
                     newElements.add(privateId);
@@ -594,10 +647,10 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
                                         TIntArrayList newElements, int nodeIdToAdd) {
 
         int privateId = newElements.get(nodeIdToAdd);
-        TIntArrayList successors = replacement.graph.successorsOf(nodeIdToAdd);
-        for (int j = 0; j < successors.size(); j++) {
+        int outDegree = replacement.graph.successorSizeOf(nodeIdToAdd);
+        for (int j = 0; j < outDegree; j++) {
             Object label = replacement.graph.edgeLabelAt(nodeIdToAdd, j);
-            int to = newElements.get(successors.get(j));
+            int to = newElements.get(replacement.graph.successorAt(nodeIdToAdd, j));
             heapConf.graph.addEdge(privateId, label, to);
         }
 
@@ -618,11 +671,11 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
         int freshPrivateId = getNextPrivateId();
         addPrivatePublicIdPair();
-        TIntArrayList successors = replacement.graph.successorsOf(ntIdToAdd);
-        heapConf.graph.addNode(replacement.graph.nodeLabelOf(ntIdToAdd), successors.size(), 0);
+        int rank = replacement.graph.successorSizeOf(ntIdToAdd);
+        heapConf.graph.addNode(replacement.graph.nodeLabelOf(ntIdToAdd), rank, 0);
         ++heapConf.countNonterminalEdges;
-        for (int j = 0; j < successors.size(); j++) {
-            int to = newElements.get(successors.get(j));
+        for (int j = 0; j < rank; j++) {
+            int to = newElements.get(replacement.graph.successorAt(ntIdToAdd, j));
             heapConf.graph.addEdge(freshPrivateId, j, to);
         }
 
@@ -643,7 +696,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
 
         int freshPrivateId = getNextPrivateId();
         addPrivatePublicIdPair();
-        int target = replacement.graph.successorsOf(varIDtoAdd).get(0);
+        int target = replacement.graph.successorAt(varIDtoAdd, 0);
         heapConf.graph.addNode(replacement.graph.nodeLabelOf(varIDtoAdd), 1, 0);
         ++heapConf.countVariableEdges;
         heapConf.graph.addEdge(freshPrivateId, 1, newElements.get(target));
@@ -852,7 +905,7 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
                 Object l = pattern.graph.edgeLabelAt(i, j);
                 if (l instanceof SelectorLabel) {
 
-                    heapConf.graph.removeEdgeLabelAt(match, l);
+                    removeSelectorEdge(match, l);
                 }
             }
         }
@@ -879,11 +932,12 @@ public class InternalHeapConfigurationBuilder implements HeapConfigurationBuilde
                     --heapConf.countNonterminalEdges;
                 }
 
+                heapConf.addSuccessorsAsGarbageCandidates(match);
                 heapConf.graph.removeNodeAt(match);
             }
         }
 
-        heapConf.publicToPrivateIDs.retainEntries(
+        heapConf.mutablePublicToPrivateIDs().retainEntries(
                 (key, value) -> heapConf.graph.containsNode(value)
         );
     }
@@ -0,0 +1,91 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+
+import java.util.Arrays;
+
+/**
+ * A key that identifies heap configurations up to the matching performed for preconditions of contracts,
+ * see {@link de.rwth.i2.attestor.graph.heap.matching.PreconditionChecker}.
+ * That is, two heap configurations are matched if they are isomorphic, where only whether a node is external
+ * is taken into account, but not its position in the sequence of external nodes.
+ * <p>
+ * Heap configurations that are matched always have equal keys.
+ * If a key is canonical, see {@link #isCanonical()}, the converse also holds, i.e. two heap configurations with
+ * equal canonical keys are matched. Otherwise, equal keys only indicate a potential match.
+ * Keys are only canonical for heap configurations that determine the ids of their labels,
+ * e.g. those created by a scene. Canonical keys based on different label ids are never equal.
+ */
+public final class PreconditionKey {
+
+    private final int hash;
+
+    /**
+     * The canonical form of the heap configuration ignoring the order of external nodes or null if
+     * no canonical form could be determined.
+     */
+    private final byte[] canonicalForm;
+
+    /**
+     * The label ids used to compute canonicalForm.
+     */
+    private final LabelIds labelIds;
+
+    private PreconditionKey(int hash, byte[] canonicalForm, LabelIds labelIds) {
+
+        this.hash = hash;
+        this.canonicalForm = canonicalForm;
+        this.labelIds = labelIds;
+    }
+
+    /**
+     * @param heapConfiguration A heap configuration.
+     * @return The key of the given heap configuration.
+     */
+    public static PreconditionKey of(HeapConfiguration heapConfiguration) {
+
+        if (heapConfiguration instanceof InternalHeapConfiguration) {
+            InternalHeapConfiguration hc = (InternalHeapConfiguration) heapConfiguration;
+            if (hc.builder == null && hc.labelIds != null) {
+                byte[] canonicalForm = CanonicalForm.of(hc.graph, true, hc.labelIds);
+                return new PreconditionKey(
+                        StructuralFingerprint.of(hc.graph, true),
+                        canonicalForm,
+                        canonicalForm == null ? null : hc.labelIds
+                );
+            }
+        }
+
+        int hash = 31 * (31 * heapConfiguration.countNodes() + heapConfiguration.countNonterminalEdges())
+                + heapConfiguration.countVariableEdges();
+        return new PreconditionKey(31 * hash + heapConfiguration.countExternalNodes(), null, null);
+    }
+
+    /**
+     * @return True if and only if equal keys imply that the corresponding heap configurations are matched.
+     */
+    public boolean isCanonical() {
+
+        return canonicalForm != null;
+    }
+
+    @Override
+    public int hashCode() {
+
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object otherObject) {
+
+        if (otherObject == this) {
+            return true;
+        }
+        if (!(otherObject instanceof PreconditionKey)) {
+            return false;
+        }
+        PreconditionKey other = (PreconditionKey) otherObject;
+        return hash == other.hash && labelIds == other.labelIds && Arrays.equals(canonicalForm, other.canonicalForm);
+    }
+}
@@ -0,0 +1,142 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
+
+import java.util.Arrays;
+
+/**
+ * Computes an isomorphism-invariant fingerprint of the {@link LabeledDigraph} underlying an
+ * {@link InternalHeapConfiguration}.
+ * The fingerprint is obtained by Weisfeiler-Lehman style colour refinement:
+ * Every element is initially coloured by its label and its position in the sequence of external nodes.
+ * In each round, the colour of an element is refined by the multisets of (edge label, colour) pairs of its
+ * outgoing and incoming edges, where edge labels are either selector labels or tentacle positions.
+ * Refinement stops as soon as the number of colour classes no longer increases or after a fixed number of rounds.
+ * <p>
+ * Isomorphic graphs, in the sense of {@link de.rwth.i2.attestor.graph.heap.matching.IsomorphismChecker},
+ * always have the same fingerprint. The converse does not hold in general.
+ */
+final class StructuralFingerprint {
+
+    /**
+     * Upper bound on the number of refinement rounds.
+     * Bounding the number of rounds keeps the costs linear in the size of the graph, e.g. for long lists
+     * whose colour classes would otherwise only stabilize after a number of rounds linear in the length of the list.
+     */
+    private static final int MAX_ROUNDS = 4;
+
+    private StructuralFingerprint() {
+
+    }
+
+    /**
+     * @param graph A LabeledDigraph. Elements that have been removed from a graph that is not packed are ignored.
+     * @return The fingerprint of the given graph.
+     */
+    static int of(LabeledDigraph graph) {
+
+        return of(graph, false);
+    }
+
+    /**
+     * @param graph               A LabeledDigraph. Elements that have been removed from a graph that is not packed
+     *                            are ignored.
+     * @param ignoreExternalOrder True if the fingerprint should only take into account which elements are
+     *                            external, but not their position in the sequence of external nodes.
+     * @return The fingerprint of the given graph.
+     */
+    static int of(LabeledDigraph graph, boolean ignoreExternalOrder) {
+
+        // Colours are only stored for elements that are contained in the graph, which are indexed densely.
+        // Otherwise, the (refined) colours of removed elements would affect the number of colour classes.
+        int size = graph.size();
+        int[] positions = new int[size];
+        int elements = 0;
+        for (int i = 0; i < size; i++) {
+            positions[i] = graph.containsNode(i) ? elements++ : -1;
+        }
+
+        int[] nodes = new int[elements];
+        int[] colors = new int[elements];
+        int[] nextColors = new int[elements];
+        int[] incoming = new int[elements];
+
+        for (int i = 0; i < size; i++) {
+            int pos = positions[i];
+            if (pos >= 0) {
+                nodes[pos] = i;
+                int externalPos = ignoreExternalOrder ? Math.min(graph.externalPosOf(i), 0) : graph.externalPosOf(i);
+                colors[pos] = mix(31 * graph.nodeLabelOf(i).hashCode() + externalPos);
+            }
+        }
+
+        int classes = countClasses(colors);
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+
+            Arrays.fill(incoming, 0);
+            for (int from = 0; from < elements; from++) {
+                int outDegree = graph.successorSizeOf(nodes[from]);
+                int outgoing = 0;
+                for (int j = 0; j < outDegree; j++) {
+                    int to = positions[graph.successorAt(nodes[from], j)];
+                    int labelHash = graph.edgeLabelAt(nodes[from], j).hashCode();
+                    outgoing += mix(31 * labelHash + colors[to]);
+                    incoming[to] += mix(37 * labelHash + colors[from]);
+                }
+                nextColors[from] = outgoing;
+            }
+
+            for (int i = 0; i < elements; i++) {
+                nextColors[i] = mix(31 * (31 * colors[i] + nextColors[i]) + incoming[i]);
+            }
+
+            int[] swap = colors;
+            colors = nextColors;
+            nextColors = swap;
+
+            int refinedClasses = countClasses(colors);
+            if (refinedClasses <= classes) {
+                break;
+            }
+            classes = refinedClasses;
+        }
+
+        int hash = 0;
+        for (int i = 0; i < elements; i++) {
+            hash += mix(colors[i]);
+        }
+
+        return 31 * (31 * elements + graph.rank()) + hash;
+    }
+
+    private static int countClasses(int[] colors) {
+
+        if (colors.length == 0) {
+            return 0;
+        }
+
+        int[] sorted = colors.clone();
+        Arrays.sort(sorted);
+        int classes = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[i - 1]) {
+                ++classes;
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Scrambles the bits of a hash value such that sums of mixed values are unlikely to collide.
+     * This is the finalization step of MurmurHash3.
+     */
+    private static int mix(int hash) {
+
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
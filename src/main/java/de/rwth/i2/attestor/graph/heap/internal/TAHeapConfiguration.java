@@ -1,5 +1,6 @@
 package de.rwth.i2.attestor.graph.heap.internal;
 
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 
 import java.util.ArrayDeque;
@@ -16,6 +17,10 @@ public class TAHeapConfiguration extends InternalHeapConfiguration {
         super();
     }
 
+    public TAHeapConfiguration(LabelIds labelIds) {
+        super(labelIds);
+    }
+
     public TAHeapConfiguration(TAHeapConfiguration heapConfiguration) {
         super(heapConfiguration);
         this.transformationQueue.addAll(heapConfiguration.transformationQueue);
@@ -61,7 +66,7 @@ public class TAHeapConfiguration extends InternalHeapConfiguration {
 
     @Override
     public HeapConfiguration getEmpty() {
-        return new TAHeapConfiguration();
+        return new TAHeapConfiguration(labelIds);
     }
 
     @Override
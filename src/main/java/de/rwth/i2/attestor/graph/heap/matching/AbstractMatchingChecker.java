@@ -4,8 +4,15 @@ import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.graph.heap.Matching;
 import de.rwth.i2.attestor.graph.heap.internal.InternalMatching;
 import de.rwth.i2.attestor.graph.morphism.Graph;
+import de.rwth.i2.attestor.graph.morphism.Morphism;
 import de.rwth.i2.attestor.graph.morphism.MorphismChecker;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A general abstract wrapper to compute a {@link Matching} between two HeapConfigurations.
  * The exact matching to be computed has to be determined by subclasses.
@@ -31,9 +38,15 @@ public abstract class AbstractMatchingChecker {
      */
     private MorphismChecker checker;
 
+    /**
+     * True if and only if checker has already searched for the first matching.
+     */
+    private boolean searched = false;
+
 
     /**
      * Initializes an AbstractMatchingChecker.
+     * The search for a matching is started as soon as a matching is requested for the first time.
      *
      * @param pattern The pattern HeapConfiguration.
      * @param target  The target HeapConfiguration.
@@ -57,11 +70,15 @@ public abstract class AbstractMatchingChecker {
         this.pattern = pattern;
         this.target = target;
         this.checker = checker;
+    }
 
-        Graph p = (Graph) pattern;
-        Graph t = (Graph) target;
+    private MorphismChecker searchedChecker() {
 
-        this.checker.run(p, t);
+        if (!searched) {
+            searched = true;
+            checker.run((Graph) pattern, (Graph) target);
+        }
+        return checker;
     }
 
     /**
@@ -85,7 +102,7 @@ public abstract class AbstractMatchingChecker {
      */
     public boolean hasMatching() {
 
-        return checker.hasMorphism();
+        return searchedChecker().hasMorphism();
     }
 
     /**
@@ -93,6 +110,30 @@ public abstract class AbstractMatchingChecker {
      */
     public Matching getMatching() {
 
-        return new InternalMatching(pattern, checker.getMorphism(), target);
+        return new InternalMatching(pattern, searchedChecker().getMorphism(), target);
+    }
+
+    /**
+     * Lazily enumerates all matchings in a single search. The first matching coincides with
+     * the one returned by {@link #getMatching()}.
+     * Further matchings are only computed when they are consumed.
+     * Every call starts a new search whose state is only referenced by the returned stream.
+     * Hence, clients that enumerate all matchings should not call {@link #hasMatching()} or
+     * {@link #getMatching()} before, because the first matching would then be searched for twice.
+     * The returned stream can be consumed at most once.
+     *
+     * @return A sequential stream of all matchings of the pattern in the target.
+     */
+    public Stream<Matching> getMatchings() {
+
+        if (searched && !checker.hasMorphism()) {
+            return Stream.empty();
+        }
+
+        Iterator<Morphism> morphisms = checker.getMorphisms((Graph) pattern, (Graph) target);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(morphisms, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).map(morphism -> new InternalMatching(pattern, morphism, target));
     }
 }
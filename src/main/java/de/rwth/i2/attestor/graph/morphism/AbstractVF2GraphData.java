@@ -1,6 +1,5 @@
 package de.rwth.i2.attestor.graph.morphism;
 
-import gnu.trove.list.array.TIntArrayList;
 
 
 /**
@@ -38,10 +37,11 @@ public abstract class AbstractVF2GraphData {
      */
     private int matchLength;
     /**
-     * The identifier of the last node that has been matched.
-     * This value is used for backtracking.
+     * The nodes in the order in which they have been added to the partial matching,
+     * i.e. matchedNodes[i] is the node matched at height i+1 of the search tree.
+     * This is used for backtracking.
      */
-    private int lastMatchedNode;
+    private final int[] matchedNodes;
     /**
      * The number of nodes that have not been matched yet, but are reachable
      * via an incoming edge from an already matched node.
@@ -65,13 +65,13 @@ public abstract class AbstractVF2GraphData {
         int noNodes = graph.size();
 
         matchLength = 0;
-        lastMatchedNode = NULL_NODE;
         terminalInLength = 0;
         terminalOutLength = 0;
 
 
         in = new int[noNodes];
         out = new int[noNodes];
+        matchedNodes = new int[noNodes];
 
         for (int i = 0; i < noNodes; i++) {
             in[i] = NULL_NODE;
@@ -80,23 +80,6 @@ public abstract class AbstractVF2GraphData {
 
     }
 
-    /**
-     * Creates a shallow copy of the given AbstractVF2GraphData object.
-     *
-     * @param data The AbstractVF2GraphData object that should be copied.
-     */
-    public AbstractVF2GraphData(AbstractVF2GraphData data) {
-
-        graph = data.graph;
-        matchLength = data.matchLength;
-        lastMatchedNode = data.lastMatchedNode;
-        terminalInLength = data.terminalInLength;
-        terminalOutLength = data.terminalOutLength;
-
-        in = data.in;
-        out = data.out;
-    }
-
     protected abstract void matchNode(int matchFrom, int matchTo);
 
     protected abstract void unmatchNode(int node);
@@ -184,8 +167,8 @@ public abstract class AbstractVF2GraphData {
     void setMatch(int matchFrom, int matchTo) {
 
         matchNode(matchFrom, matchTo);
+        matchedNodes[matchLength] = matchFrom;
         ++matchLength;
-        lastMatchedNode = matchFrom;
 
         updateTerminalSets(matchFrom);
     }
@@ -203,10 +186,9 @@ public abstract class AbstractVF2GraphData {
             --terminalOutLength;
         }
 
-        TIntArrayList succsOfNode = graph.getSuccessorsOf(node);
-        for (int i = 0; i < succsOfNode.size(); i++) {
+        for (int i = 0; i < graph.countSuccessorsOf(node); i++) {
 
-            int succ = succsOfNode.get(i);
+            int succ = graph.getSuccessorAt(node, i);
             if (out[succ] == NULL_NODE) {
                 out[succ] = matchLength;
 
@@ -221,10 +203,9 @@ public abstract class AbstractVF2GraphData {
             --terminalInLength;
         }
 
-        TIntArrayList predsOfNode = graph.getPredecessorsOf(node);
-        for (int i = 0; i < predsOfNode.size(); i++) {
+        for (int i = 0; i < graph.countPredecessorsOf(node); i++) {
 
-            int pred = predsOfNode.get(i);
+            int pred = graph.getPredecessorAt(node, i);
             if (in[pred] == NULL_NODE) {
                 in[pred] = matchLength;
 
@@ -238,21 +219,21 @@ public abstract class AbstractVF2GraphData {
     /**
      * Backtracks the current state of this AbstractVF2GraphData.
      * For the last node that has been matched, an inverse update
-     * is applied to its terminal sets.
-     * The last matching pair is removed.
-     * Note that the last matched node has to be set afterwards again by determining
-     * the next candidate pair.
+     * is applied to its terminal sets and the last matching pair is removed.
+     * Afterwards, this object is in exactly the same state as before the last call of
+     * {@link #setMatch(int, int)}.
      */
     void backtrack() {
 
-        if (lastMatchedNode == NULL_NODE) {
+        if (matchLength == 0) {
             return;
         }
 
-        TIntArrayList succsOf = graph.getSuccessorsOf(lastMatchedNode);
-        for (int i = 0; i < succsOf.size(); i++) {
+        int lastMatchedNode = matchedNodes[matchLength - 1];
+
+        for (int i = 0; i < graph.countSuccessorsOf(lastMatchedNode); i++) {
 
-            int succ = succsOf.get(i);
+            int succ = graph.getSuccessorAt(lastMatchedNode, i);
             if (out[succ] == matchLength) {
                 out[succ] = NULL_NODE;
 
@@ -262,10 +243,9 @@ public abstract class AbstractVF2GraphData {
             }
         }
 
-        TIntArrayList predsOf = graph.getPredecessorsOf(lastMatchedNode);
-        for (int i = 0; i < predsOf.size(); i++) {
+        for (int i = 0; i < graph.countPredecessorsOf(lastMatchedNode); i++) {
 
-            int pred = predsOf.get(i);
+            int pred = graph.getPredecessorAt(lastMatchedNode, i);
             if (in[pred] == matchLength) {
                 in[pred] = NULL_NODE;
 
@@ -277,7 +257,14 @@ public abstract class AbstractVF2GraphData {
 
         unmatchNode(lastMatchedNode);
         --matchLength;
-        lastMatchedNode = NULL_NODE; // has to be set by set match again
+
+        // the unmatched node belongs to the terminal sets again if it was reachable before it has been matched
+        if (out[lastMatchedNode] != NULL_NODE) {
+            ++terminalOutLength;
+        }
+        if (in[lastMatchedNode] != NULL_NODE) {
+            ++terminalInLength;
+        }
     }
 
     /**
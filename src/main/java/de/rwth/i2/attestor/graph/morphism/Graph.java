@@ -1,6 +1,7 @@
 package de.rwth.i2.attestor.graph.morphism;
 
 import de.rwth.i2.attestor.graph.digraph.NodeLabel;
+import de.rwth.i2.attestor.util.ListUtil;
 import gnu.trove.list.array.TIntArrayList;
 
 import java.util.List;
@@ -37,6 +38,44 @@ public interface Graph {
      */
     TIntArrayList getPredecessorsOf(int node);
 
+    /**
+     * @param node The source node whose successor nodes are requested.
+     * @return The number of successor nodes of the given source node, including duplicates.
+     */
+    default int countSuccessorsOf(int node) {
+
+        return getSuccessorsOf(node).size();
+    }
+
+    /**
+     * @param node The source node whose successor nodes are requested.
+     * @param pos  A position in the list of successors of the given node.
+     * @return The successor at the given position of {@link #getSuccessorsOf(int)}.
+     */
+    default int getSuccessorAt(int node, int pos) {
+
+        return getSuccessorsOf(node).get(pos);
+    }
+
+    /**
+     * @param node The target node whose predecessor nodes are requested.
+     * @return The number of predecessor nodes of the given target node, including duplicates.
+     */
+    default int countPredecessorsOf(int node) {
+
+        return getPredecessorsOf(node).size();
+    }
+
+    /**
+     * @param node The target node whose predecessor nodes are requested.
+     * @param pos  A position in the list of predecessors of the given node.
+     * @return The predecessor at the given position of {@link #getPredecessorsOf(int)}.
+     */
+    default int getPredecessorAt(int node, int pos) {
+
+        return getPredecessorsOf(node).get(pos);
+    }
+
     /**
      * @param node The node whose label is requested.
      * @return The label of the node or null if the node does not exist.
@@ -51,6 +90,34 @@ public interface Graph {
      */
     List<Object> getEdgeLabel(int from, int to);
 
+    /**
+     * @param from      The source node in this Graph.
+     * @param to        The target node in this Graph.
+     * @param other     Another Graph.
+     * @param otherFrom The source node in the other Graph.
+     * @param otherTo   The target node in the other Graph.
+     * @return True if and only if the edge labels from 'from' to 'to' in this Graph and
+     * the edge labels from 'otherFrom' to 'otherTo' in the other Graph are equal as multi-sets.
+     */
+    default boolean hasEqualEdgeLabels(int from, int to, Graph other, int otherFrom, int otherTo) {
+
+        return ListUtil.isEqualAsMultiset(getEdgeLabel(from, to), other.getEdgeLabel(otherFrom, otherTo));
+    }
+
+    /**
+     * @param from      The source node in this Graph.
+     * @param to        The target node in this Graph.
+     * @param other     Another Graph.
+     * @param otherFrom The source node in the other Graph.
+     * @param otherTo   The target node in the other Graph.
+     * @return True if and only if the edge labels from 'from' to 'to' in this Graph are contained
+     * in the edge labels from 'otherFrom' to 'otherTo' in the other Graph if both are interpreted as multi-sets.
+     */
+    default boolean hasCoveredEdgeLabels(int from, int to, Graph other, int otherFrom, int otherTo) {
+
+        return ListUtil.isSubsetAsMultiset(getEdgeLabel(from, to), other.getEdgeLabel(otherFrom, otherTo));
+    }
+
     /**
      * @param node The node that should be checked.
      * @return True if and only if the given node is external.
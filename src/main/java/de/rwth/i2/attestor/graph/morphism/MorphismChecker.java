@@ -1,5 +1,7 @@
 package de.rwth.i2.attestor.graph.morphism;
 
+import java.util.Iterator;
+
 /**
  * A MorphismChecker takes two graphs, called pattern and target, and computes
  * all graph morphisms from the pattern graph into the target graph.
@@ -27,4 +29,15 @@ public interface MorphismChecker {
      * @return The found Morphism or null if no Morphism has been found (yet).
      */
     Morphism getMorphism();
+
+    /**
+     * Lazily enumerates all morphisms from the pattern graph into the target graph in a new search that is
+     * independent of run(). Further morphisms are only searched for on demand.
+     * The search state is only referenced by the returned iterator.
+     *
+     * @param pattern The pattern graph.
+     * @param target  The target graph.
+     * @return An iterator over all morphisms.
+     */
+    Iterator<Morphism> getMorphisms(Graph pattern, Graph target);
 }
@@ -3,7 +3,8 @@ package de.rwth.i2.attestor.graph.morphism;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Stack;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * This class implements the VF2 (sub)graph searching algorithm in order to find graph morphisms
@@ -15,10 +16,14 @@ import java.util.Stack;
  * Each element of the search space is represented by a {@link VF2State}, which represents a partial morphism together
  * with additional data that allow efficient backtracking.
  * The search tree is constructed in a way such that no copies of the partial morphism are required.
+ * In fact, a single VF2State is updated in place while descending into and backtracking from the search tree.
  * VF2Algorithm depends on a list of {@link FeasibilityFunction}s that determine possible pairs
  * of pattern-target nodes that are matched onto each other.
  * The FeasibilityFunctions thus determine the type of Morphism that is actually computed.
  * <p>
+ * A VF2Algorithm does not store any results. Every search uses its own VF2State.
+ * Hence, a single VF2Algorithm may be used to search for morphisms in multiple threads at the same time.
+ * <p>
  * A detailed examination of the Algorithm is found in the following paper by
  *
  * @author Christoph
@@ -30,6 +35,8 @@ import java.util.Stack;
  * the desired FeasibilityFunctions.
  * <p>
  * {@link VF2Algorithm#match(Graph, Graph)} executes the algorithm for the provided pair of Graphs.
+ * <p>
+ * {@link VF2Algorithm#morphisms(Graph, Graph)} lazily enumerates all morphisms for the provided pair of Graphs.
  */
 public class VF2Algorithm {
 
@@ -48,11 +55,6 @@ public class VF2Algorithm {
      */
     TerminationFunction morphismFoundCheck;
 
-    /**
-     * The morphism that has been found by the algorithm. Null otherwise.
-     */
-    private Morphism foundMorphism = null;
-
     /**
      * Construct a useless VF2Algorithm that has to be customized by a {@link VF2AlgorithmBuilder}.
      */
@@ -78,29 +80,49 @@ public class VF2Algorithm {
      */
     public boolean match(Graph pattern, Graph target) {
 
-        VF2State initialState = new VF2State(pattern, target);
-        return match(initialState);
+        return findMorphism(pattern, target) != null;
     }
 
     /**
-     * Executes the next step of the algorithm for a given state.
+     * Executes the algorithm to find Morphisms from pattern into target.
      *
-     * @param state The VF2State that determines the current position of the algorithm in its search tree.
-     * @return true if and only if at least one Morphism exists.
+     * @param pattern The Graph that should be searched for.
+     * @param target  The Graph we search in.
+     * @return A morphism from pattern into target or null if no such morphism exists.
+     */
+    public Morphism findMorphism(Graph pattern, Graph target) {
+
+        Iterator<Morphism> morphisms = morphisms(pattern, target);
+        return morphisms.hasNext() ? morphisms.next() : null;
+    }
+
+    /**
+     * Lazily enumerates all Morphisms from pattern into target in a single traversal of the search tree.
+     * After a morphism has been found, the search continues from the position in the search tree at which it
+     * has been found the next time another morphism is requested.
+     *
+     * @param pattern The Graph that should be searched for.
+     * @param target  The Graph we search in.
+     * @return An iterator over all morphisms from pattern into target.
      */
-    private boolean match(VF2State state) {
+    public Iterator<Morphism> morphisms(Graph pattern, Graph target) {
 
-        Stack<VF2State> stateStack = new Stack<>();
-        stateStack.push(state);
+        return new MorphismIterator(new VF2State(pattern, target));
+    }
 
-        mainLoop:
-        while (!stateStack.isEmpty()) {
+    /**
+     * Continues the search for the next morphism from the given state.
+     *
+     * @param state The VF2State that determines the current position of the algorithm in its search tree.
+     * @return The next morphism or null if the search tree has been explored completely.
+     */
+    private Morphism searchNext(VF2State state) {
 
-            state = stateStack.peek();
+        mainLoop:
+        while (true) {
 
             if (morphismFoundCheck.eval(state)) {
-                storeMorphism(state);
-                return true;
+                return new Morphism(state.getPattern().getMatching());
             }
 
 			/* Since it is possible that some Morphism exists, we continue
@@ -115,27 +137,25 @@ public class VF2Algorithm {
                     if (DEBUG) {
                         logger.error("found feasible candidate (" + p + "," + t + ")");
                     }
-					
-					/* A shallow copy only copies data required for backtracking
-				       such as the last candidate. After that we move further
-				       down in the search tree. */
-                    VF2State nextState = state.shallowCopy();
-                    nextState.addCandidate(p, t);
-                    stateStack.push(nextState);
-                    continue mainLoop; // simulate recursion by adjusting stack and jumping to the outer loop.
+
+					/* Adding the candidate moves the state further down in the search tree.
+					   The candidate pairs considered so far at the current height remain stored
+					   in the state such that we can continue after backtracking. */
+                    state.addCandidate(p, t);
+                    continue mainLoop; // simulate recursion by jumping to the outer loop.
                 }
             }
 
             if (DEBUG) {
                 logger.error("Backtracking...");
             }
-			/* We stored all morphisms found so far and finished going through all search trees
-		   	   after adding all available candidate pairs to the current state.
-               Hence, we backtrack and remove the last pair added to the current state before. */
-            state.backtrack();
-            stateStack.pop();
+			/* We finished going through all search trees after adding all available candidate pairs
+			   to the current state. Hence, we backtrack and remove the last pair added to the current state before.
+			   If no such pair exists, the whole search tree has been explored. */
+            if (!state.backtrack()) {
+                return null;
+            }
         }
-        return false;
     }
 
     /**
@@ -162,20 +182,55 @@ public class VF2Algorithm {
     }
 
     /**
-     * Stores the morphism contained in the provided state in the list of all morphisms found so far.
-     *
-     * @param state A state representing a found morphism.
+     * Enumerates morphisms by resuming the search of a single VF2State.
      */
-    private void storeMorphism(VF2State state) {
+    private final class MorphismIterator implements Iterator<Morphism> {
 
-        foundMorphism = new Morphism(state.getPattern().getMatching());
-    }
+        private final VF2State state;
 
-    /**
-     * @return The morphism that has been found. Null otherwise.
-     */
-    public Morphism getMorphism() {
+        /**
+         * The next morphism or null if it has not been computed yet or no further morphism exists.
+         */
+        private Morphism next = null;
+
+        /**
+         * True if and only if next has to be computed before it can be returned.
+         */
+        private boolean searchRequired = true;
+
+        /**
+         * True if and only if the state represents a morphism that has already been returned.
+         */
+        private boolean resume = false;
 
-        return foundMorphism;
+        private MorphismIterator(VF2State state) {
+
+            this.state = state;
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            if (searchRequired) {
+                searchRequired = false;
+                if (resume && !state.backtrack()) {
+                    next = null;
+                } else {
+                    next = searchNext(state);
+                }
+                resume = next != null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Morphism next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            searchRequired = true;
+            return next;
+        }
     }
 }
@@ -28,13 +28,6 @@ public class VF2GraphData extends AbstractVF2GraphData {
         }
     }
 
-    public VF2GraphData(VF2GraphData data) {
-
-        super(data);
-        match = data.match;
-        nodeOrder = data.nodeOrder;
-    }
-
     @Override
     protected void matchNode(int matchFrom, int matchTo) {
 
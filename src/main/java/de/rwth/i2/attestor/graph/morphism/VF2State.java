@@ -7,6 +7,9 @@ import org.apache.logging.log4j.Logger;
  * Captures a current, possibly incomplete, candidate for a graph morphism that is constructed step by step
  * by a {@link VF2Algorithm}. In particular, VF2State supports method {@link #backtrack()} to reset it to
  * its previous state.
+ * A single VF2State is used for the whole search: Adding a candidate pair and backtracking update
+ * the partial matching in place and all data required to continue the search at a given height of the search tree
+ * is kept in preallocated arrays.
  *
  * @author Christoph
  */
@@ -31,9 +34,28 @@ public class VF2State {
     private final VF2GraphData target;
     private final int countPatternNodes;
     private final int countTargetNodes;
-    private int patternCandidate;
-    private int targetCandidate;
-    private int patternMin;
+
+    /**
+     * The current height of the search tree, i.e. the number of candidate pairs added to the partial matching.
+     */
+    private int depth;
+
+    /**
+     * For each height of the search tree, the last pattern candidate that has been considered at this height.
+     * Together with targetCandidates and patternMins, these arrays form a preallocated stack of search frames
+     * such that descending in the search tree does not require creating new objects.
+     */
+    private final int[] patternCandidates;
+
+    /**
+     * For each height of the search tree, the last target candidate that has been considered at this height.
+     */
+    private final int[] targetCandidates;
+
+    /**
+     * For each height of the search tree, the smallest pattern node that has been considered at this height.
+     */
+    private final int[] patternMins;
 
     /**
      * Computes a new initial state from two graphs
@@ -47,35 +69,19 @@ public class VF2State {
         target = new VF2GraphData(targetGraph);
         countPatternNodes = pattern.getGraph().size();
         countTargetNodes = target.getGraph().size();
-        patternCandidate = 0;
-        targetCandidate = -1;
-        patternMin = AbstractVF2GraphData.NULL_NODE;
-    }
-
-    /**
-     * Creates a copy of a given state.
-     * Note that apart from a few constants, a shallow copy is created.
-     * In particular, the underlying partial matching is shared between the state and its copy.
-     *
-     * @param state The state to be copied.
-     */
-    private VF2State(VF2State state) {
 
-        pattern = new VF2GraphData(state.pattern);
-        target = new VF2GraphData(state.target);
-        countPatternNodes = state.countPatternNodes;
-        countTargetNodes = state.countTargetNodes;
-        patternCandidate = 0;
-        targetCandidate = -1;
-        patternMin = AbstractVF2GraphData.NULL_NODE;
+        patternCandidates = new int[countPatternNodes + 1];
+        targetCandidates = new int[countPatternNodes + 1];
+        patternMins = new int[countPatternNodes + 1];
+        depth = 0;
+        resetFrame();
     }
 
-    /**
-     * @return A shallow copy of this state.
-     */
-    public VF2State shallowCopy() {
+    private void resetFrame() {
 
-        return new VF2State(this);
+        patternCandidates[depth] = 0;
+        targetCandidates[depth] = -1;
+        patternMins[depth] = AbstractVF2GraphData.NULL_NODE;
     }
 
     /**
@@ -95,16 +101,26 @@ public class VF2State {
     }
 
     /**
-     * Undoes the last change to the state.
+     * Undoes the last change to the state, i.e. removes the candidate pair that has been added last
+     * and continues with the candidate pairs of the previous height of the search tree.
+     *
+     * @return False if no candidate pair has been added, i.e. the search tree has been explored completely.
      */
-    public void backtrack() {
+    public boolean backtrack() {
+
+        if (depth == 0) {
+            return false;
+        }
 
         pattern.backtrack();
         target.backtrack();
+        --depth;
+        return true;
     }
 
     /**
      * Adds a new candidate to the underlying partial matching.
+     * Afterwards, the next candidate pair is searched for at the next height of the search tree.
      *
      * @param p The pattern candidate to add to the matching described by this state.
      * @param t The target candidate to add to the matching described by this state.
@@ -113,6 +129,8 @@ public class VF2State {
 
         pattern.setMatch(p, t);
         target.setMatch(t, p);
+        ++depth;
+        resetFrame();
     }
 
     /**
@@ -138,18 +156,19 @@ public class VF2State {
      */
     private boolean computeOutgoingCandidates() {
 
-        int start = targetCandidate + 1;
+        int patternMin = patternMins[depth];
+        int start = targetCandidates[depth] + 1;
 
-        for (int p = patternCandidate; p < countPatternNodes; p++) {
+        for (int p = patternCandidates[depth]; p < countPatternNodes; p++) {
 
             if (pattern.containsOutgoingUnmatched(p) && !pattern.isLessThan(patternMin, p)) {
 
                 for (int t = start; t < countTargetNodes; t++) {
 
                     if (target.containsOutgoing(t) && !target.containsMatch(t)) {
-                        patternCandidate = p;
-                        targetCandidate = t;
-                        patternMin = p;
+                        patternCandidates[depth] = p;
+                        targetCandidates[depth] = t;
+                        patternMins[depth] = p;
                         return true;
                     }
                 }
@@ -166,8 +185,9 @@ public class VF2State {
      */
     private boolean computeIngoingCandidates() {
 
-        int start = targetCandidate + 1;
-        for (int p = patternCandidate; p < countPatternNodes; p++) {
+        int patternMin = patternMins[depth];
+        int start = targetCandidates[depth] + 1;
+        for (int p = patternCandidates[depth]; p < countPatternNodes; p++) {
 
 
             if (pattern.containsIngoingUnmatched(p) && !pattern.isLessThan(patternMin, p)) {
@@ -175,9 +195,9 @@ public class VF2State {
                 for (int t = start; t < countTargetNodes; t++) {
 
                     if (target.containsIngoing(t) && !target.containsMatch(t)) {
-                        patternCandidate = p;
-                        targetCandidate = t;
-                        patternMin = p;
+                        patternCandidates[depth] = p;
+                        targetCandidates[depth] = t;
+                        patternMins[depth] = p;
                         return true;
                     }
                 }
@@ -191,18 +211,19 @@ public class VF2State {
      */
     private boolean computeAllCandidates() {
 
-        int start = targetCandidate + 1;
+        int patternMin = patternMins[depth];
+        int start = targetCandidates[depth] + 1;
 
-        for (int p = patternCandidate; p < countPatternNodes; p++) {
+        for (int p = patternCandidates[depth]; p < countPatternNodes; p++) {
 
             if (!pattern.containsMatch(p) && !pattern.isLessThan(patternMin, p)) {
 
                 for (int t = start; t < countTargetNodes; t++) {
 
                     if (!target.containsMatch(t)) {
-                        patternCandidate = p;
-                        targetCandidate = t;
-                        patternMin = p;
+                        patternCandidates[depth] = p;
+                        targetCandidates[depth] = t;
+                        patternMins[depth] = p;
                         return true;
                     }
                 }
@@ -214,12 +235,12 @@ public class VF2State {
 
     public int getPatternCandidate() {
 
-        return patternCandidate;
+        return patternCandidates[depth];
     }
 
     public int getTargetCandidate() {
 
-        return targetCandidate;
+        return targetCandidates[depth];
     }
 
 }
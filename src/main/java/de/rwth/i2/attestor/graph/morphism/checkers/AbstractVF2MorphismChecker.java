@@ -5,6 +5,8 @@ import de.rwth.i2.attestor.graph.morphism.Morphism;
 import de.rwth.i2.attestor.graph.morphism.MorphismChecker;
 import de.rwth.i2.attestor.graph.morphism.VF2Algorithm;
 
+import java.util.Iterator;
+
 /**
  * An abstract class providing a default implementation of {@link MorphismChecker}
  * to find graph morphisms mapping a pattern graph into a target graph.
@@ -50,8 +52,8 @@ public abstract class AbstractVF2MorphismChecker implements MorphismChecker {
      */
     public void run(Graph pattern, Graph target) {
 
-        hasMorphism = matchingAlgorithm.match(pattern, target);
-        foundMorphism = matchingAlgorithm.getMorphism();
+        foundMorphism = matchingAlgorithm.findMorphism(pattern, target);
+        hasMorphism = foundMorphism != null;
     }
 
     @Override
@@ -65,4 +67,10 @@ public abstract class AbstractVF2MorphismChecker implements MorphismChecker {
 
         return foundMorphism;
     }
+
+    @Override
+    public Iterator<Morphism> getMorphisms(Graph pattern, Graph target) {
+
+        return matchingAlgorithm.morphisms(pattern, target);
+    }
 }
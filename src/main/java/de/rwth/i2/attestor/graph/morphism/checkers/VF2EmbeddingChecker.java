@@ -15,6 +15,7 @@ public class VF2EmbeddingChecker extends AbstractVF2MorphismChecker {
 
     /**
      * Specification of the algorithm used to determine embeddings.
+     * VF2Algorithm is stateless, so a single instance is shared by all checkers.
      */
     private static final VF2Algorithm matchingAlgorithm = VF2Algorithm.builder()
             .setMatchingCondition(new MorphismFound())
@@ -8,6 +8,7 @@ public class VF2PreconditionChecker extends AbstractVF2MorphismChecker {
 
     /**
      * Specification of the algorithm used to determine isomorphisms.
+     * VF2Algorithm is stateless, so a single instance is shared by all checkers.
      */
     private static final VF2Algorithm matchingAlgorithm = VF2Algorithm.builder()
             .setMatchingCondition(new IsomorphismFound())
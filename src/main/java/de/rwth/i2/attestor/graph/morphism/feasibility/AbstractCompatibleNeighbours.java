@@ -20,7 +20,30 @@ public abstract class AbstractCompatibleNeighbours implements FeasibilityFunctio
         this.checkEqualityOnExternal = checkEqualityOnExternal;
     }
 
-    protected abstract TIntArrayList getAdjacent(Graph graph, int node);
+    /**
+     * @param graph A graph.
+     * @param node  A node of the given graph.
+     * @return The number of adjacent nodes of the given node, including duplicates.
+     */
+    protected abstract int countAdjacent(Graph graph, int node);
+
+    /**
+     * @param graph A graph.
+     * @param node  A node of the given graph.
+     * @param pos   A position less than {@link #countAdjacent(Graph, int)}.
+     * @return The adjacent node of the given node at the given position.
+     */
+    protected abstract int getAdjacentAt(Graph graph, int node, int pos);
+
+    private boolean isAdjacent(Graph graph, int node, int adjacent) {
+
+        for (int i = 0; i < countAdjacent(graph, node); i++) {
+            if (getAdjacentAt(graph, node, i) == adjacent) {
+                return true;
+            }
+        }
+        return false;
+    }
 
 
     @Override
@@ -33,21 +56,21 @@ public abstract class AbstractCompatibleNeighbours implements FeasibilityFunctio
 
         boolean checkEquality = checkEqualityOnExternal || !patternGraph.isExternal(p);
 
-        TIntArrayList adjacentNodesOfP = getAdjacent(patternGraph, p);
-        TIntArrayList adjacentNodesOfT = getAdjacent(targetGraph, t);
+        int countAdjacentOfP = countAdjacent(patternGraph, p);
+        int countAdjacentOfT = countAdjacent(targetGraph, t);
 
-        TIntArrayList targetMatches = new TIntArrayList(adjacentNodesOfP.size());
+        TIntArrayList targetMatches = new TIntArrayList(countAdjacentOfP);
         int countSelfLoops = 0;
 
 
-        for (int i = 0; i < adjacentNodesOfP.size(); i++) {
+        for (int i = 0; i < countAdjacentOfP; i++) {
 
-            int adjP = adjacentNodesOfP.get(i);
+            int adjP = getAdjacentAt(patternGraph, p, i);
 
             if (pattern.containsMatch(adjP)) {
 
                 int match = pattern.getMatch(adjP);
-                if (checkEquality && !adjacentNodesOfT.contains(match)) {
+                if (checkEquality && !isAdjacent(targetGraph, t, match)) {
                     return false;
                 }
                 targetMatches.add(match);
@@ -58,8 +81,8 @@ public abstract class AbstractCompatibleNeighbours implements FeasibilityFunctio
 
         if(countSelfLoops > 0) {
             int countTargetSelfLoops = 0;
-            for(int i=0; i < adjacentNodesOfT.size(); i++) {
-                if(adjacentNodesOfT.get(i) == t) {
+            for(int i=0; i < countAdjacentOfT; i++) {
+                if(getAdjacentAt(targetGraph, t, i) == t) {
                     ++countTargetSelfLoops;
                 }
             }
@@ -71,8 +94,8 @@ public abstract class AbstractCompatibleNeighbours implements FeasibilityFunctio
         for(int i=0; i < countSelfLoops; i++) {
         }
 
-        for (int i = 0; i < adjacentNodesOfT.size(); i++) {
-            int adjT = adjacentNodesOfT.get(i);
+        for (int i = 0; i < countAdjacentOfT; i++) {
+            int adjT = getAdjacentAt(targetGraph, t, i);
             if (checkEquality && target.containsMatch(adjT) && !targetMatches.contains(adjT)) {
                 return false;
             }
@@ -10,8 +10,6 @@ import de.rwth.i2.attestor.semantics.util.Constants;
 import de.rwth.i2.attestor.types.GeneralType;
 import de.rwth.i2.attestor.types.Type;
 import de.rwth.i2.attestor.types.Types;
-import gnu.trove.iterator.TIntIterator;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * Restricts the considered morphisms to ones in which the distance from variables does not prevent admissibility.
@@ -51,9 +49,8 @@ public class AdmissibleAbstraction implements FeasibilityFunction {
             }
         }
 
-        TIntArrayList predecessors = graph.getPredecessorsOf(t);
-        for(int i=0; i < predecessors.size(); i++) {
-            int pred = predecessors.get(i);
+        for (int i = 0; i < graph.countPredecessorsOf(t); i++) {
+            int pred = graph.getPredecessorAt(t, i);
             Object nodeLabel = graph.getNodeLabel(pred);
             if (nodeLabel.getClass() == Variable.class) {
                 String label = ((Variable) nodeLabel).getName();
@@ -72,9 +69,8 @@ public class AdmissibleAbstraction implements FeasibilityFunction {
     private boolean hasOutgoingSelectorEdges(VF2State state, int p) {
 
         Graph graph = state.getPattern().getGraph();
-        TIntIterator iter = graph.getSuccessorsOf(p).iterator();
-        while (iter.hasNext()) {
-            int succ = iter.next();
+        for (int i = 0; i < graph.countSuccessorsOf(p); i++) {
+            int succ = graph.getSuccessorAt(p, i);
             if (graph.getNodeLabel(succ).getClass() == GeneralType.class) {
                 return true;
             }
@@ -4,8 +4,6 @@ import de.rwth.i2.attestor.graph.morphism.FeasibilityFunction;
 import de.rwth.i2.attestor.graph.morphism.Graph;
 import de.rwth.i2.attestor.graph.morphism.VF2GraphData;
 import de.rwth.i2.attestor.graph.morphism.VF2State;
-import de.rwth.i2.attestor.util.ListUtil;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * Checks whether the edge labels of the successor and predecessor nodes
@@ -24,33 +22,25 @@ public class CompatibleEdgeLabels implements FeasibilityFunction {
         Graph patternGraph = pattern.getGraph();
         Graph targetGraph = target.getGraph();
 
-        TIntArrayList succsOfP = patternGraph.getSuccessorsOf(p);
-        for (int i = 0; i < succsOfP.size(); i++) {
+        for (int i = 0; i < patternGraph.countSuccessorsOf(p); i++) {
 
-            int succ = succsOfP.get(i);
+            int succ = patternGraph.getSuccessorAt(p, i);
             if (pattern.containsMatch(succ)) {
                 int match = pattern.getMatch(succ);
 
-                if (!ListUtil.isEqualAsMultiset(
-                        patternGraph.getEdgeLabel(p, succ),
-                        targetGraph.getEdgeLabel(t, match))
-                        ) {
+                if (!patternGraph.hasEqualEdgeLabels(p, succ, targetGraph, t, match)) {
                     return false;
                 }
             }
         }
 
-        TIntArrayList predsOfP = patternGraph.getPredecessorsOf(p);
-        for (int i = 0; i < predsOfP.size(); i++) {
+        for (int i = 0; i < patternGraph.countPredecessorsOf(p); i++) {
 
-            int pred = predsOfP.get(i);
+            int pred = patternGraph.getPredecessorAt(p, i);
             if (pattern.containsMatch(pred)) {
                 int match = pattern.getMatch(pred);
 
-                if (!ListUtil.isEqualAsMultiset(
-                        patternGraph.getEdgeLabel(pred, p),
-                        targetGraph.getEdgeLabel(match, t))
-                        ) {
+                if (!patternGraph.hasEqualEdgeLabels(pred, p, targetGraph, match, t)) {
                     return false;
                 }
             }
@@ -1,7 +1,6 @@
 package de.rwth.i2.attestor.graph.morphism.feasibility;
 
 import de.rwth.i2.attestor.graph.morphism.Graph;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * Checks whether all already matched successors of the pattern candidate node are matched to predecessors
@@ -22,9 +21,15 @@ public class CompatibleSuccessors extends AbstractCompatibleNeighbours {
     }
 
     @Override
-    protected TIntArrayList getAdjacent(Graph graph, int node) {
+    protected int countAdjacent(Graph graph, int node) {
 
-        return graph.getSuccessorsOf(node);
+        return graph.countSuccessorsOf(node);
+    }
+
+    @Override
+    protected int getAdjacentAt(Graph graph, int node, int pos) {
+
+        return graph.getSuccessorAt(node, pos);
     }
 
 
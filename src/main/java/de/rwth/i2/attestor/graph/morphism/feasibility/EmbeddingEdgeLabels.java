@@ -4,8 +4,6 @@ import de.rwth.i2.attestor.graph.morphism.FeasibilityFunction;
 import de.rwth.i2.attestor.graph.morphism.Graph;
 import de.rwth.i2.attestor.graph.morphism.VF2GraphData;
 import de.rwth.i2.attestor.graph.morphism.VF2State;
-import de.rwth.i2.attestor.util.ListUtil;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * Checks whether the edge labels from and to the pattern candidate node are covered by the corresponding
@@ -27,71 +25,55 @@ public class EmbeddingEdgeLabels implements FeasibilityFunction {
         Graph targetGraph = target.getGraph();
 
 
-        TIntArrayList succsOfT = targetGraph.getSuccessorsOf(t);
-        for(int i=0; i < succsOfT.size(); i++) {
-            int succ = succsOfT.get(i);
+        for (int i = 0; i < targetGraph.countSuccessorsOf(t); i++) {
+            int succ = targetGraph.getSuccessorAt(t, i);
             if(target.containsMatch(succ) && targetGraph.isEdgeBetweenMarkedNodes(t, succ)) {
                 return false;
             }
         }
 
-        TIntArrayList predsOfT = targetGraph.getPredecessorsOf(t);
-        for(int i=0; i < predsOfT.size(); i++) {
-            int pred= predsOfT.get(i);
+        for (int i = 0; i < targetGraph.countPredecessorsOf(t); i++) {
+            int pred = targetGraph.getPredecessorAt(t, i);
             if(target.containsMatch(pred) && targetGraph.isEdgeBetweenMarkedNodes(pred, t)) {
                 return false;
             }
         }
 
-        TIntArrayList succsOfP = patternGraph.getSuccessorsOf(p);
-        for (int i = 0; i < succsOfP.size(); i++) {
+        for (int i = 0; i < patternGraph.countSuccessorsOf(p); i++) {
 
-            int succ = succsOfP.get(i);
+            int succ = patternGraph.getSuccessorAt(p, i);
             if (pattern.containsMatch(succ)) {
                 int match = pattern.getMatch(succ);
 
 
                 if (patternGraph.isExternal(p) && patternGraph.isExternal(succ)) {
 
-                    if (!ListUtil.isSubsetAsMultiset(
-                            patternGraph.getEdgeLabel(p, succ),
-                            targetGraph.getEdgeLabel(t, match))
-                            ) {
+                    if (!patternGraph.hasCoveredEdgeLabels(p, succ, targetGraph, t, match)) {
                         return false;
                     }
                 } else {
 
-                    if (!ListUtil.isEqualAsMultiset(
-                            patternGraph.getEdgeLabel(p, succ),
-                            targetGraph.getEdgeLabel(t, match))
-                            ) {
+                    if (!patternGraph.hasEqualEdgeLabels(p, succ, targetGraph, t, match)) {
                         return false;
                     }
                 }
             }
         }
 
-        TIntArrayList predsOfP = patternGraph.getPredecessorsOf(p);
-        for (int i = 0; i < predsOfP.size(); i++) {
+        for (int i = 0; i < patternGraph.countPredecessorsOf(p); i++) {
 
-            int pred = predsOfP.get(i);
+            int pred = patternGraph.getPredecessorAt(p, i);
             if (pattern.containsMatch(pred)) {
                 int match = pattern.getMatch(pred);
 
                 if (patternGraph.isExternal(p) && patternGraph.isExternal(pred)) {
 
-                    if (!ListUtil.isSubsetAsMultiset(
-                            patternGraph.getEdgeLabel(pred, p),
-                            targetGraph.getEdgeLabel(match, t))
-                            ) {
+                    if (!patternGraph.hasCoveredEdgeLabels(pred, p, targetGraph, match, t)) {
                         return false;
                     }
                 } else {
 
-                    if (!ListUtil.isEqualAsMultiset(
-                            patternGraph.getEdgeLabel(pred, p),
-                            targetGraph.getEdgeLabel(match, t))
-                            ) {
+                    if (!patternGraph.hasEqualEdgeLabels(pred, p, targetGraph, match, t)) {
                         return false;
                     }
                 }
@@ -1,7 +1,6 @@
 package de.rwth.i2.attestor.graph.morphism.feasibility;
 
 import de.rwth.i2.attestor.graph.morphism.*;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * Determines the whether the current candidate pair cannot belong to a graph morphism due to a mismatch
@@ -37,15 +36,9 @@ public class OneStepLookaheadIn implements FeasibilityFunction {
         VF2GraphData target = state.getTarget();
         Graph targetGraph = target.getGraph();
 
-        int patternSucc = computeLookahead(
-                patternGraph.getSuccessorsOf(p),
-                pattern
-        );
+        int patternSucc = computeSuccessorLookahead(patternGraph, p, pattern);
 
-        int targetSucc = computeLookahead(
-                targetGraph.getSuccessorsOf(t),
-                target
-        );
+        int targetSucc = computeSuccessorLookahead(targetGraph, t, target);
 
         if (checkEqualityOnExternal) {
             if (targetSucc != patternSucc) {
@@ -57,15 +50,9 @@ public class OneStepLookaheadIn implements FeasibilityFunction {
             }
         }
 
-        int patternPred = computeLookahead(
-                patternGraph.getPredecessorsOf(p),
-                pattern
-        );
+        int patternPred = computePredecessorLookahead(patternGraph, p, pattern);
 
-        int targetPred = computeLookahead(
-                targetGraph.getPredecessorsOf(t),
-                target
-        );
+        int targetPred = computePredecessorLookahead(targetGraph, t, target);
 
         if (checkEqualityOnExternal) {
             return (targetPred == patternPred);
@@ -76,20 +63,40 @@ public class OneStepLookaheadIn implements FeasibilityFunction {
 
 
     /**
-     * Computes the ingoing lookahead set for the given set of nodes connected to the considered candidate node.
+     * Computes the ingoing lookahead set for the successors of the considered candidate node.
      *
-     * @param neighbors The nodes connected to the considered node.
-     * @param data      Matching data stored for the graph corresponding to the nodes in neighbors.
-     * @return The number of nodes in neighbors that have not been matched yet, but that are reachable via a single
+     * @param graph The graph containing the candidate node.
+     * @param node  The candidate node.
+     * @param data  Matching data stored for the given graph.
+     * @return The number of successors of node that have not been matched yet, but that are reachable via a single
      * ingoing edge from the candidate node.
      */
-    private int computeLookahead(TIntArrayList neighbors, AbstractVF2GraphData data) {
+    private int computeSuccessorLookahead(Graph graph, int node, AbstractVF2GraphData data) {
 
         int lookaheadIn = 0;
-        for (int i = 0; i < neighbors.size(); i++) {
-            int next = neighbors.get(i);
+        for (int i = 0; i < graph.countSuccessorsOf(node); i++) {
+            if (data.containsIngoingUnmatched(graph.getSuccessorAt(node, i))) {
+                ++lookaheadIn;
+            }
+        }
+
+        return lookaheadIn;
+    }
 
-            if (data.containsIngoingUnmatched(next)) {
+    /**
+     * Computes the ingoing lookahead set for the predecessors of the considered candidate node.
+     *
+     * @param graph The graph containing the candidate node.
+     * @param node  The candidate node.
+     * @param data  Matching data stored for the given graph.
+     * @return The number of predecessors of node that have not been matched yet, but that are reachable via a single
+     * ingoing edge from the candidate node.
+     */
+    private int computePredecessorLookahead(Graph graph, int node, AbstractVF2GraphData data) {
+
+        int lookaheadIn = 0;
+        for (int i = 0; i < graph.countPredecessorsOf(node); i++) {
+            if (data.containsIngoingUnmatched(graph.getPredecessorAt(node, i))) {
                 ++lookaheadIn;
             }
         }
@@ -1,7 +1,6 @@
 package de.rwth.i2.attestor.graph.morphism.feasibility;
 
 import de.rwth.i2.attestor.graph.morphism.*;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * Determines the whether the current candidate pair cannot belong to a graph morphism due to a mismatch
@@ -40,15 +39,9 @@ public class TwoStepLookahead implements FeasibilityFunction {
 
         boolean checkEquality = checkEqualityOnExternal || !patternGraph.isExternal(p);
 
-        int patternPred = computeLookahead(
-                patternGraph.getPredecessorsOf(p),
-                pattern
-        );
+        int patternPred = computePredecessorLookahead(patternGraph, p, pattern);
 
-        int targetPred = computeLookahead(
-                targetGraph.getPredecessorsOf(t),
-                target
-        );
+        int targetPred = computePredecessorLookahead(targetGraph, t, target);
 
         if (checkEquality) {
 
@@ -63,15 +56,9 @@ public class TwoStepLookahead implements FeasibilityFunction {
             }
         }
 
-        int patternSucc = computeLookahead(
-                patternGraph.getSuccessorsOf(p),
-                pattern
-        );
+        int patternSucc = computeSuccessorLookahead(patternGraph, p, pattern);
 
-        int targetSucc = computeLookahead(
-                targetGraph.getSuccessorsOf(t),
-                target
-        );
+        int targetSucc = computeSuccessorLookahead(targetGraph, t, target);
 
         if (checkEquality) {
             return patternSucc == targetSucc;
@@ -82,24 +69,43 @@ public class TwoStepLookahead implements FeasibilityFunction {
 
 
     /**
-     * Computes the lookahead set for the given set of nodes connected to the considered candidate node.
+     * Computes the lookahead set for the successors of the considered candidate node.
      *
-     * @param nodes The nodes connected to the considered node.
-     * @param data  Matching data stored for the graph corresponding to the nodes in neighbors.
-     * @return The number of nodes in neighbors that have not been matched yet.
+     * @param graph The graph containing the candidate node.
+     * @param node  The candidate node.
+     * @param data  Matching data stored for the given graph.
+     * @return The number of successors of node that have not been matched yet.
      */
-    private int computeLookahead(TIntArrayList nodes, AbstractVF2GraphData data) {
+    private int computeSuccessorLookahead(Graph graph, int node, AbstractVF2GraphData data) {
 
         int lookahead = 0;
-        for (int i = 0; i < nodes.size(); i++) {
-            int next = nodes.get(i);
-
+        for (int i = 0; i < graph.countSuccessorsOf(node); i++) {
             //The original algorithm proposes if(!data.containsNeighbor(next) && !data.containsMatch(next)) {
             // but we are a bit relaxed here due to external nodes
-            if (!data.containsMatch(next)) {
+            if (!data.containsMatch(graph.getSuccessorAt(node, i))) {
                 ++lookahead;
             }
+        }
+
+        return lookahead;
+    }
+
+    /**
+     * Computes the lookahead set for the predecessors of the considered candidate node.
+     *
+     * @param graph The graph containing the candidate node.
+     * @param node  The candidate node.
+     * @param data  Matching data stored for the given graph.
+     * @return The number of predecessors of node that have not been matched yet.
+     */
+    private int computePredecessorLookahead(Graph graph, int node, AbstractVF2GraphData data) {
 
+        int lookahead = 0;
+        for (int i = 0; i < graph.countPredecessorsOf(node); i++) {
+            // relaxed in the same way as computeSuccessorLookahead
+            if (!data.containsMatch(graph.getPredecessorAt(node, i))) {
+                ++lookahead;
+            }
         }
 
         return lookahead;
@@ -10,6 +10,7 @@ class ConcreteMethod implements Method {
     private String signature;
     private String name = null;
     private boolean isRecursive = false;
+    private int componentIndex = 0;
     private Program body = null;
     private MethodExecutor executor = null;
 
@@ -58,6 +59,18 @@ class ConcreteMethod implements Method {
         this.isRecursive = isRecursive;
     }
 
+    @Override
+    public int getComponentIndex() {
+
+        return componentIndex;
+    }
+
+    @Override
+    public void setComponentIndex(int componentIndex) {
+
+        this.componentIndex = componentIndex;
+    }
+
     @Override
     public void addContract(Contract contract) {
 
@@ -20,6 +20,8 @@ import de.rwth.i2.attestor.types.Type;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DefaultScene implements Scene {
 
@@ -33,7 +35,8 @@ public class DefaultScene implements Scene {
     private final Strategies strategies = new Strategies();
 
     private final Map<String, Method> methods = new HashMap<>();
-    private long totalNumberOfStates = 0;
+    private final LongAdder totalNumberOfStates = new LongAdder();
+    private ForkJoinPool workerPool;
 
     @Override
     public Type getType(String name) {
@@ -88,9 +91,9 @@ public class DefaultScene implements Scene {
     public HeapConfiguration createHeapConfiguration() {
 
         if (options.isPredicateMode()) {
-            return new TAHeapConfiguration();
+            return new TAHeapConfiguration(labels.labelIds());
         } else {
-            return new InternalHeapConfiguration();
+            return new InternalHeapConfiguration(labels.labelIds());
         }
     }
 
@@ -99,9 +102,9 @@ public class DefaultScene implements Scene {
 
         ProgramState result;
         if (options.isIndexedMode()) {
-            result = new IndexedState(heapConfiguration);
+            result = new IndexedState(heapConfiguration, labels.atomicPropositionIds());
         } else {
-            result = new DefaultProgramState(heapConfiguration);
+            result = new DefaultProgramState(heapConfiguration, labels.atomicPropositionIds());
         }
         result.setProgramCounter(0);
         result.prepareHeap();
@@ -149,13 +152,22 @@ public class DefaultScene implements Scene {
     @Override
     public void addNumberOfGeneratedStates(int states) {
 
-        totalNumberOfStates += states;
+        totalNumberOfStates.add(states);
     }
 
     @Override
     public long getNumberOfGeneratedStates() {
 
-        return totalNumberOfStates;
+        return totalNumberOfStates.sum();
+    }
+
+    @Override
+    public synchronized ForkJoinPool workerPool() {
+
+        if (workerPool == null) {
+            workerPool = new ForkJoinPool(options.getParallelism());
+        }
+        return workerPool;
     }
 
     @Override
@@ -1,5 +1,8 @@
 package de.rwth.i2.attestor.main.scene;
 
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionIds;
+
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -8,6 +11,8 @@ public class Labels {
     private final Set<String> keptVariables = new LinkedHashSet<>();
     private final Set<String> usedSelectorLabels = new LinkedHashSet<>();
     private final Set<String> grammarSelectorLabels = new LinkedHashSet<>();
+    private final LabelIds labelIds = new LabelIds();
+    private final AtomicPropositionIds atomicPropositionIds = new AtomicPropositionIds();
 
 
     public void addKeptVariable(String variableName) {
@@ -39,4 +44,20 @@ public class Labels {
 
         return usedSelectorLabels;
     }
+
+    /**
+     * @return The ids of all node and edge labels occurring in heap configurations of this scene.
+     */
+    public LabelIds labelIds() {
+
+        return labelIds;
+    }
+
+    /**
+     * @return The ids of all atomic propositions labeling program states of this scene.
+     */
+    public AtomicPropositionIds atomicPropositionIds() {
+
+        return atomicPropositionIds;
+    }
 }
@@ -56,6 +56,18 @@ public class Options {
 
     private int maxHeap = 50;
 
+    /**
+     * The number of worker threads used to explore states during state space generation
+     * and to check LTL formulae during model checking.
+     */
+    private int parallelism = 1;
+
+    /**
+     * The directory in which explored states are stored outside of the Java heap
+     * or null if all states are kept on the Java heap.
+     */
+    private String stateSpillDirectory = null;
+
     // -----------------------------------------------------------------------------------
 
     public void setPostProcessingEnabled(boolean enabled) {
@@ -125,6 +137,15 @@ public class Options {
     }
 
 
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setStateSpillDirectory(String stateSpillDirectory) {
+        this.stateSpillDirectory = stateSpillDirectory;
+    }
+
+
     public int getMaxStateSpace() {
         return maxStateSpace;
     }
@@ -133,6 +154,18 @@ public class Options {
         return maxHeap;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public String getStateSpillDirectory() {
+        return stateSpillDirectory;
+    }
+
+    public boolean isStateSpillingEnabled() {
+        return stateSpillDirectory != null;
+    }
+
     public boolean isRemoveDeadVariables() {
 
         return removeDeadVariables;
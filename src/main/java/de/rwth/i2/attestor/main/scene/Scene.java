@@ -9,6 +9,7 @@ import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.types.Type;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 public interface Scene {
 
@@ -35,6 +36,12 @@ public interface Scene {
 
     long getNumberOfGeneratedStates();
 
+    /**
+     * @return The pool of worker threads shared by all parallel computations of this scene.
+     * Its parallelism is determined by {@link Options#getParallelism()} upon the first call.
+     */
+    ForkJoinPool workerPool();
+
     Options options();
 
     Labels labels();
@@ -97,6 +97,12 @@ public class CommandLinePhase extends AbstractPhase
             case "classpath":
                 setClasspath(option);
                 break;
+            case "no-jimple-output":
+                noJimpleOutput();
+                break;
+            case "reachable-methods-only":
+                reachableMethodsOnly();
+                break;
             case "contract":
                 contract(option);
                 break;
@@ -166,6 +172,15 @@ public class CommandLinePhase extends AbstractPhase
             case "max-heap":
                 maxHeap(option);
                 break;
+            case "parallel":
+                parallel(option);
+                break;
+            case "spill-states":
+                spillStates(option);
+                break;
+            case "contract-cache":
+                contractCache(option);
+                break;
             case "export":
                 export(option);
                 break;
@@ -221,6 +236,18 @@ public class CommandLinePhase extends AbstractPhase
         inputSettings.setClasspath(classpath);
     }
 
+    private void noJimpleOutput() {
+
+        logger.info("disabled Jimple output");
+        inputSettings.setJimpleOutputEnabled(false);
+    }
+
+    private void reachableMethodsOnly() {
+
+        logger.info("translating only reachable methods");
+        inputSettings.setReachableMethodsOnly(true);
+    }
+
     private void contract(Option option) {
 
         String contract = option.getValue();
@@ -401,6 +428,30 @@ public class CommandLinePhase extends AbstractPhase
         scene().options().setMaxHeap(size);
     }
 
+    private void parallel(Option option) {
+
+        int threads = Integer.valueOf(option.getValue());
+        if (threads < 1) {
+            throw new IllegalArgumentException("Option --parallel requires a positive number of threads.");
+        }
+        logger.info("parallel state space generation and model checking with " + threads + " threads");
+        scene().options().setParallelism(threads);
+    }
+
+    private void spillStates(Option option) {
+
+        String path = option.getValue();
+        logger.info("explored states will be stored in " + path);
+        scene().options().setStateSpillDirectory(path);
+    }
+
+    private void contractCache(Option option) {
+
+        String path = option.getValue();
+        logger.info("contracts will be cached in " + path);
+        inputSettings.setContractCacheDirectory(path);
+    }
+
     private void export(Option option) {
 
         String exportPath = option.getValue();
@@ -181,6 +181,21 @@ public class CommandLineReader {
                         .build()
         );
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("no-jimple-output")
+                        .desc("Disables writing the Jimple code of the analyzed classes to disk while parsing.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("reachable-methods-only")
+                        .desc("Translates only methods that are reachable from the method determined by " +
+                                "--method. By default, all methods of all analyzed classes are translated.")
+                        .build()
+        );
+
         commandLineOptions.addOption(
                 Option.builder()
                         .longOpt("contract")
@@ -458,6 +473,46 @@ public class CommandLineReader {
                         .build()
         );
 
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("parallel")
+                        .hasArg()
+                        .argName("integer")
+                        .desc("Determines the number of worker threads that explore program states concurrently " +
+                                "during state space generation, that analyse independent procedure calls " +
+                                "concurrently during interprocedural analysis and that check LTL formulae concurrently " +
+                                "during model checking. The generated state spaces are the same as " +
+                                "for a sequential analysis up to the numbering of program states. " +
+                                "By default, a single thread is used.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("spill-states")
+                        .hasArg()
+                        .argName("path")
+                        .desc("Stores the heap configurations of explored program states in memory-mapped files " +
+                                "within directory <path> instead of the Java heap. Stored states are restored " +
+                                "on demand for model checking, counterexample generation and export. " +
+                                "This reduces the memory required for large state spaces at the cost of " +
+                                "additional running time.")
+                        .build()
+        );
+
+        commandLineOptions.addOption(
+                Option.builder()
+                        .longOpt("contract-cache")
+                        .hasArg()
+                        .argName("path")
+                        .desc("Reuses the contracts of methods that have been computed by previous analyses " +
+                                "and stores all contracts computed by this analysis in the directory " +
+                                "ROOT_PATH/<path>, where ROOT_PATH is the path determined by --root-path. " +
+                                "Cached contracts are ignored automatically whenever the analyzed program, " +
+                                "the grammar, or any option influencing the analysis changes.")
+                        .build()
+        );
+
     }
 
     private void setupExportOptions() {
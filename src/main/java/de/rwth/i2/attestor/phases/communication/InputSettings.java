@@ -38,6 +38,16 @@ public class InputSettings implements HeapConfigurationRenaming {
      */
     private String methodName = "main";
 
+    /**
+     * True if the Jimple code of the analyzed classes is written to disk while parsing.
+     */
+    private boolean jimpleOutputEnabled = true;
+
+    /**
+     * True if only methods that are reachable from the analyzed method are translated.
+     */
+    private boolean reachableMethodsOnly = false;
+
     private Set<String> predefinedGrammarNames = new LinkedHashSet<>();
 
     private Map<String, String> typeRenaming = new LinkedHashMap<>();
@@ -48,6 +58,10 @@ public class InputSettings implements HeapConfigurationRenaming {
      * filenames containing user defined contracts to use
      */
     ArrayList<String> contractFiles = new ArrayList<>();
+    /**
+     * The directory in which contracts are cached across analyses or null if no cache is used.
+     */
+    private String contractCacheDirectory = null;
     private List<String> userDefinedGrammarFiles = new ArrayList<>();
     private List<String> userDefinedAbstractionRuleFiles = new ArrayList<>();
     private List<String> userDefinedInductivePredicatesFiles = new ArrayList<>();
@@ -117,6 +131,40 @@ public class InputSettings implements HeapConfigurationRenaming {
         this.classpath = classpath;
     }
 
+    /**
+     * @return True if the Jimple code of the analyzed classes is written to disk while parsing.
+     */
+    public boolean isJimpleOutputEnabled() {
+
+        return jimpleOutputEnabled;
+    }
+
+    /**
+     * @param jimpleOutputEnabled True if the Jimple code of the analyzed classes should be written to disk
+     *                            while parsing.
+     */
+    public void setJimpleOutputEnabled(boolean jimpleOutputEnabled) {
+
+        this.jimpleOutputEnabled = jimpleOutputEnabled;
+    }
+
+    /**
+     * @return True if only methods that are reachable from the analyzed method are translated.
+     */
+    public boolean isReachableMethodsOnly() {
+
+        return reachableMethodsOnly;
+    }
+
+    /**
+     * @param reachableMethodsOnly True if only methods that are reachable from the analyzed method
+     *                             should be translated.
+     */
+    public void setReachableMethodsOnly(boolean reachableMethodsOnly) {
+
+        this.reachableMethodsOnly = reachableMethodsOnly;
+    }
+
     /**
      * @return The name of the class that is analyzed.
      */
@@ -179,6 +227,28 @@ public class InputSettings implements HeapConfigurationRenaming {
     }
 
 
+    /**
+     * Sets the directory in which contracts computed by previous analyses are looked up and
+     * in which the contracts computed by this analysis are stored.
+     *
+     * @param directory The directory relative to the root path.
+     */
+    public void setContractCacheDirectory(String directory) {
+
+        this.contractCacheDirectory = directory;
+    }
+
+    /**
+     * @return The directory in which contracts are cached or null if contracts should not be cached.
+     */
+    public String getContractCacheDirectory() {
+
+        if (contractCacheDirectory == null) {
+            return null;
+        }
+        return getRootPath() + contractCacheDirectory;
+    }
+
     /**
      * @param rootPath a path prefix which should be applied to all user defined paths
      */
@@ -286,6 +286,30 @@ public final class HeapConfigurationPair implements HeapConfiguration, Graph {
         return ((Graph) actual).getPredecessorsOf(node);
     }
 
+    @Override
+    public int countSuccessorsOf(int node) {
+
+        return ((Graph) actual).countSuccessorsOf(node);
+    }
+
+    @Override
+    public int getSuccessorAt(int node, int pos) {
+
+        return ((Graph) actual).getSuccessorAt(node, pos);
+    }
+
+    @Override
+    public int countPredecessorsOf(int node) {
+
+        return ((Graph) actual).countPredecessorsOf(node);
+    }
+
+    @Override
+    public int getPredecessorAt(int node, int pos) {
+
+        return ((Graph) actual).getPredecessorAt(node, pos);
+    }
+
     @Override
     public NodeLabel getNodeLabel(int node) {
 
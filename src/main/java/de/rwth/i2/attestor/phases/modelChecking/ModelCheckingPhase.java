@@ -11,12 +11,17 @@ import de.rwth.i2.attestor.phases.modelChecking.modelChecker.ProofStructure;
 import de.rwth.i2.attestor.phases.transformers.MCSettingsTransformer;
 import de.rwth.i2.attestor.phases.transformers.ModelCheckingResultsTransformer;
 import de.rwth.i2.attestor.phases.transformers.StateSpaceTransformer;
+import de.rwth.i2.attestor.stateSpaceGeneration.RealSuccessorIndex;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import org.apache.logging.log4j.Level;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ModelCheckingPhase extends AbstractPhase implements ModelCheckingResultsTransformer {
 
@@ -48,36 +53,91 @@ public class ModelCheckingPhase extends AbstractPhase implements ModelCheckingRe
         }
 
         StateSpace stateSpace = getPhase(StateSpaceTransformer.class).getStateSpace();
+        RealSuccessorIndex successorIndex = stateSpace.exportRealSuccessors();
+
+        int threads = Math.min(scene().options().getParallelism(), formulae.size());
+        if (threads > 1) {
+            checkConcurrently(stateSpace, successorIndex, formulae, threads);
+            return;
+        }
 
         for (LTLFormula formula : formulae) {
 
-            String formulaString = formula.getFormulaString();
-            logger.info("Checking formula: " + formulaString + "...");
+            logger.info("Checking formula: " + formula.getFormulaString() + "...");
             ProofStructure proofStructure = new ProofStructure();
-            proofStructure.build(stateSpace, formula);
-            if (proofStructure.isSuccessful()) {
-
-                if(stateSpace.containsAbortedStates()) {
-                    allSatisfied = false;
-                    formulaResults.put(formula, ModelCheckingResult.UNKNOWN);
-                    logger.info("done. It is unknown whether the formula is satisfied.");
-                } else {
-                    formulaResults.put(formula, ModelCheckingResult.SATISFIED);
-                    logger.info("done. Formula is satisfied.");
-                    numberSatFormulae++;
-                }
+            proofStructure.build(stateSpace, formula, successorIndex);
+            addResult(stateSpace, formula, proofStructure);
+        }
+    }
 
-            } else {
-                logger.info("Formula is violated: " + formulaString);
+    /**
+     * Builds the proof structures of all formulae using a fixed number of worker threads.
+     * Since every proof structure only reads the state space and the shared successor index,
+     * formulae are checked independently of each other. Results are added in the order of the given formulae
+     * such that they are the same as for sequential model checking.
+     */
+    private void checkConcurrently(StateSpace stateSpace, RealSuccessorIndex successorIndex,
+                                   Set<LTLFormula> formulae, int threads) {
+
+        logger.debug("Checking " + formulae.size() + " formulae using " + threads + " threads.");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<LTLFormula, Future<ProofStructure>> proofStructures = new LinkedHashMap<>();
+            for (LTLFormula formula : formulae) {
+                proofStructures.put(formula, executor.submit(() -> {
+                    ProofStructure proofStructure = new ProofStructure();
+                    proofStructure.build(stateSpace, formula, successorIndex);
+                    return proofStructure;
+                }));
+            }
+
+            for (Map.Entry<LTLFormula, Future<ProofStructure>> entry : proofStructures.entrySet()) {
+                LTLFormula formula = entry.getKey();
+                logger.info("Checking formula: " + formula.getFormulaString() + "...");
+                addResult(stateSpace, formula, entry.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel model checking has been interrupted.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void addResult(StateSpace stateSpace, LTLFormula formula, ProofStructure proofStructure) {
+
+        if (proofStructure.isSuccessful()) {
+
+            if(stateSpace.containsAbortedStates()) {
                 allSatisfied = false;
-                formulaResults.put(formula, ModelCheckingResult.UNSATISFIED);
-
-                if (scene().options().isIndexedMode()) {
-                    logger.warn("Counterexample generation for indexed grammars is not supported yet.");
-                } else {
-                    FailureTrace failureTrace = proofStructure.getFailureTrace();
-                    traces.put(formula, failureTrace);
-                }
+                formulaResults.put(formula, ModelCheckingResult.UNKNOWN);
+                logger.info("done. It is unknown whether the formula is satisfied.");
+            } else {
+                formulaResults.put(formula, ModelCheckingResult.SATISFIED);
+                logger.info("done. Formula is satisfied.");
+                numberSatFormulae++;
+            }
+
+        } else {
+            logger.info("Formula is violated: " + formula.getFormulaString());
+            allSatisfied = false;
+            formulaResults.put(formula, ModelCheckingResult.UNSATISFIED);
+
+            if (scene().options().isIndexedMode()) {
+                logger.warn("Counterexample generation for indexed grammars is not supported yet.");
+            } else {
+                FailureTrace failureTrace = proofStructure.getFailureTrace();
+                traces.put(formula, failureTrace);
             }
         }
     }
@@ -5,14 +5,12 @@ import de.rwth.i2.attestor.generated.node.ANextLtlform;
 import de.rwth.i2.attestor.generated.node.AReleaseLtlform;
 import de.rwth.i2.attestor.generated.node.Node;
 import de.rwth.i2.attestor.generated.node.Start;
+import de.rwth.i2.attestor.stateSpaceGeneration.RealSuccessorIndex;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.iterator.TIntObjectIterator;
-import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -32,6 +30,23 @@ public class ProofStructure {
     final TIntObjectMap<Set<Assertion>> stateIdToVertices;
 
     final HashMap<Assertion, HashSet<SuccState>> edges;
+
+    /**
+     * Maps each program state to the assertions for this state indexed by their sets of formulae.
+     * If multiple assertions share the same set of formulae, only the first one is stored.
+     */
+    private final TIntObjectMap<Map<Set<Node>, Assertion>> stateIdToFormulaeToVertex;
+
+    /**
+     * The strongly connected components of the proof structure, which are maintained while it is built.
+     */
+    private final StronglyConnectedComponents components;
+
+    /**
+     * Maps every vertex to its id in components.
+     */
+    private final Map<Assertion, Integer> componentVertices;
+
     boolean successful = true;
 
     Assertion originOfFailure = null;
@@ -42,6 +57,9 @@ public class ProofStructure {
 
         this.stateIdToVertices = new TIntObjectHashMap<>();
         this.edges = new LinkedHashMap<>();
+        this.stateIdToFormulaeToVertex = new TIntObjectHashMap<>();
+        this.components = new StronglyConnectedComponents();
+        this.componentVertices = new HashMap<>();
     }
 
     void setBuildFullStructure() {
@@ -55,23 +73,61 @@ public class ProofStructure {
         Set<Assertion> assertionsOfId = stateIdToVertices.get(stateId);
         if (assertionsOfId == null) {
             assertionsOfId = new LinkedHashSet<>();
-            assertionsOfId.add(assertion);
             stateIdToVertices.put(stateId, assertionsOfId);
-        } else {
-            assertionsOfId.add(assertion);
+        }
+
+        if (assertionsOfId.add(assertion)) {
+            componentVertexOf(assertion);
+            Map<Set<Node>, Assertion> formulaeToVertex = stateIdToFormulaeToVertex.get(stateId);
+            if (formulaeToVertex == null) {
+                formulaeToVertex = new HashMap<>();
+                stateIdToFormulaeToVertex.put(stateId, formulaeToVertex);
+            }
+            formulaeToVertex.putIfAbsent(new HashSet<>(assertion.getFormulae()), assertion);
         }
     }
 
+    /**
+     * @param assertion An assertion whose formulae are not modified anymore.
+     * @return An already present assertion for the same program state with the same set of formulae
+     * or null if no such assertion exists.
+     */
+    private Assertion findVertexWithEqualFormulae(Assertion assertion) {
+
+        Map<Set<Node>, Assertion> formulaeToVertex = stateIdToFormulaeToVertex.get(assertion.getProgramState());
+        if (formulaeToVertex == null) {
+            return null;
+        }
+        return formulaeToVertex.get(new HashSet<>(assertion.getFormulae()));
+    }
+
     /**
      * This method builds the proof structure according to the tableau method (as depicted in
      * Jonathan's PhD thesis).
      * It sets the successful variable to false, if a failing leaf or cycle is detected.
+     * Both are detected while the proof structure is built. Every cycle is closed by a next transition to an
+     * already present assertion. Since the strongly connected components of the proof structure are maintained
+     * incrementally, checking whether the assertion reached again lies on a cycle does not require a search
+     * of the whole proof structure.
      *
      * @param statespace, the (labelled) state space we want to check the formula for
      * @param formula,    the ltl formula to check
      */
     public void build(StateSpace statespace, LTLFormula formula) {
 
+        build(statespace, formula, statespace.exportRealSuccessors());
+    }
+
+    /**
+     * Builds the proof structure like {@link #build(StateSpace, LTLFormula)}, but determines the successors
+     * of program states using a precomputed real successor index that may be shared with other proof structures.
+     *
+     * @param statespace,     the (labelled) state space we want to check the formula for
+     * @param formula,        the ltl formula to check
+     * @param successorIndex, the successor index of statespace
+     */
+    public void build(StateSpace statespace, LTLFormula formula, RealSuccessorIndex successorIndex) {
+
         this.stateSpace = statespace;
 
         logger.trace("Building proof structure for formula " + formula.toString());
@@ -119,27 +175,9 @@ public class ProofStructure {
                     // Generate an assertion for each successor state of the current state in the state space
                     // with formula set equal to the next successor formulae generated before
                     int currentState = currentVertex.getProgramState();
-                    TIntSet successors = new TIntHashSet(100);
-                    // Collect the "real" successor states (i.e. skipping materialisation steps)
-                    TIntArrayList materializationSuccessorIds = statespace.getMaterializationSuccessorsIdsOf(currentState);
-                    if (!materializationSuccessorIds.isEmpty()) {
-                        TIntIterator matStateIterator = materializationSuccessorIds.iterator();
-                        while (matStateIterator.hasNext()) {
-                            //for(ProgramState matState : statespace.getMaterializationSuccessorsIdsOf(currentState)){
-                            // Every materialisation state is followed by a control flow state
-                            int matState = matStateIterator.next();
-                            TIntArrayList controlFlowSuccessorIds = statespace.getControlFlowSuccessorsIdsOf(matState);
-                            assert (!controlFlowSuccessorIds.isEmpty());
-                            successors.addAll(controlFlowSuccessorIds);
-                        }
-                    } else {
-                        successors.addAll(statespace.getControlFlowSuccessorsIdsOf(currentState));
-                        // In case the state is final
-                        successors.addAll(statespace.getArtificialInfPathsSuccessorsIdsOf(currentState));
-                    }
-                    TIntIterator successorIterator = successors.iterator();
-                    while (successorIterator.hasNext()) {
-                        int succState = successorIterator.next();
+                    int successorCount = successorIndex.successorCountOf(currentState);
+                    for (int i = 0; i < successorCount; i++) {
+                        int succState = successorIndex.successorAt(currentState, i);
                         Assertion newAssertion = new Assertion(succState, currentVertex, true);
 
                         for (Node succFormula : nextSuccessors) {
@@ -147,84 +185,27 @@ public class ProofStructure {
                         }
 
                         // Check if we have already seen an equal assertion before
-                        boolean formulaePresent = true;
-                        Set<Assertion> presentAssertions = getVerticesForState(newAssertion.getProgramState());
-                        // Note that formulaePresent is finally true, iff we found an equal assertion
-                        if (presentAssertions.isEmpty()) {
-                            formulaePresent = false;
-                        } else {
-                            for (Assertion presentAssertion : presentAssertions) {
-                                // Initialise for current iteration
-                                formulaePresent = true;
-                                if (newAssertion.getFormulae().size() == presentAssertion.getFormulae().size()) {
-                                    for (Node ASTnode : newAssertion.getFormulae()) {
-                                        if (!presentAssertion.getFormulae().contains(ASTnode)) {
-                                            formulaePresent = false;
-                                            break;
-                                        }
-                                    }
-                                } else {
-                                    formulaePresent = false;
-                                }
-                                if (formulaePresent) {
-                                    newAssertion = presentAssertion;
-                                    break;
-                                }
-                            }
+                        Assertion presentAssertion = findVertexWithEqualFormulae(newAssertion);
+                        boolean formulaePresent = presentAssertion != null;
+                        if (formulaePresent) {
+                            newAssertion = presentAssertion;
                         }
 
-                        this.addEdge(currentVertex, new SuccState(newAssertion, currentSubformula));
-
                         addAssertion(newAssertion);
+                        boolean isReal = this.addEdge(currentVertex, new SuccState(newAssertion, currentSubformula));
+
                         // Process the assertion further only in case it is not one, that was already processed
                         if (!formulaePresent) {
                             vertexQueue.add(newAssertion);
-                        } else {
-                            // we detected a potential cycle, check if it is a real and in that case an unharmful one (containing a release
-                            // operator)
-
-                            // Real cycle?
-                            boolean isReal = false;
-                            // First collect all successors
-                            HashSet<Assertion> seen = new LinkedHashSet<>();
-                            LinkedList<Assertion> queue = new LinkedList<>();
-                            queue.add(newAssertion);
-                            seen.add(newAssertion);
-                            while (!queue.isEmpty() && !isReal) {
-                                Assertion curAssertion = queue.pop();
-                                for (Assertion succAssertion : this.getSuccessors(curAssertion)) {
-                                    if (succAssertion.equals(newAssertion)) {
-                                        isReal = true;
-                                        break;
-                                    }
-
-                                    if (!seen.contains(succAssertion)) {
-                                        queue.add(succAssertion);
-                                    }
-                                    seen.add(succAssertion);
-                                }
-
+                        } else if (isReal && !containsReleaseOperator(newAssertion)) {
+                            // we detected a real cycle that is not harmless (containing a release operator)
+                            this.successful = false;
+                            if (this.originOfFailure == null) {
+                                this.originOfFailure = newAssertion;
                             }
-
-                            if (isReal) {
-                                // Contains a release operator?
-                                boolean containsReleaseOp = false;
-                                for (Node current : newAssertion.getFormulae()) {
-                                    if (current instanceof AReleaseLtlform) {
-                                        containsReleaseOp = true;
-                                    }
-                                }
-                                if (!containsReleaseOp) {
-                                    this.successful = false;
-
-                                    if (this.originOfFailure == null) {
-                                        this.originOfFailure = newAssertion;
-                                    }
-                                    // Optimisation: abort proof structure generation, as we already know that it is not successful!
-                                    if (!buildFullStructure) {
-                                        return;
-                                    }
-                                }
+                            // Optimisation: abort proof structure generation, as we already know that it is not successful!
+                            if (!buildFullStructure) {
+                                return;
                             }
                         }
                     }
@@ -268,6 +249,16 @@ public class ProofStructure {
         }
     }
 
+    private boolean containsReleaseOperator(Assertion assertion) {
+
+        for (Node current : assertion.getFormulae()) {
+            if (current instanceof AReleaseLtlform) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * This method collects all vertices, whose program state component is equal to
      * the input program state.
@@ -285,6 +276,11 @@ public class ProofStructure {
         return result;
     }
 
+    private int componentVertexOf(Assertion assertion) {
+
+        return componentVertices.computeIfAbsent(assertion, vertex -> components.addVertex());
+    }
+
     private void addEdges(Assertion currentVertex, HashSet<SuccState> successorStates) {
 
         if (!edges.containsKey(currentVertex)) {
@@ -293,9 +289,16 @@ public class ProofStructure {
             edges.get(currentVertex).addAll(successorStates);
         }
 
+        int from = componentVertexOf(currentVertex);
+        for (SuccState successorState : successorStates) {
+            components.addEdge(from, componentVertexOf(successorState.assertion));
+        }
     }
 
-    private void addEdge(Assertion currentVertex, SuccState successorState) {
+    /**
+     * @return True if and only if the successor lies on a cycle after adding the edge, i.e. it reaches itself.
+     */
+    private boolean addEdge(Assertion currentVertex, SuccState successorState) {
 
         if (!edges.containsKey(currentVertex)) {
             HashSet<SuccState> newSuccStatesSet = new LinkedHashSet<>();
@@ -305,6 +308,7 @@ public class ProofStructure {
             edges.get(currentVertex).add(successorState);
         }
 
+        return components.addEdge(componentVertexOf(currentVertex), componentVertexOf(successorState.assertion));
     }
 
     /**
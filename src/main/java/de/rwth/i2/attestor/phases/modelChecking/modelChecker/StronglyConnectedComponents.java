@@ -0,0 +1,252 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Maintains the strongly connected components of a graph to which vertices and edges are only added.
+ * <p>
+ * Components are represented by a union-find structure. Additionally, the components are kept in a topological
+ * order, i.e. every edge between two different components leads from a smaller to a larger position
+ * (see Pearce and Kelly, A Dynamic Topological Sort Algorithm for Directed Acyclic Graphs, 2006).
+ * Hence, an edge that respects the current order cannot close a cycle and is added in constant time.
+ * Otherwise, only the components whose positions lie between the positions of the edge's end points are searched.
+ * If the edge closes a cycle, all components on this cycle are merged.
+ */
+final class StronglyConnectedComponents {
+
+    /**
+     * The union-find parent of every vertex.
+     */
+    private final TIntArrayList parent = new TIntArrayList();
+
+    /**
+     * The position of every component in the topological order. Only valid for representatives.
+     */
+    private final TIntArrayList order = new TIntArrayList();
+
+    /**
+     * The targets of all edges leaving a member of a component. Only valid for representatives.
+     */
+    private final List<TIntArrayList> successors = new ArrayList<>();
+
+    /**
+     * The sources of all edges entering a member of a component. Only valid for representatives.
+     */
+    private final List<TIntArrayList> predecessors = new ArrayList<>();
+
+    /**
+     * The components that contain a cycle, i.e. consist of at least two vertices or have a self-loop.
+     * Only valid for representatives.
+     */
+    private final BitSet cyclic = new BitSet();
+
+    private int nextOrder = 0;
+
+    /**
+     * Adds a new vertex that forms a component on its own. It is placed behind all existing components.
+     *
+     * @return The id of the new vertex.
+     */
+    int addVertex() {
+
+        int vertex = parent.size();
+        parent.add(vertex);
+        order.add(nextOrder++);
+        successors.add(new TIntArrayList(2));
+        predecessors.add(new TIntArrayList(2));
+        return vertex;
+    }
+
+    /**
+     * Adds an edge between two existing vertices.
+     *
+     * @param from The id of the source vertex.
+     * @param to   The id of the target vertex.
+     * @return True if and only if the target vertex lies on a cycle after adding the edge, i.e. to reaches itself.
+     */
+    boolean addEdge(int from, int to) {
+
+        int source = find(from);
+        int target = find(to);
+        if (source == target) {
+            cyclic.set(source);
+            return true;
+        }
+
+        successors.get(source).add(to);
+        predecessors.get(target).add(from);
+
+        if (order.get(source) > order.get(target)) {
+            restoreOrder(source, target);
+        }
+        return cyclic.get(find(to));
+    }
+
+    private int find(int vertex) {
+
+        while (parent.get(vertex) != vertex) {
+            int grandParent = parent.get(parent.get(vertex));
+            parent.set(vertex, grandParent);
+            vertex = grandParent;
+        }
+        return vertex;
+    }
+
+    /**
+     * Restores the topological order after an edge from source to target has been added
+     * although source is placed behind target.
+     *
+     * @param source The component of the new edge's source vertex.
+     * @param target The component of the new edge's target vertex.
+     */
+    private void restoreOrder(int source, int target) {
+
+        int lowerBound = order.get(target);
+        int upperBound = order.get(source);
+
+        TIntSet forward = search(target, successors, lowerBound, upperBound);
+        TIntSet backward = search(source, predecessors, lowerBound, upperBound);
+
+        int[] positions = new int[forward.size() + backward.size()];
+        int count = 0;
+        TIntIterator iterator = forward.iterator();
+        while (iterator.hasNext()) {
+            positions[count++] = order.get(iterator.next());
+        }
+        iterator = backward.iterator();
+        while (iterator.hasNext()) {
+            int component = iterator.next();
+            if (!forward.contains(component)) {
+                positions[count++] = order.get(component);
+            }
+        }
+        Arrays.sort(positions, 0, count);
+
+        // components that are reachable from target and reach source lie on a common cycle with the new edge
+        TIntSet cycle = new TIntHashSet();
+        iterator = forward.iterator();
+        while (iterator.hasNext()) {
+            int component = iterator.next();
+            if (backward.contains(component)) {
+                cycle.add(component);
+            }
+        }
+        forward.removeAll(cycle);
+        backward.removeAll(cycle);
+
+        // Components that reach source take the smallest positions, components reachable from target the
+        // largest ones. Both keep their relative order. Hence, the former only move to smaller and the latter
+        // only to larger positions such that edges from or to unaffected components still respect the order.
+        // All components adjacent to the merged cycle lie outside of the searched range or are merged themselves,
+        // so any position in between is valid for the cycle.
+        int next = 0;
+        for (int component : sortByOrder(backward)) {
+            order.set(component, positions[next++]);
+        }
+        if (!cycle.isEmpty()) {
+            int merged = merge(cycle);
+            order.set(merged, positions[next]);
+            cyclic.set(merged);
+        }
+        next = count - forward.size();
+        for (int component : sortByOrder(forward)) {
+            order.set(component, positions[next++]);
+        }
+    }
+
+    /**
+     * Collects all components that are reachable from start via the given adjacency lists
+     * without leaving the given range of positions.
+     */
+    private TIntSet search(int start, List<TIntArrayList> adjacency, int lowerBound, int upperBound) {
+
+        TIntSet visited = new TIntHashSet();
+        TIntArrayList stack = new TIntArrayList();
+        visited.add(start);
+        stack.add(start);
+        while (!stack.isEmpty()) {
+            TIntArrayList adjacent = adjacency.get(stack.removeAt(stack.size() - 1));
+            for (int i = 0; i < adjacent.size(); i++) {
+                int component = find(adjacent.get(i));
+                int position = order.get(component);
+                if (position >= lowerBound && position <= upperBound && visited.add(component)) {
+                    stack.add(component);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private int[] sortByOrder(TIntSet components) {
+
+        int[] result = components.toArray();
+        long[] keys = new long[result.length];
+        for (int i = 0; i < result.length; i++) {
+            keys[i] = ((long) order.get(result[i]) << 32) | result[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * Merges the given components into a single one.
+     *
+     * @return The representative of the merged component.
+     */
+    private int merge(TIntSet components) {
+
+        int representative = -1;
+        TIntIterator iterator = components.iterator();
+        while (iterator.hasNext()) {
+            int component = iterator.next();
+            if (representative == -1 || edgeCount(component) > edgeCount(representative)) {
+                representative = component;
+            }
+        }
+
+        TIntArrayList mergedSuccessors = successors.get(representative);
+        TIntArrayList mergedPredecessors = predecessors.get(representative);
+        iterator = components.iterator();
+        while (iterator.hasNext()) {
+            int component = iterator.next();
+            if (component != representative) {
+                parent.set(component, representative);
+                mergedSuccessors.addAll(successors.get(component));
+                mergedPredecessors.addAll(predecessors.get(component));
+                successors.set(component, null);
+                predecessors.set(component, null);
+            }
+        }
+        removeInternalEdges(representative, mergedSuccessors);
+        removeInternalEdges(representative, mergedPredecessors);
+        return representative;
+    }
+
+    private int edgeCount(int component) {
+
+        return successors.get(component).size() + predecessors.get(component).size();
+    }
+
+    private void removeInternalEdges(int representative, TIntArrayList adjacent) {
+
+        int size = 0;
+        for (int i = 0; i < adjacent.size(); i++) {
+            int vertex = adjacent.get(i);
+            if (find(vertex) != representative) {
+                adjacent.set(size++, vertex);
+            }
+        }
+        adjacent.remove(size, adjacent.size() - size);
+    }
+}
@@ -6,6 +6,7 @@ import de.rwth.i2.attestor.generated.node.*;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 
 /**
@@ -24,12 +25,21 @@ public class TableauRulesSwitch extends AnalysisAdapter {
 
     final StateSpace stateSpace;
 
+    // Caches atomic propositions such that their strings are computed only once per node
+    private final IdentityHashMap<Node, String> atomicPropositions = new IdentityHashMap<>();
+
     public TableauRulesSwitch(StateSpace stateSpace) {
 
         additionalNextFormulae = HashBiMap.create();
         this.stateSpace = stateSpace;
     }
 
+    private boolean satisfiesAP(int stateId, Node apNode) {
+
+        String expectedAP = atomicPropositions.computeIfAbsent(apNode, node -> node.toString().trim());
+        return stateSpace.satisfiesAP(stateId, expectedAP);
+    }
+
     /**
      * Care! This case should never happen, because we initialise the proof structure with the
      * successor node of the AST start node!
@@ -73,8 +83,7 @@ public class TableauRulesSwitch extends AnalysisAdapter {
 
         Assertion current = (Assertion) this.getIn(node);
 
-        String expectedAP = node.toString().trim();
-        if (stateSpace.satisfiesAP(current.getProgramState(), expectedAP)) {
+        if (satisfiesAP(current.getProgramState(), node)) {
             //if(current.getProgramState().satisfiesAP(expectedAP)){
             current.setTrue();
             this.setOut(node, null);
@@ -115,11 +124,10 @@ public class TableauRulesSwitch extends AnalysisAdapter {
 
         ATermLtlform term = (ATermLtlform) node.getLtlform();
 
-        String negExpectedAP = node.getLtlform().toString().trim();
         //String negExpectedAP = node.getAtomicprop().toString().trim();
         if (term.getTerm() instanceof ATrueTerm) {
             removeFormulaAndSetOut(node);
-        } else if (term.getTerm() instanceof AFalseTerm || !stateSpace.satisfiesAP(current.getProgramState(), negExpectedAP)) {
+        } else if (term.getTerm() instanceof AFalseTerm || !satisfiesAP(current.getProgramState(), node.getLtlform())) {
             //if(term.getTerm() instanceof AFalseTerm || !current.getProgramState().satisfiesAP(negExpectedAP)){
             current.setTrue();
             this.setOut(node, null);
@@ -29,6 +29,8 @@ public class ParseProgramPhase extends AbstractPhase implements ProgramTransform
 
         InputSettings inputSettings = getPhase(InputSettingsTransformer.class).getInputSettings();
         JimpleParser programParser = new JimpleParser(this, new StandardAbstractSemantics(this));
+        programParser.setJimpleOutputEnabled(inputSettings.isJimpleOutputEnabled());
+        programParser.setReachableMethodsOnly(inputSettings.isReachableMethodsOnly());
         program = programParser.parse(
                 inputSettings.getClasspath(),
                 inputSettings.getClassName(),
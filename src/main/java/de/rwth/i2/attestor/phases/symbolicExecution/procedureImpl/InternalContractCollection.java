@@ -1,67 +1,107 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
 
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.PreconditionKey;
 import de.rwth.i2.attestor.procedures.*;
 
+/**
+ * Stores contracts indexed by the {@link PreconditionKey} of their precondition.
+ * If the key of a precondition is canonical, at most one contract is stored for this key and
+ * looking up a contract requires at most one matching, which determines the reordering of external nodes.
+ * Otherwise, all contracts with an equal key are checked.
+ */
 public class InternalContractCollection implements ContractCollection {
 
     private final PreconditionMatchingStrategy preconditionMatchingStrategy;
 
-    private final Map<Integer, Collection<Contract>> contracts;
+    private final Map<PreconditionKey, Collection<Contract>> contracts;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder matchAttempts = new LongAdder();
 
     public InternalContractCollection(PreconditionMatchingStrategy preconditionMatchingStrategy) {
 
         this.preconditionMatchingStrategy = preconditionMatchingStrategy;
-        this.contracts = new HashMap<>();
+        this.contracts = new LinkedHashMap<>();
     }
 
     @Override
     public void addContract(Contract contract) {
 
-        int preconditionHash = contract.getPrecondition().hashCode();
-        if(!contracts.containsKey(preconditionHash)) {
+        PreconditionKey key = PreconditionKey.of(contract.getPrecondition());
+        Collection<Contract> keyedContracts = contracts.get(key);
+        if(keyedContracts == null) {
             Collection<Contract> value = new ArrayList<>();
             value.add(contract);
-            contracts.put(preconditionHash, value);
+            contracts.put(key, value);
+        } else if(key.isCanonical()) {
+            // equal canonical keys imply that the preconditions match
+            keyedContracts.iterator().next().addPostconditions(contract.getPostconditions());
         } else {
-            Collection<Contract> hashedContracts = contracts.get(preconditionHash);
-            for (Contract c : hashedContracts) {
+            for (Contract c : keyedContracts) {
                 ContractMatch match = preconditionMatchingStrategy.match(c, contract.getPrecondition());
                 if (match.hasMatch()) {
                     c.addPostconditions(contract.getPostconditions());
                     return;
                 }
             }
-            hashedContracts.add(contract);
+            keyedContracts.add(contract);
         }
     }
 
     @Override
     public ContractMatch matchContract(HeapConfiguration precondition) {
 
-        int preconditionHash = precondition.hashCode();
-        if(!contracts.containsKey(preconditionHash)) {
-            contracts.put(preconditionHash, new ArrayList<>());
-        }
-        for(Contract contract : contracts.get(preconditionHash)) {
-            ContractMatch match = preconditionMatchingStrategy.match(contract, precondition);
-            if(match.hasMatch()) {
-                return match;
+        Collection<Contract> keyedContracts = contracts.get(PreconditionKey.of(precondition));
+        if(keyedContracts != null) {
+            for(Contract contract : keyedContracts) {
+                matchAttempts.increment();
+                ContractMatch match = preconditionMatchingStrategy.match(contract, precondition);
+                if(match.hasMatch()) {
+                    hits.increment();
+                    return match;
+                }
             }
         }
 
+        misses.increment();
         return ContractMatch.NO_CONTRACT_MATCH;
     }
 
 	@Override
 	public Collection<Contract> getContractsForExport() {
 		Collection<Contract> contractsForExport = new ArrayList<>();
-		for( Entry<Integer, Collection<Contract>> entry : contracts.entrySet() ){
-			contractsForExport.addAll(entry.getValue());
+		for( Collection<Contract> keyedContracts : contracts.values() ){
+			contractsForExport.addAll(keyedContracts);
 		}
 		return contractsForExport;
 	}
+
+    /**
+     * @return The number of lookups that found a matching contract.
+     */
+    public long getNumberOfHits() {
+
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that did not find a matching contract.
+     */
+    public long getNumberOfMisses() {
+
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of preconditions that have been matched against looked up heap configurations.
+     */
+    public long getNumberOfMatchAttempts() {
+
+        return matchAttempts.sum();
+    }
 }
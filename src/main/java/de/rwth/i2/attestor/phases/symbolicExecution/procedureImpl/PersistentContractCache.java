@@ -0,0 +1,254 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
+
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.io.FileReader;
+import de.rwth.i2.attestor.io.FileUtils;
+import de.rwth.i2.attestor.io.jsonExport.inputFormat.ContractToInputFormatExporter;
+import de.rwth.i2.attestor.io.jsonExport.inputFormat.HCtoInputFormatExporter;
+import de.rwth.i2.attestor.io.jsonImport.HeapConfigurationRenaming;
+import de.rwth.i2.attestor.io.jsonImport.JsonToHeapConfiguration;
+import de.rwth.i2.attestor.main.scene.Options;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.TerminalStatement;
+import de.rwth.i2.attestor.stateSpaceGeneration.Program;
+import de.rwth.i2.attestor.stateSpaceGeneration.SemanticsCommand;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Stores the contracts of methods on disk such that they can be reused by subsequent analyses.
+ * <p>
+ * Every stored contract collection is identified by the signature of its method and a fingerprint of all
+ * inputs that influence contracts, i.e. the bodies of all methods, the grammar, user-supplied contracts and
+ * the options.
+ * Hence, stored contracts are ignored automatically as soon as any of these inputs changes.
+ * The contracts of a method are stored in the same format as user-supplied contract files.
+ */
+public class PersistentContractCache extends SceneObject {
+
+    private static final Logger logger = LogManager.getLogger("PersistentContractCache");
+
+    private static final HeapConfigurationRenaming NO_RENAMING = new HeapConfigurationRenaming() {
+        @Override
+        public String getTypeRenaming(String typeName) {
+
+            return typeName;
+        }
+
+        @Override
+        public String getSelectorRenaming(String typeName, String selector) {
+
+            return selector;
+        }
+    };
+
+    private final String directory;
+    private final String fingerprint;
+
+    /**
+     * @param sceneObject The scene object whose scene is used to reconstruct stored heap configurations.
+     * @param directory   The directory in which contracts are stored.
+     * @param fingerprint A fingerprint of all inputs of the analysis, see
+     *                    {@link #fingerprintOf(Collection, Grammar, Collection, Options)}.
+     */
+    public PersistentContractCache(SceneObject sceneObject, String directory, String fingerprint) {
+
+        super(sceneObject);
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Computes a fingerprint of all inputs that influence the contracts computed for methods.
+     *
+     * @param methods The methods of the analyzed program.
+     * @param grammar       The grammar used for abstraction.
+     * @param contractFiles The files containing user-supplied contracts.
+     * @param options       The options of the analysis.
+     * @return A string that is equal for two analyses if their methods, grammar, user-supplied contracts
+     * and options are equal.
+     */
+    public static String fingerprintOf(Collection<Method> methods, Grammar grammar,
+                                       Collection<String> contractFiles, Options options) {
+
+        StringBuilder input = new StringBuilder();
+
+        List<Method> sortedMethods = new ArrayList<>(methods);
+        sortedMethods.sort(Comparator.comparing(Method::getSignature));
+        for (Method method : sortedMethods) {
+            input.append(method.getSignature()).append('\n');
+            if (method.getBody() != null) {
+                appendProgram(input, method.getBody());
+            }
+        }
+
+        for (String contractFile : contractFiles) {
+            input.append(contractFile).append('\n');
+            try {
+                input.append(FileReader.read(contractFile)).append('\n');
+            } catch (FileNotFoundException e) {
+                input.append("missing\n");
+            }
+        }
+
+        if (grammar != null) {
+            for (Nonterminal lhs : grammar.getAllLeftHandSides()) {
+                input.append(lhs.getLabel()).append('/').append(lhs.getRank()).append('\n');
+                for (HeapConfiguration rhs : grammar.getRightHandSidesFor(lhs)) {
+                    input.append(HCtoInputFormatExporter.getInInputFormat(rhs)).append('\n');
+                }
+            }
+        }
+
+        input.append(options.isRemoveDeadVariables())
+                .append(options.isGrammarRefinementEnabled())
+                .append(options.isGarbageCollectionEnabled())
+                .append(options.isPostprocessingEnabled())
+                .append(options.isRuleCollapsingEnabled())
+                .append(options.isAdmissibleAbstractionEnabled())
+                .append(options.isAdmissibleConstantsEnabled())
+                .append(options.isAdmissibleMarkingsEnabled())
+                .append(options.isAdmissibleFullEnabled())
+                .append(options.isChainAbstractionEnabled())
+                .append(options.isPredicateMode())
+                .append(options.isIndexedMode())
+                .append(options.isCanonicalEnabled())
+                .append(options.getMaxStateSpace()).append('/')
+                .append(options.getMaxHeap());
+
+        return sha256(input.toString());
+    }
+
+    /**
+     * Appends a structural encoding of every statement of the given program.
+     * Since the string representation of some statements, e.g. Skip, omits their successors, the
+     * successor program counters of every statement are appended explicitly.
+     */
+    private static void appendProgram(StringBuilder input, Program program) {
+
+        int pc = 0;
+        SemanticsCommand statement = program.getStatement(pc);
+        while (!(statement instanceof TerminalStatement)) {
+            List<Integer> successors = new ArrayList<>(statement.getSuccessorPCs());
+            Collections.sort(successors);
+            input.append(pc).append(' ')
+                    .append(statement.getClass().getName()).append(' ')
+                    .append(statement).append(" -> ")
+                    .append(successors).append('\n');
+            statement = program.getStatement(++pc);
+        }
+    }
+
+    /**
+     * Loads the stored contracts of the given method.
+     *
+     * @param method The method whose contracts should be loaded.
+     * @return The stored contracts or an empty collection if no contracts have been stored for the given
+     * method and the current fingerprint.
+     */
+    public Collection<Contract> load(Method method) {
+
+        File file = fileOf(method);
+        if (!file.isFile()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            JSONObject obj = new JSONObject(FileReader.read(file.getPath()));
+            if (!method.getSignature().equals(obj.getString("method"))) {
+                return Collections.emptyList();
+            }
+
+            Consumer<String> addUsedSelectorLabel = scene().labels()::addUsedSelectorLabel;
+            JsonToHeapConfiguration importer = new JsonToHeapConfiguration(this, NO_RENAMING);
+
+            List<Contract> result = new ArrayList<>();
+            JSONArray array = obj.getJSONArray("contracts");
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject contract = array.getJSONObject(i);
+                HeapConfiguration precondition = importer.parse(
+                        contract.getJSONObject("precondition"), addUsedSelectorLabel
+                );
+                List<HeapConfiguration> postconditions = new ArrayList<>();
+                JSONArray jsonPostconditions = contract.getJSONArray("postconditions");
+                for (int p = 0; p < jsonPostconditions.length(); p++) {
+                    postconditions.add(importer.parse(jsonPostconditions.getJSONObject(p), addUsedSelectorLabel));
+                }
+                result.add(new InternalContract(precondition, postconditions));
+            }
+            logger.debug("Loaded " + result.size() + " cached contracts of method " + method.getSignature());
+            return result;
+        } catch (IOException | JSONException e) {
+            logger.warn("Ignoring unreadable cached contracts in " + file.getPath());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Stores the given contracts of a method and replaces all previously stored contracts of the method
+     * for the current fingerprint.
+     * Only contracts of methods whose analysis has been completed should be stored.
+     *
+     * @param method    The method whose contracts should be stored.
+     * @param contracts The contracts to store.
+     */
+    public void store(Method method, Collection<Contract> contracts) {
+
+        if (contracts.isEmpty()) {
+            return;
+        }
+
+        File file = fileOf(method);
+        try {
+            FileUtils.createDirectories(directory);
+            // write to a temporary file first such that concurrent analyses never read partially written files
+            File tmpFile = File.createTempFile(file.getName(), ".tmp", new File(directory));
+            try (Writer writer = new FileWriter(tmpFile)) {
+                new ContractToInputFormatExporter(writer).export(method.getSignature(), contracts);
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not store contracts of method " + method.getSignature() + " in " + directory);
+        }
+    }
+
+    private File fileOf(Method method) {
+
+        return new File(directory, sha256(fingerprint + '\n' + method.getSignature()) + ".json");
+    }
+
+    private static String sha256(String input) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+            StringBuilder result = new StringBuilder(2 * hash.length);
+            for (byte b : hash) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.");
+        }
+    }
+}
@@ -4,15 +4,24 @@ import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategy;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.main.scene.SceneObject;
 import de.rwth.i2.attestor.main.scene.Strategies;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.ConcurrentStateSpace;
 import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.MappedStateStore;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.SpillingStateSpace;
 import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.TAStateSpace;
 import de.rwth.i2.attestor.phases.symbolicExecution.utilStrategies.*;
 import de.rwth.i2.attestor.stateSpaceGeneration.*;
 
+import java.io.File;
 import java.util.List;
 
 public class StateSpaceGeneratorFactory extends SceneObject {
 
+    /**
+     * The store shared by all spilling state spaces created by this factory or null if none has been created yet.
+     */
+    private MappedStateStore stateStore = null;
+
     public StateSpaceGeneratorFactory(Scene scene) {
         super(scene);
     }
@@ -67,15 +76,33 @@ public class StateSpaceGeneratorFactory extends SceneObject {
                 .setStateSpaceSupplier(() -> {
                     if (scene().options().isPredicateMode()) {
                         return new TAStateSpace(scene().options().getMaxStateSpace());
+                    } else if (scene().options().isStateSpillingEnabled()) {
+                        return new SpillingStateSpace(
+                                scene().options().getMaxStateSpace(),
+                                getStateStore(),
+                                scene().labels().labelIds()
+                        );
+                    } else if (scene().options().getParallelism() > 1) {
+                        return new ConcurrentStateSpace(scene().options().getMaxStateSpace());
                     } else {
                         return new InternalStateSpace(scene().options().getMaxStateSpace());
                     }
                 })
                 .setPostProcessingStrategy(getPostProcessingStrategy())
                 .setFinalStateStrategy(new TerminalStatementFinalStateStrategy())
+                .setParallelism(scene().options().getParallelism())
+                .setWorkerPool(scene().options().getParallelism() > 1 ? scene().workerPool() : null)
                 ;
     }
 
+    private synchronized MappedStateStore getStateStore() {
+
+        if (stateStore == null) {
+            stateStore = new MappedStateStore(new File(scene().options().getStateSpillDirectory()));
+        }
+        return stateStore;
+    }
+
     private PostProcessingStrategy getPostProcessingStrategy() {
 
         CanonicalizationStrategy aggressiveStrategy = scene().strategies().getAggressiveCanonicalizationStrategy();
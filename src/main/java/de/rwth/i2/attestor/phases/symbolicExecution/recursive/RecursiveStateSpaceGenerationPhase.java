@@ -1,8 +1,13 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationStrategy;
+import de.rwth.i2.attestor.grammar.canonicalization.GeneralCanonicalizationStrategy;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.main.AbstractPhase;
 import de.rwth.i2.attestor.main.scene.ElementNotPresentException;
@@ -24,6 +29,7 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
     private List<ProgramState> initialStates;
     private Method mainMethod;
     private StateSpace mainStateSpace = null;
+    private PersistentContractCache contractCache = null;
 
     public RecursiveStateSpaceGenerationPhase(Scene scene) {
 
@@ -40,13 +46,17 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
     @Override
     public void executePhase() {
 
-        interproceduralAnalysis = new InterproceduralAnalysis();
+        interproceduralAnalysis = new InterproceduralAnalysis(
+                scene().options().getParallelism() > 1 ? scene().workerPool() : null
+        );
         loadInitialStates();
         loadMainMethod();
+        loadContractCache();
         initializeMethodExecutors();
         startPartialStateSpaceGeneration();
         registerMainProcedureCalls();
         interproceduralAnalysis.run();
+        storeContracts();
 
         if(mainStateSpace.getFinalStateIds().isEmpty()) {
             logger.error("Computed state space contains no final states.");
@@ -88,6 +98,23 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         throw new IllegalArgumentException("Could not find top-level method '" + methodName + "'.");
     }
 
+    private void loadContractCache() {
+
+        InputSettings inputSettings = getPhase(InputSettingsTransformer.class).getInputSettings();
+        String directory = inputSettings.getContractCacheDirectory();
+        if(directory == null) {
+            return;
+        }
+
+        String fingerprint = PersistentContractCache.fingerprintOf(
+                scene().getRegisteredMethods(),
+                getPhase(GrammarTransformer.class).getGrammar(),
+                inputSettings.getContractFileNames(),
+                scene().options()
+        );
+        contractCache = new PersistentContractCache(this, directory, fingerprint);
+    }
+
     private void initializeMethodExecutors() {
 
         InternalProcedureRegistry procedureRegistry = new InternalProcedureRegistry(
@@ -98,7 +125,7 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         PreconditionMatchingStrategy preconditionMatchingStrategy = new InternalPreconditionMatchingStrategy();
 
         for(Method method : scene ().getRegisteredMethods()) {
-            MethodExecutor executor;
+            AbstractInterproceduralMethodExecutor executor;
             ContractCollection contractCollection = new InternalContractCollection(preconditionMatchingStrategy);
             if(method.isRecursive()) {
                 executor = new RecursiveMethodExecutor(
@@ -115,6 +142,7 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
                         procedureRegistry 
                 );
             }
+            executor.setContractCache(contractCache);
             method.setMethodExecution(executor);
         }
     }
@@ -128,6 +156,28 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         }
     }
 
+    /**
+     * Stores the contracts of all methods once the fixpoint iteration has terminated.
+     * Contracts are only complete if neither the main state space nor the state space of any procedure call
+     * has been aborted. Otherwise, nothing is stored.
+     */
+    private void storeContracts() {
+
+        if(contractCache == null) {
+            return;
+        }
+
+        if(mainStateSpace == null || mainStateSpace.containsAbortedStates()
+                || interproceduralAnalysis.containsAbortedStates()) {
+            logger.warn("State space generation has been aborted. Contracts are not stored.");
+            return;
+        }
+
+        for(Method method : scene().getRegisteredMethods()) {
+            contractCache.store(method, method.getContractsForExport());
+        }
+    }
+
     private void registerMainProcedureCalls() {
 
         for(ProgramState iState : initialStates) {
@@ -150,6 +200,81 @@ public class RecursiveStateSpaceGenerationPhase extends AbstractPhase implements
         logSum(String.format("| final states            | %16d |",
                 mainStateSpace.getFinalStateIds().size()));
         logSum("+-------------------------+------------------+");
+
+        CanonicalizationStrategy canonicalizationStrategy = scene().strategies().getCanonicalizationStrategy();
+        if (canonicalizationStrategy instanceof GeneralCanonicalizationStrategy) {
+            GeneralCanonicalizationStrategy strategy = (GeneralCanonicalizationStrategy) canonicalizationStrategy;
+            logHighlight("| Abstraction             | Embedding checks |");
+            logSum("+-------------------------+------------------+");
+            logSum(String.format("| performed               | %16d |",
+                    strategy.getNumberOfEmbeddingSearches()));
+            logSum(String.format("| pruned by rule index    | %16d |",
+                    strategy.getNumberOfPrunedEmbeddingSearches()));
+            logSum("+-------------------------+------------------+");
+        }
+
+        logContractLookups();
+        logContinuationsPerComponent();
+    }
+
+    private void logContinuationsPerComponent() {
+
+        Map<Integer, Integer> continuations = interproceduralAnalysis.getNumberOfContinuationsPerComponent();
+        if(continuations.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<String>> methodsPerComponent = new HashMap<>();
+        for(Method method : scene().getRegisteredMethods()) {
+            methodsPerComponent
+                    .computeIfAbsent(method.getComponentIndex(), component -> new ArrayList<>())
+                    .add(method.getName());
+        }
+
+        logHighlight("| Continuations per SCC   |    count |");
+        logSum("+-------------------------+----------+");
+        for(Map.Entry<Integer, Integer> entry : continuations.entrySet()) {
+            List<String> methods = methodsPerComponent.getOrDefault(entry.getKey(), Collections.emptyList());
+            Collections.sort(methods);
+            logSum(String.format("| %-23.23s | %8d |", String.join(",", methods), entry.getValue()));
+        }
+        logSum("+-------------------------+----------+");
+    }
+
+    private void logContractLookups() {
+
+        boolean hasLookups = false;
+        for(Method method : scene().getRegisteredMethods()) {
+            InternalContractCollection contracts = contractCollectionOf(method);
+            if(contracts == null || contracts.getNumberOfHits() + contracts.getNumberOfMisses() == 0) {
+                continue;
+            }
+            if(!hasLookups) {
+                hasLookups = true;
+                logHighlight("| Contract lookups        |     hits |   misses | matchings |");
+                logSum("+-------------------------+----------+----------+-----------+");
+            }
+            logSum(String.format("| %-23.23s | %8d | %8d | %9d |",
+                    method.getName(),
+                    contracts.getNumberOfHits(),
+                    contracts.getNumberOfMisses(),
+                    contracts.getNumberOfMatchAttempts()));
+        }
+        if(hasLookups) {
+            logSum("+-------------------------+----------+----------+-----------+");
+        }
+    }
+
+    private InternalContractCollection contractCollectionOf(Method method) {
+
+        MethodExecutor executor = method.getMethodExecutor();
+        if(executor instanceof AbstractMethodExecutor) {
+            ContractCollection contracts = ((AbstractMethodExecutor) executor).getContractCollection();
+            if(contracts instanceof InternalContractCollection) {
+                return (InternalContractCollection) contracts;
+            }
+        }
+        return null;
     }
 
     @Override
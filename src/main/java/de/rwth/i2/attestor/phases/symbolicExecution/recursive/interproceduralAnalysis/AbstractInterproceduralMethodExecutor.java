@@ -1,8 +1,10 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAnalysis;
 
+import java.util.ArrayList;
 import java.util.Collection;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl.PersistentContractCache;
 import de.rwth.i2.attestor.procedures.*;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 
@@ -11,6 +13,8 @@ public abstract class AbstractInterproceduralMethodExecutor extends AbstractMeth
 	protected final Method method;
 	protected ProcedureRegistry procedureRegistry;
 
+	private PersistentContractCache contractCache = null;
+
 	public AbstractInterproceduralMethodExecutor( Method method, 
 												  ScopeExtractor scopeExtractor, 
 												  ContractCollection contractCollection, 
@@ -20,31 +24,108 @@ public abstract class AbstractInterproceduralMethodExecutor extends AbstractMeth
 		this.procedureRegistry = procedureRegistry;
 	}
 
+	/**
+	 * Sets a cache of contracts computed by previous analyses. The cached contracts of this method
+	 * are loaded before the first contract is generated for this method.
+	 * @param contractCache the cache to consult or null if no cache should be used
+	 */
+	public void setContractCache(PersistentContractCache contractCache) {
+		this.contractCache = contractCache;
+	}
+
 	// template method. can be configured by overriding generateAndAddContract.
+	// contracts are accessed under the lock of this executor as procedureCalls may be analysed concurrently,
+	// see InterproceduralAnalysis. The lock is released while a contract is generated, since generating
+	// a contract executes the callee, which may in turn wait for other workers. Postconditions are merged
+	// into the calling heap outside of the lock and are thus copied while the lock is held.
 	@Override
 	protected final Collection<HeapConfiguration> getPostconditions(ProgramState callingState, ScopedHeap scopedHeap) {
-	
+
 	    HeapConfiguration heapInScope = scopedHeap.getHeapInScope();
-	    ContractMatch contractMatch = getContractCollection().matchContract(heapInScope);
-	    if( contractMatch.hasMatch() ) {
-	    	heapInScope = contractMatch.getPrecondition();
+	    ContractMatch contractMatch;
+	    ProcedureCall call;
+	    synchronized (this) {
+	        loadCachedContracts();
+
+	        contractMatch = snapshotOf(getContractCollection().matchContract(heapInScope));
+	        if( contractMatch.hasMatch() ) {
+	        	heapInScope = contractMatch.getPrecondition();
+	        }
+
+	        call = procedureRegistry.getProcedureCall( method, heapInScope );
+	        procedureRegistry.registerDependency( callingState, call );
 	    }
-	    
-	    ProcedureCall call = procedureRegistry.getProcedureCall( method, heapInScope );
-	    procedureRegistry.registerDependency( callingState, call );
-	    
+
 	    if(!contractMatch.hasMatch()) {
-	        
-	        ContractCollection contractCollection = getContractCollection();
+
 	        generateAndAddContract( call);
-	        contractMatch = contractCollection.matchContract(heapInScope);
+	        synchronized (this) {
+	            contractMatch = snapshotOf(getContractCollection().matchContract(heapInScope));
+	        }
 	    }
-	    
+
 	    return scopedHeap.merge(contractMatch);
 	}
 	
+	/**
+	 * @return a match whose postconditions are a copy of the postconditions of the given match,
+	 * which may be extended concurrently by other procedureCalls.
+	 */
+	private static ContractMatch snapshotOf(ContractMatch contractMatch) {
+
+		if( !contractMatch.hasMatch() ) {
+			return contractMatch;
+		}
+
+		int[] externalReordering = contractMatch.getExternalReordering();
+		HeapConfiguration precondition = contractMatch.getPrecondition();
+		Collection<HeapConfiguration> postconditions = new ArrayList<>(contractMatch.getPostconditions());
+		return new ContractMatch() {
+			@Override
+			public boolean hasMatch() {
+				return true;
+			}
+
+			@Override
+			public int[] getExternalReordering() {
+				return externalReordering;
+			}
+
+			@Override
+			public HeapConfiguration getPrecondition() {
+				return precondition;
+			}
+
+			@Override
+			public Collection<HeapConfiguration> getPostconditions() {
+				return postconditions;
+			}
+		};
+	}
+
+	@Override
+	public synchronized void addContract(Contract contract) {
+		super.addContract(contract);
+	}
+
+	@Override
+	public synchronized Collection<Contract> getContractsForExport() {
+		return super.getContractsForExport();
+	}
+
+	private void loadCachedContracts() {
+
+	    if( contractCache != null ) {
+	        for( Contract contract : contractCache.load(method) ) {
+	            getContractCollection().addContract(contract);
+	        }
+	        contractCache = null;
+	    }
+	}
+
 	/**
 	 * Is called when no contract for this call is found. 
+	 * The lock of this executor is not held, i.e. contracts have to be added via {@link #addContract(Contract)}.
      * @param call the procedureCall for this method and input
 	 */
 	abstract protected void generateAndAddContract( ProcedureCall call);
@@ -4,6 +4,7 @@ package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAn
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * This class is responsible of computing the fixpoint of the interprocedural analysis
@@ -11,6 +12,20 @@ import java.util.*;
  * It keeps track of any procedure calls to recursive methods that have not yet been analysed.
  * Furthermore it stores the dependencies between partialStateSpaces and procedureCalls so that
  * it can continue those stateSpaces whenever it has found new contracts for a procedureCall.
+ * <p>
+ * Remaining partialStateSpaces are continued bottom-up with respect to the strongly connected components
+ * of the call graph (see {@link de.rwth.i2.attestor.procedures.Method#getComponentIndex()}):
+ * a partialStateSpace is only continued if no partialStateSpace of a method in a lower component remains.
+ * Hence, the contracts of callees are stable before their callers are continued. Moreover, a partialStateSpace
+ * is enqueued at most once, no matter how often the contracts it depends on change in the meantime.
+ * <p>
+ * If a pool of worker threads is given, the fixpoint is computed in rounds:
+ * Each round executes all remaining procedureCalls and continues all remaining partialStateSpaces
+ * of the lowest component concurrently, except for partialStateSpaces whose stateSpace is already continued in the same round.
+ * These are deferred to the next round. Since contracts only grow, the same fixpoint is reached
+ * as for the sequential iteration. The pool is usually the worker pool of the scene, which is shared with
+ * the state space generators executing procedureCalls. Hence, the number of worker threads stays bounded
+ * by the parallelism of the scene, no matter how deeply procedureCalls are nested.
  * 
  * see {@link ProcedureRegistry} for the interaction between the semantics and this class.
  * @author Hannah
@@ -18,20 +33,41 @@ import java.util.*;
  */
 public class InterproceduralAnalysis {
 
+	private final ForkJoinPool workerPool;
+
 	Deque<ProcedureCall> remainingProcedureCalls = new ArrayDeque<>();
-	Deque<PartialStateSpace> remainingPartialStateSpaces = new ArrayDeque<>();
+	private final Set<ProcedureCall> remainingProcedureCallSet = new HashSet<>();
+	NavigableMap<Integer, Deque<PartialStateSpace>> remainingPartialStateSpaces = new TreeMap<>();
+	private final Set<PartialStateSpace> remainingPartialStateSpaceSet = new HashSet<>();
+
+	private final Map<Integer, Integer> continuationsPerComponent = new TreeMap<>();
 
 	Map<ProcedureCall, Set<PartialStateSpace>> callingDependencies = new LinkedHashMap<>();
 	Map<StateSpace, ProcedureCall> stateSpaceToAnalyzedCall = new LinkedHashMap<>();
 
+	public InterproceduralAnalysis() {
+
+		this(null);
+	}
+
+	/**
+	 * @param workerPool the pool of worker threads used to execute procedureCalls and
+	 *                   continue partialStateSpaces concurrently or null if the fixpoint
+	 *                   should be computed sequentially. The pool is not shut down by this class.
+	 */
+	public InterproceduralAnalysis(ForkJoinPool workerPool) {
+
+		this.workerPool = workerPool;
+	}
+
 
-	public void registerStateSpace( ProcedureCall call, StateSpace stateSpace) {
+	public synchronized void registerStateSpace( ProcedureCall call, StateSpace stateSpace) {
 
 		stateSpaceToAnalyzedCall.put(stateSpace, call);
 	}
 
 
-	public void registerDependency(ProcedureCall procedureCall, PartialStateSpace dependentPartialStateSpace) {
+	public synchronized void registerDependency(ProcedureCall procedureCall, PartialStateSpace dependentPartialStateSpace) {
 
 		if(!callingDependencies.containsKey(procedureCall)) {
 			Set<PartialStateSpace> dependencies = new LinkedHashSet<>();
@@ -42,9 +78,9 @@ public class InterproceduralAnalysis {
 		}
 	}
 
-	public void registerProcedureCall(ProcedureCall procedureCall) {
+	public synchronized void registerProcedureCall(ProcedureCall procedureCall) {
 
-		if(!remainingProcedureCalls.contains(procedureCall)) {
+		if(remainingProcedureCallSet.add(procedureCall)) {
 			remainingProcedureCalls.push(procedureCall);
 		}
 	}
@@ -56,20 +92,28 @@ public class InterproceduralAnalysis {
 	 */
 	public void run() {
 
+		if(workerPool != null) {
+			runConcurrently();
+			return;
+		}
+
 		while(!remainingProcedureCalls.isEmpty() || !remainingPartialStateSpaces.isEmpty()) {
 			ProcedureCall call;
 			boolean contractChanged;
 			if(!remainingProcedureCalls.isEmpty()) {
 				call = remainingProcedureCalls.pop();
+				remainingProcedureCallSet.remove(call);
 				StateSpace stateSpace = call.execute();
 				contractChanged = stateSpace.getFinalStateIds().size() > 0;
 			} else {
-				PartialStateSpace partialStateSpace = remainingPartialStateSpaces.pop();
-				int currentNumberOfFinalStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
+				Deque<PartialStateSpace> lowestComponent = remainingPartialStateSpaces.firstEntry().getValue();
+				PartialStateSpace partialStateSpace = lowestComponent.pop();
+				if(lowestComponent.isEmpty()) {
+					remainingPartialStateSpaces.pollFirstEntry();
+				}
+				remainingPartialStateSpaceSet.remove(partialStateSpace);
 				call = stateSpaceToAnalyzedCall.get( partialStateSpace.unfinishedStateSpace() );
-				partialStateSpace.continueExecution(call);
-				int newNumberOfFinalsStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
-				contractChanged = newNumberOfFinalsStates > currentNumberOfFinalStates;
+				contractChanged = continueExecution(partialStateSpace, call);
 			}
 			if( contractChanged ) {
 				notifyDependencies(call);
@@ -77,15 +121,170 @@ public class InterproceduralAnalysis {
 		}
 	}
 
+	/**
+	 * continues the given partialStateSpace
+	 * @return true if and only if new final states have been discovered
+	 */
+	private boolean continueExecution(PartialStateSpace partialStateSpace, ProcedureCall call) {
+
+		synchronized (this) {
+			continuationsPerComponent.merge(componentOf(call), 1, Integer::sum);
+		}
+		int currentNumberOfFinalStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
+		partialStateSpace.continueExecution(call);
+		int newNumberOfFinalsStates = partialStateSpace.unfinishedStateSpace().getFinalStateIds().size();
+		return newNumberOfFinalsStates > currentNumberOfFinalStates;
+	}
+
+	/**
+	 * the fixpoint iteration using the pool of worker threads.
+	 * Notifications of dependencies are applied after each round in the order of the executed tasks.
+	 */
+	private void runConcurrently() {
+
+		List<Task> round = Collections.emptyList();
+		try {
+			while(true) {
+				round = nextRound();
+				if(round.isEmpty()) {
+					return;
+				}
+				for(Task task : round) {
+					if(task.contractChanged.get()) {
+						notifyDependencies(task.call);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			cancel(round);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interprocedural analysis has been interrupted.");
+		} catch (ExecutionException e) {
+			cancel(round);
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * cancels the remaining tasks of a failed round, which would otherwise keep running on the shared pool.
+	 */
+	private static void cancel(List<Task> round) {
+
+		for(Task task : round) {
+			task.contractChanged.cancel(true);
+		}
+	}
+
+	/**
+	 * submits all procedureCalls and partialStateSpaces that can be analysed independently of each other.
+	 * @return the submitted tasks in the order of submission.
+	 */
+	private synchronized List<Task> nextRound() {
+
+		List<Task> round = new ArrayList<>();
+
+		while(!remainingProcedureCalls.isEmpty()) {
+			ProcedureCall call = remainingProcedureCalls.pop();
+			remainingProcedureCallSet.remove(call);
+			round.add(new Task(call, workerPool.submit(() -> call.execute().getFinalStateIds().size() > 0)));
+		}
+
+		if(remainingPartialStateSpaces.isEmpty()) {
+			return round;
+		}
+
+		Set<StateSpace> continuedStateSpaces = new HashSet<>();
+		Deque<PartialStateSpace> deferred = new ArrayDeque<>();
+		for(PartialStateSpace partialStateSpace : remainingPartialStateSpaces.pollFirstEntry().getValue()) {
+			remainingPartialStateSpaceSet.remove(partialStateSpace);
+			StateSpace stateSpace = partialStateSpace.unfinishedStateSpace();
+			if(!continuedStateSpaces.add(stateSpace)) {
+				deferred.add(partialStateSpace);
+				continue;
+			}
+			ProcedureCall call = stateSpaceToAnalyzedCall.get(stateSpace);
+			round.add(new Task(call, workerPool.submit(() -> continueExecution(partialStateSpace, call))));
+		}
+		deferred.forEach(this::addRemainingPartialStateSpace);
+
+		return round;
+	}
+
+	/**
+	 * a submitted procedureCall or partialStateSpace together with the procedureCall whose contract it may change.
+	 */
+	private static final class Task {
+
+		final ProcedureCall call;
+		final Future<Boolean> contractChanged;
+
+		Task(ProcedureCall call, Future<Boolean> contractChanged) {
+
+			this.call = call;
+			this.contractChanged = contractChanged;
+		}
+	}
+
 	/**
 	 * enqueues the partial stateSpace depending on the given call for continued analysis.
 	 * @param call the procedure call for which the contract has changed
 	 * (i.e. for which more postconditions have been discovered)
 	 */ 
-	void notifyDependencies(ProcedureCall call) {
+	synchronized void notifyDependencies(ProcedureCall call) {
 
 		Set<PartialStateSpace> dependencies = callingDependencies.getOrDefault(call, Collections.emptySet());
-		remainingPartialStateSpaces.addAll(dependencies);
+		dependencies.forEach(this::addRemainingPartialStateSpace);
+	}
+
+	/**
+	 * enqueues the given partialStateSpace unless it is already enqueued.
+	 */
+	synchronized void addRemainingPartialStateSpace(PartialStateSpace partialStateSpace) {
+
+		if(remainingPartialStateSpaceSet.add(partialStateSpace)) {
+			ProcedureCall call = stateSpaceToAnalyzedCall.get(partialStateSpace.unfinishedStateSpace());
+			remainingPartialStateSpaces
+					.computeIfAbsent(componentOf(call), component -> new ArrayDeque<>())
+					.add(partialStateSpace);
+		}
+	}
+
+	private static int componentOf(ProcedureCall call) {
+
+		if(call == null || call.getMethod() == null) {
+			return 0;
+		}
+		return call.getMethod().getComponentIndex();
+	}
+
+	/**
+	 * @return the number of continued partialStateSpaces indexed by the strongly connected component
+	 * of the method whose stateSpace has been continued.
+	 */
+	public synchronized Map<Integer, Integer> getNumberOfContinuationsPerComponent() {
+
+		return new TreeMap<>(continuationsPerComponent);
+	}
+
+	/**
+	 * @return true if and only if at least one registered stateSpace contains aborted states, i.e.
+	 * the contracts computed by this analysis might be incomplete.
+	 */
+	public synchronized boolean containsAbortedStates() {
+
+		for (StateSpace stateSpace : stateSpaceToAnalyzedCall.keySet()) {
+			if (stateSpace.containsAbortedStates()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 
@@ -27,7 +27,7 @@ public class RecursiveMethodExecutor extends AbstractInterproceduralMethodExecut
 	protected void generateAndAddContract( ProcedureCall call) {
 		
 		Collection<HeapConfiguration> postconditions = new LinkedHashSet<>();
-		getContractCollection().addContract(new InternalContract(call.getInput().getHeap(), postconditions));
+		addContract(new InternalContract(call.getInput().getHeap(), postconditions));
 		
 		procedureRegistry.registerProcedure( call );
 	}
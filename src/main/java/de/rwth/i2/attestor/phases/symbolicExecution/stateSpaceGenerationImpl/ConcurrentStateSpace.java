@@ -0,0 +1,411 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.programState.AtomicPropositions;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import gnu.trove.TCollections;
+import gnu.trove.TIntCollection;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link StateSpace} that supports concurrent insertion of states and transitions.
+ * State space identifiers are allocated atomically and remain dense.
+ * Isomorphism checks required to merge states are guarded by lock-striping on the hash code of states:
+ * Since isomorphic states have the same hash code, it suffices to lock the stripe corresponding to the hash code
+ * of a state while it is compared against and, if no isomorphic state is found, inserted into the state space.
+ * States with hash codes belonging to different stripes can thus be inserted in parallel.
+ * Atomic propositions of a state are expected to be modified only by the thread exploring that state.
+ * Successor lists are duplicate-free, see {@link SuccessorLists}.
+ */
+public class ConcurrentStateSpace implements StateSpace {
+
+    /**
+     * The number of locks used to guard merging of states. Must be a power of two.
+     */
+    private static final int STRIPES = 64;
+
+    private final Object[] stripes;
+    private final ConcurrentMap<ProgramState, ProgramState> potentialMergeStates;
+    /**
+     * Counts the states added by {@link #addState(ProgramState)}, which are never merged, up to equality.
+     */
+    private final ConcurrentMap<ProgramState, Integer> unmergedStates;
+    private final ConcurrentMap<Integer, ProgramState> statesById;
+    private final TIntSet initialStateIds;
+    private final TIntSet finalStateIds;
+    private final ConcurrentMap<Integer, Successors> materializationSuccessors;
+    private final ConcurrentMap<Integer, Successors> controlFlowSuccessors;
+    private final ConcurrentMap<Integer, Successors> artificialInfPathsSuccessors;
+    private final AtomicInteger nextStateId = new AtomicInteger(0);
+    private final AtomicInteger maximalStateSize = new AtomicInteger(0);
+    private volatile boolean containsAtLeastOneAbortedState = false;
+
+    public ConcurrentStateSpace(int capacity) {
+
+        capacity = 2 * capacity;
+        stripes = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        potentialMergeStates = new ConcurrentHashMap<>(capacity, 0.8f);
+        unmergedStates = new ConcurrentHashMap<>();
+        statesById = new ConcurrentHashMap<>(capacity, 0.8f);
+        initialStateIds = TCollections.synchronizedSet(new TIntHashSet(100));
+        finalStateIds = TCollections.synchronizedSet(new TIntHashSet(100));
+        materializationSuccessors = new ConcurrentHashMap<>(capacity, 0.8f);
+        controlFlowSuccessors = new ConcurrentHashMap<>(capacity, 0.8f);
+        artificialInfPathsSuccessors = new ConcurrentHashMap<>(100);
+    }
+
+    private Object stripeOf(ProgramState state) {
+
+        int hash = state.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (STRIPES - 1)];
+    }
+
+    @Override
+    public Set<ProgramState> getInitialStates() {
+
+        return getStatesOf(initialStateIds);
+    }
+
+    private Set<ProgramState> getStatesOf(TIntCollection collection) {
+
+        Set<ProgramState> result = new LinkedHashSet<>(collection.size());
+        synchronized (collection) {
+            TIntIterator iter = collection.iterator();
+            while (iter.hasNext()) {
+                result.add(statesById.get(iter.next()));
+            }
+        }
+        return result;
+    }
+
+    private Set<ProgramState> getStatesOf(Successors successors) {
+
+        return getStatesOf(successors.ids);
+    }
+
+    private Set<ProgramState> getStatesOf(TIntArrayList successors) {
+
+        if (successors.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        synchronized (successors) {
+            return getStatesOf((TIntCollection) successors);
+        }
+    }
+
+    @Override
+    public TIntSet getInitialStateIds() {
+
+        return initialStateIds;
+    }
+
+    @Override
+    public Set<ProgramState> getFinalStates() {
+
+        return getStatesOf(finalStateIds);
+    }
+
+    @Override
+    public TIntSet getFinalStateIds() {
+
+        return finalStateIds;
+    }
+
+    @Override
+    public int size() {
+
+        return statesById.size();
+    }
+
+    @Override
+    public Set<ProgramState> getControlFlowSuccessorsOf(ProgramState state) {
+
+        return getStatesOf(controlFlowSuccessors.get(state.getStateSpaceId()));
+    }
+
+    @Override
+    public Set<ProgramState> getMaterializationSuccessorsOf(ProgramState state) {
+
+        return getStatesOf(materializationSuccessors.get(state.getStateSpaceId()));
+    }
+
+    @Override
+    public Set<ProgramState> getArtificialInfPathsSuccessorsOf(ProgramState state) {
+
+        return getStatesOf(artificialInfPathsSuccessors.get(state.getStateSpaceId()));
+    }
+
+    @Override
+    public TIntArrayList getControlFlowSuccessorsIdsOf(int stateSpaceId) {
+
+        return idsOf(controlFlowSuccessors.get(stateSpaceId));
+    }
+
+    @Override
+    public TIntArrayList getMaterializationSuccessorsIdsOf(int stateSpaceId) {
+
+        return idsOf(materializationSuccessors.get(stateSpaceId));
+    }
+
+    @Override
+    public TIntArrayList getArtificialInfPathsSuccessorsIdsOf(int stateSpaceId) {
+
+        return idsOf(artificialInfPathsSuccessors.get(stateSpaceId));
+    }
+
+    private static TIntArrayList idsOf(Successors successors) {
+
+        return successors == null ? null : successors.ids;
+    }
+
+    @Override
+    public boolean addState(ProgramState state) {
+
+        updateAddedState(state);
+        unmergedStates.merge(state, 1, Integer::sum);
+        return true;
+    }
+
+    @Override
+    public boolean addStateIfAbsent(ProgramState state) {
+
+        synchronized (stripeOf(state)) {
+            ProgramState old = potentialMergeStates.get(state);
+            if (old != null) {
+                state.setStateSpaceId(old.getStateSpaceId());
+                return false;
+            }
+            // the state is completely registered before it becomes visible to other threads merging states
+            updateAddedState(state);
+            potentialMergeStates.put(state, state);
+            return true;
+        }
+    }
+
+    private void updateAddedState(ProgramState state) {
+
+        int id = nextStateId.getAndIncrement();
+        state.setStateSpaceId(id);
+        materializationSuccessors.put(id, new Successors());
+        controlFlowSuccessors.put(id, new Successors());
+        artificialInfPathsSuccessors.put(id, new Successors());
+        maximalStateSize.accumulateAndGet(state.size(), Math::max);
+        statesById.put(id, state);
+    }
+
+    @Override
+    public void addInitialState(ProgramState state) {
+
+        addStateIfAbsent(state);
+        initialStateIds.add(state.getStateSpaceId());
+    }
+
+    @Override
+    public void setFinal(ProgramState state) {
+
+        finalStateIds.add(state.getStateSpaceId());
+        state.addAP("{ terminated }");
+    }
+
+    @Override
+    public void setAborted(ProgramState state) {
+
+        state.addAP(AtomicPropositions.ABORTED);
+        this.containsAtLeastOneAbortedState = true;
+    }
+
+    @Override
+    public boolean containsAbortedStates() {
+
+        return containsAtLeastOneAbortedState;
+    }
+
+    /**
+     * Post-processing is performed after state space generation terminated.
+     * Hence, this method is not expected to run concurrently with insertions of further states.
+     */
+    @Override
+    public synchronized void updateFinalStates(Set<ProgramState> newFinalStates, Map<Integer, Integer> idMapping) {
+
+        TIntIterator idIterator = finalStateIds.iterator();
+        while (idIterator.hasNext()) {
+            int id = idIterator.next();
+            ProgramState state = statesById.remove(id);
+            if (state != null && !potentialMergeStates.remove(state, state)) {
+                unmergedStates.computeIfPresent(state, (s, count) -> count > 1 ? count - 1 : null);
+            }
+            artificialInfPathsSuccessors.remove(id);
+        }
+
+        finalStateIds.clear();
+        for (ProgramState s : newFinalStates) {
+            int id = s.getStateSpaceId();
+            finalStateIds.add(id);
+            potentialMergeStates.put(s, s);
+            statesById.put(id, s);
+
+            Successors successors = new Successors();
+            successors.add(id);
+            artificialInfPathsSuccessors.put(id, successors);
+        }
+
+        // redirect
+        for (Successors successors : controlFlowSuccessors.values()) {
+            successors.replaceIds(idMapping);
+        }
+    }
+
+    @Override
+    public void addMaterializationTransition(ProgramState from, ProgramState to) {
+
+        addTransition(from, to, materializationSuccessors);
+    }
+
+    @Override
+    public void addControlFlowTransition(ProgramState from, ProgramState to) {
+
+        addTransition(from, to, controlFlowSuccessors);
+    }
+
+    @Override
+    public void addArtificialInfPathsTransition(ProgramState cur) {
+
+        addTransition(cur, cur, artificialInfPathsSuccessors);
+    }
+
+    private void addTransition(ProgramState from, ProgramState to, Map<Integer, Successors> successors) {
+
+        successors.get(from.getStateSpaceId()).add(to.getStateSpaceId());
+    }
+
+    @Override
+    public ProgramState getState(int id) {
+
+        return statesById.get(id);
+    }
+
+    @Override
+    public int getMaximalStateSize() {
+
+        return maximalStateSize.get();
+    }
+
+    @Override
+    public boolean satisfiesAP(int stateId, String expectedAP) {
+
+        return statesById.get(stateId).satisfiesAP(expectedAP);
+    }
+
+    @Override
+    public boolean supportsConcurrentModification() {
+
+        return true;
+    }
+
+    @Override
+    public Set<ProgramState> getStates() {
+
+        // A read-only view on all states. Like addStateIfAbsent, it compares states by equality,
+        // but first checks the state stored under the identifier of the given state.
+        // Equal states are looked up by their hash codes instead of searching all states.
+        return new AbstractSet<ProgramState>() {
+
+            @Override
+            public int size() {
+
+                return statesById.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+
+                if (!(o instanceof ProgramState)) {
+                    return false;
+                }
+                ProgramState state = (ProgramState) o;
+                if (statesById.get(state.getStateSpaceId()) == state) {
+                    return true;
+                }
+                // states added by addState are not stored in potentialMergeStates
+                return potentialMergeStates.containsKey(state) || unmergedStates.containsKey(state);
+            }
+
+            @Override
+            public Iterator<ProgramState> iterator() {
+
+                Iterator<ProgramState> iterator = statesById.values().iterator();
+                return new Iterator<ProgramState>() {
+                    @Override
+                    public boolean hasNext() {
+
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public ProgramState next() {
+
+                        return iterator.next();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The successors of a single state in the order in which they have been added.
+     * Like {@link SuccessorLists}, every successor is contained at most once and long lists are additionally
+     * indexed by a hash set. All accesses are synchronized on the list of successor ids.
+     */
+    private static final class Successors {
+
+        private final TIntArrayList ids = new TIntArrayList(2);
+        private TIntSet index;
+
+        private void add(int id) {
+
+            synchronized (ids) {
+                if (index != null) {
+                    if (!index.add(id)) {
+                        return;
+                    }
+                } else if (ids.contains(id)) {
+                    return;
+                }
+
+                ids.add(id);
+                if (index == null && ids.size() > SuccessorLists.LINEAR_SEARCH_LIMIT) {
+                    index = new TIntHashSet(ids);
+                }
+            }
+        }
+
+        /**
+         * Replaces the ids of successors according to the given mapping.
+         * Successors that coincide after replacing their ids are only kept once.
+         */
+        private void replaceIds(Map<Integer, Integer> idMapping) {
+
+            synchronized (ids) {
+                int[] oldIds = ids.toArray();
+                ids.resetQuick();
+                index = null;
+                for (int id : oldIds) {
+                    add(idMapping.getOrDefault(id, id));
+                }
+            }
+        }
+    }
+}
@@ -1,32 +1,36 @@
 package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
 
 import de.rwth.i2.attestor.programState.AtomicPropositions;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionSet;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import gnu.trove.TIntCollection;
 import gnu.trove.iterator.TIntIterator;
-import gnu.trove.iterator.TIntObjectIterator;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.TIntObjectMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
 import java.util.*;
 
+/**
+ * The default {@link StateSpace}. States are stored in a growable array indexed by their dense state space ids
+ * such that looking up a state by its id takes constant time.
+ * Successor lists are duplicate-free, see {@link SuccessorLists}.
+ */
 public class InternalStateSpace implements StateSpace {
 
     private final Map<ProgramState, ProgramState> potentialMergeStates;
-    private final List<ProgramState> otherStates; // states that are never checked for isomorphism
+    // all states indexed by their ids; removed states are null
+    private final List<ProgramState> states;
     private final TIntSet initialStateIds;
     private final TIntSet finalStateIds;
-    private final TIntObjectMap<TIntArrayList> materializationSuccessors;
-    private final TIntObjectMap<TIntArrayList> controlFlowSuccessors;
+    private final SuccessorLists materializationSuccessors;
+    private final SuccessorLists controlFlowSuccessors;
     // TODO: Self-loops are managed here! Use map to int instead of list?!?
-    private final TIntObjectMap<TIntArrayList> artificialInfPathsSuccessors;
-    private final TIntObjectMap<Set<String>> atomicPropMap;
-    private TIntObjectMap<ProgramState> stateIdLookupTable = null;
-    private int nextStateId = 0;
+    private final SuccessorLists artificialInfPathsSuccessors;
+    // immutable snapshots of the labels of states; refreshed whenever this state space labels a state itself
+    private final List<AtomicPropositionSet> atomicPropositions;
+    private int size = 0;
     private int maximalStateSize = 0;
     private boolean containsAtLeastOneAbortedState = false;
 
@@ -34,22 +38,13 @@ public class InternalStateSpace implements StateSpace {
 
         capacity = 2 * capacity;
         potentialMergeStates = new LinkedHashMap<>(capacity, 0.8f);
-        otherStates = new ArrayList<>(capacity);
+        states = new ArrayList<>(capacity);
         initialStateIds = new TIntHashSet(100);
         finalStateIds = new TIntHashSet(100);
-        materializationSuccessors = new TIntObjectHashMap<>(capacity, 0.8f);
-        controlFlowSuccessors = new TIntObjectHashMap<>(capacity, 0.8f);
-        artificialInfPathsSuccessors = new TIntObjectHashMap<>(100);
-        atomicPropMap = new TIntObjectHashMap<>(capacity, 0.8f);
-    }
-
-    private static void replaceIds(TIntObjectMap<TIntArrayList> map, Map<Integer, Integer> idMapping) {
-
-        TIntObjectIterator<TIntArrayList> iterator = map.iterator();
-        while (iterator.hasNext()) {
-            iterator.advance();
-            iterator.value().transformValues(id -> idMapping.getOrDefault(id, id));
-        }
+        materializationSuccessors = new SuccessorLists(capacity);
+        controlFlowSuccessors = new SuccessorLists(capacity);
+        artificialInfPathsSuccessors = new SuccessorLists(capacity);
+        atomicPropositions = new ArrayList<>(capacity);
     }
 
     public Set<ProgramState> getInitialStates() {
@@ -59,29 +54,15 @@ public class InternalStateSpace implements StateSpace {
 
     private Set<ProgramState> getStatesOf(TIntCollection collection) {
 
-        initLookupTable();
         Set<ProgramState> result = new LinkedHashSet<>(collection.size());
         TIntIterator iter = collection.iterator();
         while (iter.hasNext()) {
-            int id = iter.next();
-            result.add(stateIdLookupTable.get(id));
+            result.add(getState(iter.next()));
         }
 
         return result;
     }
 
-    private void initLookupTable() {
-
-        if (stateIdLookupTable == null || stateIdLookupTable.size() < getStates().size() ) {
-            stateIdLookupTable = new TIntObjectHashMap<>(getStates().size());
-            for (ProgramState state : getStates()) {
-                stateIdLookupTable.put(state.getStateSpaceId(), state);
-            }
-        }
-    }
-
-
-
     public TIntSet getInitialStateIds() {
 
         return initialStateIds;
@@ -101,42 +82,30 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public int size() {
 
-        return potentialMergeStates.size() + otherStates.size();
+        return size;
     }
 
     @Override
     public Set<ProgramState> getControlFlowSuccessorsOf(ProgramState state) {
 
-        int stateSpaceId = state.getStateSpaceId();
-
-        TIntArrayList successors = controlFlowSuccessors.get(stateSpaceId);
-
-        if (successors.isEmpty()) {
-            return Collections.emptySet();
-        }
-
-        return getStatesOf(successors);
+        return getSuccessorsOf(state, controlFlowSuccessors);
     }
 
     @Override
     public Set<ProgramState> getMaterializationSuccessorsOf(ProgramState state) {
 
-        int stateSpaceId = state.getStateSpaceId();
-        TIntArrayList successors = materializationSuccessors.get(stateSpaceId);
-
-        if (successors.isEmpty()) {
-            return Collections.emptySet();
-        }
-
-        return getStatesOf(successors);
+        return getSuccessorsOf(state, materializationSuccessors);
     }
 
     @Override
     public Set<ProgramState> getArtificialInfPathsSuccessorsOf(ProgramState state) {
 
-        int stateSpaceId = state.getStateSpaceId();
-        TIntArrayList successors = artificialInfPathsSuccessors.get(stateSpaceId);
+        return getSuccessorsOf(state, artificialInfPathsSuccessors);
+    }
+
+    private Set<ProgramState> getSuccessorsOf(ProgramState state, SuccessorLists successorLists) {
 
+        TIntArrayList successors = successorLists.get(state.getStateSpaceId());
 
         if (successors.isEmpty()) {
             return Collections.emptySet();
@@ -166,7 +135,6 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public boolean addState(ProgramState state) {
 
-        otherStates.add(state);
         updateAddedState(state);
         return true;
     }
@@ -186,14 +154,15 @@ public class InternalStateSpace implements StateSpace {
 
     private void updateAddedState(ProgramState state) {
 
-        state.setStateSpaceId(nextStateId);
-        materializationSuccessors.put(nextStateId, new TIntArrayList());
-        controlFlowSuccessors.put(nextStateId, new TIntArrayList());
-        artificialInfPathsSuccessors.put(nextStateId, new TIntArrayList());
-        // TODO: In the long run remove APs from program state!
-        atomicPropMap.put(nextStateId, state.getAPs());
+        int id = states.size();
+        state.setStateSpaceId(id);
+        states.add(state);
+        atomicPropositions.add(state.getAtomicPropositions());
+        materializationSuccessors.addState(id);
+        controlFlowSuccessors.addState(id);
+        artificialInfPathsSuccessors.addState(id);
         maximalStateSize = Math.max(maximalStateSize, state.size());
-        ++nextStateId;
+        ++size;
     }
 
     @Override
@@ -208,15 +177,25 @@ public class InternalStateSpace implements StateSpace {
 
         finalStateIds.add(state.getStateSpaceId());
         state.addAP("{ terminated }");
+        refreshAtomicPropositions(state);
     }
 
     @Override
     public void setAborted(ProgramState state) {
 
         state.addAP(AtomicPropositions.ABORTED);
+        refreshAtomicPropositions(state);
         this.containsAtLeastOneAbortedState = true;
     }
 
+    private void refreshAtomicPropositions(ProgramState state) {
+
+        int id = state.getStateSpaceId();
+        if (getState(id) != null) {
+            atomicPropositions.set(id, state.getAtomicPropositions());
+        }
+    }
+
     @Override
     public boolean containsAbortedStates() {
 
@@ -226,67 +205,62 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public void updateFinalStates(Set<ProgramState> newFinalStates, Map<Integer, Integer> idMapping) {
 
-        initLookupTable();
-
         TIntIterator idIterator = finalStateIds.iterator();
         while (idIterator.hasNext()) {
             int id = idIterator.next();
-            ProgramState state = stateIdLookupTable.get(id);
-            potentialMergeStates.remove(state);
-            otherStates.remove(state);
-            stateIdLookupTable.remove(id);
-            artificialInfPathsSuccessors.remove(id);
+            ProgramState state = getState(id);
+            if (state != null) {
+                potentialMergeStates.remove(state);
+                states.set(id, null);
+                atomicPropositions.set(id, null);
+                --size;
+            }
+            artificialInfPathsSuccessors.removeState(id);
         }
 
         finalStateIds.clear();
         for (ProgramState s : newFinalStates) {
-            finalStateIds.add(s.getStateSpaceId());
+            int id = s.getStateSpaceId();
+            finalStateIds.add(id);
             potentialMergeStates.put(s, s);
-            stateIdLookupTable.put(s.getStateSpaceId(), s);
+            if (states.get(id) == null) {
+                ++size;
+            }
+            states.set(id, s);
+            atomicPropositions.set(id, s.getAtomicPropositions());
 
-            TIntArrayList tIntArrayList = new TIntArrayList();
-            tIntArrayList.add(s.getStateSpaceId());
-            artificialInfPathsSuccessors.put(s.getStateSpaceId(), tIntArrayList);
+            artificialInfPathsSuccessors.addState(id);
+            artificialInfPathsSuccessors.add(id, id);
         }
 
         // redirect
-        replaceIds(controlFlowSuccessors, idMapping);
+        controlFlowSuccessors.replaceIds(idMapping);
     }
 
     @Override
     public void addMaterializationTransition(ProgramState from, ProgramState to) {
 
-        addTransition(from, to, materializationSuccessors);
+        materializationSuccessors.add(from.getStateSpaceId(), to.getStateSpaceId());
     }
 
     @Override
     public void addControlFlowTransition(ProgramState from, ProgramState to) {
 
-        addTransition(from, to, controlFlowSuccessors);
+        controlFlowSuccessors.add(from.getStateSpaceId(), to.getStateSpaceId());
     }
 
     public void addArtificialInfPathsTransition(ProgramState cur) {
 
-        addTransition(cur, cur, artificialInfPathsSuccessors);
-
+        artificialInfPathsSuccessors.add(cur.getStateSpaceId(), cur.getStateSpaceId());
     }
 
     @Override
     public ProgramState getState(int id) {
 
-        initLookupTable();
-        return stateIdLookupTable.get(id);
-    }
-
-    private void addTransition(ProgramState from, ProgramState to, TIntObjectMap<TIntArrayList> successors) {
-
-        int fId = from.getStateSpaceId();
-        int tId = to.getStateSpaceId();
-
-        TIntArrayList succ = successors.get(fId);
-        if (!succ.contains(tId)) {
-            succ.add(tId);
+        if (id < 0 || id >= states.size()) {
+            return null;
         }
+        return states.get(id);
     }
 
     @Override
@@ -298,15 +272,13 @@ public class InternalStateSpace implements StateSpace {
     @Override
     public boolean satisfiesAP(int stateId, String expectedAP) {
 
-        Set<String> satisfiedAPs = atomicPropMap.get(stateId);
-        return satisfiedAPs.contains(expectedAP);
+        return atomicPropositions.get(stateId).contains(expectedAP);
     }
 
     @Override
     public Set<ProgramState> getStates() {
 
-        // This creates a combined view on both data structures storing
-        // states without creating a new set first.
+        // This creates a view on the states ordered by their ids without creating a new set first.
         // Note that the returned set cannot be modified without copying it
         // into a modifiable collection first.
         return new Set<ProgramState>() {
@@ -315,42 +287,56 @@ public class InternalStateSpace implements StateSpace {
             @Override
             public int size() {
 
-                return potentialMergeStates.size() + otherStates.size();
+                return size;
             }
 
             @Override
             public boolean isEmpty() {
 
-                return potentialMergeStates.isEmpty() && otherStates.isEmpty();
+                return size == 0;
             }
 
             @Override
             public boolean contains(Object o) {
 
+                if (o instanceof ProgramState && getState(((ProgramState) o).getStateSpaceId()) == o) {
+                    return true;
+                }
+                // states added by addState are not stored in potentialMergeStates
                 return potentialMergeStates.containsKey(o)
-                        || otherStates.contains(o);
+                        || (size > potentialMergeStates.size() && states.contains(o));
             }
 
             @Override
             public Iterator<ProgramState> iterator() {
 
-                Iterator<ProgramState> mergerIter = potentialMergeStates.keySet().iterator();
-                Iterator<ProgramState> otherIter = otherStates.iterator();
-
                 return new Iterator<ProgramState>() {
+
+                    private int nextId = advance(0);
+
+                    private int advance(int id) {
+
+                        while (id < states.size() && states.get(id) == null) {
+                            ++id;
+                        }
+                        return id;
+                    }
+
                     @Override
                     public boolean hasNext() {
 
-                        return mergerIter.hasNext() || otherIter.hasNext();
+                        return nextId < states.size();
                     }
 
                     @Override
                     public ProgramState next() {
 
-                        if (mergerIter.hasNext()) {
-                            return mergerIter.next();
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
                         }
-                        return otherIter.next();
+                        ProgramState result = states.get(nextId);
+                        nextId = advance(nextId + 1);
+                        return result;
                     }
                 };
             }
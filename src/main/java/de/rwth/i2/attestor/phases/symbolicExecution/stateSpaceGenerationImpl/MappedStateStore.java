@@ -0,0 +1,108 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only store of byte records that is backed by memory-mapped segments of a temporary file.
+ * Records are thus kept outside of the Java heap and are paged in and out by the operating system.
+ * <p>
+ * Every record is identified by the location returned by {@link #append(byte[])}.
+ * Segments start small and double in size up to {@link #MAX_SEGMENT_SIZE} such that small analyses
+ * do not reserve large files. The temporary file is deleted when the JVM exits.
+ * <p>
+ * A single store is meant to be shared by all {@link SpillingStateSpace}s of an analysis, e.g. those of
+ * all procedure calls, such that the number of files and mappings does not grow with the number of
+ * state spaces. Records are never removed. A MappedStateStore is thread-safe.
+ */
+public final class MappedStateStore {
+
+    private static final int MIN_SEGMENT_SIZE = 1 << 16;
+    private static final int MAX_SEGMENT_SIZE = 1 << 26;
+
+    private final File file;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private MappedByteBuffer current = null;
+    private long fileLength = 0;
+
+    /**
+     * @param directory The directory in which the temporary file is created or null to use the default
+     *                  directory for temporary files.
+     */
+    public MappedStateStore(File directory) {
+
+        try {
+            if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Could not create directory " + directory.getPath());
+            }
+            file = File.createTempFile("attestor-states", ".bin", directory);
+            file.deleteOnExit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param record The record to store.
+     * @return The location of the stored record.
+     */
+    synchronized long append(byte[] record) {
+
+        int required = Integer.BYTES + record.length;
+        if (current == null || current.remaining() < required) {
+            current = map(required);
+        }
+
+        long location = ((long) (segments.size() - 1) << 32) | current.position();
+        current.putInt(record.length);
+        current.put(record);
+        return location;
+    }
+
+    /**
+     * @param location The location of a record, see {@link #append(byte[])}.
+     * @return A read-only buffer whose content between its position and its limit is the requested record.
+     */
+    ByteBuffer read(long location) {
+
+        ByteBuffer segment;
+        synchronized (this) {
+            segment = segments.get((int) (location >>> 32)).asReadOnlyBuffer();
+        }
+        int position = (int) location;
+        int length = segment.getInt(position);
+        segment.limit(position + Integer.BYTES + length);
+        segment.position(position + Integer.BYTES);
+        return segment;
+    }
+
+    /**
+     * @return The number of bytes reserved in the underlying file.
+     */
+    public synchronized long size() {
+
+        return fileLength;
+    }
+
+    private MappedByteBuffer map(int required) {
+
+        int size = current == null ? MIN_SEGMENT_SIZE : Math.min(2 * current.capacity(), MAX_SEGMENT_SIZE);
+        size = Math.max(size, required);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            // mappings remain valid after the channel has been closed
+            MappedByteBuffer segment = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, fileLength, size);
+            fileLength += size;
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,576 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.HeapConfigurationEncoding;
+import de.rwth.i2.attestor.programState.AtomicPropositions;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionSet;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import gnu.trove.TIntCollection;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.iterator.TIntObjectIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * A {@link StateSpace} that keeps the heap configurations of explored states outside of the Java heap.
+ * <p>
+ * Whenever a state is added, its heap configuration is encoded, see {@link HeapConfigurationEncoding}, and
+ * appended to a {@link MappedStateStore} together with the program counter and the canonical form of the heap.
+ * For every state, only its hash code, the location of its record and its labels remain on the Java heap.
+ * Added states are merely softly referenced by this state space. Hence, the garbage collector may reclaim them
+ * as soon as they have been explored. States that are requested afterwards, e.g. for model checking,
+ * counterexample generation or export, are restored lazily from their records. Restored states are equal to,
+ * but not identical with the originally added states.
+ * <p>
+ * Merging a state with a stored state requires no restoring as long as the canonical forms of both heap
+ * configurations can be determined: it then suffices to compare program counters and canonical forms.
+ * States whose heap configurations cannot be encoded using the label ids of this state space,
+ * usually those of the scene, are kept on the Java heap.
+ */
+public class SpillingStateSpace implements StateSpace {
+
+    private static final long RESIDENT = -1;
+    private static final long REMOVED = -2;
+    private static final int NO_STATE = -1;
+
+    private final MappedStateStore store;
+    private final LabelIds labelIds;
+
+    /**
+     * One unlabeled state of every class of stored states, which is used to restore states of this class.
+     */
+    private final List<ProgramState> templates = new ArrayList<>();
+
+    private final TLongArrayList locations;
+    private final TIntArrayList hashCodes;
+    private final List<AtomicPropositionSet> atomicPropositions;
+    private final List<SoftReference<ProgramState>> cachedStates;
+    private final TIntObjectMap<ProgramState> residentStates;
+
+    /**
+     * The states that are considered for merging are organized in chains of states with equal hash codes.
+     */
+    private final BitSet mergeCandidates = new BitSet();
+    private final TIntIntMap firstWithHashCode;
+    private final TIntArrayList nextWithSameHashCode;
+
+    private final TIntSet initialStateIds;
+    private final TIntSet finalStateIds;
+    private final TIntObjectMap<TIntArrayList> materializationSuccessors;
+    private final TIntObjectMap<TIntArrayList> controlFlowSuccessors;
+    private final TIntObjectMap<TIntArrayList> artificialInfPathsSuccessors;
+    private int nextStateId = 0;
+    private int removedStates = 0;
+    private int maximalStateSize = 0;
+    private boolean containsAtLeastOneAbortedState = false;
+
+    /**
+     * @param capacity The expected number of states.
+     * @param store    The store in which the states are kept, which may be shared with other state spaces.
+     * @param labelIds The label ids used to encode heap configurations.
+     */
+    public SpillingStateSpace(int capacity, MappedStateStore store, LabelIds labelIds) {
+
+        this.store = store;
+        this.labelIds = labelIds;
+        locations = new TLongArrayList(capacity);
+        hashCodes = new TIntArrayList(capacity);
+        atomicPropositions = new ArrayList<>(capacity);
+        cachedStates = new ArrayList<>(capacity);
+        residentStates = new TIntObjectHashMap<>();
+        firstWithHashCode = new TIntIntHashMap(2 * capacity, 0.5f, 0, NO_STATE);
+        nextWithSameHashCode = new TIntArrayList(capacity);
+        initialStateIds = new TIntHashSet(100);
+        finalStateIds = new TIntHashSet(100);
+        materializationSuccessors = new TIntObjectHashMap<>(2 * capacity, 0.8f);
+        controlFlowSuccessors = new TIntObjectHashMap<>(2 * capacity, 0.8f);
+        artificialInfPathsSuccessors = new TIntObjectHashMap<>(100);
+    }
+
+    private static void replaceIds(TIntObjectMap<TIntArrayList> map, Map<Integer, Integer> idMapping) {
+
+        TIntObjectIterator<TIntArrayList> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            iterator.value().transformValues(id -> idMapping.getOrDefault(id, id));
+        }
+    }
+
+    @Override
+    public Set<ProgramState> getStates() {
+
+        // a view that restores states while iterating
+        return new AbstractSet<ProgramState>() {
+
+            @Override
+            public int size() {
+
+                return SpillingStateSpace.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+
+                if (!(o instanceof ProgramState)) {
+                    return false;
+                }
+                ProgramState state = (ProgramState) o;
+                return findEqualState(state) != NO_STATE || state.equals(getState(state.getStateSpaceId()));
+            }
+
+            @Override
+            public Iterator<ProgramState> iterator() {
+
+                int[] ids = getStateIds();
+                return new Iterator<ProgramState>() {
+
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+
+                        return next < ids.length;
+                    }
+
+                    @Override
+                    public ProgramState next() {
+
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return getState(ids[next++]);
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public synchronized int[] getStateIds() {
+
+        int[] result = new int[size()];
+        int count = 0;
+        for (int id = 0; id < nextStateId; id++) {
+            if (locations.get(id) != REMOVED) {
+                result[count++] = id;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<ProgramState> getInitialStates() {
+
+        return getStatesOf(initialStateIds);
+    }
+
+    @Override
+    public TIntSet getInitialStateIds() {
+
+        return initialStateIds;
+    }
+
+    @Override
+    public Set<ProgramState> getFinalStates() {
+
+        return getStatesOf(finalStateIds);
+    }
+
+    @Override
+    public TIntSet getFinalStateIds() {
+
+        return finalStateIds;
+    }
+
+    private Set<ProgramState> getStatesOf(TIntCollection collection) {
+
+        Set<ProgramState> result = new LinkedHashSet<>(collection.size());
+        TIntIterator iter = collection.iterator();
+        while (iter.hasNext()) {
+            result.add(getState(iter.next()));
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+
+        return nextStateId - removedStates;
+    }
+
+    @Override
+    public Set<ProgramState> getControlFlowSuccessorsOf(ProgramState state) {
+
+        return getSuccessorsOf(state, controlFlowSuccessors);
+    }
+
+    @Override
+    public Set<ProgramState> getMaterializationSuccessorsOf(ProgramState state) {
+
+        return getSuccessorsOf(state, materializationSuccessors);
+    }
+
+    @Override
+    public Set<ProgramState> getArtificialInfPathsSuccessorsOf(ProgramState state) {
+
+        return getSuccessorsOf(state, artificialInfPathsSuccessors);
+    }
+
+    private Set<ProgramState> getSuccessorsOf(ProgramState state, TIntObjectMap<TIntArrayList> successorMap) {
+
+        TIntArrayList successors = successorMap.get(state.getStateSpaceId());
+        if (successors.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return getStatesOf(successors);
+    }
+
+    @Override
+    public TIntArrayList getControlFlowSuccessorsIdsOf(int stateSpaceId) {
+
+        return controlFlowSuccessors.get(stateSpaceId);
+    }
+
+    @Override
+    public TIntArrayList getMaterializationSuccessorsIdsOf(int stateSpaceId) {
+
+        return materializationSuccessors.get(stateSpaceId);
+    }
+
+    @Override
+    public TIntArrayList getArtificialInfPathsSuccessorsIdsOf(int stateSpaceId) {
+
+        return artificialInfPathsSuccessors.get(stateSpaceId);
+    }
+
+    @Override
+    public synchronized boolean addState(ProgramState state) {
+
+        addNewState(state, false);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addStateIfAbsent(ProgramState state) {
+
+        int equalState = findEqualState(state);
+        if (equalState != NO_STATE) {
+            state.setStateSpaceId(equalState);
+            return false;
+        }
+        addNewState(state, true);
+        return true;
+    }
+
+    private void addNewState(ProgramState state, boolean isMergeCandidate) {
+
+        int id = nextStateId++;
+        state.setStateSpaceId(id);
+        locations.add(REMOVED);
+        hashCodes.add(0);
+        atomicPropositions.add(null);
+        cachedStates.add(null);
+        nextWithSameHashCode.add(NO_STATE);
+        storeState(id, state, isMergeCandidate);
+
+        materializationSuccessors.put(id, new TIntArrayList());
+        controlFlowSuccessors.put(id, new TIntArrayList());
+        artificialInfPathsSuccessors.put(id, new TIntArrayList());
+        maximalStateSize = Math.max(maximalStateSize, state.size());
+    }
+
+    private void storeState(int id, ProgramState state, boolean isMergeCandidate) {
+
+        int hashCode = state.hashCode();
+        HeapConfiguration heap = state.getHeap();
+        if (HeapConfigurationEncoding.isEncodable(heap, labelIds)) {
+            locations.set(id, store.append(recordOf(state)));
+        } else {
+            locations.set(id, RESIDENT);
+            residentStates.put(id, state);
+        }
+        hashCodes.set(id, hashCode);
+        atomicPropositions.set(id, state.getAtomicPropositions());
+        cachedStates.set(id, new SoftReference<>(state));
+        if (isMergeCandidate) {
+            mergeCandidates.set(id);
+            nextWithSameHashCode.set(id, firstWithHashCode.put(hashCode, id));
+        }
+    }
+
+    private byte[] recordOf(ProgramState state) {
+
+        byte[] canonicalForm = HeapConfigurationEncoding.canonicalFormOf(state.getHeap());
+        byte[] encoding = HeapConfigurationEncoding.encode(state.getHeap(), labelIds);
+        ByteBuffer record = ByteBuffer.allocate(3 * Integer.BYTES + canonicalForm.length + encoding.length);
+        record.putInt(templateOf(state))
+                .putInt(state.getProgramCounter())
+                .putInt(canonicalForm.length)
+                .put(canonicalForm)
+                .put(encoding);
+        return record.array();
+    }
+
+    private int templateOf(ProgramState state) {
+
+        for (int i = 0; i < templates.size(); i++) {
+            if (templates.get(i).getClass() == state.getClass()) {
+                return i;
+            }
+        }
+        // cloned states carry no atomic propositions
+        templates.add(state.clone());
+        return templates.size() - 1;
+    }
+
+    /**
+     * @param state A program state.
+     * @return The id of a state that has been added by {@link #addStateIfAbsent(ProgramState)} and is equal to
+     * the given state or NO_STATE if no such state exists.
+     */
+    private synchronized int findEqualState(ProgramState state) {
+
+        byte[] canonicalForm = null;
+        int id = firstWithHashCode.get(state.hashCode());
+        while (id != NO_STATE) {
+            ProgramState knownState = getKnownState(id);
+            if (knownState != null) {
+                if (knownState.equals(state)) {
+                    return id;
+                }
+            } else {
+                if (canonicalForm == null) {
+                    canonicalForm = HeapConfigurationEncoding.isEncodable(state.getHeap(), labelIds)
+                            ? HeapConfigurationEncoding.canonicalFormOf(state.getHeap())
+                            : new byte[0];
+                }
+                if (isStoredStateEqual(id, state, canonicalForm)) {
+                    return id;
+                }
+            }
+            id = nextWithSameHashCode.get(id);
+        }
+        return NO_STATE;
+    }
+
+    private boolean isStoredStateEqual(int id, ProgramState state, byte[] canonicalForm) {
+
+        ByteBuffer record = store.read(locations.get(id));
+        if (templates.get(record.getInt()).getClass() != state.getClass()
+                || record.getInt() != state.getProgramCounter()) {
+            return false;
+        }
+
+        int length = record.getInt();
+        if (length > 0 && canonicalForm.length > 0) {
+            if (length != canonicalForm.length) {
+                return false;
+            }
+            for (byte b : canonicalForm) {
+                if (record.get() != b) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return restoreState(id).equals(state);
+    }
+
+    /**
+     * @param id The id of a state that has not been removed.
+     * @return The state with the given id if it is still available on the Java heap and null otherwise.
+     */
+    private ProgramState getKnownState(int id) {
+
+        if (locations.get(id) == RESIDENT) {
+            return residentStates.get(id);
+        }
+        SoftReference<ProgramState> reference = cachedStates.get(id);
+        return reference == null ? null : reference.get();
+    }
+
+    private ProgramState restoreState(int id) {
+
+        ByteBuffer record = store.read(locations.get(id));
+        ProgramState template = templates.get(record.getInt());
+        int programCounter = record.getInt();
+        int canonicalFormLength = record.getInt();
+        record.position(record.position() + canonicalFormLength);
+
+        ProgramState state = template.shallowCopyWithUpdateHeap(HeapConfigurationEncoding.decode(record, labelIds));
+        state.setProgramCounter(programCounter);
+        for (String ap : atomicPropositions.get(id).toSet()) {
+            state.addAP(ap);
+        }
+        state.setStateSpaceId(id);
+        state.setContainingStateSpace(this);
+        cachedStates.set(id, new SoftReference<>(state));
+        return state;
+    }
+
+    @Override
+    public synchronized ProgramState getState(int id) {
+
+        if (id < 0 || id >= nextStateId || locations.get(id) == REMOVED) {
+            return null;
+        }
+        ProgramState state = getKnownState(id);
+        if (state == null) {
+            state = restoreState(id);
+        }
+        return state;
+    }
+
+    @Override
+    public void addInitialState(ProgramState state) {
+
+        addStateIfAbsent(state);
+        initialStateIds.add(state.getStateSpaceId());
+    }
+
+    @Override
+    public void setFinal(ProgramState state) {
+
+        finalStateIds.add(state.getStateSpaceId());
+        state.addAP("{ terminated }");
+        refreshAtomicPropositions(state);
+    }
+
+    @Override
+    public void setAborted(ProgramState state) {
+
+        state.addAP(AtomicPropositions.ABORTED);
+        refreshAtomicPropositions(state);
+        this.containsAtLeastOneAbortedState = true;
+    }
+
+    private synchronized void refreshAtomicPropositions(ProgramState state) {
+
+        int id = state.getStateSpaceId();
+        if (id < 0 || id >= nextStateId || locations.get(id) == REMOVED) {
+            return;
+        }
+        atomicPropositions.set(id, state.getAtomicPropositions());
+        if (getKnownState(id) != state) {
+            // a restored copy of the state would carry outdated atomic propositions
+            cachedStates.set(id, null);
+        }
+    }
+
+    @Override
+    public boolean containsAbortedStates() {
+
+        return containsAtLeastOneAbortedState;
+    }
+
+    @Override
+    public synchronized void updateFinalStates(Set<ProgramState> newFinalStates, Map<Integer, Integer> idMapping) {
+
+        TIntIterator idIterator = finalStateIds.iterator();
+        while (idIterator.hasNext()) {
+            int id = idIterator.next();
+            if (locations.get(id) != REMOVED) {
+                locations.set(id, REMOVED);
+                residentStates.remove(id);
+                cachedStates.set(id, null);
+                atomicPropositions.set(id, null);
+                mergeCandidates.clear(id);
+                ++removedStates;
+            }
+            artificialInfPathsSuccessors.remove(id);
+        }
+
+        finalStateIds.clear();
+        for (ProgramState s : newFinalStates) {
+            int id = s.getStateSpaceId();
+            finalStateIds.add(id);
+            if (locations.get(id) == REMOVED) {
+                --removedStates;
+            }
+            storeState(id, s, false);
+            mergeCandidates.set(id);
+
+            TIntArrayList tIntArrayList = new TIntArrayList();
+            tIntArrayList.add(id);
+            artificialInfPathsSuccessors.put(id, tIntArrayList);
+        }
+
+        rebuildMergeCandidateChains();
+
+        // redirect
+        replaceIds(controlFlowSuccessors, idMapping);
+    }
+
+    private void rebuildMergeCandidateChains() {
+
+        firstWithHashCode.clear();
+        for (int id = 0; id < nextStateId; id++) {
+            nextWithSameHashCode.set(id, NO_STATE);
+            if (mergeCandidates.get(id)) {
+                nextWithSameHashCode.set(id, firstWithHashCode.put(hashCodes.get(id), id));
+            }
+        }
+    }
+
+    @Override
+    public void addMaterializationTransition(ProgramState from, ProgramState to) {
+
+        addTransition(from, to, materializationSuccessors);
+    }
+
+    @Override
+    public void addControlFlowTransition(ProgramState from, ProgramState to) {
+
+        addTransition(from, to, controlFlowSuccessors);
+    }
+
+    @Override
+    public void addArtificialInfPathsTransition(ProgramState cur) {
+
+        addTransition(cur, cur, artificialInfPathsSuccessors);
+    }
+
+    private void addTransition(ProgramState from, ProgramState to, TIntObjectMap<TIntArrayList> successors) {
+
+        int fId = from.getStateSpaceId();
+        int tId = to.getStateSpaceId();
+
+        TIntArrayList succ = successors.get(fId);
+        if (!succ.contains(tId)) {
+            succ.add(tId);
+        }
+    }
+
+    @Override
+    public int getMaximalStateSize() {
+
+        return maximalStateSize;
+    }
+
+    @Override
+    public boolean satisfiesAP(int stateId, String expectedAP) {
+
+        return atomicPropositions.get(stateId).contains(expectedAP);
+    }
+
+    /**
+     * @return The number of bytes reserved outside of the Java heap by the store of this state space.
+     * If the store is shared, this includes the states of other state spaces.
+     */
+    public long getStoredBytes() {
+
+        return store.size();
+    }
+}
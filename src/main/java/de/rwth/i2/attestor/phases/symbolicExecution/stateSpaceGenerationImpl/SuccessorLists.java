@@ -0,0 +1,116 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The successor lists of all states of a state space indexed by the ids of states.
+ * Every list contains each successor at most once and preserves the order in which successors have been added.
+ * Short lists are searched linearly for duplicates. Lists exceeding {@link #LINEAR_SEARCH_LIMIT} entries are
+ * additionally indexed by a hash set. Hence, adding a transition takes amortized constant time.
+ */
+final class SuccessorLists {
+
+    static final int LINEAR_SEARCH_LIMIT = 16;
+
+    private final List<TIntArrayList> lists;
+    private final TIntObjectMap<TIntSet> indices = new TIntObjectHashMap<>();
+
+    SuccessorLists(int capacity) {
+
+        lists = new ArrayList<>(capacity);
+    }
+
+    /**
+     * Assigns an empty successor list to the given state.
+     *
+     * @param id The id of a state.
+     */
+    void addState(int id) {
+
+        while (lists.size() <= id) {
+            lists.add(null);
+        }
+        lists.set(id, new TIntArrayList(2));
+        indices.remove(id);
+    }
+
+    /**
+     * Removes the successor list of the given state.
+     *
+     * @param id The id of a state.
+     */
+    void removeState(int id) {
+
+        if (id < lists.size()) {
+            lists.set(id, null);
+        }
+        indices.remove(id);
+    }
+
+    /**
+     * @param id The id of a state.
+     * @return The successor list of the given state or null if no list has been assigned to the state.
+     */
+    TIntArrayList get(int id) {
+
+        if (id < 0 || id >= lists.size()) {
+            return null;
+        }
+        return lists.get(id);
+    }
+
+    /**
+     * @param from The id of the source state.
+     * @param to   The id of the successor state.
+     * @return True if and only if the successor has not been contained in the successor list before.
+     */
+    boolean add(int from, int to) {
+
+        TIntArrayList list = lists.get(from);
+        TIntSet index = indices.get(from);
+        if (index != null) {
+            if (!index.add(to)) {
+                return false;
+            }
+        } else if (list.contains(to)) {
+            return false;
+        }
+
+        list.add(to);
+        if (index == null && list.size() > LINEAR_SEARCH_LIMIT) {
+            indices.put(from, new TIntHashSet(list));
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the ids of successors according to the given mapping.
+     * Successors that coincide after replacing their ids are only kept once.
+     *
+     * @param idMapping A mapping from old ids to new ids. Ids that are not mapped remain unchanged.
+     */
+    void replaceIds(Map<Integer, Integer> idMapping) {
+
+        indices.clear();
+        for (int id = 0; id < lists.size(); id++) {
+            TIntArrayList list = lists.get(id);
+            if (list == null || list.isEmpty()) {
+                continue;
+            }
+            TIntArrayList replaced = new TIntArrayList(list.size());
+            lists.set(id, replaced);
+            for (int i = 0; i < list.size(); i++) {
+                int successor = list.get(i);
+                add(id, idMapping.getOrDefault(successor, successor));
+            }
+        }
+    }
+}
@@ -40,6 +40,12 @@ public class AdmissibleStateRectificationStrategy implements StateRectificationS
 
     }
 
+    @Override
+    public boolean isThreadSafe() {
+
+        return materializationStrategy.isThreadSafe();
+    }
+
     private ViolationPoints computeViolationPoints(HeapConfiguration heap) {
 
         ViolationPoints result = new ViolationPoints();
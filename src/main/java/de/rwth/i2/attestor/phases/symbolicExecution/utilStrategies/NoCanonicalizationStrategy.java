@@ -10,4 +10,10 @@ public class NoCanonicalizationStrategy implements CanonicalizationStrategy {
 
         return heapConfiguration;
     }
+
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
 }
@@ -14,4 +14,10 @@ public class NoMaterializationStrategy implements MaterializationStrategy {
                                                      ViolationPoints potentialViolationPoints) {
         return Collections.emptySet();
     }
+
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
 }
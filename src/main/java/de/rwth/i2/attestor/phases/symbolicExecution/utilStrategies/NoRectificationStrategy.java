@@ -11,4 +11,10 @@ public class NoRectificationStrategy implements StateRectificationStrategy {
     public Collection<ProgramState> rectify(ProgramState state) {
         return Collections.singleton(state);
     }
+
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
 }
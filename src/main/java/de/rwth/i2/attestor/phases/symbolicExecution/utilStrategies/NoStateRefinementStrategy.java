@@ -11,4 +11,10 @@ public class NoStateRefinementStrategy implements StateRefinementStrategy {
 
         return state;
     }
+
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
 }
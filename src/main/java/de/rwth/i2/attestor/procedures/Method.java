@@ -17,6 +17,14 @@ public interface Method {
     boolean isRecursive();
     void setRecursive(boolean isRecursive);
 
+    /**
+     * @return The index of the strongly connected component of the call graph containing this method.
+     * Components are numbered bottom-up, i.e. the component of a callee never has a larger index
+     * than the component of its caller.
+     */
+    int getComponentIndex();
+    void setComponentIndex(int componentIndex);
+
     void addContract(Contract contract);
     Collection<Contract> getContractsForExport();
 
@@ -6,6 +6,8 @@ import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.ConcreteValue;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.GeneralConcreteValue;
 import de.rwth.i2.attestor.semantics.util.Constants;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionIds;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionSet;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
 import de.rwth.i2.attestor.types.Type;
@@ -14,7 +16,6 @@ import gnu.trove.list.array.TIntArrayList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,8 +32,9 @@ public abstract class GeneralProgramState implements ProgramState {
     private static final Logger logger = LogManager.getLogger("GeneralProgramState");
     /**
      * The atomic propositions assigned to this state.
+     * Since the set is immutable, it is shared by copies of this state.
      */
-    private final Set<String> atomicPropositions;
+    private AtomicPropositionSet atomicPropositions;
     /**
      * The heap configuration that determines the shape of the heap and the assignment of
      * program variables underlying this program state.
@@ -58,13 +60,25 @@ public abstract class GeneralProgramState implements ProgramState {
 
     /**
      * Initializes a state with the initial program location 0.
+     * Since the state does not belong to a scene, its atomic propositions get ids that are private to this state.
      *
      * @param heap The initial heap configuration.
      */
     protected GeneralProgramState(HeapConfiguration heap) {
 
+        this(heap, new AtomicPropositionIds());
+    }
+
+    /**
+     * Initializes a state with the initial program location 0.
+     *
+     * @param heap                 The initial heap configuration.
+     * @param atomicPropositionIds The ids of atomic propositions, usually those of the scene.
+     */
+    protected GeneralProgramState(HeapConfiguration heap, AtomicPropositionIds atomicPropositionIds) {
+
         this.heap = heap;
-        atomicPropositions = new LinkedHashSet<>();
+        this.atomicPropositions = atomicPropositionIds.emptySet();
     }
 
     /**
@@ -76,7 +90,7 @@ public abstract class GeneralProgramState implements ProgramState {
 
         this.heap = state.heap;
         this.programCounter = state.programCounter;
-        atomicPropositions = new LinkedHashSet<>(state.getAPs());
+        this.atomicPropositions = state.atomicPropositions;
     }
 
     /**
@@ -469,12 +483,18 @@ public abstract class GeneralProgramState implements ProgramState {
     @Override
     public void addAP(String ap) {
 
-        atomicPropositions.add(ap);
+        atomicPropositions = atomicPropositions.with(ap);
     }
 
     @Override
     public Set<String> getAPs() {
 
+        return atomicPropositions.toSet();
+    }
+
+    @Override
+    public AtomicPropositionSet getAtomicPropositions() {
+
         return atomicPropositions;
     }
 
@@ -4,6 +4,7 @@ package de.rwth.i2.attestor.programState.defaultState;
 import de.rwth.i2.attestor.graph.SelectorLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.programState.GeneralProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionIds;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 
 /**
@@ -22,6 +23,16 @@ public class DefaultProgramState extends GeneralProgramState {
         super(heap);
     }
 
+    /**
+     * Initializes a program state.
+     *
+     * @param heap                 The underlying heap configuration.
+     * @param atomicPropositionIds The ids of atomic propositions, usually those of the scene.
+     */
+    public DefaultProgramState(HeapConfiguration heap, AtomicPropositionIds atomicPropositionIds) {
+        super(heap, atomicPropositionIds);
+    }
+
     /**
      * Creates a copy of the state.
      *
@@ -68,7 +79,7 @@ public class DefaultProgramState extends GeneralProgramState {
     public DefaultProgramState clone() {
 
         HeapConfiguration newHeap = heap.clone();
-        DefaultProgramState result = new DefaultProgramState(newHeap);
+        DefaultProgramState result = new DefaultProgramState(newHeap, getAtomicPropositions().ids());
         result.setProgramCounter(programCounter);
         return result;
     }
@@ -3,6 +3,7 @@ package de.rwth.i2.attestor.programState.indexedState;
 import de.rwth.i2.attestor.graph.SelectorLabel;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.programState.GeneralProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionIds;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 
 public class IndexedState extends GeneralProgramState {
@@ -11,6 +12,10 @@ public class IndexedState extends GeneralProgramState {
         super(heap);
     }
 
+    public IndexedState(HeapConfiguration heap, AtomicPropositionIds atomicPropositionIds) {
+        super(heap, atomicPropositionIds);
+    }
+
     private IndexedState(IndexedState state) {
 
         super(state);
@@ -89,7 +94,7 @@ public class IndexedState extends GeneralProgramState {
     public IndexedState clone() {
 
         HeapConfiguration newHeap = heap.clone();
-        IndexedState result = new IndexedState(newHeap);
+        IndexedState result = new IndexedState(newHeap, getAtomicPropositions().ids());
         result.setProgramCounter(programCounter);
         return result;
     }
@@ -18,7 +18,29 @@ public class BundledStateRefinementStrategy implements StateRefinementStrategy {
     @Override
     public ProgramState refine(SemanticsCommand semanticsCommand, ProgramState state) {
 
-        strategies.forEach(f -> f.refine(semanticsCommand, state));
+        for (StateRefinementStrategy strategy : strategies) {
+            state = strategy.refine(semanticsCommand, state);
+        }
         return state;
     }
+
+    @Override
+    public ProgramState refineExclusiveState(SemanticsCommand semanticsCommand, ProgramState state) {
+
+        for (StateRefinementStrategy strategy : strategies) {
+            state = strategy.refineExclusiveState(semanticsCommand, state);
+        }
+        return state;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+
+        for (StateRefinementStrategy strategy : strategies) {
+            if (!strategy.isThreadSafe()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -11,4 +11,12 @@ public interface HeapAutomaton {
     boolean isInitialState(HeapAutomatonState heapAutomatonState);
 
     List<HeapConfiguration> getPossibleHeapRewritings(HeapConfiguration heapConfiguration);
+
+    /**
+     * @return true if and only if {@link #transition(HeapConfiguration, List)} may be called by multiple
+     * threads without additional synchronization.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -2,6 +2,7 @@ package de.rwth.i2.attestor.refinement.garbageCollection;
 
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.graph.heap.internal.GarbageCandidates;
 import de.rwth.i2.attestor.graph.util.ReachabilityChecker;
 import de.rwth.i2.attestor.semantics.TerminalStatement;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.*;
@@ -35,34 +36,70 @@ public class GarbageCollector implements StateRefinementStrategy {
     @Override
     public ProgramState refine(SemanticsCommand semanticsCommand, ProgramState state) {
 
+        return collectGarbage(semanticsCommand, state, false);
+    }
+
+    @Override
+    public ProgramState refineExclusiveState(SemanticsCommand semanticsCommand, ProgramState state) {
+
+        return collectGarbage(semanticsCommand, state, true);
+    }
+
+    /**
+     * @return true, since only exclusively owned heaps are marked garbage-free and all other
+     * heaps are copied before nodes are removed.
+     */
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
+
+    private ProgramState collectGarbage(SemanticsCommand semanticsCommand, ProgramState state, boolean isExclusive) {
+
         // If the previously executed program statement cannot alter the heap
         // there is no reason to invoke the garbage collection
         if (!semanticsTriggeringGarbageCollector.contains(semanticsCommand.getClass())) {
             return state;
         }
 
-        // ensure that this state is not a shallow copy of a state already in the state space
-        state = state.clone();
-
         HeapConfiguration heap = state.getHeap();
+
+        // Only nodes that lost incoming edges since the heap has last been collected might have become garbage.
+        // Heaps that might be shared with other states are never marked, because other threads may copy them.
+        if (GarbageCandidates.isGarbageFree(heap)) {
+            if (isExclusive) {
+                GarbageCandidates.markGarbageFree(heap);
+            }
+            return state;
+        }
+
         ReachabilityChecker checker = new ReachabilityChecker(
-                state.getHeap(),
+                heap,
                 getVariableTargetNodes(heap)
         );
 
         TIntSet unreachableNodes = checker.getUnreachableNodes();
 
         if (unreachableNodes.isEmpty()) {
+            if (isExclusive) {
+                GarbageCandidates.markGarbageFree(heap);
+            }
             return state;
         }
 
+        if (!isExclusive) {
+            // ensure that this state is not a shallow copy of a state already in the state space
+            state = state.clone();
+        }
+
         TIntIterator unreachableIterator = unreachableNodes.iterator();
-        HeapConfigurationBuilder builder = heap.builder();
+        HeapConfigurationBuilder builder = state.getHeap().builder();
         while (unreachableIterator.hasNext()) {
             int node = unreachableIterator.next();
             builder.removeNode(node);
         }
-        builder.build();
+        GarbageCandidates.markGarbageFree(builder.build());
 
         state.addAP("{ garbage collected }");
         logger.debug("removed " + unreachableNodes.size() + " unreachable nodes.");
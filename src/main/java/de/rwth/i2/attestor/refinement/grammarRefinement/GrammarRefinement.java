@@ -11,7 +11,21 @@ import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.array.TIntArrayList;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
+/**
+ * Refines a graph grammar according to a heap automaton, i.e. every nonterminal is annotated with
+ * the automaton states reachable from the nonterminal.
+ * <p>
+ * The reachable automaton states are computed by a semi-naive fixpoint iteration:
+ * In every round, only assignments of states to the nonterminal edges of a right-hand side are considered
+ * that contain at least one state discovered in the previous round. Hence, the automaton's transition
+ * function is applied to every pair of right-hand side and assignment at most once.
+ * The transitions of a round are computed concurrently if a pool of worker threads is given and the heap automaton
+ * is thread-safe, see {@link HeapAutomaton#isThreadSafe()}.
+ */
 public class GrammarRefinement {
 
     private final Set<Nonterminal> oldLeftHandSides;
@@ -23,19 +37,39 @@ public class GrammarRefinement {
 
     private final Map<Nonterminal, Set<HeapConfiguration>> refinedRules = new LinkedHashMap<>();
 
-    private boolean newRulesFound;
+    /**
+     * The number of states of every nonterminal that have been found before the previous round.
+     */
+    private final Map<Nonterminal, Integer> oldStateCounts = new HashMap<>();
+
+    private final ForkJoinPool workerPool;
+
+    private boolean newStatesFound;
 
     public GrammarRefinement(Grammar grammar, HeapAutomaton heapAutomaton) {
 
+        this(grammar, heapAutomaton, null);
+    }
+
+    /**
+     * @param grammar       The grammar to refine.
+     * @param heapAutomaton The heap automaton according to which the grammar is refined.
+     * @param workerPool    The pool of worker threads that compute transitions of the heap automaton
+     *                      or null if transitions should be computed sequentially.
+     *                      The pool is only used if the heap automaton is thread-safe.
+     */
+    public GrammarRefinement(Grammar grammar, HeapAutomaton heapAutomaton, ForkJoinPool workerPool) {
+
         this.oldLeftHandSides = grammar.getAllLeftHandSides();
         this.heapAutomaton = heapAutomaton;
+        this.workerPool = heapAutomaton.isThreadSafe() ? workerPool : null;
         determineRewrittenOriginalRightHandSides(grammar);
 
         refineBaseRules();
         do {
-            newRulesFound = false;
+            newStatesFound = false;
             refineAllRules();
-        } while (newRulesFound);
+        } while (newStatesFound);
     }
 
     private void determineRewrittenOriginalRightHandSides(Grammar grammar) {
@@ -60,7 +94,8 @@ public class GrammarRefinement {
         for (Nonterminal lhs : oldLeftHandSides) {
             for (HeapConfiguration rhs : oldRightHandSides.get(lhs)) {
                 if (rhs.countNonterminalEdges() == 0) {
-                    refineRuleAccordingToAssignment(lhs, rhs, Collections.emptyList());
+                    List<HeapAutomatonState> assignment = Collections.emptyList();
+                    refineRuleAccordingToAssignment(lhs, rhs, assignment, heapAutomaton.transition(rhs, assignment));
                 }
             }
         }
@@ -68,36 +103,104 @@ public class GrammarRefinement {
 
     private void refineAllRules() {
 
+        // states found up to now; states found in this round are considered in the next round
+        Map<Nonterminal, List<HeapAutomatonState>> currentStates = new HashMap<>();
+        foundStates.forEach((nt, states) -> currentStates.put(nt, new ArrayList<>(states)));
+
+        if (workerPool == null) {
+            // every refinement is applied as soon as it has been found; states are thus not collected first
+            forEachNewAssignment(currentStates, refinement -> {
+                refinement.computeTransition();
+                refinement.apply();
+            });
+        } else {
+            List<Refinement> refinements = new ArrayList<>();
+            forEachNewAssignment(currentStates, refinements::add);
+            computeTransitions(refinements);
+            refinements.forEach(Refinement::apply);
+        }
+
+        oldStateCounts.clear();
+        currentStates.forEach((nt, states) -> oldStateCounts.put(nt, states.size()));
+    }
+
+    private void forEachNewAssignment(Map<Nonterminal, List<HeapAutomatonState>> currentStates,
+                                      Consumer<Refinement> action) {
+
         for (Nonterminal lhs : oldLeftHandSides) {
             for (HeapConfiguration rhs : oldRightHandSides.get(lhs)) {
                 if (rhs.countNonterminalEdges() > 0) {
-                    List<List<HeapAutomatonState>> possibleStates = possibleStateAssignments(rhs);
-                    AssignmentIterator<HeapAutomatonState> iterator = new AssignmentIterator<>(possibleStates);
-                    while (iterator.hasNext()) {
-                        List<HeapAutomatonState> assignment = iterator.next();
-                        refineRuleAccordingToAssignment(lhs, rhs, assignment);
-                    }
+                    forEachNewAssignment(lhs, rhs, currentStates, action);
                 }
             }
         }
     }
 
-    private List<List<HeapAutomatonState>> possibleStateAssignments(HeapConfiguration rhs) {
+    /**
+     * Enumerates all assignments of states found before this round to the nonterminal edges of rhs that
+     * contain at least one state found in the previous round.
+     * Every such assignment is enumerated exactly once by fixing the first position that is assigned a new state.
+     */
+    private void forEachNewAssignment(Nonterminal lhs, HeapConfiguration rhs,
+                                      Map<Nonterminal, List<HeapAutomatonState>> currentStates,
+                                      Consumer<Refinement> action) {
 
-        List<List<HeapAutomatonState>> result = new ArrayList<>();
+        List<Nonterminal> labels = new ArrayList<>(rhs.countNonterminalEdges());
         TIntIterator iter = rhs.nonterminalEdges().iterator();
         while (iter.hasNext()) {
-            int edge = iter.next();
-            Nonterminal nt = rhs.labelOf(edge);
-            result.add(foundStates.getOrDefault(nt, Collections.emptyList()));
+            labels.add(rhs.labelOf(iter.next()));
+        }
+
+        for (int newPosition = 0; newPosition < labels.size(); newPosition++) {
+            List<List<HeapAutomatonState>> possibleStates = new ArrayList<>(labels.size());
+            for (int i = 0; i < labels.size(); i++) {
+                Nonterminal nt = labels.get(i);
+                List<HeapAutomatonState> states = currentStates.getOrDefault(nt, Collections.emptyList());
+                int oldCount = oldStateCounts.getOrDefault(nt, 0);
+                int currentCount = states.size();
+                if (i < newPosition) {
+                    possibleStates.add(states.subList(0, oldCount));
+                } else if (i == newPosition) {
+                    possibleStates.add(states.subList(oldCount, currentCount));
+                } else {
+                    possibleStates.add(states.subList(0, currentCount));
+                }
+            }
+
+            AssignmentIterator<HeapAutomatonState> iterator = new AssignmentIterator<>(possibleStates);
+            while (iterator.hasNext()) {
+                action.accept(new Refinement(lhs, rhs, iterator.next()));
+            }
         }
-        return result;
     }
 
-    private void refineRuleAccordingToAssignment(Nonterminal lhs, HeapConfiguration rhs,
-                                                 List<HeapAutomatonState> assignment) {
+    private void computeTransitions(List<Refinement> refinements) {
 
-        HeapAutomatonState assignedState = heapAutomaton.transition(rhs, assignment);
+        if (refinements.size() < 2) {
+            refinements.forEach(Refinement::computeTransition);
+            return;
+        }
+
+        try {
+            workerPool.submit(() -> refinements.parallelStream().forEach(Refinement::computeTransition)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Grammar refinement has been interrupted.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void refineRuleAccordingToAssignment(Nonterminal lhs, HeapConfiguration rhs,
+                                                 List<HeapAutomatonState> assignment,
+                                                 HeapAutomatonState assignedState) {
 
         if (assignedState.isError()) {
             return;
@@ -106,18 +209,14 @@ public class GrammarRefinement {
         foundStates.putIfAbsent(lhs, new ArrayList<>());
         List<HeapAutomatonState> states = foundStates.get(lhs);
         if (!states.contains(assignedState)) {
+            newStatesFound = true;
             states.add(assignedState);
         }
 
         Nonterminal refinedLhs = new RefinedDefaultNonterminal(lhs, assignedState);
         HeapConfiguration refinedRhs = refineRightSide(rhs, assignment);
 
-        if (!refinedRules.containsKey(refinedLhs)) {
-            newRulesFound = true;
-            refinedRules.put(refinedLhs, new LinkedHashSet<>());
-        }
-        Set<HeapConfiguration> allRefinedRhsOfLhs = refinedRules.get(refinedLhs);
-        allRefinedRhsOfLhs.add(refinedRhs);
+        refinedRules.computeIfAbsent(refinedLhs, nt -> new LinkedHashSet<>()).add(refinedRhs);
     }
 
     private HeapConfiguration refineRightSide(HeapConfiguration rhs, List<HeapAutomatonState> assignment) {
@@ -134,4 +233,33 @@ public class GrammarRefinement {
         }
         return builder.build();
     }
+
+    /**
+     * A right-hand side together with an assignment of states to its nonterminal edges
+     * whose transition has to be computed.
+     */
+    private final class Refinement {
+
+        final Nonterminal lhs;
+        final HeapConfiguration rhs;
+        final List<HeapAutomatonState> assignment;
+        HeapAutomatonState assignedState;
+
+        Refinement(Nonterminal lhs, HeapConfiguration rhs, List<HeapAutomatonState> assignment) {
+
+            this.lhs = lhs;
+            this.rhs = rhs;
+            this.assignment = assignment;
+        }
+
+        void computeTransition() {
+
+            assignedState = heapAutomaton.transition(rhs, assignment);
+        }
+
+        void apply() {
+
+            refineRuleAccordingToAssignment(lhs, rhs, assignment, assignedState);
+        }
+    }
 }
@@ -49,6 +49,17 @@ public class ProductHeapAutomaton implements HeapAutomaton {
         return true;
     }
 
+    @Override
+    public boolean isThreadSafe() {
+
+        for (HeapAutomaton automaton : automata) {
+            if (!automaton.isThreadSafe()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public List<HeapConfiguration> getPossibleHeapRewritings(HeapConfiguration heapConfiguration) {
 
@@ -40,6 +40,11 @@ public class TerminalStatement implements SemanticsCommand {
         return true;
     }
 
+    @Override
+    public boolean producesExclusiveSuccessors() {
+        return true;
+    }
+
     @Override
     public String toString() {
 
@@ -13,11 +13,33 @@ import soot.Scene;
 import soot.SootClass;
 import soot.options.Options;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static soot.SootClass.SIGNATURES;
 
 /**
  * A parser that takes a source code file and transforms it first into the Jimple intermediate language
  * and then into our own semantics; that is it constructs a {@link Program}.
+ * <p>
+ * The classes loaded by Soot are kept until the next program is parsed. If the same class is parsed again
+ * within the same JVM and no class file on the classpath has changed its size or modification time in the
+ * meantime, Soot is not invoked again and only the translation into our own semantics is repeated.
+ * The translation itself cannot be reused, because the resulting program refers to the types, selectors
+ * and methods of a particular scene. Nothing is reused across different JVMs.
+ * <p>
+ * Since Soot keeps all loaded classes in a single global instance, programs are parsed one at a time.
  *
  * @author Hannah Arndt, Christoph
  */
@@ -33,6 +55,28 @@ public class JimpleParser extends SceneObject implements ProgramParser {
      */
     private final JimpleToAbstractSemantics translationDef;
 
+    /**
+     * Guards all accesses to Soot and to {@link #loadedClassesFingerprint}.
+     */
+    private static final Object sootLock = new Object();
+
+    /**
+     * A fingerprint of the classpath, the class and the Soot options of the classes currently loaded by Soot
+     * or null if no classes have been loaded successfully. Like the classes loaded by Soot, it is shared by all
+     * parsers of the same JVM.
+     */
+    private static String loadedClassesFingerprint = null;
+
+    /**
+     * True if Soot should write the Jimple code of all loaded classes to disk.
+     */
+    private boolean jimpleOutputEnabled = true;
+
+    /**
+     * True if only methods that are reachable from the entry point are translated.
+     */
+    private boolean reachableMethodsOnly = false;
+
     /**
      * Creates a new parser.
      *
@@ -44,9 +88,79 @@ public class JimpleParser extends SceneObject implements ProgramParser {
         this.translationDef = translationDef;
     }
 
+    /**
+     * @param jimpleOutputEnabled True if Soot should write the Jimple code of all loaded classes to disk.
+     */
+    public void setJimpleOutputEnabled(boolean jimpleOutputEnabled) {
+
+        this.jimpleOutputEnabled = jimpleOutputEnabled;
+    }
+
+    /**
+     * @param reachableMethodsOnly True if only methods that are reachable from the entry point
+     *                             should be translated.
+     */
+    public void setReachableMethodsOnly(boolean reachableMethodsOnly) {
+
+        this.reachableMethodsOnly = reachableMethodsOnly;
+    }
+
     @Override
     public Program parse(String classpath, String classname, String entryPoint) {
 
+        synchronized (sootLock) {
+            loadClasses(classpath, classname);
+
+            logger.trace("start translating");
+
+            SootClass sootClass = Scene.v().getSootClass(classname);
+            Scene.v().setMainClass(sootClass);
+
+            String mainMethodName = sootClass.getMethodByName(entryPoint).getSignature();
+
+            TopLevelTranslation translator = new TopLevelTranslation(this, translationDef);
+            if (reachableMethodsOnly) {
+                translator.setEntryPoint(mainMethodName);
+            }
+            translator.translate();
+
+            return translator.getMethod(mainMethodName).getBody();
+        }
+    }
+
+    /**
+     * Loads the given class and all classes it depends on into Soot unless they have already been loaded
+     * by a previous invocation with the same classpath, class and options and no class file on the classpath
+     * has changed in the meantime.
+     *
+     * @return True if and only if Soot has been invoked.
+     */
+    boolean loadClasses(String classpath, String classname) {
+
+        String fingerprint = fingerprintOf(classpath, classname);
+        synchronized (sootLock) {
+            if (fingerprint != null && fingerprint.equals(loadedClassesFingerprint) && isLoaded(classname)) {
+                logger.info("Reusing classes loaded by Soot.");
+                return false;
+            }
+
+            loadedClassesFingerprint = null;
+            runSoot(classpath, classname);
+            loadedClassesFingerprint = fingerprint;
+            return true;
+        }
+    }
+
+    /**
+     * @return True if Soot currently contains the given class. Soot may have been reset in the meantime.
+     */
+    boolean isLoaded(String classname) {
+
+        return Scene.v().containsClass(classname);
+    }
+
+    void runSoot(String classpath, String classname) {
+
         try {
             logger.debug("Initializing Soot with classpath: " + classpath);
             new SootInitializer().initialize(classpath);
@@ -61,7 +175,8 @@ public class JimpleParser extends SceneObject implements ProgramParser {
              */
             Options.v().parse(new String[]{"-p", "jap.lvtagger", "enabled:true"});
 
-            Options.v().parse(new String[]{"-pp", "-keep-line-number", "-f", "jimple", classname});
+            String outputFormat = jimpleOutputEnabled ? "jimple" : "none";
+            Options.v().parse(new String[]{"-pp", "-keep-line-number", "-f", outputFormat, classname});
 
             /* TODO: Scene.v().addBasicClass("javaUtilEx.AbstractList",SIGNATURES);
             Scene.v().addBasicClass("javaUtilEx.AbstractCollection",SIGNATURES);
@@ -78,17 +193,56 @@ public class JimpleParser extends SceneObject implements ProgramParser {
             logger.fatal("Soot threw an exception.");
             throw e;
         }
+    }
 
-        logger.trace("start translating");
-
-        SootClass sootClass = Scene.v().getSootClass(classname);
-        Scene.v().setMainClass(sootClass);
+    /**
+     * Computes a fingerprint of the names, sizes and modification times of all class files and archives
+     * on the given classpath. The files themselves are not read, so the fingerprint is cheap to compute.
+     *
+     * @return The fingerprint or null if some file on the classpath could not be accessed.
+     */
+    private String fingerprintOf(String classpath, String classname) {
 
-        TopLevelTranslation translator = new TopLevelTranslation(this, translationDef);
-        translator.translate();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((classname + '\n' + classpath + '\n' + jimpleOutputEnabled + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+
+            for (String entry : URLDecoder.decode(classpath, "UTF-8").split(File.pathSeparator)) {
+                Path root = new File(entry).toPath();
+                if (Files.isDirectory(root)) {
+                    List<Path> files;
+                    try (Stream<Path> paths = Files.walk(root)) {
+                        files = paths.filter(path -> path.toString().endsWith(".class"))
+                                .sorted()
+                                .collect(Collectors.toList());
+                    }
+                    for (Path file : files) {
+                        digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                        digest.update(attributesOf(file));
+                    }
+                } else if (Files.isRegularFile(root)) {
+                    digest.update(attributesOf(root));
+                }
+            }
+
+            StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest()) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            return null;
+        } catch (IOException e) {
+            logger.debug("Could not compute fingerprint of classpath: " + e.getMessage());
+            return null;
+        }
+    }
 
-        String mainMethodName = sootClass.getMethodByName(entryPoint).getSignature();
+    private static byte[] attributesOf(Path file) throws IOException {
 
-        return translator.getMethod(mainMethodName).getBody();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return ("/" + attributes.size() + "/" + attributes.lastModifiedTime().toMillis() + "\n")
+                .getBytes(StandardCharsets.UTF_8);
     }
 }
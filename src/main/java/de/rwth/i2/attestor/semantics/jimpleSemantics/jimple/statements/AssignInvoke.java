@@ -85,9 +85,8 @@ public class AssignInvoke extends Statement implements InvokeCleanup {
         for (ProgramState resState : resultStates) {
 
             resState = getCleanedResultState(resState);
-            ProgramState freshState = resState.clone();
-            freshState.setProgramCounter(nextPC);
-            assignResult.add(freshState);
+            resState.setProgramCounter(nextPC);
+            assignResult.add(resState);
         }
         return assignResult;
     }
@@ -138,4 +137,16 @@ public class AssignInvoke extends Statement implements InvokeCleanup {
         return true;
     }
 
+    @Override
+    public boolean producesExclusiveSuccessors() {
+        // result states are built from heaps that have been merged with fresh copies of contracts
+        return true;
+    }
+
+    @Override
+    public boolean permitsConcurrentExecution() {
+        // procedure calls access and update contracts shared by all state spaces
+        return false;
+    }
+
 }
@@ -94,10 +94,9 @@ public class AssignStmt extends Statement {
                     programState, liveVariableNames);
         }
 
-        ProgramState result = programState.clone();
-        result.setProgramCounter(nextPC);
+        programState.setProgramCounter(nextPC);
 
-        return SingleElementUtil.createSet(result);
+        return SingleElementUtil.createSet(programState);
     }
 
 
@@ -123,4 +122,9 @@ public class AssignStmt extends Statement {
         return false;
     }
 
+    @Override
+    public boolean producesExclusiveSuccessors() {
+        return true;
+    }
+
 }
@@ -61,7 +61,8 @@ public class IdentityStmt extends Statement {
             logger.error(e.getErrorMessage(this));
         }
 
-        return Collections.singleton(programState.shallowCopyUpdatePC(nextPC));
+        programState.setProgramCounter(nextPC);
+        return Collections.singleton(programState);
     }
 
     public boolean needsMaterialization(ProgramState programState) {
@@ -91,4 +92,9 @@ public class IdentityStmt extends Statement {
         return false;
     }
 
+    @Override
+    public boolean producesExclusiveSuccessors() {
+        return true;
+    }
+
 }
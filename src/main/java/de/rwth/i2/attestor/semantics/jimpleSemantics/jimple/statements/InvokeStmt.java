@@ -58,7 +58,6 @@ public class InvokeStmt extends Statement implements InvokeCleanup {
                 .getResultStates(programState, preparedState);
 
         methodResult.forEach(invokePrepare::cleanHeap);
-        methodResult.forEach(ProgramState::clone);
         methodResult.forEach(x -> x.setProgramCounter(nextPC));
 
         return methodResult;
@@ -98,4 +97,16 @@ public class InvokeStmt extends Statement implements InvokeCleanup {
         return true;
     }
 
+    @Override
+    public boolean producesExclusiveSuccessors() {
+        // result states are built from heaps that have been merged with fresh copies of contracts
+        return true;
+    }
+
+    @Override
+    public boolean permitsConcurrentExecution() {
+        // procedure calls access and update contracts shared by all state spaces
+        return false;
+    }
+
 }
@@ -102,6 +102,11 @@ public class ReturnValueStmt extends Statement {
         return true;
     }
 
+    @Override
+    public boolean producesExclusiveSuccessors() {
+        return true;
+    }
+
     /**
      * Removes local variables from the current block.
      *
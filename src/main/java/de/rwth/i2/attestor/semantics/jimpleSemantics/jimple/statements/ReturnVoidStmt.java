@@ -64,6 +64,11 @@ public class ReturnVoidStmt extends Statement {
         return true;
     }
 
+    @Override
+    public boolean producesExclusiveSuccessors() {
+        return true;
+    }
+
     /**
      * Removes local variables from the current block.
      *
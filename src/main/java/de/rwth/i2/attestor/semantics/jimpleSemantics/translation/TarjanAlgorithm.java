@@ -10,6 +10,7 @@ public class TarjanAlgorithm {
     List<Vertex> vertices = new ArrayList<>();
     Map<Vertex, List<Vertex>> edges = new LinkedHashMap<>();
     int index = 0;
+    int componentIndex = 0;
     Deque<Vertex> stack = new ArrayDeque<>();
 
     public void addMethodAsVertex(Method method) {
@@ -32,6 +33,12 @@ public class TarjanAlgorithm {
         edges.get(v).add(u);
     }
 
+    /**
+     * Marks all methods that belong to a cycle of the call graph as recursive.
+     * Furthermore, sets the index of the strongly connected component of every method.
+     * Since Tarjan's algorithm determines every component after all components reachable from it,
+     * components of callees obtain smaller indices than components of their callers.
+     */
     public void markRecursiveMethods() {
 
         for (Vertex v : vertices) {
@@ -67,6 +74,11 @@ public class TarjanAlgorithm {
                 scc.add(w);
             } while (w != v);
 
+            for (Vertex s : scc) {
+                s.method.setComponentIndex(componentIndex);
+            }
+            componentIndex++;
+
             if (scc.size() > 1) {
                 for (Vertex s : scc) {
                     s.method.setRecursive(true);
@@ -18,7 +18,9 @@ import soot.Unit;
 import soot.jimple.Stmt;
 import soot.util.Chain;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +64,20 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
      * necessary to fill the call graph during translation
      */
     private Method currentMethod;
+    /**
+     * The signature of the method from which all translated methods have to be reachable
+     * or null if all methods should be translated.
+     */
+    private String entryPoint = null;
+    /**
+     * If only reachable methods are translated, maps the signatures of all methods that have not been
+     * encountered yet to the corresponding soot methods.
+     */
+    private Map<String, SootMethod> unreachedMethods = null;
+    /**
+     * If only reachable methods are translated, the encountered methods that still have to be translated.
+     */
+    private final Deque<SootMethod> remainingMethods = new ArrayDeque<>();
 
     /**
      * Initializes the TopLevelTranslation with a custom first level.
@@ -75,6 +91,18 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
         firstLevel.setTopLevel(this);
     }
 
+    /**
+     * Restricts the translation to methods that are reachable from the given method.
+     * Methods are then translated as soon as they are encountered in the translation
+     * of another method, starting with the given method.
+     *
+     * @param signature The signature of the method from which translated methods have to be reachable.
+     */
+    public void setEntryPoint(String signature) {
+
+        this.entryPoint = signature;
+    }
+
     /**
      * First fills the methodMapping with new abstractMethods for each method in
      * the main class. Then fills these methodExecution each with the corresponding
@@ -96,6 +124,11 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
             methods.addAll(sootClass.getMethods());
         }
 
+        if (entryPoint != null) {
+            translateReachableMethods(methods);
+            return;
+        }
+
         for (SootMethod method : methods) {
             logger.trace("Found soot method: " + method.getSignature());
 
@@ -114,6 +147,34 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
         recursiveMethodDetection.markRecursiveMethods();
     }
 
+    private void translateReachableMethods(List<SootMethod> methods) {
+
+        unreachedMethods = new LinkedHashMap<>();
+        for (SootMethod method : methods) {
+            unreachedMethods.put(method.getSignature(), method);
+        }
+
+        SootMethod entryMethod = unreachedMethods.remove(entryPoint);
+        if (entryMethod == null) {
+            throw new IllegalArgumentException("Could not find entry method " + entryPoint);
+        }
+        Method abstractEntryMethod = scene().getOrCreateMethod(entryPoint);
+        abstractEntryMethod.setName(entryMethod.getName());
+        recursiveMethodDetection.addMethodAsVertex(abstractEntryMethod);
+        remainingMethods.push(entryMethod);
+
+        // every encountered method is enqueued by getMethod and already known to the call graph
+        while (!remainingMethods.isEmpty()) {
+            translateMethod(remainingMethods.pop());
+        }
+
+        logger.debug("translated " + (methods.size() - unreachedMethods.size()) + " of "
+                + methods.size() + " methods");
+        unreachedMethods = null;
+
+        recursiveMethodDetection.markRecursiveMethods();
+    }
+
     /**
      * Sets {@link #currentUnitToPC} to a mapping with the units in this method.
      * Then translates each statement and sets the resulting list as control
@@ -195,6 +256,13 @@ public class TopLevelTranslation extends SceneObject implements JimpleToAbstract
 
         Method res = scene().getOrCreateMethod(signature);
         recursiveMethodDetection.addCallEdge(currentMethod, res);
+        if (unreachedMethods != null) {
+            SootMethod reachedMethod = unreachedMethods.remove(signature);
+            if (reachedMethod != null) {
+                res.setName(reachedMethod.getName());
+                remainingMethods.push(reachedMethod);
+            }
+        }
         if (res.getBody() == null) {
 
             String displayName = Scene.v().getMethod(signature).getName();
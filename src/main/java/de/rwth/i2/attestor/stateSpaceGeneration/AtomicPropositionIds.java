@@ -0,0 +1,70 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Assigns dense ids to atomic propositions and interns the {@link AtomicPropositionSet}s built from them.
+ * Ids and sets are only meaningful with respect to a single AtomicPropositionIds object. There is one such
+ * object per scene, see {@link de.rwth.i2.attestor.main.scene.Labels#atomicPropositionIds()}, which is shared
+ * by all program states created within this scene.
+ */
+public final class AtomicPropositionIds {
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final ConcurrentMap<AtomicPropositionSet, AtomicPropositionSet> pool = new ConcurrentHashMap<>();
+    private final AtomicPropositionSet emptySet = new AtomicPropositionSet(this, new long[0]);
+
+    /**
+     * @return The set containing no atomic propositions.
+     */
+    public AtomicPropositionSet emptySet() {
+
+        return emptySet;
+    }
+
+    /**
+     * @param ap An atomic proposition.
+     * @return The unique id of the given atomic proposition. A fresh id is assigned if the atomic proposition
+     * has not been encountered before.
+     */
+    public int idOf(String ap) {
+
+        return ids.computeIfAbsent(ap, key -> {
+            synchronized (names) {
+                names.add(key);
+                return names.size() - 1;
+            }
+        });
+    }
+
+    /**
+     * @param ap An atomic proposition.
+     * @return The id of the given atomic proposition or -1 if no state has ever been labeled with it.
+     */
+    public int lookup(String ap) {
+
+        Integer id = ids.get(ap);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id An id that has previously been returned by {@link #idOf(String)}.
+     * @return The atomic proposition with the given id.
+     */
+    public String nameOf(int id) {
+
+        synchronized (names) {
+            return names.get(id);
+        }
+    }
+
+    AtomicPropositionSet intern(AtomicPropositionSet set) {
+
+        AtomicPropositionSet interned = pool.putIfAbsent(set, set);
+        return interned == null ? set : interned;
+    }
+}
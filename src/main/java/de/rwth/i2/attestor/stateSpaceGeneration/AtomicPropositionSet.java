@@ -0,0 +1,121 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An immutable set of atomic propositions that labels a {@link ProgramState}.
+ * <p>
+ * Atomic propositions are mapped to dense ids by an {@link AtomicPropositionIds} object, usually the one of the
+ * scene, and a set of atomic propositions is stored as a bitset over these ids. Sets are interned by the same
+ * object, i.e. all states with the same labels share a single AtomicPropositionSet. Since AtomicPropositionSets
+ * are never modified, they may be shared freely among states, state spaces and threads.
+ */
+public final class AtomicPropositionSet {
+
+    private final AtomicPropositionIds ids;
+    private final long[] words;
+    private final int hash;
+
+    AtomicPropositionSet(AtomicPropositionIds ids, long[] words) {
+
+        this.ids = ids;
+        this.words = words;
+        this.hash = Arrays.hashCode(words);
+    }
+
+    /**
+     * @return The object assigning ids to the atomic propositions of this set.
+     */
+    public AtomicPropositionIds ids() {
+
+        return ids;
+    }
+
+    /**
+     * @param ap An atomic proposition.
+     * @return A set containing all atomic propositions of this set and the given one.
+     */
+    public AtomicPropositionSet with(String ap) {
+
+        int id = ids.idOf(ap);
+        if (contains(id)) {
+            return this;
+        }
+        long[] newWords = Arrays.copyOf(words, Math.max(words.length, (id >>> 6) + 1));
+        newWords[id >>> 6] |= 1L << id;
+        return ids.intern(new AtomicPropositionSet(ids, newWords));
+    }
+
+    /**
+     * @param id The id of an atomic proposition with respect to {@link #ids()}.
+     * @return True if and only if this set contains the atomic proposition with the given id.
+     */
+    public boolean contains(int id) {
+
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * @param ap An atomic proposition.
+     * @return True if and only if this set contains the given atomic proposition.
+     */
+    public boolean contains(String ap) {
+
+        return contains(ids.lookup(ap));
+    }
+
+    /**
+     * @return True if and only if this set contains no atomic propositions.
+     */
+    public boolean isEmpty() {
+
+        return words.length == 0;
+    }
+
+    /**
+     * @return An unmodifiable set containing the names of all atomic propositions in this set.
+     * Atomic propositions are ordered by their ids, i.e. by the time at which they have been encountered first
+     * by {@link #ids()}, rather than by the order in which they have been added to this set.
+     */
+    public Set<String> toSet() {
+
+        Set<String> result = new LinkedHashSet<>();
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                result.add(ids.nameOf((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object otherObject) {
+
+        if (otherObject == this) {
+            return true;
+        }
+        if (!(otherObject instanceof AtomicPropositionSet)) {
+            return false;
+        }
+        AtomicPropositionSet other = (AtomicPropositionSet) otherObject;
+        return ids == other.ids && hash == other.hash && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public String toString() {
+
+        return toSet().toString();
+    }
+}
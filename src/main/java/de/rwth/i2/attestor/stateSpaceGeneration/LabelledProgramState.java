@@ -24,4 +24,9 @@ public interface LabelledProgramState {
      * @return The set of all atomic propositions attached to this object.
      */
     Set<String> getAPs();
+
+    /**
+     * @return The immutable set of all atomic propositions attached to this object.
+     */
+    AtomicPropositionSet getAtomicPropositions();
 }
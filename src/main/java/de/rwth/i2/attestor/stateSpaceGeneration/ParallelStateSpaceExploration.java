@@ -0,0 +1,328 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Explores the states of a {@link StateSpaceGenerator} using a pool of worker threads.
+ * Every unexplored state is processed by a separate task that is scheduled on the work-stealing
+ * {@link ForkJoinPool} of the generator. This pool may be shared with other generators, e.g. those of nested
+ * procedure calls, which are then waited for without blocking a worker of the pool.
+ * Materialization, execution of abstract transfer functions, refinement, canonicalization
+ * and rectification are performed concurrently. Hence, the generator only uses this exploration if all
+ * of these strategies are thread-safe. Adding states and transitions to the underlying
+ * {@link StateSpace} is synchronized on the state space itself unless the state space supports concurrent
+ * modification, see {@link StateSpace#supportsConcurrentModification()}.
+ * Statements that do not permit concurrent execution, see {@link SemanticsCommand#permitsConcurrentExecution()},
+ * are executed while holding the same lock.
+ */
+class ParallelStateSpaceExploration {
+
+    private final StateSpaceGenerator generator;
+    private final StateSpace stateSpace;
+
+    /**
+     * The number of states that have been scheduled for exploration but have not been explored yet.
+     */
+    private final AtomicInteger pendingStates = new AtomicInteger(0);
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    /**
+     * Stores the first abort of state space generation; null if generation has not been aborted.
+     */
+    private final AtomicReference<StateSpaceGenerationAbortedException> abortion = new AtomicReference<>();
+    private boolean abortedInTopLevelStateSpace = false;
+
+    /**
+     * Stores the first unexpected exception or error thrown by a worker thread.
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    ParallelStateSpaceExploration(StateSpaceGenerator generator) {
+
+        this.generator = generator;
+        this.stateSpace = generator.stateSpace;
+    }
+
+    StateSpace generate() throws StateSpaceGenerationAbortedException {
+
+        List<ProgramState> initialStates = new ArrayList<>();
+        StateExplorationStrategy explorationStrategy = generator.stateExplorationStrategy;
+        while (explorationStrategy.hasUnexploredStates()) {
+            initialStates.add(explorationStrategy.getNextUnexploredState());
+        }
+
+        if (!initialStates.isEmpty()) {
+            ForkJoinPool pool = generator.workerPool;
+            pendingStates.addAndGet(initialStates.size());
+            for (ProgramState state : initialStates) {
+                pool.execute(new ExplorationTask(state));
+            }
+            awaitTermination();
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause != null) {
+            throw new IllegalStateException(cause);
+        }
+
+        StateSpaceGenerationAbortedException abortException = abortion.get();
+        if (abortException != null) {
+            if (!abortedInTopLevelStateSpace) {
+                throw abortException;
+            }
+            generator.totalStatesCounter.addStates(stateSpace.size());
+            return stateSpace;
+        }
+
+        generator.postProcessingStrategy.process(stateSpace);
+        generator.totalStatesCounter.addStates(stateSpace.size());
+        return stateSpace;
+    }
+
+    /**
+     * Waits until all scheduled states have been explored. If the calling thread is a worker of the pool,
+     * e.g. because a procedure call is analysed during parallel exploration, the pool may activate
+     * a spare worker in the meantime.
+     */
+    private void awaitTermination() {
+
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+
+                    terminated.await();
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+
+                    return terminated.getCount() == 0;
+                }
+            });
+        } catch (InterruptedException e) {
+            // stop the remaining tasks, which would otherwise keep running on the shared pool
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel state space generation has been interrupted.");
+        }
+    }
+
+    private void schedule(List<ProgramState> unexploredStates) {
+
+        pendingStates.addAndGet(unexploredStates.size());
+        for (ProgramState state : unexploredStates) {
+            new ExplorationTask(state).fork();
+        }
+    }
+
+    private void finishState() {
+
+        if (pendingStates.decrementAndGet() == 0) {
+            terminated.countDown();
+        }
+    }
+
+    private boolean isStopped() {
+
+        return abortion.get() != null || failure.get() != null;
+    }
+
+    /**
+     * Checks whether state space generation has to be aborted. Has to be called while holding the lock
+     * on the state space.
+     *
+     * @param state The state that is about to be explored.
+     * @return true if and only if exploration of the given state may proceed.
+     */
+    private boolean checkAbortCriteria(ProgramState state) {
+
+        if (isStopped()) {
+            stateSpace.setAborted(state);
+            return false;
+        }
+
+        try {
+            generator.abortStrategy.checkAbort(stateSpace);
+        } catch (StateSpaceGenerationAbortedException e) {
+            stateSpace.setAborted(state);
+            abortedInTopLevelStateSpace = state.isFromTopLevelStateSpace();
+            abortion.set(e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * A task exploring a single state, i.e. computing its materialized or successor states.
+     */
+    private class ExplorationTask extends RecursiveAction {
+
+        private final ProgramState state;
+
+        ExplorationTask(ProgramState state) {
+
+            this.state = state;
+        }
+
+        @Override
+        protected void compute() {
+
+            try {
+                explore();
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                finishState();
+            }
+        }
+
+        private void explore() {
+
+            synchronized (stateSpace) {
+                state.setContainingStateSpace(stateSpace);
+                if (!checkAbortCriteria(state)) {
+                    return;
+                }
+            }
+
+            SemanticsCommand semanticsCommand = generator.semanticsOf(state);
+
+            List<ProgramState> materializedStates = new ArrayList<>(
+                    generator.materializationStrategy.materialize(
+                            state,
+                            semanticsCommand.getPotentialViolationPoints()
+                    )
+            );
+
+            if (!materializedStates.isEmpty()) {
+                if (stateSpace.supportsConcurrentModification()) {
+                    addMaterializedStates(materializedStates);
+                } else {
+                    synchronized (stateSpace) {
+                        addMaterializedStates(materializedStates);
+                    }
+                }
+                schedule(materializedStates);
+                return;
+            }
+
+            Collection<ProgramState> successorStates;
+            if (semanticsCommand.permitsConcurrentExecution()) {
+                successorStates = semanticsCommand.computeSuccessors(state);
+            } else {
+                synchronized (stateSpace) {
+                    successorStates = semanticsCommand.computeSuccessors(state);
+                }
+            }
+
+            synchronized (stateSpace) {
+                if (generator.finalStateStrategy.isFinalState(state, successorStates, semanticsCommand)) {
+                    stateSpace.setFinal(state);
+                    stateSpace.addArtificialInfPathsTransition(state);
+                    return;
+                }
+            }
+
+            List<ProgramState> mergeCandidates = new ArrayList<>();
+            List<ProgramState> chainStates = new ArrayList<>();
+            for (ProgramState nextState : successorStates) {
+                computeAbstractSuccessors(semanticsCommand, nextState, mergeCandidates, chainStates);
+            }
+
+            for (ProgramState successor : mergeCandidates) {
+                labelWithAtomicPropositions(successor);
+            }
+            for (ProgramState successor : chainStates) {
+                labelWithAtomicPropositions(successor);
+            }
+
+            List<ProgramState> unexploredStates;
+            if (stateSpace.supportsConcurrentModification()) {
+                unexploredStates = addSuccessorStates(mergeCandidates, chainStates);
+            } else {
+                synchronized (stateSpace) {
+                    unexploredStates = addSuccessorStates(mergeCandidates, chainStates);
+                }
+            }
+            schedule(unexploredStates);
+        }
+
+        private void addMaterializedStates(List<ProgramState> materializedStates) {
+
+            for (ProgramState m : materializedStates) {
+                stateSpace.addState(m);
+                stateSpace.addMaterializationTransition(state, m);
+            }
+        }
+
+        private void labelWithAtomicPropositions(ProgramState successor) {
+
+            // labeling strategies, e.g. heap automata, are not guaranteed to be thread-safe
+            synchronized (generator.stateLabelingStrategy) {
+                generator.labelWithAtomicPropositions(successor);
+            }
+        }
+
+        /**
+         * Adds all successors of the explored state to the state space.
+         *
+         * @return The successor states that have not been encountered before.
+         */
+        private List<ProgramState> addSuccessorStates(List<ProgramState> mergeCandidates,
+                                                      List<ProgramState> chainStates) {
+
+            List<ProgramState> unexploredStates = new ArrayList<>();
+            for (ProgramState successor : mergeCandidates) {
+                if (stateSpace.addStateIfAbsent(successor)) {
+                    unexploredStates.add(successor);
+                }
+                stateSpace.addControlFlowTransition(state, successor);
+            }
+            for (ProgramState successor : chainStates) {
+                stateSpace.addState(successor);
+                unexploredStates.add(successor);
+                stateSpace.addControlFlowTransition(state, successor);
+            }
+            return unexploredStates;
+        }
+
+        /**
+         * Refines, canonicalizes and rectifies a successor state outside of any lock.
+         *
+         * @param executedCommand The statement that computed nextState.
+         * @param nextState       The successor state computed by executing a statement.
+         * @param mergeCandidates Collects all resulting states that have to be merged with isomorphic states.
+         * @param chainStates     Collects all resulting states that are added without checking for isomorphism.
+         */
+        private void computeAbstractSuccessors(SemanticsCommand executedCommand,
+                                               ProgramState nextState,
+                                               List<ProgramState> mergeCandidates,
+                                               List<ProgramState> chainStates) {
+
+            SemanticsCommand semanticsCommand = generator.semanticsOf(nextState);
+            nextState = generator.refineSuccessorState(executedCommand, nextState);
+
+            if (generator.needsCanonicalization(semanticsCommand, nextState)) {
+                ProgramState abstractedState = generator.canonicalizationStrategy.canonicalize(nextState);
+                mergeCandidates.addAll(generator.stateRectificationStrategy.rectify(abstractedState));
+            } else if (state.isContinueState()) {
+                mergeCandidates.addAll(generator.stateRectificationStrategy.rectify(nextState));
+            } else {
+                chainStates.addAll(generator.stateRectificationStrategy.rectify(nextState));
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package de.rwth.i2.attestor.stateSpaceGeneration;
+
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.Arrays;
+
+/**
+ * A frozen snapshot of the "real" successor states of every state of a {@link StateSpace}, i.e. the
+ * successor states that are considered by the next operator of LTL.
+ * Materialization steps are skipped and final states are followed by their artificial infinite path successors,
+ * which are self-loops.
+ * <p>
+ * The successors are stored in compressed sparse row format: The successors of the state with id i are found
+ * in a single array between positions {@code offsets[i]} (inclusive) and {@code offsets[i+1]} (exclusive).
+ * A RealSuccessorIndex is not modified after construction and may thus be shared by multiple threads.
+ */
+public final class RealSuccessorIndex {
+
+    private final int[] offsets;
+    private final int[] successors;
+
+    private RealSuccessorIndex(StateSpace stateSpace) {
+
+        int[] stateIds = stateSpace.getStateIds();
+        int maxStateId = -1;
+        for (int stateId : stateIds) {
+            maxStateId = Math.max(maxStateId, stateId);
+        }
+        Arrays.sort(stateIds);
+
+        offsets = new int[maxStateId + 2];
+        // lastSource[s] = i + 1 iff s has already been added as a successor of state i.
+        // Transitions may lead to removed states whose ids exceed maxStateId. Hence, lastSource grows on demand.
+        int[] lastSource = new int[maxStateId + 1];
+        TIntArrayList result = new TIntArrayList(stateIds.length);
+        int nextStateId = 0;
+        for (int stateId : stateIds) {
+            while (nextStateId <= stateId) {
+                offsets[nextStateId++] = result.size();
+            }
+
+            TIntArrayList materializationSuccessorIds = stateSpace.getMaterializationSuccessorsIdsOf(stateId);
+            if (!materializationSuccessorIds.isEmpty()) {
+                for (int i = 0; i < materializationSuccessorIds.size(); i++) {
+                    // Every materialisation state is followed by a control flow state
+                    TIntArrayList controlFlowSuccessorIds =
+                            stateSpace.getControlFlowSuccessorsIdsOf(materializationSuccessorIds.get(i));
+                    assert (!controlFlowSuccessorIds.isEmpty());
+                    lastSource = addSuccessors(stateId, controlFlowSuccessorIds, lastSource, result);
+                }
+            } else {
+                lastSource = addSuccessors(stateId, stateSpace.getControlFlowSuccessorsIdsOf(stateId),
+                        lastSource, result);
+                // In case the state is final
+                lastSource = addSuccessors(stateId, stateSpace.getArtificialInfPathsSuccessorsIdsOf(stateId),
+                        lastSource, result);
+            }
+        }
+        while (nextStateId < offsets.length) {
+            offsets[nextStateId++] = result.size();
+        }
+
+        successors = result.toArray();
+    }
+
+    /**
+     * Appends all successors that have not been added for the given state yet to result.
+     *
+     * @return The array lastSource, which is replaced by a larger copy if a successor id exceeds its bounds.
+     */
+    private static int[] addSuccessors(int stateId, TIntArrayList successorIds, int[] lastSource,
+                                       TIntArrayList result) {
+
+        for (int i = 0; i < successorIds.size(); i++) {
+            int successor = successorIds.get(i);
+            if (successor >= lastSource.length) {
+                lastSource = Arrays.copyOf(lastSource, Math.max(successor + 1, 2 * lastSource.length));
+            }
+            if (lastSource[successor] != stateId + 1) {
+                lastSource[successor] = stateId + 1;
+                result.add(successor);
+            }
+        }
+        return lastSource;
+    }
+
+    /**
+     * @param stateSpace A state space that is not modified anymore.
+     * @return The real successor index of the given state space.
+     */
+    public static RealSuccessorIndex of(StateSpace stateSpace) {
+
+        return new RealSuccessorIndex(stateSpace);
+    }
+
+    /**
+     * @param stateId The id of a state in the underlying state space.
+     * @return The number of real successor states of the given state.
+     */
+    public int successorCountOf(int stateId) {
+
+        if (stateId < 0 || stateId >= offsets.length - 1) {
+            return 0;
+        }
+        return offsets[stateId + 1] - offsets[stateId];
+    }
+
+    /**
+     * @param stateId The id of a state in the underlying state space.
+     * @param pos     A position between 0 (inclusive) and {@link #successorCountOf(int)} (exclusive).
+     * @return The id of the real successor state of the given state at the given position.
+     */
+    public int successorAt(int stateId, int pos) {
+
+        return successors[offsets[stateId] + pos];
+    }
+}
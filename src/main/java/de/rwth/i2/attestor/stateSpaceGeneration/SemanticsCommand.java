@@ -17,6 +17,8 @@ public interface SemanticsCommand {
      * Since the abstract program semantics may be non-deterministic (for example if a conditional statement cannot
      * be evaluated), this results in a set of successor program states in general.
      *
+     * The given state may already belong to a state space and must thus never be modified.
+     *
      * @param programState The state on which the abstract program semantics shall be executed.
      * @return All states resulting from executing the program semantics on programState.
      */
@@ -38,4 +40,22 @@ public interface SemanticsCommand {
      */
     boolean needsCanonicalization();
 
+    /**
+     * @return true, if successors of this statement may be computed concurrently with other statements.
+     * Statements that access data shared across the whole analysis, for example procedure contracts,
+     * have to return false.
+     */
+    default boolean permitsConcurrentExecution() {
+        return true;
+    }
+
+    /**
+     * @return true, if every state returned by computeSuccessors is exclusively owned by the caller, i.e. it shares
+     * no mutable data, in particular no heap configuration, with the given state or any other state.
+     * Callers may then modify successor states in place instead of copying them first.
+     */
+    default boolean producesExclusiveSuccessors() {
+        return false;
+    }
+
 }
@@ -15,6 +15,13 @@ public class StateCanonicalizationStrategy {
         return heapStrategy;
     }
 
+    /**
+     * @return true if and only if states may be canonicalized by multiple threads without additional synchronization.
+     */
+    public boolean isThreadSafe() {
+        return heapStrategy.isThreadSafe();
+    }
+
     public ProgramState canonicalize(ProgramState state) {
 
         return state.shallowCopyWithUpdateHeap(
@@ -22,6 +22,22 @@ public class StateMaterializationStrategy {
         return heapStrategy;
     }
 
+    /**
+     * @return true if and only if states may be materialized by multiple threads without additional synchronization.
+     */
+    public boolean isThreadSafe() {
+        return heapStrategy.isThreadSafe();
+    }
+
+    /**
+     * Materializes the heap of the given state until all violation points are removed.
+     * The materialized heaps are fresh copies. Hence, every returned state is exclusively owned by the caller,
+     * see {@link SemanticsCommand#producesExclusiveSuccessors()}, while the given state remains unchanged.
+     *
+     * @param state           The state to materialize.
+     * @param violationPoints The violation points that have to be removed.
+     * @return All materialized states or an empty collection if no materialization is necessary.
+     */
     public Collection<ProgramState> materialize(ProgramState state, ViolationPoints violationPoints) {
 
         Collection<HeapConfiguration> materializedHeaps = heapStrategy.materialize(state.getHeap(), violationPoints);
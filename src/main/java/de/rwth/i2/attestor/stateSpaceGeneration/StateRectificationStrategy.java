@@ -5,4 +5,12 @@ import java.util.Collection;
 public interface StateRectificationStrategy {
 
     Collection<ProgramState> rectify(ProgramState state);
+
+    /**
+     * @return true if and only if {@link #rectify(ProgramState)} may be called by multiple
+     * threads without additional synchronization.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
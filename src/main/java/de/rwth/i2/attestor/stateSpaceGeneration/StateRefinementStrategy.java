@@ -3,4 +3,26 @@ package de.rwth.i2.attestor.stateSpaceGeneration;
 public interface StateRefinementStrategy {
 
     ProgramState refine(SemanticsCommand semanticsCommand, ProgramState state);
+
+    /**
+     * Refines a state that is exclusively owned by the caller, see
+     * {@link SemanticsCommand#producesExclusiveSuccessors()}. The state may thus be modified in place.
+     *
+     * @param semanticsCommand The statement that is executed next on the given state.
+     * @param state            The state to refine.
+     * @return The refined state.
+     */
+    default ProgramState refineExclusiveState(SemanticsCommand semanticsCommand, ProgramState state) {
+
+        return refine(semanticsCommand, state);
+    }
+
+    /**
+     * @return true if and only if {@link #refine(SemanticsCommand, ProgramState)} and
+     * {@link #refineExclusiveState(SemanticsCommand, ProgramState)} may be called by multiple
+     * threads without additional synchronization.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -10,6 +10,21 @@ public interface StateSpace {
 
     Set<ProgramState> getStates();
 
+    /**
+     * @return The ids of all states in this state space. In contrast to {@link #getStates()}, this does not
+     * require to access the states themselves.
+     */
+    default int[] getStateIds() {
+
+        Set<ProgramState> states = getStates();
+        int[] result = new int[states.size()];
+        int count = 0;
+        for (ProgramState state : states) {
+            result[count++] = state.getStateSpaceId();
+        }
+        return result;
+    }
+
     Set<ProgramState> getInitialStates();
 
     TIntSet getInitialStateIds();
@@ -58,5 +73,22 @@ public interface StateSpace {
 
     boolean satisfiesAP(int stateId, String expectedAP);
 
-
+    /**
+     * @return true if and only if states and transitions may be added to this state space by multiple
+     * threads without additional synchronization.
+     */
+    default boolean supportsConcurrentModification() {
+        return false;
+    }
+
+    /**
+     * Exports the successor relation that is relevant for model checking, i.e. materialization steps are skipped
+     * and final states are followed by their artificial infinite path successors.
+     * The result is a frozen snapshot: states and transitions added afterwards are not reflected.
+     *
+     * @return The real successors of all states in this state space.
+     */
+    default RealSuccessorIndex exportRealSuccessors() {
+        return RealSuccessorIndex.of(this);
+    }
 }
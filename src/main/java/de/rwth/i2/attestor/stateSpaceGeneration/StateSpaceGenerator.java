@@ -2,6 +2,7 @@ package de.rwth.i2.attestor.stateSpaceGeneration;
 
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A StateSpaceGenerator takes an analysis and generates a
@@ -83,6 +84,15 @@ public class StateSpaceGenerator {
     FinalStateStrategy finalStateStrategy;
 
     boolean alwaysCanonicalize = false;
+    /**
+     * The number of worker threads used to explore states.
+     * A value of 1 results in a purely sequential state space generation.
+     */
+    int parallelism = 1;
+    /**
+     * The pool of worker threads used to explore states if parallelism is greater than 1.
+     */
+    ForkJoinPool workerPool;
 
     protected StateSpaceGenerator() {
     }
@@ -110,6 +120,8 @@ public class StateSpaceGenerator {
                 .setStateCounter(stateSpaceGenerator.getTotalStatesCounter())
                 .setFinalStateStrategy(stateSpaceGenerator.getFinalStateStrategy())
                 .setAlwaysCanonicalize(stateSpaceGenerator.isAlwaysCanonicalize())
+                .setParallelism(stateSpaceGenerator.getParallelism())
+                .setWorkerPool(stateSpaceGenerator.getWorkerPool())
                 .setPostProcessingStrategy(stateSpaceGenerator.getPostProcessingStrategy());
     }
 
@@ -117,6 +129,20 @@ public class StateSpaceGenerator {
         return alwaysCanonicalize;
     }
 
+    /**
+     * @return The number of worker threads used to explore states.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return The pool of worker threads used to explore states; null if states are explored sequentially.
+     */
+    public ForkJoinPool getWorkerPool() {
+        return workerPool;
+    }
+
     /**
      * @return The strategy determining when state space generation is aborted.
      */
@@ -194,6 +220,18 @@ public class StateSpaceGenerator {
         return finalStateStrategy;
     }
 
+    /**
+     * @return true if and only if all strategies that are applied concurrently during parallel exploration
+     * may be called by multiple threads without additional synchronization.
+     */
+    private boolean hasThreadSafeStrategies() {
+
+        return materializationStrategy.isThreadSafe()
+                && canonicalizationStrategy.isThreadSafe()
+                && stateRefinementStrategy.isThreadSafe()
+                && stateRectificationStrategy.isThreadSafe();
+    }
+
     /**
      * Attempts to generate a StateSpace according to the
      * underlying analysis.
@@ -202,6 +240,10 @@ public class StateSpaceGenerator {
      */
     public StateSpace generate() throws StateSpaceGenerationAbortedException {
 
+        if (parallelism > 1 && hasThreadSafeStrategies()) {
+            return new ParallelStateSpaceExploration(this).generate();
+        }
+
         while (stateExplorationStrategy.hasUnexploredStates()) {
 
             ProgramState state = stateExplorationStrategy.getNextUnexploredState();
@@ -222,7 +264,7 @@ public class StateSpaceGenerator {
                     stateSpace.addArtificialInfPathsTransition(state); // Add self-loop to each final state
                 } else {
                     for(ProgramState nextState : successorStates) {
-                        handleSuccessorState(state, nextState);
+                        handleSuccessorState(state, nextState, stateSemanticsCommand);
                     }
                 }
             }
@@ -259,7 +301,7 @@ public class StateSpaceGenerator {
     }
 
 
-    private SemanticsCommand semanticsOf(ProgramState state) {
+    SemanticsCommand semanticsOf(ProgramState state) {
 
         return program.getStatement(state.getProgramCounter());
     }
@@ -291,17 +333,34 @@ public class StateSpaceGenerator {
         return materialized.isEmpty();
     }
 
-    private void labelWithAtomicPropositions(ProgramState state) {
+    void labelWithAtomicPropositions(ProgramState state) {
 
         if(state.isFromTopLevelStateSpace()) {
             stateLabelingStrategy.computeAtomicPropositions(state);
         }
     }
 
-    private void handleSuccessorState(ProgramState state, ProgramState nextState) {
+    /**
+     * Refines a successor state computed by the given statement.
+     * The successor is modified in place if the statement guarantees exclusive ownership of its successors.
+     *
+     * @param executedCommand The statement that computed the given successor state.
+     * @param nextState       The successor state.
+     * @return The refined successor state.
+     */
+    ProgramState refineSuccessorState(SemanticsCommand executedCommand, ProgramState nextState) {
+
+        SemanticsCommand semanticsCommand = semanticsOf(nextState);
+        if (executedCommand.producesExclusiveSuccessors()) {
+            return stateRefinementStrategy.refineExclusiveState(semanticsCommand, nextState);
+        }
+        return stateRefinementStrategy.refine(semanticsCommand, nextState);
+    }
+
+    private void handleSuccessorState(ProgramState state, ProgramState nextState, SemanticsCommand executedCommand) {
 
         SemanticsCommand semanticsCommand = semanticsOf(nextState);
-        nextState = stateRefinementStrategy.refine(semanticsCommand, nextState);
+        nextState = refineSuccessorState(executedCommand, nextState);
 
         if(needsCanonicalization(semanticsCommand, nextState)) {
             ProgramState abstractedState = canonicalizationStrategy.canonicalize(nextState);
@@ -321,7 +380,7 @@ public class StateSpaceGenerator {
         }
     }
 
-    private boolean needsCanonicalization(SemanticsCommand semanticsCommand, ProgramState state) {
+    boolean needsCanonicalization(SemanticsCommand semanticsCommand, ProgramState state) {
         return alwaysCanonicalize || semanticsCommand.needsCanonicalization()
                 || program.countPredecessors(state.getProgramCounter()) > 1;
     }
@@ -5,6 +5,7 @@ import de.rwth.i2.attestor.grammar.materialization.strategies.MaterializationStr
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class provides methodExecution to safely initialize a StateSpaceGenerator.
@@ -103,6 +104,10 @@ public class StateSpaceGeneratorBuilder {
             throw new IllegalStateException("StateSpaceGenerator: No admissibility strategy.");
         }
 
+        if (generator.parallelism > 1 && generator.workerPool == null) {
+            throw new IllegalStateException("StateSpaceGenerator: No worker pool for parallel exploration.");
+        }
+
         if(initialStateSpace == null) {
             generator.stateSpace = generator.stateSpaceSupplier.get();
         } else {
@@ -113,9 +118,12 @@ public class StateSpaceGeneratorBuilder {
 
             if(initialStateSpace == null) {
                 state.setProgramCounter(0);
-                generator.stateSpace.addInitialState(state);
             }
+            // label states before adding them since state spaces keep snapshots of their labels
             generator.stateLabelingStrategy.computeAtomicPropositions(state);
+            if(initialStateSpace == null) {
+                generator.stateSpace.addInitialState(state);
+            }
             generator.stateExplorationStrategy.addUnexploredState(state, false);
         }
 
@@ -275,4 +283,35 @@ public class StateSpaceGeneratorBuilder {
         return this;
     }
 
+    /**
+     * Optional method to explore states using multiple worker threads.
+     * The resulting state space is isomorphic to the one obtained by a sequential exploration.
+     * A parallelism greater than 1 requires a worker pool, see {@link #setWorkerPool(ForkJoinPool)}.
+     * States are nevertheless explored sequentially unless all strategies used during exploration are thread-safe.
+     * @param parallelism The number of worker threads. A value of 1 disables parallel exploration.
+     * @return The builder.
+     */
+    public StateSpaceGeneratorBuilder setParallelism(int parallelism) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("StateSpaceGenerator: Parallelism must be positive.");
+        }
+        generator.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Method to determine the pool of worker threads used for parallel exploration.
+     * It is mandatory if parallelism is greater than 1.
+     * The pool may be shared by several state space generators, e.g. by the generators of nested procedure calls.
+     * It is owned by the caller, i.e. generators never shut it down.
+     * @param workerPool The pool of worker threads.
+     * @return The builder.
+     */
+    public StateSpaceGeneratorBuilder setWorkerPool(ForkJoinPool workerPool) {
+
+        generator.workerPool = workerPool;
+        return this;
+    }
+
 }
@@ -0,0 +1,83 @@
+package de.rwth.i2.attestor.grammar;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
+import de.rwth.i2.attestor.types.Type;
+import de.rwth.i2.attestor.types.Types;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FeatureSignatureTest {
+
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setUp() {
+
+        hcFactory = new ExampleHcImplFactory(new MockupSceneObject());
+    }
+
+    @Test
+    public void testRuleCoveredByHeapWithEmbedding() {
+
+        FeatureSignature rule = FeatureSignature.of(hcFactory.getListRule1());
+
+        assertTrue(rule.isCoveredBy(FeatureSignature.of(hcFactory.getList())));
+        assertTrue(rule.isCoveredBy(FeatureSignature.of(hcFactory.getListRule1())));
+    }
+
+    @Test
+    public void testMissingLabelsAreNotCovered() {
+
+        FeatureSignature selectorRule = FeatureSignature.of(hcFactory.getListRule1());
+        FeatureSignature nonterminalRule = FeatureSignature.of(hcFactory.getListRule2());
+        FeatureSignature handle = FeatureSignature.of(hcFactory.getSLLHandle());
+
+        assertFalse(selectorRule.isCoveredBy(handle));
+        assertFalse(nonterminalRule.isCoveredBy(FeatureSignature.of(hcFactory.getList())));
+    }
+
+    @Test
+    public void testNullNodeCoversNonConstantType() {
+
+        Type listType = hcFactory.scene().getType("List");
+        SelectorLabel next = hcFactory.scene().getSelectorLabel("next");
+
+        TIntArrayList nodes = new TIntArrayList();
+        HeapConfiguration pattern = new InternalHeapConfiguration().builder()
+                .addNodes(listType, 2, nodes)
+                .addSelector(nodes.get(0), next, nodes.get(1))
+                .build();
+
+        nodes.clear();
+        HeapConfiguration target = new InternalHeapConfiguration().builder()
+                .addNodes(listType, 1, nodes)
+                .addNodes(Types.NULL, 1, nodes)
+                .addSelector(nodes.get(0), next, nodes.get(1))
+                .build();
+
+        assertTrue(FeatureSignature.of(pattern).isCoveredBy(FeatureSignature.of(target)));
+        assertFalse(FeatureSignature.of(target).isCoveredBy(FeatureSignature.of(pattern)));
+    }
+
+    @Test
+    public void testGrammarProvidesSignaturesOfRightHandSides() {
+
+        Nonterminal listLabel = hcFactory.scene().createNonterminal("List", 2, new boolean[]{false, true});
+        HeapConfiguration rhs = hcFactory.getListRule1();
+
+        Grammar grammar = Grammar.builder()
+                .addRule(listLabel, rhs)
+                .build();
+
+        assertNotNull(grammar.getSignatureOf(rhs));
+        assertNull(grammar.getSignatureOf(hcFactory.getListRule1()));
+    }
+}
@@ -2,6 +2,7 @@ package de.rwth.i2.attestor.grammar.canoncalization.moduleTest;
 
 import de.rwth.i2.attestor.MockupSceneObject;
 import de.rwth.i2.attestor.grammar.AbstractionOptions;
+import de.rwth.i2.attestor.grammar.CollapsedHeapConfiguration;
 import de.rwth.i2.attestor.grammar.Grammar;
 import de.rwth.i2.attestor.grammar.canonicalization.CanonicalizationHelper;
 import de.rwth.i2.attestor.grammar.canonicalization.EmbeddingCheckerProvider;
@@ -20,6 +21,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 public class CanonicalizationStrategyTest {
@@ -30,6 +32,8 @@ public class CanonicalizationStrategyTest {
     private SceneObject sceneObject;
     private ExampleHcImplFactory hcFactory;
 
+    private Grammar grammar;
+    private EmbeddingCheckerProvider checkerProvider;
     private GeneralCanonicalizationStrategy canonicalizationStrategy;
 
     @Before
@@ -40,7 +44,7 @@ public class CanonicalizationStrategyTest {
 
         Nonterminal listLabel = sceneObject.scene().createNonterminal("List", 2, new boolean[]{false, true});
 
-        Grammar grammar = Grammar.builder()
+        grammar = Grammar.builder()
                 .addRule(listLabel, hcFactory.getListRule1())
                 .addRule(listLabel, hcFactory.getListRule2())
                 .addRule(listLabel, hcFactory.getListRule3())
@@ -53,7 +57,7 @@ public class CanonicalizationStrategyTest {
                 );
 
 
-        EmbeddingCheckerProvider checkerProvider = new EmbeddingCheckerProvider(options);
+        checkerProvider = new EmbeddingCheckerProvider(options);
         CanonicalizationHelper canonicalizationHelper = new DefaultCanonicalizationHelper(checkerProvider);
 
         canonicalizationStrategy = new GeneralCanonicalizationStrategy(grammar, canonicalizationHelper);
@@ -145,4 +149,126 @@ public class CanonicalizationStrategyTest {
 
         assertEquals(expected, state.getHeap());
     }
+
+    @Test
+    public void testIncrementalCanonicalization() {
+
+        CountingCanonicalizationHelper incrementalHelper = new CountingCanonicalizationHelper(true);
+        CountingCanonicalizationHelper restartingHelper = new CountingCanonicalizationHelper(false);
+
+        GeneralCanonicalizationStrategy incremental = new GeneralCanonicalizationStrategy(grammar, incrementalHelper);
+        GeneralCanonicalizationStrategy restarting = new GeneralCanonicalizationStrategy(grammar, restartingHelper);
+
+        HeapConfiguration incrementalResult = incremental.canonicalize(hcFactory.getLongConcreteSLL());
+        HeapConfiguration restartingResult = restarting.canonicalize(hcFactory.getLongConcreteSLL());
+
+        assertEquals(hcFactory.getSLLHandle(), incrementalResult);
+        assertEquals(restartingResult, incrementalResult);
+        assertTrue(incrementalHelper.attempts <= restartingHelper.attempts);
+        assertTrue(consideredRules(incremental) < consideredRules(restarting));
+    }
+
+    @Test
+    public void testRuleIndexPrunesEmbeddingSearches() {
+
+        HeapConfiguration result = canonicalizationStrategy.canonicalize(hcFactory.getLongConcreteSLL());
+
+        assertEquals(hcFactory.getSLLHandle(), result);
+        assertTrue(canonicalizationStrategy.getNumberOfEmbeddingSearches() > 0);
+        assertTrue(canonicalizationStrategy.getNumberOfPrunedEmbeddingSearches() > 0);
+    }
+
+    @Test
+    public void testBatchedReplacement() {
+
+        CountingCanonicalizationHelper batchingHelper = new CountingCanonicalizationHelper(true);
+        CountingCanonicalizationHelper restartingHelper = new CountingCanonicalizationHelper(false);
+
+        HeapConfiguration test = hcFactory.getCanonizationTest2();
+        HeapConfiguration batchedResult = new GeneralCanonicalizationStrategy(grammar, batchingHelper)
+                .canonicalize(test);
+        HeapConfiguration restartingResult = new GeneralCanonicalizationStrategy(grammar, restartingHelper)
+                .canonicalize(test);
+
+        assertEquals(hcFactory.getCanonizationRes1(), batchedResult);
+        assertEquals(restartingResult, batchedResult);
+        assertTrue(batchingHelper.batches > 0);
+        assertEquals(0, restartingHelper.batches);
+    }
+
+    @Test
+    public void testBatchedReplacementEqualsSequentialReplacement() {
+
+        HeapConfiguration sllWithVariables = hcFactory.getLongConcreteSLL().clone();
+        TIntArrayList nodes = sllWithVariables.nodes();
+        sllWithVariables.builder()
+                .addVariableEdge("x", nodes.get(0))
+                .addVariableEdge("y", nodes.get(4))
+                .build();
+
+        HeapConfiguration[] inputs = {
+                hcFactory.getCanonizationTest1(),
+                hcFactory.getCanonizationTest2(),
+                hcFactory.getCanonizationTest3(),
+                hcFactory.getCyclicList(),
+                hcFactory.getLongConcreteSLL(),
+                sllWithVariables
+        };
+
+        for (HeapConfiguration input : inputs) {
+            HeapConfiguration batchedResult = new GeneralCanonicalizationStrategy(grammar,
+                    new CountingCanonicalizationHelper(true)).canonicalize(input);
+            HeapConfiguration sequentialResult = new GeneralCanonicalizationStrategy(grammar,
+                    new CountingCanonicalizationHelper(false)).canonicalize(input);
+            assertEquals(sequentialResult, batchedResult);
+        }
+    }
+
+    private long consideredRules(GeneralCanonicalizationStrategy strategy) {
+
+        return strategy.getNumberOfEmbeddingSearches() + strategy.getNumberOfPrunedEmbeddingSearches();
+    }
+
+    private class CountingCanonicalizationHelper extends DefaultCanonicalizationHelper {
+
+        private final boolean localReplacements;
+        private int attempts = 0;
+        private int batches = 0;
+
+        CountingCanonicalizationHelper(boolean localReplacements) {
+
+            super(checkerProvider);
+            this.localReplacements = localReplacements;
+        }
+
+        @Override
+        public HeapConfiguration tryReplaceMatching(HeapConfiguration toAbstract,
+                                                    HeapConfiguration rhs, Nonterminal lhs) {
+
+            ++attempts;
+            return super.tryReplaceMatching(toAbstract, rhs, lhs);
+        }
+
+        @Override
+        public HeapConfiguration tryReplaceMatching(HeapConfiguration toAbstract,
+                                                    CollapsedHeapConfiguration rhs, Nonterminal lhs) {
+
+            ++attempts;
+            return super.tryReplaceMatching(toAbstract, rhs, lhs);
+        }
+
+        @Override
+        public HeapConfiguration tryReplaceAllMatchings(HeapConfiguration toAbstract,
+                                                        HeapConfiguration rhs, Nonterminal lhs) {
+
+            ++batches;
+            return super.tryReplaceAllMatchings(toAbstract, rhs, lhs);
+        }
+
+        @Override
+        public boolean hasLocalReplacements() {
+
+            return localReplacements;
+        }
+    }
 }
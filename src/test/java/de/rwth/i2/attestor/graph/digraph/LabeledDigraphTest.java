@@ -4,6 +4,7 @@ import de.rwth.i2.attestor.graph.heap.Variable;
 import gnu.trove.list.array.TIntArrayList;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -420,6 +421,67 @@ public class LabeledDigraphTest {
         assertEquals(1, copy.predecessorsOf(2).get(1));
     }
 
+    @Test
+    public void copyIsolationTest() {
+
+        LabeledDigraph digraph = new LabeledDigraph(7);
+        addNodeWithVariableLabel(digraph, "x", 3, 3);
+        addNodeWithVariableLabel(digraph, "y", 3, 3);
+        addNodeWithVariableLabel(digraph, "z", 3, 3);
+        digraph.addEdge(0, "e1", 1);
+        digraph.addEdge(1, "e1", 2);
+        digraph.addEdge(2, "e2", 2);
+
+        LabeledDigraph copy = new LabeledDigraph(digraph);
+        copy.addEdge(0, "e2", 1);
+        copy.replaceEdgeLabel(0, "e1", "e3");
+        copy.removeEdgeAt(1, 0);
+        copy.removeNodeAt(2);
+        copy.pack();
+
+        assertEquals(3, digraph.size());
+        assertEquals(1, digraph.successorSizeOf(0));
+        assertEquals("e1", digraph.edgeLabelAt(0, 0));
+        assertEquals(2, digraph.successorsOf(1).get(0));
+        assertEquals(1, digraph.predecessorSizeOf(1));
+        assertEquals(2, digraph.predecessorSizeOf(2));
+
+        digraph.removeEdgeAt(0, 0);
+
+        assertEquals(2, copy.size());
+        assertEquals(2, copy.successorSizeOf(0));
+        assertEquals("e3", copy.edgeLabelAt(0, 0));
+        assertEquals("e2", copy.edgeLabelAt(0, 1));
+        assertEquals(2, copy.predecessorSizeOf(1));
+        assertEquals(0, copy.successorSizeOf(1));
+    }
+
+    @Test
+    public void frozenCopyIsolationTest() {
+
+        LabeledDigraph digraph = new LabeledDigraph(7);
+        addNodeWithVariableLabel(digraph, "x", 3, 3);
+        addNodeWithVariableLabel(digraph, "y", 3, 3);
+        digraph.addEdge(0, "e1", 1);
+        digraph.freeze();
+
+        LabeledDigraph firstCopy = new LabeledDigraph(digraph);
+        LabeledDigraph secondCopy = new LabeledDigraph(digraph);
+
+        digraph.addEdge(0, "e2", 1);
+        firstCopy.removeEdgeAt(0, 0);
+        LabeledDigraph copyOfCopy = new LabeledDigraph(secondCopy);
+        secondCopy.replaceEdgeLabel(0, "e1", "e3");
+
+        assertEquals(2, digraph.successorSizeOf(0));
+        assertEquals(2, digraph.predecessorSizeOf(1));
+        assertEquals(0, firstCopy.successorSizeOf(0));
+        assertEquals(0, firstCopy.predecessorSizeOf(1));
+        assertEquals("e3", secondCopy.edgeLabelAt(0, 0));
+        assertEquals(1, copyOfCopy.successorSizeOf(0));
+        assertEquals("e1", copyOfCopy.edgeLabelAt(0, 0));
+    }
+
     @Test
     public void externalNodeAtTest() {
 
@@ -435,4 +497,73 @@ public class LabeledDigraphTest {
         assertEquals(LabeledDigraph.INVALID, digraph.externalNodeAt(3));
     }
 
+    @Test
+    public void edgeLabelComparisonTest() {
+
+        LabeledDigraph digraph = new LabeledDigraph(3);
+        addNodeWithVariableLabel(digraph, "x", 3, 3);
+        addNodeWithVariableLabel(digraph, "y", 3, 3);
+        addNodeWithVariableLabel(digraph, "z", 3, 3);
+        digraph.addEdge(0, "e1", 1);
+        digraph.addEdge(0, "e2", 1);
+        digraph.addEdge(0, "e1", 2);
+        digraph.addEdge(2, "e1", 1);
+
+        assertTrue(digraph.hasEqualEdgeLabels(0, 2, digraph, 2, 1));
+        assertFalse(digraph.hasEqualEdgeLabels(0, 1, digraph, 2, 1));
+        assertTrue(digraph.hasCoveredEdgeLabels(0, 2, digraph, 0, 1));
+        assertFalse(digraph.hasCoveredEdgeLabels(0, 1, digraph, 0, 2));
+        assertTrue(digraph.hasCoveredEdgeLabels(1, 0, digraph, 0, 2));
+
+        LabeledDigraph copy = new LabeledDigraph(digraph);
+        copy.addEdge(0, "e1", 2);
+        assertFalse(digraph.hasEqualEdgeLabels(0, 2, copy, 0, 2));
+        assertTrue(digraph.hasCoveredEdgeLabels(0, 2, copy, 0, 2));
+        assertFalse(copy.hasCoveredEdgeLabels(0, 2, digraph, 0, 2));
+    }
+
+    @Test
+    public void frozenGraphTest() {
+
+        LabelIds labelIds = new LabelIds();
+        LabeledDigraph digraph = new LabeledDigraph(3);
+        addNodeWithVariableLabel(digraph, "x", 3, 3);
+        addNodeWithVariableLabel(digraph, "y", 3, 3);
+        addNodeWithVariableLabel(digraph, "z", 3, 3);
+        digraph.addEdge(0, "e1", 1);
+        digraph.addEdge(0, "e2", 2);
+        digraph.addEdge(2, "e1", 1);
+        digraph.addEdge(1, "e3", 1);
+        digraph.freeze(labelIds);
+
+        assertEquals(2, digraph.successorSizeOf(0));
+        assertEquals(2, digraph.successorAt(0, 1));
+        assertEquals("e2", digraph.edgeLabelAt(0, 1));
+        assertEquals(3, digraph.predecessorSizeOf(1));
+        assertEquals(2, digraph.predecessorAt(1, 1));
+        assertTrue(digraph.hasEdge(1, 1));
+        assertFalse(digraph.hasEdge(1, 0));
+        assertEquals(new TIntArrayList(new int[]{1, 2}), digraph.successorsOf(0));
+        assertEquals(Arrays.asList("e1", "e2"), digraph.outgoingEdgeLabelsOf(0));
+        assertEquals(1, digraph.posOfEdgeLabel(0, "e2"));
+
+        LabeledDigraph copy = new LabeledDigraph(digraph);
+        copy.addEdge(0, "e1", 2);
+        copy.removeNodeAt(1);
+
+        assertEquals(2, digraph.successorSizeOf(0));
+        assertEquals(3, digraph.predecessorSizeOf(1));
+        assertEquals(2, copy.successorSizeOf(0));
+        assertEquals(2, copy.predecessorSizeOf(2));
+        assertEquals(0, copy.successorSizeOf(2));
+
+        copy.freeze(labelIds);
+        assertTrue(digraph.hasCoveredEdgeLabels(0, 2, copy, 0, 2));
+        assertFalse(digraph.hasEqualEdgeLabels(0, 2, copy, 0, 2));
+        assertTrue(digraph.hasEqualEdgeLabels(0, 1, digraph, 2, 1));
+
+        digraph.replaceEdgeLabel(0, "e2", "e1");
+        assertTrue(digraph.hasEqualEdgeLabels(0, 2, digraph, 2, 1));
+        assertFalse(copy.hasCoveredEdgeLabels(0, 2, digraph, 0, 2));
+    }
 }
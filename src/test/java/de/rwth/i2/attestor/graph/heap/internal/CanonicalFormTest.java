@@ -0,0 +1,72 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CanonicalFormTest {
+
+    private ExampleHcImplFactory hcFactory;
+
+    @Before
+    public void setUp() {
+
+        hcFactory = new ExampleHcImplFactory(new MockupSceneObject());
+    }
+
+    @Test
+    public void testIsomorphicHeapsHaveSameCanonicalForm() {
+
+        byte[] form = canonicalFormOf(hcFactory.getInput_testHash());
+        byte[] permutedForm = canonicalFormOf(hcFactory.getInput_testHash_Permuted());
+
+        assertNotNull(form);
+        assertArrayEquals(form, permutedForm);
+    }
+
+    @Test
+    public void testDifferentHeapsHaveDifferentCanonicalForms() {
+
+        HeapConfiguration list = hcFactory.getList();
+        HeapConfiguration shiftedList = hcFactory.getList();
+        int x = shiftedList.variableWith("x");
+        int second = shiftedList.successorNodesOf(shiftedList.targetOf(x)).get(0);
+        shiftedList.builder()
+                .removeVariableEdge(x)
+                .addVariableEdge("x", second)
+                .build();
+
+        assertFalse(Arrays.equals(canonicalFormOf(list), canonicalFormOf(shiftedList)));
+        assertNotNull(canonicalFormOf(hcFactory.getTLLRule()));
+    }
+
+    @Test
+    public void testSymmetricHeapFallsBackToIsomorphismCheck() {
+
+        HeapConfiguration symmetric = isolatedNodes();
+
+        assertNull(canonicalFormOf(symmetric));
+        assertEquals(symmetric, isolatedNodes());
+        assertNotEquals(symmetric, hcFactory.getList());
+    }
+
+    private HeapConfiguration isolatedNodes() {
+
+        Type type = hcFactory.scene().getType("List");
+        return hcFactory.scene().createHeapConfiguration().builder()
+                .addNodes(type, 8, new TIntArrayList())
+                .build();
+    }
+
+    private byte[] canonicalFormOf(HeapConfiguration hc) {
+
+        return CanonicalForm.of(((InternalHeapConfiguration) hc).graph, hcFactory.scene().labels().labelIds());
+    }
+}
@@ -27,12 +27,12 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getEmptyHc() {
 
-        return new InternalHeapConfiguration();
+        return scene().createHeapConfiguration();
     }
 
     public HeapConfiguration getSimpleDLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         SelectorLabel sel = scene().getSelectorLabel("next");
         Nonterminal nt = scene().createNonterminal("3", 3, new boolean[]{false, false, false});
         Type type = scene().getType("node");
@@ -49,7 +49,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getBadTwoElementDLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         SelectorLabel next = scene().getSelectorLabel("next");
         SelectorLabel prev = scene().getSelectorLabel("prev");
         Type type = scene().getType("node");
@@ -67,7 +67,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTwoElementDLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         SelectorLabel next = scene().getSelectorLabel("next");
         SelectorLabel prev = scene().getSelectorLabel("prev");
         Type type = scene().getType("node");
@@ -84,7 +84,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getThreeElementDLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         SelectorLabel next = scene().getSelectorLabel("next");
         SelectorLabel prev = scene().getSelectorLabel("prev");
         Type type = scene().getType("node");
@@ -126,7 +126,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getFiveElementDLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         SelectorLabel next = scene().getSelectorLabel("next");
         SelectorLabel prev = scene().getSelectorLabel("prev");
         Type type = scene().getType("node");
@@ -149,7 +149,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getBrokenFourElementDLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         SelectorLabel next = scene().getSelectorLabel("next");
         SelectorLabel prev = scene().getSelectorLabel("prev");
         Type type = scene().getType("node");
@@ -170,7 +170,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTLLRule() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         SelectorLabel left = scene().getSelectorLabel("left");
@@ -202,7 +202,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTLLRulePermuted() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         Type type = scene().getType("node");
         TIntArrayList nodes = new TIntArrayList();
 
@@ -230,7 +230,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTree() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         Type type = scene().getType("node");
         TIntArrayList nodes = new TIntArrayList();
 
@@ -248,7 +248,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getLargerTree() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         Type type = scene().getType("node");
         TIntArrayList nodes = new TIntArrayList();
 
@@ -270,7 +270,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getLargerTreeWithOutExternals() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         Type type = scene().getType("node");
         TIntArrayList nodes = new TIntArrayList();
 
@@ -290,7 +290,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getListAndConstants() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         SelectorLabel next = scene().getSelectorLabel("next");
@@ -318,7 +318,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getEmptyGraphWithConstants() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("node");
@@ -337,7 +337,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getList() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         SelectorLabel next = scene().getSelectorLabel("next");
@@ -357,7 +357,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getCyclicList() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -380,7 +380,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getAbstractCyclicList() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -399,7 +399,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getAbstractList() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -418,7 +418,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getListAndConstantsWithChange() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -616,7 +616,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getListRule1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -633,7 +633,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getListRule2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -652,7 +652,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getListRule3() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         Nonterminal listLabel = scene().createNonterminal("List", 2, new boolean[]{false, true});
@@ -670,7 +670,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getListRule2Test() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -688,7 +688,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getListRule2TestFail() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -706,7 +706,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTestForListRule3() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         Nonterminal listLabel = scene().createNonterminal("List", 2, new boolean[]{false, true});
@@ -726,7 +726,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTestForListRule3Fail() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         Nonterminal listLabel = scene().createNonterminal("List", 2, new boolean[]{false, true});
@@ -743,7 +743,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getDLLRule1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("DLL");
         SelectorLabel nextSel = scene().getSelectorLabel("n");
@@ -762,7 +762,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getDLLRule2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("DLL");
         SelectorLabel nextSel = scene().getSelectorLabel("n");
@@ -783,7 +783,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration get4DLLRule1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("DLL");
         SelectorLabel nextSel = scene().getSelectorLabel("n");
@@ -806,7 +806,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration get4DLLRule2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("DLL");
         SelectorLabel nextSel = scene().getSelectorLabel("n");
@@ -829,7 +829,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration get4DLLRule3() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("DLL");
         SelectorLabel nextSel = scene().getSelectorLabel("n");
@@ -852,7 +852,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration get4DLLRule4() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("DLL");
         Nonterminal listLabel = scene().createNonterminal("DLL4", 4, new boolean[]{false, false});
@@ -896,7 +896,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getMaterializationTest() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         Nonterminal listLabel = scene().createNonterminal("List", 2, new boolean[]{false, true});
@@ -912,7 +912,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getMaterializationRes1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -928,7 +928,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getMaterializationRes2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
 
@@ -947,7 +947,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTrivialCyclicSLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -965,7 +965,7 @@ public final class ExampleHcImplFactory extends SceneObject {
      */
     public HeapConfiguration getCanonizationTest1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -980,7 +980,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getCyclicListHandle() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         Nonterminal listLabel = scene().createNonterminal("List", 2, new boolean[]{false, true});
@@ -995,7 +995,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getCanonizationRes1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         Nonterminal listLabel = scene().createNonterminal("List", 2, new boolean[]{false, true});
@@ -1010,7 +1010,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getCanonizationRes3() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         Nonterminal listLabel = scene().createNonterminal("List", 2, new boolean[]{false, true});
@@ -1029,7 +1029,7 @@ public final class ExampleHcImplFactory extends SceneObject {
      */
     public HeapConfiguration getCanonizationTest2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -1045,7 +1045,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getCanonizationTest3() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("List");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -1075,7 +1075,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getLongListRule1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
 
         Type listType = scene().getType("de.rwth.i2.attestor.abstraction.programs.LongList");
         SelectorLabel nextSel = scene().getSelectorLabel("next");
@@ -1092,7 +1092,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getLongListRule2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type listType = scene().getType("de.rwth.i2.attestor.abstraction.programs.LongList");
@@ -1110,7 +1110,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getLongListRule3() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type listType = scene().getType("de.rwth.i2.attestor.abstraction.programs.LongList");
@@ -1128,7 +1128,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getRListRule1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type listType = scene().getType("RListNode");
@@ -1144,7 +1144,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getRListRule2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type listType = scene().getType("RListNode");
@@ -1162,7 +1162,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration testRule1() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Nonterminal n2 = scene().createNonterminal("ReductionTest_N2", 3, new boolean[]{false, false, false});
@@ -1182,7 +1182,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration testRule2() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Nonterminal n1 = scene().createNonterminal("ReductionTest_N1", 3, new boolean[]{false, false, false});
@@ -1200,7 +1200,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration testRule3() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("node");
@@ -1219,7 +1219,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getLongConcreteSLL() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type listType = scene().getType("List");
@@ -1241,7 +1241,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getSLLHandle() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type listType = scene().getType("List");
@@ -1298,7 +1298,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getExpectedResult_AssignStmt() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("node");
@@ -1327,7 +1327,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_InvokeWithEffect() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1347,7 +1347,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getExpectedResult_InvokeWithEffect() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1367,7 +1367,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_changeSelectorLabel() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         SelectorLabel basicLeft = scene().getSelectorLabel("left");
@@ -1389,7 +1389,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getExpected_changeSelectorLabel() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         SelectorLabel basicLeft = scene().getSelectorLabel("left");
@@ -1411,7 +1411,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getTreeLeaf() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1429,7 +1429,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration get2TreeLeaf() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1451,7 +1451,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getDLL2Rule() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1469,7 +1469,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getDLLTarget() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1497,7 +1497,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_testHash() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1515,7 +1515,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_testHash_Permuted() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1537,7 +1537,7 @@ public final class ExampleHcImplFactory extends SceneObject {
         List<IndexSymbol> index = new ArrayList<>();
         index.add(abstractIndexSymbol);
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1558,7 +1558,7 @@ public final class ExampleHcImplFactory extends SceneObject {
         index.add(concreteIndexSymbol);
         index.add(abstractIndexSymbol);
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1573,7 +1573,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_EnoughAbstractionDistance() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1620,7 +1620,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getPattern_PathAbstraction() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1648,7 +1648,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_NotEnoughAbstractionDistance() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1665,7 +1665,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getPattern_GraphAbstraction() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1682,7 +1682,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_OnlyNonterminalEdgesToAbstract() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1709,7 +1709,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getInput_variableContains0() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -1732,7 +1732,7 @@ public final class ExampleHcImplFactory extends SceneObject {
 
     public HeapConfiguration getPattern_variableContains0() {
 
-        HeapConfiguration result = new InternalHeapConfiguration();
+        HeapConfiguration result = scene().createHeapConfiguration();
         TIntArrayList nodes = new TIntArrayList();
 
         Type type = scene().getType("List");
@@ -0,0 +1,146 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.refinement.garbageCollection.GarbageCollector;
+import de.rwth.i2.attestor.semantics.TerminalStatement;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.TIntSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GarbageCandidatesTest {
+
+    private SceneObject sceneObject;
+    private SelectorLabel next;
+    private HeapConfiguration heap;
+    private TIntArrayList nodes;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        Type type = sceneObject.scene().getType("node");
+        next = sceneObject.scene().getSelectorLabel("next");
+
+        // x -> 0 -> 1 -> 2 -> 1, y -> 2
+        nodes = new TIntArrayList();
+        heap = sceneObject.scene().createHeapConfiguration()
+                .builder()
+                .addNodes(type, 3, nodes)
+                .addSelector(nodes.get(0), next, nodes.get(1))
+                .addSelector(nodes.get(1), next, nodes.get(2))
+                .addSelector(nodes.get(2), next, nodes.get(1))
+                .addVariableEdge("x", nodes.get(0))
+                .addVariableEdge("y", nodes.get(2))
+                .build();
+    }
+
+    @Test
+    public void testUntrackedHeapIsNotGarbageFree() {
+
+        assertFalse(GarbageCandidates.isGarbageFree(heap));
+
+        GarbageCandidates.markGarbageFree(heap);
+        assertTrue(GarbageCandidates.isGarbageFree(heap));
+        assertTrue(GarbageCandidates.isGarbageFree(heap.clone()));
+    }
+
+    @Test
+    public void testReachableCandidates() {
+
+        GarbageCandidates.markGarbageFree(heap);
+
+        HeapConfiguration copy = heap.clone();
+        copy.builder()
+                .removeVariableEdge(copy.variableWith("y"))
+                .addSelector(nodes.get(0), sceneObject.scene().getSelectorLabel("prev"), nodes.get(2))
+                .removeSelector(nodes.get(0), next)
+                .build();
+
+        assertTrue(GarbageCandidates.isGarbageFree(copy));
+    }
+
+    @Test
+    public void testUnreachableCycle() {
+
+        GarbageCandidates.markGarbageFree(heap);
+
+        HeapConfiguration copy = heap.clone();
+        copy.builder()
+                .removeVariableEdge(copy.variableWith("y"))
+                .removeSelector(nodes.get(0), next)
+                .build();
+
+        assertFalse(GarbageCandidates.isGarbageFree(copy));
+    }
+
+    @Test
+    public void testGarbageCollectorAvoidsCopies() {
+
+        GarbageCollector garbageCollector = new GarbageCollector();
+        ProgramState state = sceneObject.scene().createProgramState(heap);
+        assertSame(state, garbageCollector.refineExclusiveState(new TerminalStatement(), state));
+        assertTrue(GarbageCandidates.isGarbageFree(state.getHeap()));
+
+        HeapConfiguration copy = state.getHeap().clone();
+        copy.builder()
+                .removeVariableEdge(copy.variableWith("y"))
+                .removeSelector(nodes.get(0), next)
+                .build();
+        ProgramState garbageState = sceneObject.scene().createProgramState(copy);
+        ProgramState collected = garbageCollector.refine(new TerminalStatement(), garbageState);
+
+        assertNotSame(garbageState, collected);
+        assertEquals(garbageState.getHeap().countNodes() - 2, collected.getHeap().countNodes());
+        assertTrue(collected.satisfiesAP("{ garbage collected }"));
+        assertTrue(GarbageCandidates.isGarbageFree(collected.getHeap()));
+    }
+
+    @Test
+    public void testGarbageCollectorDoesNotMarkSharedHeaps() {
+
+        ProgramState state = sceneObject.scene().createProgramState(heap);
+        assertSame(state, new GarbageCollector().refine(new TerminalStatement(), state));
+        assertFalse(GarbageCandidates.isGarbageFree(state.getHeap()));
+    }
+
+    @Test
+    public void testBuilderDoesNotModifyPublishedCandidates() {
+
+        GarbageCandidates.markGarbageFree(heap);
+        TIntSet candidates = ((InternalHeapConfiguration) heap).garbageCandidates;
+
+        heap.builder()
+                .removeVariableEdge(heap.variableWith("y"))
+                .removeSelector(nodes.get(0), next)
+                .build();
+
+        assertTrue(candidates.isEmpty());
+        assertFalse(GarbageCandidates.isGarbageFree(heap));
+    }
+
+    @Test
+    public void testGarbageCollectorModifiesExclusiveStatesInPlace() {
+
+        HeapConfiguration copy = heap.clone();
+        copy.builder()
+                .removeVariableEdge(copy.variableWith("y"))
+                .removeSelector(nodes.get(0), next)
+                .build();
+        ProgramState state = sceneObject.scene().createProgramState(copy);
+        int countNodes = state.getHeap().countNodes();
+
+        ProgramState collected = new GarbageCollector().refineExclusiveState(new TerminalStatement(), state);
+
+        assertSame(state, collected);
+        assertEquals(countNodes - 2, state.getHeap().countNodes());
+        assertTrue(state.satisfiesAP("{ garbage collected }"));
+    }
+}
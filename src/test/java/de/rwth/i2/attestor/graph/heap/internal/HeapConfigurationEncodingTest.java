@@ -0,0 +1,74 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.digraph.LabelIds;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class HeapConfigurationEncodingTest {
+
+    private final ExampleHcImplFactory hcFactory = new ExampleHcImplFactory(new MockupSceneObject());
+    private final LabelIds labelIds = hcFactory.scene().labels().labelIds();
+
+    @Test
+    public void testDecodedHeapIsEqual() {
+
+        assertRoundTrip(hcFactory.getEmptyHc());
+        assertRoundTrip(hcFactory.getThreeElementDLL());
+        assertRoundTrip(hcFactory.getTLLRule());
+        assertRoundTrip(hcFactory.getListAndConstants());
+        assertRoundTrip(hcFactory.getAbstractCyclicList());
+    }
+
+    @Test
+    public void testPublicIdsArePreserved() {
+
+        HeapConfiguration hc = hcFactory.getListAndConstants();
+        int y = hc.variableWith("y");
+        hc.builder().removeVariableEdge(y).build();
+
+        HeapConfiguration decoded = decode(HeapConfigurationEncoding.encode(hc, labelIds));
+        assertEquals(hc.nodes(), decoded.nodes());
+        assertEquals(hc.variableEdges(), decoded.variableEdges());
+        assertEquals(HeapConfiguration.INVALID_ELEMENT, decoded.variableWith("y"));
+    }
+
+    @Test
+    public void testMutableHeapIsNotEncodable() {
+
+        HeapConfiguration hc = hcFactory.getList();
+        hc.builder();
+        assertFalse(HeapConfigurationEncoding.isEncodable(hc, labelIds));
+        assertFalse(HeapConfigurationEncoding.isEncodable(null, labelIds));
+    }
+
+    @Test
+    public void testHeapWithOtherLabelIdsIsNotEncodable() {
+
+        HeapConfiguration hc = hcFactory.getList();
+        assertFalse(HeapConfigurationEncoding.isEncodable(hc, new LabelIds()));
+        assertFalse(HeapConfigurationEncoding.isEncodable(new InternalHeapConfiguration(), labelIds));
+    }
+
+    private void assertRoundTrip(HeapConfiguration hc) {
+
+        assertTrue(HeapConfigurationEncoding.isEncodable(hc, labelIds));
+        HeapConfiguration decoded = decode(HeapConfigurationEncoding.encode(hc, labelIds));
+        assertEquals(hc, decoded);
+        assertEquals(hc.hashCode(), decoded.hashCode());
+        assertArrayEquals(HeapConfigurationEncoding.canonicalFormOf(hc),
+                HeapConfigurationEncoding.canonicalFormOf(decoded));
+    }
+
+    private HeapConfiguration decode(byte[] encoding) {
+
+        ByteBuffer buffer = ByteBuffer.wrap(encoding);
+        HeapConfiguration result = HeapConfigurationEncoding.decode(buffer, labelIds);
+        assertFalse(buffer.hasRemaining());
+        return result;
+    }
+}
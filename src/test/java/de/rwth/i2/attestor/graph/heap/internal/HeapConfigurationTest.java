@@ -487,4 +487,44 @@ public class HeapConfigurationTest {
         assertEquals("Inputs not considered equal", testInput, testInput_permuted);
         assertEquals("Hash code not identical", testInput.hashCode(), testInput_permuted.hashCode());
     }
+
+    @Test
+    public void testHashDistinguishesShapes() {
+
+        HeapConfiguration listWithHead = hcFactory.getList();
+        HeapConfiguration listWithMovedHead = hcFactory.getList();
+        int x = listWithMovedHead.variableWith("x");
+        int second = listWithMovedHead.successorNodesOf(listWithMovedHead.targetOf(x)).get(0);
+        listWithMovedHead.builder()
+                .removeVariableEdge(x)
+                .addVariableEdge("x", second)
+                .build();
+
+        assertNotEquals(listWithHead, listWithMovedHead);
+        assertNotEquals(listWithHead.hashCode(), listWithMovedHead.hashCode());
+    }
+
+    @Test
+    public void testHashUpdatedByBuilder() {
+
+        HeapConfiguration hc = hcFactory.getList();
+        HeapConfiguration cloned = hc.clone();
+        assertEquals(hc.hashCode(), cloned.hashCode());
+
+        int x = hc.variableWith("x");
+        int head = hc.targetOf(x);
+        hc.builder()
+                .removeVariableEdge(x)
+                .build();
+
+        assertNotEquals(hc, cloned);
+        assertNotEquals(hc.hashCode(), cloned.hashCode());
+
+        hc.builder()
+                .addVariableEdge("x", head)
+                .build();
+
+        assertEquals(hc, cloned);
+        assertEquals(hc.hashCode(), cloned.hashCode());
+    }
 }
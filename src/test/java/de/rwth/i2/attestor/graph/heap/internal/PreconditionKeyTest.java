@@ -0,0 +1,70 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PreconditionKeyTest {
+
+    private final SceneObject sceneObject = new MockupSceneObject();
+    private final Type type = sceneObject.scene().getType("type");
+    private final SelectorLabel SEL = sceneObject.scene().getSelectorLabel("sel");
+
+    @Test
+    public void testOrderOfExternalNodesIsIgnored() {
+
+        PreconditionKey key = PreconditionKey.of(graph(0, 1));
+        PreconditionKey reorderedKey = PreconditionKey.of(graph(1, 0));
+
+        assertTrue(key.isCanonical());
+        assertEquals(key, reorderedKey);
+        assertEquals(key.hashCode(), reorderedKey.hashCode());
+    }
+
+    @Test
+    public void testDifferentHeapsHaveDifferentKeys() {
+
+        HeapConfiguration hc = graph(0, 1);
+        HeapConfiguration other = graph(0, 1);
+        int x = other.variableWith("x");
+        int target = other.targetOf(x);
+        other.builder()
+                .removeVariableEdge(x)
+                .addVariableEdge("x", other.successorNodesOf(target).get(0))
+                .build();
+
+        assertNotEquals(PreconditionKey.of(hc), PreconditionKey.of(other));
+    }
+
+    @Test
+    public void testKeysOfHeapsWithoutLabelIdsAreNotCanonical() {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        hc.builder().addNodes(type, 2, nodes)
+                .setExternal(nodes.get(0))
+                .addSelector(nodes.get(0), SEL, nodes.get(1))
+                .build();
+
+        assertFalse(PreconditionKey.of(hc).isCanonical());
+    }
+
+    private HeapConfiguration graph(int firstExternal, int secondExternal) {
+
+        HeapConfiguration hc = sceneObject.scene().createHeapConfiguration();
+
+        TIntArrayList nodes = new TIntArrayList();
+        return hc.builder().addNodes(type, 2, nodes)
+                .setExternal(nodes.get(firstExternal))
+                .setExternal(nodes.get(secondExternal))
+                .addSelector(nodes.get(0), SEL, nodes.get(1))
+                .addVariableEdge("x", nodes.get(0))
+                .build();
+    }
+}
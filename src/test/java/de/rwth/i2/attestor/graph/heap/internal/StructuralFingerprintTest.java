@@ -0,0 +1,36 @@
+package de.rwth.i2.attestor.graph.heap.internal;
+
+import de.rwth.i2.attestor.graph.digraph.LabeledDigraph;
+import de.rwth.i2.attestor.graph.heap.Variable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class StructuralFingerprintTest {
+
+    @Test
+    public void testRemovedNodesAreIgnored() {
+
+        LabeledDigraph unpacked = new LabeledDigraph(4);
+        unpacked.addNode(new Variable("x"), 1, 1);
+        unpacked.addNode(new Variable("removed"), 1, 1);
+        unpacked.addNode(new Variable("y"), 1, 1);
+        unpacked.addEdge(0, "next", 2);
+        unpacked.addEdge(1, "next", 0);
+        unpacked.addEdge(2, "next", 1);
+        unpacked.setExternal(2);
+        unpacked.removeNodeAt(1);
+
+        LabeledDigraph packed = new LabeledDigraph(unpacked);
+        packed.pack();
+
+        LabeledDigraph expected = new LabeledDigraph(2);
+        expected.addNode(new Variable("x"), 1, 1);
+        expected.addNode(new Variable("y"), 1, 1);
+        expected.addEdge(0, "next", 1);
+        expected.setExternal(1);
+
+        assertEquals(StructuralFingerprint.of(expected), StructuralFingerprint.of(unpacked));
+        assertEquals(StructuralFingerprint.of(expected), StructuralFingerprint.of(packed));
+    }
+}
@@ -4,12 +4,14 @@ import de.rwth.i2.attestor.MockupSceneObject;
 import de.rwth.i2.attestor.grammar.AbstractionOptions;
 import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
 import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.graph.heap.matching.EmbeddingChecker;
 import de.rwth.i2.attestor.graph.morphism.checkers.VF2EmbeddingChecker;
 import de.rwth.i2.attestor.graph.morphism.checkers.VF2MinDistanceEmbeddingChecker;
 import de.rwth.i2.attestor.main.scene.SceneObject;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -56,6 +58,26 @@ public class EmbeddingTest {
         assertTrue("Three element DLL is embedded in five element DLL, both with 2 external nodes", checker.hasMorphism());
     }
 
+    @Test
+    public void testEnumerateAllEmbeddings() {
+
+        HeapConfiguration pattern = hcImplFactory.getListRule1();
+        HeapConfiguration target = hcImplFactory.getList();
+
+        EmbeddingChecker checker = new EmbeddingChecker(pattern, target);
+        assertTrue(checker.hasMatching());
+        assertEquals(3, checker.getMatchings().count());
+        assertEquals(3, checker.getMatchings().count());
+    }
+
+    @Test
+    public void testEnumerateNoEmbeddings() {
+
+        EmbeddingChecker checker = new EmbeddingChecker(hcImplFactory.getListRule2(), hcImplFactory.getList());
+        assertFalse(checker.hasMatching());
+        assertEquals(0, checker.getMatchings().count());
+    }
+
     @Test
     public void testNegative() {
 
@@ -0,0 +1,75 @@
+package de.rwth.i2.attestor.graph.morphism;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.graph.morphism.checkers.VF2EmbeddingChecker;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VF2StateTest {
+
+    private ExampleHcImplFactory hcImplFactory;
+
+    @Before
+    public void setUp() {
+
+        hcImplFactory = new ExampleHcImplFactory(new MockupSceneObject());
+    }
+
+    @Test
+    public void testBacktrackRestoresState() {
+
+        Graph p = (Graph) hcImplFactory.getTwoElementDLL();
+        Graph t = (Graph) hcImplFactory.getThreeElementDLL();
+        VF2State state = new VF2State(p, t);
+
+        assertTrue(state.nextCandidate());
+        int firstPattern = state.getPatternCandidate();
+        int firstTarget = state.getTargetCandidate();
+        state.addCandidate(firstPattern, firstTarget);
+
+        int terminalIn = state.getPattern().getTerminalInSize();
+        int terminalOut = state.getPattern().getTerminalOutSize();
+        int targetTerminalIn = state.getTarget().getTerminalInSize();
+        int targetTerminalOut = state.getTarget().getTerminalOutSize();
+
+        assertTrue(state.nextCandidate());
+        state.addCandidate(state.getPatternCandidate(), state.getTargetCandidate());
+        assertEquals(2, state.getPattern().getMatchingSize());
+
+        assertTrue(state.backtrack());
+        assertEquals(1, state.getPattern().getMatchingSize());
+        assertEquals(terminalIn, state.getPattern().getTerminalInSize());
+        assertEquals(terminalOut, state.getPattern().getTerminalOutSize());
+        assertEquals(targetTerminalIn, state.getTarget().getTerminalInSize());
+        assertEquals(targetTerminalOut, state.getTarget().getTerminalOutSize());
+
+        assertTrue(state.backtrack());
+        assertEquals(0, state.getPattern().getMatchingSize());
+        assertEquals(0, state.getPattern().getTerminalInSize());
+        assertEquals(0, state.getTarget().getTerminalOutSize());
+        assertFalse(state.getPattern().containsMatch(firstPattern));
+        assertEquals(firstPattern, state.getPatternCandidate());
+        assertEquals(firstTarget, state.getTargetCandidate());
+
+        assertFalse(state.backtrack());
+    }
+
+    @Test
+    public void testCheckerIsReusable() {
+
+        Graph p = (Graph) hcImplFactory.getTwoElementDLL();
+        Graph t = (Graph) hcImplFactory.getThreeElementDLL();
+
+        VF2EmbeddingChecker checker = new VF2EmbeddingChecker();
+        checker.run(t, p);
+        assertFalse(checker.hasMorphism());
+        assertNull(checker.getMorphism());
+
+        checker.run(p, t);
+        assertTrue(checker.hasMorphism());
+        assertNotNull(checker.getMorphism());
+    }
+}
@@ -0,0 +1,167 @@
+package de.rwth.i2.attestor.phases.modelChecking.modelChecker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StronglyConnectedComponentsTest {
+
+    private StronglyConnectedComponents components;
+
+    @Before
+    public void setUp() {
+
+        components = new StronglyConnectedComponents();
+    }
+
+    @Test
+    public void testAcyclicEdges() {
+
+        int a = components.addVertex();
+        int b = components.addVertex();
+        int c = components.addVertex();
+
+        assertFalse(components.addEdge(a, b));
+        assertFalse(components.addEdge(b, c));
+        assertFalse(components.addEdge(a, c));
+    }
+
+    @Test
+    public void testSelfLoop() {
+
+        int a = components.addVertex();
+        int b = components.addVertex();
+
+        assertFalse(components.addEdge(a, b));
+        assertTrue(components.addEdge(b, b));
+        assertTrue(components.addEdge(a, b));
+    }
+
+    @Test
+    public void testEdgeAgainstOrderWithoutCycle() {
+
+        int a = components.addVertex();
+        int b = components.addVertex();
+        int c = components.addVertex();
+
+        assertFalse(components.addEdge(c, a));
+        assertFalse(components.addEdge(b, c));
+        assertFalse(components.addEdge(b, a));
+        assertTrue(components.addEdge(a, b));
+    }
+
+    @Test
+    public void testMerge() {
+
+        int a = components.addVertex();
+        int b = components.addVertex();
+        int c = components.addVertex();
+
+        assertFalse(components.addEdge(a, b));
+        assertTrue(components.addEdge(b, a));
+        assertFalse(components.addEdge(b, c));
+        assertTrue(components.addEdge(c, a));
+    }
+
+    @Test
+    public void testChainedMerges() {
+
+        int x = components.addVertex();
+        int y = components.addVertex();
+        int z = components.addVertex();
+        int w = components.addVertex();
+        int v = components.addVertex();
+        int u = components.addVertex();
+
+        assertFalse(components.addEdge(x, y));
+        assertFalse(components.addEdge(y, z));
+        assertTrue(components.addEdge(z, x));
+
+        assertFalse(components.addEdge(z, w));
+        assertTrue(components.addEdge(w, y));
+
+        assertFalse(components.addEdge(x, v));
+        assertTrue(components.addEdge(v, w));
+        assertTrue(components.addEdge(u, v));
+    }
+
+    @Test
+    public void testCycleClosedAfterMerge() {
+
+        int t = components.addVertex();
+        int a = components.addVertex();
+        int s = components.addVertex();
+        int u = components.addVertex();
+        int f = components.addVertex();
+
+        assertFalse(components.addEdge(t, a));
+        assertFalse(components.addEdge(a, s));
+        assertFalse(components.addEdge(u, f));
+        assertFalse(components.addEdge(t, f));
+        assertTrue(components.addEdge(s, t));
+        assertTrue(components.addEdge(f, u));
+    }
+
+    @Test
+    public void testCycleClosedAfterReordering() {
+
+        int a = components.addVertex();
+        int b = components.addVertex();
+        int c = components.addVertex();
+        int d = components.addVertex();
+
+        assertFalse(components.addEdge(d, a));
+        assertFalse(components.addEdge(c, d));
+        assertFalse(components.addEdge(a, b));
+        assertTrue(components.addEdge(b, c));
+        assertTrue(components.addEdge(d, a));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            components = new StronglyConnectedComponents();
+            int size = 2 + random.nextInt(8);
+            List<List<Integer>> graph = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                components.addVertex();
+                graph.add(new ArrayList<>());
+            }
+            int edges = 1 + random.nextInt(20);
+            for (int i = 0; i < edges; i++) {
+                int from = random.nextInt(size);
+                int to = random.nextInt(size);
+                graph.get(from).add(to);
+                assertEquals(reaches(graph, to, to), components.addEdge(from, to));
+            }
+        }
+    }
+
+    private static boolean reaches(List<List<Integer>> graph, int from, int to) {
+
+        boolean[] visited = new boolean[graph.size()];
+        List<Integer> stack = new ArrayList<>();
+        stack.add(from);
+        while (!stack.isEmpty()) {
+            for (int next : graph.get(stack.remove(stack.size() - 1))) {
+                if (next == to) {
+                    return true;
+                }
+                if (!visited[next]) {
+                    visited[next] = true;
+                    stack.add(next);
+                }
+            }
+        }
+        return false;
+    }
+}
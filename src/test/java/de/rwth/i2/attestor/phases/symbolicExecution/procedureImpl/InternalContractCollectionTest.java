@@ -31,8 +31,8 @@ public class InternalContractCollectionTest {
         );
 
         HeapConfiguration h1 = simpleGraph();
-        HeapConfiguration h2 = otherSimpleGraphWithSameHash();
-        assertEquals(h1.hashCode(), h2.hashCode());
+        HeapConfiguration h2 = simpleGraphWithReversedSelector();
+        assertNotEquals(h1, h2);
 
         ContractMatch firstMatch = contractCollection.matchContract(h1);
         assertFalse(firstMatch.hasMatch());
@@ -70,7 +70,58 @@ public class InternalContractCollectionTest {
 
     }
 
-    private HeapConfiguration otherSimpleGraphWithSameHash() {
+    @Test
+    public void testLookupCounters() {
+
+        InternalContractCollection contractCollection = new InternalContractCollection(
+                new InternalPreconditionMatchingStrategy()
+        );
+
+        assertFalse(contractCollection.matchContract(simpleGraph()).hasMatch());
+        assertEquals(0, contractCollection.getNumberOfMatchAttempts());
+
+        contractCollection.addContract(new InternalContract(simpleGraph(), new LinkedHashSet<>()));
+        contractCollection.addContract(new InternalContract(simpleGraphWithReversedSelector(), new LinkedHashSet<>()));
+        assertEquals(2, contractCollection.getContractsForExport().size());
+
+        assertTrue(contractCollection.matchContract(simpleGraph()).hasMatch());
+        ContractMatch reorderedMatch = contractCollection.matchContract(simpleGraphWithReversedExternals());
+        assertTrue(reorderedMatch.hasMatch());
+        assertArrayEquals(new int[]{1, 0}, reorderedMatch.getExternalReordering());
+        assertFalse(contractCollection.matchContract(graphWithUnreachableNode()).hasMatch());
+
+        assertEquals(2, contractCollection.getNumberOfHits());
+        assertEquals(2, contractCollection.getNumberOfMisses());
+        assertEquals(2, contractCollection.getNumberOfMatchAttempts());
+    }
+
+    private HeapConfiguration simpleGraphWithReversedExternals() {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+
+        TIntArrayList nodes = new TIntArrayList();
+        return hc.builder().addNodes(type, 2, nodes)
+                .setExternal(nodes.get(1))
+                .setExternal(nodes.get(0))
+                .addSelector(nodes.get(1), SEL, nodes.get(0))
+                .addVariableEdge("x", nodes.get(0))
+                .build();
+    }
+
+    private HeapConfiguration graphWithUnreachableNode() {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+
+        TIntArrayList nodes = new TIntArrayList();
+        return hc.builder().addNodes(type, 3, nodes)
+                .setExternal(nodes.get(0))
+                .setExternal(nodes.get(1))
+                .addSelector(nodes.get(1), SEL, nodes.get(0))
+                .addVariableEdge("x", nodes.get(0))
+                .build();
+    }
+
+    private HeapConfiguration simpleGraphWithReversedSelector() {
 
         HeapConfiguration hc = new InternalHeapConfiguration();
 
@@ -0,0 +1,139 @@
+package de.rwth.i2.attestor.phases.symbolicExecution.procedureImpl;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.ProgramImpl;
+import de.rwth.i2.attestor.procedures.Contract;
+import de.rwth.i2.attestor.procedures.Method;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.ReturnVoidStmt;
+import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.statements.Skip;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PersistentContractCacheTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final SceneObject sceneObject = new MockupSceneObject();
+    private final Type type = sceneObject.scene().getType("type");
+    private final SelectorLabel SEL = sceneObject.scene().getSelectorLabel("sel");
+
+    @Test
+    public void testStoreAndLoad() {
+
+        Method method = sceneObject.scene().getOrCreateMethod("void method()");
+        HeapConfiguration precondition = simpleGraph();
+        Contract contract = new InternalContract(precondition, Collections.singletonList(simpleGraph()));
+
+        String directory = folder.getRoot().getPath();
+        new PersistentContractCache(sceneObject, directory, "fingerprint")
+                .store(method, Collections.singletonList(contract));
+
+        Collection<Contract> loaded = new PersistentContractCache(sceneObject, directory, "fingerprint")
+                .load(method);
+        assertEquals(1, loaded.size());
+        Contract loadedContract = loaded.iterator().next();
+        assertEquals(precondition, loadedContract.getPrecondition());
+        assertEquals(1, loadedContract.getPostconditions().size());
+        assertTrue(loadedContract.getPostconditions().contains(simpleGraph()));
+
+        Method otherMethod = sceneObject.scene().getOrCreateMethod("void otherMethod()");
+        assertTrue(new PersistentContractCache(sceneObject, directory, "fingerprint").load(otherMethod).isEmpty());
+    }
+
+    @Test
+    public void testChangedFingerprint() {
+
+        Method method = sceneObject.scene().getOrCreateMethod("void method()");
+        Contract contract = new InternalContract(simpleGraph(), Collections.singletonList(simpleGraph()));
+
+        String directory = folder.getRoot().getPath();
+        String fingerprint = PersistentContractCache.fingerprintOf(
+                Collections.singletonList(method), null, Collections.emptyList(), sceneObject.scene().options()
+        );
+        new PersistentContractCache(sceneObject, directory, fingerprint)
+                .store(method, Collections.singletonList(contract));
+
+        sceneObject.scene().options().setMaxHeap(sceneObject.scene().options().getMaxHeap() + 1);
+        String changedFingerprint = PersistentContractCache.fingerprintOf(
+                Collections.singletonList(method), null, Collections.emptyList(), sceneObject.scene().options()
+        );
+        assertNotEquals(fingerprint, changedFingerprint);
+        assertTrue(new PersistentContractCache(sceneObject, directory, changedFingerprint).load(method).isEmpty());
+        assertFalse(new PersistentContractCache(sceneObject, directory, fingerprint).load(method).isEmpty());
+    }
+
+    @Test
+    public void testFingerprintDependsOnSuccessors() {
+
+        Method method = sceneObject.scene().getOrCreateMethod("void method()");
+
+        method.setBody(new ProgramImpl(Arrays.asList(
+                new Skip(sceneObject, 1), new Skip(sceneObject, 2), new ReturnVoidStmt(sceneObject)
+        )));
+        String fingerprint = PersistentContractCache.fingerprintOf(
+                Collections.singletonList(method), null, Collections.emptyList(), sceneObject.scene().options()
+        );
+
+        method.setBody(new ProgramImpl(Arrays.asList(
+                new Skip(sceneObject, 2), new Skip(sceneObject, 2), new ReturnVoidStmt(sceneObject)
+        )));
+        String changedFingerprint = PersistentContractCache.fingerprintOf(
+                Collections.singletonList(method), null, Collections.emptyList(), sceneObject.scene().options()
+        );
+
+        assertNotEquals(fingerprint, changedFingerprint);
+    }
+
+    @Test
+    public void testFingerprintDependsOnContractFiles() throws IOException {
+
+        Method method = sceneObject.scene().getOrCreateMethod("void method()");
+        File contractFile = folder.newFile("contract.json");
+        Files.write(contractFile.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+        List<String> contractFiles = Collections.singletonList(contractFile.getPath());
+
+        String fingerprint = PersistentContractCache.fingerprintOf(
+                Collections.singletonList(method), null, contractFiles, sceneObject.scene().options()
+        );
+        assertNotEquals(fingerprint, PersistentContractCache.fingerprintOf(
+                Collections.singletonList(method), null, Collections.emptyList(), sceneObject.scene().options()
+        ));
+
+        Files.write(contractFile.toPath(), "{\"method\": \"void method()\"}".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(fingerprint, PersistentContractCache.fingerprintOf(
+                Collections.singletonList(method), null, contractFiles, sceneObject.scene().options()
+        ));
+    }
+
+    private HeapConfiguration simpleGraph() {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+
+        TIntArrayList nodes = new TIntArrayList();
+        return hc.builder().addNodes(type, 2, nodes)
+                .setExternal(nodes.get(0))
+                .setExternal(nodes.get(1))
+                .addSelector(nodes.get(1), SEL, nodes.get(0))
+                .addVariableEdge("x", nodes.get(0))
+                .build();
+    }
+}
@@ -3,11 +3,24 @@ package de.rwth.i2.attestor.phases.symbolicExecution.recursive.interproceduralAn
 import de.rwth.i2.attestor.MockupSceneObject;
 import de.rwth.i2.attestor.main.scene.Scene;
 import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.procedures.Method;
 import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
 import de.rwth.i2.attestor.stateSpaceGeneration.StateSpace;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
@@ -18,6 +31,7 @@ public class InterproceduralAnalysisTest {
 	InterproceduralAnalysis testSubject;
 	StateSpace ssWithoutFinalStates;
 	private InternalStateSpace ssWithFinalStates;
+	private ForkJoinPool workerPool;
 	
 
 	@Before
@@ -28,6 +42,12 @@ public class InterproceduralAnalysisTest {
 		ProgramState state = SCENE.createProgramState();
 		ssWithFinalStates.addState(state );
 		ssWithFinalStates.setFinal(state);
+		workerPool = new ForkJoinPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		workerPool.shutdownNow();
 	}
 
 	@Test
@@ -67,7 +87,7 @@ public class InterproceduralAnalysisTest {
 		ProcedureCall call = mock(ProcedureCall.class);
 		
 		testSubject.stateSpaceToAnalyzedCall.put(ssWithoutFinalStates, call);
-		testSubject.remainingPartialStateSpaces.push(toContinue);
+		testSubject.addRemainingPartialStateSpace(toContinue);
 		
 		//when
 		testSubject.run();
@@ -83,7 +103,7 @@ public class InterproceduralAnalysisTest {
 		ProcedureCall call = mock(ProcedureCall.class);
 		
 		testSubject.stateSpaceToAnalyzedCall.put(ssWithoutFinalStates, call);
-		testSubject.remainingPartialStateSpaces.push(toContinue);
+		testSubject.addRemainingPartialStateSpace(toContinue);
 		
 		//when
 		testSubject.run();
@@ -92,4 +112,193 @@ public class InterproceduralAnalysisTest {
 		verify( testSubject ).notifyDependencies( any() );
 	}
 
+	@Test
+	public void testContainsAbortedStates_WhenRegisteredStateSpaceIsAborted() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		ProcedureCall abortedCall = mock(ProcedureCall.class);
+		InternalStateSpace abortedStateSpace = new InternalStateSpace(2);
+		ProgramState state = SCENE.createProgramState();
+		abortedStateSpace.addState(state);
+		abortedStateSpace.setAborted(state);
+
+		//when
+		testSubject.registerStateSpace(call, ssWithFinalStates);
+
+		//then
+		assertFalse(testSubject.containsAbortedStates());
+		testSubject.registerStateSpace(abortedCall, abortedStateSpace);
+		assertTrue(testSubject.containsAbortedStates());
+	}
+
+	@Test
+	public void testRegisterProcedureCall_Twice_ExecutedOnce() {
+		//given
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.execute() ).thenReturn( ssWithoutFinalStates );
+
+		testSubject.registerProcedureCall(call);
+		testSubject.registerProcedureCall(call);
+
+		//when
+		testSubject.run();
+
+		//then
+		verify( call, times(1) ).execute();
+	}
+
+	@Test
+	public void testRunConcurrently_WhenCallGeneratesFinalStates_DependenciesAreContinued() {
+		//given
+		InterproceduralAnalysis concurrentSubject = new InterproceduralAnalysis(workerPool);
+		ProcedureCall callWithFinalStates = mock(ProcedureCall.class);
+		when( callWithFinalStates.execute() ).thenReturn( ssWithFinalStates );
+		ProcedureCall callWithoutFinalStates = mock(ProcedureCall.class);
+		when( callWithoutFinalStates.execute() ).thenReturn( ssWithoutFinalStates );
+
+		CountingPartialStateSpace dependency = new CountingPartialStateSpace( new InternalStateSpace(5) );
+		CountingPartialStateSpace otherDependency = new CountingPartialStateSpace( new InternalStateSpace(5) );
+		concurrentSubject.registerDependency(callWithFinalStates, dependency);
+		concurrentSubject.registerDependency(callWithoutFinalStates, otherDependency);
+		concurrentSubject.registerProcedureCall(callWithFinalStates);
+		concurrentSubject.registerProcedureCall(callWithoutFinalStates);
+
+		//when
+		concurrentSubject.run();
+
+		//then
+		verify( callWithFinalStates, times(1) ).execute();
+		verify( callWithoutFinalStates, times(1) ).execute();
+		assertEquals( 1, dependency.continuations.get() );
+		assertEquals( 0, otherDependency.continuations.get() );
+	}
+
+	@Test
+	public void testRunConcurrently_SameStateSpace_NotContinuedConcurrently() {
+		//given
+		InterproceduralAnalysis concurrentSubject = new InterproceduralAnalysis(workerPool);
+		StateSpace sharedStateSpace = new InternalStateSpace(5);
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		AtomicInteger active = new AtomicInteger();
+		AtomicBoolean overlapped = new AtomicBoolean();
+		CountingPartialStateSpace first = new CountingPartialStateSpace( sharedStateSpace, bothStarted, active, overlapped );
+		CountingPartialStateSpace second = new CountingPartialStateSpace( sharedStateSpace, bothStarted, active, overlapped );
+
+		concurrentSubject.stateSpaceToAnalyzedCall.put(sharedStateSpace, mock(ProcedureCall.class));
+		concurrentSubject.addRemainingPartialStateSpace(first);
+		concurrentSubject.addRemainingPartialStateSpace(second);
+
+		//when
+		concurrentSubject.run();
+
+		//then
+		assertEquals( 1, first.continuations.get() );
+		assertEquals( 1, second.continuations.get() );
+		assertFalse( overlapped.get() );
+	}
+
+	@Test
+	public void testRun_ContinuesLowerComponentsFirstAndOnlyOnce() {
+		//given
+		StateSpace callerStateSpace = new InternalStateSpace(5);
+		StateSpace calleeStateSpace = new InternalStateSpace(5);
+		testSubject.registerStateSpace(callInComponent(1), callerStateSpace);
+		ProcedureCall calleeCall = callInComponent(0);
+		testSubject.registerStateSpace(calleeCall, calleeStateSpace);
+
+		List<PartialStateSpace> continued = new ArrayList<>();
+		PartialStateSpace caller = new RecordingPartialStateSpace(callerStateSpace, continued);
+		PartialStateSpace callee = new RecordingPartialStateSpace(calleeStateSpace, continued);
+
+		testSubject.addRemainingPartialStateSpace(caller);
+		testSubject.addRemainingPartialStateSpace(caller);
+		testSubject.addRemainingPartialStateSpace(callee);
+
+		//when
+		testSubject.run();
+
+		//then
+		assertEquals( 2, continued.size() );
+		assertEquals( callee, continued.get(0) );
+		assertEquals( caller, continued.get(1) );
+		assertEquals( Integer.valueOf(1), testSubject.getNumberOfContinuationsPerComponent().get(0) );
+		assertEquals( Integer.valueOf(1), testSubject.getNumberOfContinuationsPerComponent().get(1) );
+	}
+
+	private static ProcedureCall callInComponent(int componentIndex) {
+		Method method = mock(Method.class);
+		when( method.getComponentIndex() ).thenReturn( componentIndex );
+		ProcedureCall call = mock(ProcedureCall.class);
+		when( call.getMethod() ).thenReturn( method );
+		return call;
+	}
+
+	private static class RecordingPartialStateSpace implements PartialStateSpace {
+
+		final StateSpace stateSpace;
+		final List<PartialStateSpace> continued;
+
+		RecordingPartialStateSpace(StateSpace stateSpace, List<PartialStateSpace> continued) {
+			this.stateSpace = stateSpace;
+			this.continued = continued;
+		}
+
+		@Override
+		public void continueExecution(ProcedureCall call) {
+			continued.add(this);
+		}
+
+		@Override
+		public StateSpace unfinishedStateSpace() {
+			return stateSpace;
+		}
+	}
+
+	private static class CountingPartialStateSpace implements PartialStateSpace {
+
+		final StateSpace stateSpace;
+		final AtomicInteger continuations = new AtomicInteger();
+		final CountDownLatch started;
+		final AtomicInteger active;
+		final AtomicBoolean overlapped;
+
+		CountingPartialStateSpace(StateSpace stateSpace) {
+			this(stateSpace, new CountDownLatch(0), new AtomicInteger(), new AtomicBoolean());
+		}
+
+		/**
+		 * @param started    counted down whenever a continuation starts. A continuation waits until all
+		 *                   partialStateSpaces sharing the latch have started or the latch times out.
+		 * @param active     the number of partialStateSpaces sharing the latch that are currently continued
+		 * @param overlapped set if two partialStateSpaces sharing the latch have been continued at the same time
+		 */
+		CountingPartialStateSpace(StateSpace stateSpace, CountDownLatch started,
+								  AtomicInteger active, AtomicBoolean overlapped) {
+			this.stateSpace = stateSpace;
+			this.started = started;
+			this.active = active;
+			this.overlapped = overlapped;
+		}
+
+		@Override
+		public void continueExecution(ProcedureCall call) {
+			if( active.incrementAndGet() > 1 ) {
+				overlapped.set(true);
+			}
+			started.countDown();
+			try {
+				started.await(100, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			continuations.incrementAndGet();
+			active.decrementAndGet();
+		}
+
+		@Override
+		public StateSpace unfinishedStateSpace() {
+			return stateSpace;
+		}
+	}
+
 }
@@ -0,0 +1,208 @@
+package de.rwth.i2.attestor.refinement.grammarRefinement;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.grammar.Grammar;
+import de.rwth.i2.attestor.graph.Nonterminal;
+import de.rwth.i2.attestor.graph.SelectorLabel;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.HeapConfigurationBuilder;
+import de.rwth.i2.attestor.graph.heap.internal.InternalHeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.refinement.HeapAutomaton;
+import de.rwth.i2.attestor.refinement.HeapAutomatonState;
+import de.rwth.i2.attestor.types.Type;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GrammarRefinementTest {
+
+    private SceneObject sceneObject;
+    private Nonterminal nt;
+    private Type type;
+    private SelectorLabel next;
+    private Grammar grammar;
+
+    @Before
+    public void setUp() {
+
+        sceneObject = new MockupSceneObject();
+        nt = sceneObject.scene().createNonterminal("List", 2, new boolean[]{false, true});
+        type = sceneObject.scene().getType("List");
+        next = sceneObject.scene().getSelectorLabel("next");
+
+        grammar = Grammar.builder()
+                .addRule(nt, baseRule())
+                .addRule(nt, recursiveRule(1))
+                .addRule(nt, recursiveRule(2))
+                .build();
+    }
+
+    @Test
+    public void testEveryTransitionComputedOnce() {
+
+        CountingAutomaton automaton = new CountingAutomaton();
+        Grammar refinedGrammar = new GrammarRefinement(grammar, automaton).getRefinedGrammar();
+
+        assertEquals(CountingAutomaton.MODULUS, refinedGrammar.getAllLeftHandSides().size());
+        for (Map.Entry<List<Object>, Integer> entry : automaton.transitions.entrySet()) {
+            assertEquals(entry.getKey().toString(), Integer.valueOf(1), entry.getValue());
+        }
+        // the base rule and every state for each recursive rule
+        assertEquals(1 + 2 * CountingAutomaton.MODULUS, automaton.transitions.size());
+    }
+
+    @Test
+    public void testConcurrentRefinement() {
+
+        Grammar expected = new GrammarRefinement(grammar, new CountingAutomaton()).getRefinedGrammar();
+        Grammar actual = new GrammarRefinement(grammar, new CountingAutomaton(), new ForkJoinPool(4)).getRefinedGrammar();
+
+        assertEquals(expected.getAllLeftHandSides(), actual.getAllLeftHandSides());
+        for (Nonterminal lhs : expected.getAllLeftHandSides()) {
+            assertEquals(expected.getRightHandSidesFor(lhs), actual.getRightHandSidesFor(lhs));
+        }
+        assertTrue(actual.getAllLeftHandSides().size() > 1);
+    }
+
+    @Test
+    public void testAutomatonThatIsNotThreadSafeIsCalledSequentially() {
+
+        Thread caller = Thread.currentThread();
+        Set<Thread> callingThreads = Collections.synchronizedSet(new HashSet<>());
+        CountingAutomaton automaton = new CountingAutomaton() {
+            @Override
+            public HeapAutomatonState transition(HeapConfiguration heapConfiguration,
+                                                 List<HeapAutomatonState> statesOfNonterminals) {
+
+                callingThreads.add(Thread.currentThread());
+                return super.transition(heapConfiguration, statesOfNonterminals);
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+
+                return false;
+            }
+        };
+
+        new GrammarRefinement(grammar, automaton, new ForkJoinPool(4)).getRefinedGrammar();
+
+        assertEquals(Collections.singleton(caller), callingThreads);
+    }
+
+    private HeapConfiguration baseRule() {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        return hc.builder().addNodes(type, 2, nodes)
+                .setExternal(nodes.get(0))
+                .setExternal(nodes.get(1))
+                .addSelector(nodes.get(0), next, nodes.get(1))
+                .build();
+    }
+
+    private HeapConfiguration recursiveRule(int selectors) {
+
+        HeapConfiguration hc = new InternalHeapConfiguration();
+        TIntArrayList nodes = new TIntArrayList();
+        HeapConfigurationBuilder builder = hc.builder().addNodes(type, selectors + 2, nodes)
+                .setExternal(nodes.get(0))
+                .setExternal(nodes.get(selectors + 1))
+                .addNonterminalEdge(nt)
+                .addTentacle(nodes.get(selectors))
+                .addTentacle(nodes.get(selectors + 1))
+                .build();
+        for (int i = 0; i < selectors; i++) {
+            builder.addSelector(nodes.get(i), next, nodes.get(i + 1));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Counts the number of nodes modulo a constant and records how often every transition is computed.
+     */
+    private static class CountingAutomaton implements HeapAutomaton {
+
+        static final int MODULUS = 3;
+
+        final Map<List<Object>, Integer> transitions = Collections.synchronizedMap(new HashMap<>());
+
+        @Override
+        public HeapAutomatonState transition(HeapConfiguration heapConfiguration,
+                                             List<HeapAutomatonState> statesOfNonterminals) {
+
+            transitions.merge(Arrays.asList(heapConfiguration, statesOfNonterminals), 1, Integer::sum);
+
+            int count = heapConfiguration.countNodes();
+            for (HeapAutomatonState state : statesOfNonterminals) {
+                count += ((CountingState) state).count;
+            }
+            return new CountingState(count % MODULUS);
+        }
+
+        @Override
+        public boolean isInitialState(HeapAutomatonState heapAutomatonState) {
+
+            return true;
+        }
+
+        @Override
+        public List<HeapConfiguration> getPossibleHeapRewritings(HeapConfiguration heapConfiguration) {
+
+            return Collections.singletonList(heapConfiguration);
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+
+            return true;
+        }
+    }
+
+    private static class CountingState extends HeapAutomatonState {
+
+        final int count;
+
+        CountingState(int count) {
+
+            this.count = count;
+        }
+
+        @Override
+        public Set<String> toAtomicPropositions() {
+
+            return Collections.singleton("count" + count);
+        }
+
+        @Override
+        public boolean isError() {
+
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object otherObject) {
+
+            return otherObject instanceof CountingState && ((CountingState) otherObject).count == count;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return count;
+        }
+
+        @Override
+        public String toString() {
+
+            return "count" + count;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package de.rwth.i2.attestor.semantics.jimpleSemantics;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class JimpleParserTest {
+
+    private static final String CLASSNAME = "Example";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File classFile;
+    private int sootInvocations;
+    private JimpleParser parser;
+
+    @Before
+    public void setUp() throws IOException {
+
+        classFile = folder.newFile(CLASSNAME + ".class");
+        Files.write(classFile.toPath(), new byte[]{1, 2, 3});
+
+        sootInvocations = 0;
+        parser = new JimpleParser(new MockupSceneObject(), null) {
+            @Override
+            void runSoot(String classpath, String classname) {
+
+                ++sootInvocations;
+            }
+
+            @Override
+            boolean isLoaded(String classname) {
+
+                return true;
+            }
+        };
+    }
+
+    @Test
+    public void testSecondParseReusesClasses() {
+
+        String classpath = folder.getRoot().getPath();
+
+        assertTrue(parser.loadClasses(classpath, CLASSNAME));
+        assertFalse(parser.loadClasses(classpath, CLASSNAME));
+        assertEquals(1, sootInvocations);
+    }
+
+    @Test
+    public void testChangedClassFileInvalidatesClasses() throws IOException {
+
+        String classpath = folder.getRoot().getPath();
+
+        assertTrue(parser.loadClasses(classpath, CLASSNAME));
+
+        Files.write(classFile.toPath(), new byte[]{1, 2, 3, 4});
+        assertTrue(classFile.setLastModified(classFile.lastModified() + 2000));
+
+        assertTrue(parser.loadClasses(classpath, CLASSNAME));
+        assertFalse(parser.loadClasses(classpath, CLASSNAME));
+        assertEquals(2, sootInvocations);
+    }
+}
@@ -11,4 +11,10 @@ public class MockupCanonicalizationStrategy implements CanonicalizationStrategy
         return heapConfiguration;
     }
 
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
+
 }
@@ -17,5 +17,11 @@ public class MockupMaterializationStrategy implements MaterializationStrategy {
         return new ArrayList<>();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
+
 
 }
@@ -15,4 +15,10 @@ public class MockupStateCanonicalizationStrategy extends StateCanonicalizationSt
         return state;
     }
 
+    @Override
+    public boolean isThreadSafe() {
+
+        return true;
+    }
+
 }
@@ -90,4 +90,23 @@ public class AssignStmtTest {
             }
     }
 
+    @Test
+    public void testSuccessorsAreExclusive() {
+
+        HeapConfiguration testGraph = hcFactory.getTLLRule();
+        Type type = sceneObject.scene().getType("node");
+
+        AssignStmt stmt = new AssignStmt(sceneObject, new Local(type, "XYZ"), new Local(type, "ZYX"),
+                2, new LinkedHashSet<>());
+        ProgramState input = sceneObject.scene().createProgramState(testGraph);
+        input.prepareHeap();
+
+        assertTrue(stmt.producesExclusiveSuccessors());
+        for (ProgramState resState : stmt.computeSuccessors(input)) {
+            assertNotSame(input, resState);
+            assertNotSame(input.getHeap(), resState.getHeap());
+            assertEquals(2, resState.getProgramCounter());
+        }
+    }
+
 }
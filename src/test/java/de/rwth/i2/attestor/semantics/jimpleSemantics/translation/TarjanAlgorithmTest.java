@@ -6,6 +6,7 @@ import de.rwth.i2.attestor.procedures.Method;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -123,4 +124,32 @@ public class TarjanAlgorithmTest {
 
     }
 
+    @Test
+    public void testComponentIndices() {
+
+        TarjanAlgorithm algorithm = new TarjanAlgorithm();
+
+        Method m1 = sceneObject.scene().getOrCreateMethod("non-recursive 1");
+        algorithm.addMethodAsVertex(m1);
+
+        Method m2 = sceneObject.scene().getOrCreateMethod("recursive 2");
+        algorithm.addMethodAsVertex(m2);
+        algorithm.addCallEdge(m1, m2);
+
+        Method m3 = sceneObject.scene().getOrCreateMethod("recursive 3");
+        algorithm.addMethodAsVertex(m3);
+        algorithm.addCallEdge(m2, m3);
+        algorithm.addCallEdge(m3, m2);
+
+        Method m4 = sceneObject.scene().getOrCreateMethod("non-recursive 4");
+        algorithm.addMethodAsVertex(m4);
+        algorithm.addCallEdge(m3, m4);
+
+        algorithm.markRecursiveMethods();
+
+        assertEquals(m2.getComponentIndex(), m3.getComponentIndex());
+        assertTrue(m4.getComponentIndex() < m3.getComponentIndex());
+        assertTrue(m2.getComponentIndex() < m1.getComponentIndex());
+    }
+
 }
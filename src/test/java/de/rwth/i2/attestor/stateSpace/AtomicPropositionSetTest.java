@@ -0,0 +1,101 @@
+package de.rwth.i2.attestor.stateSpace;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionIds;
+import de.rwth.i2.attestor.stateSpaceGeneration.AtomicPropositionSet;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.*;
+
+public class AtomicPropositionSetTest {
+
+    @Test
+    public void testWithIsInternedAndImmutable() {
+
+        AtomicPropositionIds ids = new AtomicPropositionIds();
+        AtomicPropositionSet first = ids.emptySet().with("{ sll }").with("{ dll }");
+        AtomicPropositionSet second = ids.emptySet().with("{ dll }").with("{ sll }");
+
+        assertSame(first, second);
+        assertSame(first, first.with("{ sll }"));
+        assertTrue(ids.emptySet().isEmpty());
+        assertFalse(ids.emptySet().contains("{ sll }"));
+
+        assertTrue(first.contains("{ sll }"));
+        assertTrue(first.contains(ids.idOf("{ dll }")));
+        assertFalse(first.contains("{ tree }"));
+        assertFalse(first.contains(-1));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("{ sll }", "{ dll }")), first.toSet());
+    }
+
+    @Test
+    public void testIdsAreOwnedByScene() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        ProgramState state = sceneObject.scene().createProgramState(sceneObject.scene().createHeapConfiguration());
+        ProgramState other = sceneObject.scene().createProgramState(sceneObject.scene().createHeapConfiguration());
+        state.addAP("{ sll }");
+        other.addAP("{ sll }");
+
+        assertSame(sceneObject.scene().labels().atomicPropositionIds(), state.getAtomicPropositions().ids());
+        assertSame(state.getAtomicPropositions(), other.getAtomicPropositions());
+
+        SceneObject otherSceneObject = new MockupSceneObject();
+        ProgramState otherSceneState = otherSceneObject.scene()
+                .createProgramState(otherSceneObject.scene().createHeapConfiguration());
+        otherSceneState.addAP("{ sll }");
+
+        assertNotSame(state.getAtomicPropositions().ids(), otherSceneState.getAtomicPropositions().ids());
+        assertNotEquals(state.getAtomicPropositions(), otherSceneState.getAtomicPropositions());
+    }
+
+    @Test
+    public void testCloneKeepsIds() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        ProgramState state = sceneObject.scene().createProgramState(sceneObject.scene().createHeapConfiguration());
+        state.addAP("{ sll }");
+
+        ProgramState clone = state.clone();
+        assertTrue(clone.getAtomicPropositions().isEmpty());
+        assertSame(state.getAtomicPropositions().ids(), clone.getAtomicPropositions().ids());
+    }
+
+    @Test
+    public void testCopiesShareLabels() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        ProgramState state = sceneObject.scene().createProgramState(sceneObject.scene().createHeapConfiguration());
+        state.addAP("{ sll }");
+
+        ProgramState copy = state.shallowCopy();
+        assertSame(state.getAtomicPropositions(), copy.getAtomicPropositions());
+
+        copy.addAP("{ tree }");
+        assertTrue(copy.satisfiesAP("{ tree }"));
+        assertFalse(state.satisfiesAP("{ tree }"));
+    }
+
+    @Test
+    public void testStateSpaceLabelsFinalStates() {
+
+        SceneObject sceneObject = new MockupSceneObject();
+        ProgramState state = sceneObject.scene().createProgramState(sceneObject.scene().createHeapConfiguration());
+        state.addAP("{ sll }");
+
+        InternalStateSpace stateSpace = new InternalStateSpace(1);
+        stateSpace.addInitialState(state);
+        stateSpace.setFinal(state);
+
+        int id = state.getStateSpaceId();
+        assertTrue(stateSpace.satisfiesAP(id, "{ sll }"));
+        assertTrue(stateSpace.satisfiesAP(id, "{ terminated }"));
+        assertFalse(stateSpace.satisfiesAP(id, "{ dll }"));
+    }
+}
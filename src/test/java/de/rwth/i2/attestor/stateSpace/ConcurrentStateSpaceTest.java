@@ -0,0 +1,138 @@
+package de.rwth.i2.attestor.stateSpace;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.ConcurrentStateSpace;
+import de.rwth.i2.attestor.programState.defaultState.DefaultProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentStateSpaceTest {
+
+    private static final int THREADS = 4;
+    private static final int PROGRAM_LOCATIONS = 50;
+
+    private HeapConfiguration heap;
+
+    @Before
+    public void setup() {
+
+        ExampleHcImplFactory hcFactory = new ExampleHcImplFactory(new MockupSceneObject());
+        heap = hcFactory.getList();
+    }
+
+    @Test
+    public void testConcurrentAddStateIfAbsent() throws InterruptedException {
+
+        ConcurrentStateSpace stateSpace = new ConcurrentStateSpace(100);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            threads.add(new Thread(() -> {
+                for (int pc = 0; pc < PROGRAM_LOCATIONS; pc++) {
+                    ProgramState state = new DefaultProgramState(heap.clone());
+                    state.setProgramCounter(pc);
+                    stateSpace.addStateIfAbsent(state);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(PROGRAM_LOCATIONS, stateSpace.size());
+        for (int id = 0; id < PROGRAM_LOCATIONS; id++) {
+            assertNotNull(stateSpace.getState(id));
+            assertEquals(id, stateSpace.getState(id).getStateSpaceId());
+        }
+    }
+
+    @Test
+    public void testTransitions() {
+
+        ConcurrentStateSpace stateSpace = new ConcurrentStateSpace(100);
+
+        ProgramState initial = new DefaultProgramState(heap.clone());
+        stateSpace.addInitialState(initial);
+
+        ProgramState next = new DefaultProgramState(heap.clone());
+        next.setProgramCounter(1);
+        assertTrue(stateSpace.addStateIfAbsent(next));
+
+        ProgramState duplicate = new DefaultProgramState(heap.clone());
+        duplicate.setProgramCounter(1);
+        assertFalse(stateSpace.addStateIfAbsent(duplicate));
+        assertEquals(next.getStateSpaceId(), duplicate.getStateSpaceId());
+
+        stateSpace.addControlFlowTransition(initial, next);
+        stateSpace.addControlFlowTransition(initial, duplicate);
+
+        assertEquals(1, stateSpace.getControlFlowSuccessorsIdsOf(initial.getStateSpaceId()).size());
+        assertTrue(stateSpace.getControlFlowSuccessorsOf(initial).contains(next));
+        assertEquals(1, stateSpace.getInitialStates().size());
+        assertTrue(stateSpace.getStates().contains(initial));
+        assertTrue(stateSpace.supportsConcurrentModification());
+    }
+
+    @Test
+    public void testLongSuccessorListsAreDuplicateFree() {
+
+        ConcurrentStateSpace stateSpace = new ConcurrentStateSpace(100);
+
+        ProgramState initial = new DefaultProgramState(heap.clone());
+        stateSpace.addInitialState(initial);
+
+        List<ProgramState> successors = new ArrayList<>();
+        for (int pc = 1; pc <= PROGRAM_LOCATIONS; pc++) {
+            ProgramState state = new DefaultProgramState(heap.clone());
+            state.setProgramCounter(pc);
+            stateSpace.addStateIfAbsent(state);
+            successors.add(state);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            for (ProgramState successor : successors) {
+                stateSpace.addControlFlowTransition(initial, successor);
+            }
+        }
+
+        assertEquals(PROGRAM_LOCATIONS, stateSpace.getControlFlowSuccessorsIdsOf(initial.getStateSpaceId()).size());
+        assertEquals(successors.get(0).getStateSpaceId(),
+                stateSpace.getControlFlowSuccessorsIdsOf(initial.getStateSpaceId()).get(0));
+    }
+
+    @Test
+    public void testGetStatesContainsEqualStates() {
+
+        ConcurrentStateSpace stateSpace = new ConcurrentStateSpace(100);
+
+        ProgramState merged = new DefaultProgramState(heap.clone());
+        merged.setProgramCounter(1);
+        stateSpace.addStateIfAbsent(merged);
+
+        ProgramState added = new DefaultProgramState(heap.clone());
+        added.setProgramCounter(2);
+        stateSpace.addState(added);
+
+        ProgramState equalToMerged = new DefaultProgramState(heap.clone());
+        equalToMerged.setProgramCounter(1);
+        ProgramState equalToAdded = new DefaultProgramState(heap.clone());
+        equalToAdded.setProgramCounter(2);
+        ProgramState absent = new DefaultProgramState(heap.clone());
+        absent.setProgramCounter(3);
+
+        assertTrue(stateSpace.getStates().contains(equalToMerged));
+        assertTrue(stateSpace.getStates().contains(equalToAdded));
+        assertFalse(stateSpace.getStates().contains(absent));
+    }
+}
@@ -0,0 +1,109 @@
+package de.rwth.i2.attestor.stateSpace;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class InternalStateSpaceTest {
+
+    private SceneObject sceneObject;
+    private HeapConfiguration hc;
+    private InternalStateSpace stateSpace;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        hc = sceneObject.scene().createHeapConfiguration();
+        stateSpace = new InternalStateSpace(0);
+    }
+
+    @Test
+    public void testStatesAreFoundByTheirIds() {
+
+        ProgramState first = createState(0);
+        ProgramState second = createState(1);
+        ProgramState third = createState(2);
+        stateSpace.addInitialState(first);
+        stateSpace.addStateIfAbsent(second);
+        stateSpace.addState(third);
+
+        assertSame(first, stateSpace.getState(first.getStateSpaceId()));
+        assertSame(second, stateSpace.getState(second.getStateSpaceId()));
+        assertSame(third, stateSpace.getState(third.getStateSpaceId()));
+        assertNull(stateSpace.getState(-1));
+        assertNull(stateSpace.getState(3));
+
+        assertEquals(3, stateSpace.size());
+        List<ProgramState> states = new ArrayList<>();
+        stateSpace.getStates().forEach(states::add);
+        assertEquals(Arrays.asList(first, second, third), states);
+        assertTrue(stateSpace.getStates().contains(third));
+        assertFalse(stateSpace.getStates().contains(createState(3)));
+    }
+
+    @Test
+    public void testDuplicateTransitionsAreIgnored() {
+
+        ProgramState from = createState(0);
+        stateSpace.addInitialState(from);
+        List<ProgramState> successors = new ArrayList<>();
+        for (int i = 1; i < 40; i++) {
+            ProgramState successor = createState(i);
+            stateSpace.addStateIfAbsent(successor);
+            successors.add(successor);
+        }
+
+        for (int round = 0; round < 2; round++) {
+            for (ProgramState successor : successors) {
+                stateSpace.addControlFlowTransition(from, successor);
+            }
+        }
+
+        TIntArrayList ids = stateSpace.getControlFlowSuccessorsIdsOf(from.getStateSpaceId());
+        assertEquals(successors.size(), ids.size());
+        for (int i = 0; i < successors.size(); i++) {
+            assertEquals(successors.get(i).getStateSpaceId(), ids.get(i));
+        }
+    }
+
+    @Test
+    public void testUpdateFinalStatesRedirectsTransitions() {
+
+        ProgramState initial = createState(0);
+        ProgramState oldFinal = createState(1);
+        ProgramState newFinal = createState(2);
+        stateSpace.addInitialState(initial);
+        stateSpace.addStateIfAbsent(oldFinal);
+        stateSpace.addStateIfAbsent(newFinal);
+        stateSpace.setFinal(oldFinal);
+        stateSpace.addControlFlowTransition(initial, oldFinal);
+        stateSpace.addControlFlowTransition(initial, newFinal);
+
+        Map<Integer, Integer> idMapping = new HashMap<>();
+        idMapping.put(oldFinal.getStateSpaceId(), newFinal.getStateSpaceId());
+        stateSpace.updateFinalStates(Collections.singleton(newFinal), idMapping);
+
+        assertNull(stateSpace.getState(oldFinal.getStateSpaceId()));
+        assertEquals(2, stateSpace.size());
+        assertEquals(Collections.singleton(newFinal), stateSpace.getFinalStates());
+        assertEquals(Collections.singleton(newFinal), stateSpace.getControlFlowSuccessorsOf(initial));
+        assertEquals(Collections.singleton(newFinal), stateSpace.getArtificialInfPathsSuccessorsOf(newFinal));
+    }
+
+    private ProgramState createState(int programCounter) {
+
+        ProgramState state = sceneObject.scene().createProgramState(hc.clone());
+        state.setProgramCounter(programCounter);
+        return state;
+    }
+}
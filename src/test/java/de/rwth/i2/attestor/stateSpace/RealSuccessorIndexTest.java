@@ -0,0 +1,118 @@
+package de.rwth.i2.attestor.stateSpace;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.main.scene.SceneObject;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.InternalStateSpace;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.RealSuccessorIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class RealSuccessorIndexTest {
+
+    private SceneObject sceneObject;
+    private HeapConfiguration hc;
+
+    private InternalStateSpace stateSpace;
+    private ProgramState initialState;
+    private ProgramState state1;
+    private ProgramState state2;
+
+    @Before
+    public void setup() {
+
+        sceneObject = new MockupSceneObject();
+        hc = sceneObject.scene().createHeapConfiguration();
+
+        stateSpace = new InternalStateSpace(0);
+
+        initialState = createState(0);
+        ProgramState materializedState1 = createState(0);
+        materializedState1.addAP("{ sll }");
+        ProgramState materializedState2 = createState(0);
+        materializedState2.addAP("{ dll }");
+        state1 = createState(1);
+        state2 = createState(2);
+
+        stateSpace.addStateIfAbsent(initialState);
+        stateSpace.addInitialState(initialState);
+        stateSpace.addStateIfAbsent(materializedState1);
+        stateSpace.addStateIfAbsent(materializedState2);
+        stateSpace.addStateIfAbsent(state1);
+        stateSpace.addStateIfAbsent(state2);
+        stateSpace.addMaterializationTransition(initialState, materializedState1);
+        stateSpace.addMaterializationTransition(initialState, materializedState2);
+        stateSpace.addControlFlowTransition(materializedState1, state1);
+        stateSpace.addControlFlowTransition(materializedState1, state2);
+        stateSpace.addControlFlowTransition(materializedState2, state2);
+        stateSpace.addControlFlowTransition(state1, state2);
+        stateSpace.addArtificialInfPathsTransition(state2);
+    }
+
+    @Test
+    public void testMaterializationStepsAreSkipped() {
+
+        RealSuccessorIndex index = stateSpace.exportRealSuccessors();
+
+        int initialId = initialState.getStateSpaceId();
+        assertEquals(2, index.successorCountOf(initialId));
+        assertEquals(state1.getStateSpaceId(), index.successorAt(initialId, 0));
+        assertEquals(state2.getStateSpaceId(), index.successorAt(initialId, 1));
+
+        assertEquals(1, index.successorCountOf(state1.getStateSpaceId()));
+        assertEquals(state2.getStateSpaceId(), index.successorAt(state1.getStateSpaceId(), 0));
+        assertEquals(0, index.successorCountOf(-1));
+    }
+
+    @Test
+    public void testFinalStatesHaveSelfLoops() {
+
+        RealSuccessorIndex index = stateSpace.exportRealSuccessors();
+
+        int finalId = state2.getStateSpaceId();
+        assertEquals(1, index.successorCountOf(finalId));
+        assertEquals(finalId, index.successorAt(finalId, 0));
+    }
+
+    @Test
+    public void testSnapshotIsNotModified() {
+
+        RealSuccessorIndex index = stateSpace.exportRealSuccessors();
+
+        ProgramState state3 = createState(3);
+        stateSpace.addStateIfAbsent(state3);
+        stateSpace.addControlFlowTransition(state1, state3);
+
+        assertEquals(1, index.successorCountOf(state1.getStateSpaceId()));
+        assertEquals(0, index.successorCountOf(state3.getStateSpaceId()));
+        assertEquals(2, stateSpace.exportRealSuccessors().successorCountOf(state1.getStateSpaceId()));
+    }
+
+    @Test
+    public void testTransitionToRemovedState() {
+
+        ProgramState state3 = createState(3);
+        stateSpace.addStateIfAbsent(state3);
+        stateSpace.addControlFlowTransition(state1, state3);
+        stateSpace.setFinal(state3);
+        stateSpace.updateFinalStates(Collections.emptySet(), Collections.emptyMap());
+
+        RealSuccessorIndex index = stateSpace.exportRealSuccessors();
+
+        int state1Id = state1.getStateSpaceId();
+        assertEquals(2, index.successorCountOf(state1Id));
+        assertEquals(state3.getStateSpaceId(), index.successorAt(state1Id, 1));
+    }
+
+    private ProgramState createState(int programCounter) {
+
+        ProgramState state = sceneObject.scene().createProgramState(hc.clone());
+        state.setProgramCounter(programCounter);
+        return state;
+    }
+}
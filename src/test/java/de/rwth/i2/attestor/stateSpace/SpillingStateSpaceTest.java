@@ -0,0 +1,142 @@
+package de.rwth.i2.attestor.stateSpace;
+
+import de.rwth.i2.attestor.MockupSceneObject;
+import de.rwth.i2.attestor.graph.heap.HeapConfiguration;
+import de.rwth.i2.attestor.graph.heap.internal.ExampleHcImplFactory;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.MappedStateStore;
+import de.rwth.i2.attestor.phases.symbolicExecution.stateSpaceGenerationImpl.SpillingStateSpace;
+import de.rwth.i2.attestor.programState.defaultState.DefaultProgramState;
+import de.rwth.i2.attestor.stateSpaceGeneration.ProgramState;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SpillingStateSpaceTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private ExampleHcImplFactory hcFactory;
+    private MappedStateStore store;
+    private SpillingStateSpace stateSpace;
+
+    @Before
+    public void setup() {
+
+        hcFactory = new ExampleHcImplFactory(new MockupSceneObject());
+        store = new MappedStateStore(folder.getRoot());
+        stateSpace = new SpillingStateSpace(10, store, hcFactory.scene().labels().labelIds());
+    }
+
+    @Test
+    public void testAddStateIfAbsent() {
+
+        ProgramState initial = state(hcFactory.getList(), 0);
+        stateSpace.addInitialState(initial);
+        ProgramState next = state(hcFactory.getThreeElementDLL(), 1);
+        assertTrue(stateSpace.addStateIfAbsent(next));
+
+        ProgramState duplicate = state(hcFactory.getThreeElementDLL(), 1);
+        assertFalse(stateSpace.addStateIfAbsent(duplicate));
+        assertEquals(next.getStateSpaceId(), duplicate.getStateSpaceId());
+        assertTrue(stateSpace.addStateIfAbsent(state(hcFactory.getThreeElementDLL(), 2)));
+
+        ProgramState materialized = state(hcFactory.getList(), 0);
+        assertTrue(stateSpace.addState(materialized));
+        assertNotEquals(initial.getStateSpaceId(), materialized.getStateSpaceId());
+
+        assertEquals(4, stateSpace.size());
+        assertEquals(4, stateSpace.getStates().size());
+        assertTrue(stateSpace.getStates().contains(duplicate));
+        assertEquals(Collections.singleton(initial), stateSpace.getInitialStates());
+        assertTrue(stateSpace.getStoredBytes() > 0);
+    }
+
+    @Test
+    public void testLabelsAndTransitions() {
+
+        ProgramState initial = state(hcFactory.getList(), 0);
+        initial.addAP("{ sll }");
+        stateSpace.addInitialState(initial);
+        ProgramState next = state(hcFactory.getList(), 1);
+        stateSpace.addStateIfAbsent(next);
+        stateSpace.addControlFlowTransition(initial, next);
+        stateSpace.addControlFlowTransition(initial, next);
+        stateSpace.setFinal(next);
+        stateSpace.addArtificialInfPathsTransition(next);
+
+        assertEquals(1, stateSpace.getControlFlowSuccessorsIdsOf(initial.getStateSpaceId()).size());
+        assertEquals(Collections.singleton(next), stateSpace.getControlFlowSuccessorsOf(initial));
+        assertTrue(stateSpace.satisfiesAP(initial.getStateSpaceId(), "{ sll }"));
+        assertFalse(stateSpace.satisfiesAP(next.getStateSpaceId(), "{ sll }"));
+        assertTrue(stateSpace.satisfiesAP(next.getStateSpaceId(), "{ terminated }"));
+        assertEquals(1, stateSpace.exportRealSuccessors().successorCountOf(next.getStateSpaceId()));
+    }
+
+    @Test
+    public void testUpdateFinalStates() {
+
+        ProgramState initial = state(hcFactory.getList(), 0);
+        stateSpace.addInitialState(initial);
+        ProgramState first = state(hcFactory.getList(), 1);
+        ProgramState second = state(hcFactory.getThreeElementDLL(), 1);
+        stateSpace.addStateIfAbsent(first);
+        stateSpace.addStateIfAbsent(second);
+        stateSpace.addControlFlowTransition(initial, first);
+        stateSpace.addControlFlowTransition(initial, second);
+        stateSpace.setFinal(first);
+        stateSpace.setFinal(second);
+
+        ProgramState merged = state(hcFactory.getAbstractList(), 1);
+        merged.setStateSpaceId(first.getStateSpaceId());
+        Map<Integer, Integer> idMapping = new LinkedHashMap<>();
+        idMapping.put(first.getStateSpaceId(), first.getStateSpaceId());
+        idMapping.put(second.getStateSpaceId(), first.getStateSpaceId());
+        stateSpace.updateFinalStates(Collections.singleton(merged), idMapping);
+
+        assertEquals(2, stateSpace.size());
+        assertNull(stateSpace.getState(second.getStateSpaceId()));
+        assertEquals(merged, stateSpace.getState(first.getStateSpaceId()));
+        assertEquals(Collections.singleton(merged), stateSpace.getFinalStates());
+        assertEquals(2, stateSpace.getControlFlowSuccessorsIdsOf(initial.getStateSpaceId()).size());
+
+        ProgramState duplicate = state(hcFactory.getAbstractList(), 1);
+        assertFalse(stateSpace.addStateIfAbsent(duplicate));
+        assertEquals(first.getStateSpaceId(), duplicate.getStateSpaceId());
+    }
+
+    @Test
+    public void testSharedStore() {
+
+        SpillingStateSpace otherStateSpace = new SpillingStateSpace(10, store, hcFactory.scene().labels().labelIds());
+
+        ProgramState state = state(hcFactory.getList(), 0);
+        stateSpace.addInitialState(state);
+        long storedBytes = store.size();
+        ProgramState otherState = state(hcFactory.getThreeElementDLL(), 0);
+        otherStateSpace.addInitialState(otherState);
+
+        assertEquals(1, folder.getRoot().listFiles().length);
+        assertEquals(storedBytes, store.size());
+        assertEquals(1, stateSpace.size());
+        assertEquals(1, otherStateSpace.size());
+        assertEquals(state, stateSpace.getState(state.getStateSpaceId()));
+        assertEquals(otherState, otherStateSpace.getState(otherState.getStateSpaceId()));
+        assertFalse(otherStateSpace.addStateIfAbsent(state(hcFactory.getThreeElementDLL(), 0)));
+        assertTrue(otherStateSpace.addStateIfAbsent(state(hcFactory.getList(), 0)));
+    }
+
+    private static ProgramState state(HeapConfiguration heap, int programCounter) {
+
+        ProgramState state = new DefaultProgramState(heap);
+        state.setProgramCounter(programCounter);
+        return state;
+    }
+}
@@ -18,12 +18,16 @@ import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.Local;
 import de.rwth.i2.attestor.semantics.jimpleSemantics.jimple.values.NewExpr;
 import de.rwth.i2.attestor.stateSpaceGeneration.*;
 import de.rwth.i2.attestor.types.Type;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -33,12 +37,14 @@ public class StateSpaceGeneratorTest {
 
     private SceneObject sceneObject;
     private ExampleHcImplFactory hcFactory;
+    private ForkJoinPool workerPool;
 
     @Before
     public void setup() {
 
         sceneObject = new MockupSceneObject();
         hcFactory = new ExampleHcImplFactory(sceneObject);
+        workerPool = new ForkJoinPool(4);
 
         stateSpaceGeneratorBuilder = StateSpaceGenerator.builder()
                 .setStateLabelingStrategy(new MockupStateLabellingStrategy())
@@ -56,6 +62,12 @@ public class StateSpaceGeneratorTest {
         ;
     }
 
+    @After
+    public void tearDown() {
+
+        workerPool.shutdownNow();
+    }
+
     @Test
     public void testGenerate1() {
 
@@ -150,6 +162,108 @@ public class StateSpaceGeneratorTest {
         }
     }
 
+    @Test
+    public void testGenerateNewInParallel() {
+
+        HeapConfiguration initialGraph
+                = hcFactory.getEmptyGraphWithConstants();
+
+        Type type = sceneObject.scene().getType("type");
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new Skip(sceneObject, 1));
+        programInstructions.add(new AssignStmt(sceneObject, new Local(type, "x"), new NewExpr(type),
+                2, new LinkedHashSet<>()));
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+
+        ProgramImpl mainProgram = new ProgramImpl(programInstructions);
+
+        ProgramState initialState = new DefaultProgramState(initialGraph);
+        StateSpace res = null;
+        try {
+            res = stateSpaceGeneratorBuilder
+                    .setProgram(mainProgram)
+                    .addInitialState(initialState)
+                    .setParallelism(4)
+                .setWorkerPool(workerPool)
+                    .build()
+                    .generate();
+        } catch (StateSpaceGenerationAbortedException e) {
+            fail("State space generation aborted");
+        }
+
+        assertEquals(4, res.getStates().size());
+        assertEquals(1, res.getFinalStates().size());
+        HeapConfiguration expectedState = hcFactory.getExpectedResultTestGenerateNew();
+        assertEquals(expectedState, res.getFinalStates().iterator().next().getHeap());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testErrorInParallelWorkerIsRethrown() throws StateSpaceGenerationAbortedException {
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new Skip(sceneObject, 1));
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+        ProgramImpl mainProgram = new ProgramImpl(programInstructions);
+
+        stateSpaceGeneratorBuilder
+                .setProgram(mainProgram)
+                .addInitialState(new DefaultProgramState(hcFactory.getEmptyGraphWithConstants()))
+                .setAbortStrategy(stateSpace -> {
+                    throw new AssertionError("failure in worker thread");
+                })
+                .setParallelism(4)
+                .setWorkerPool(workerPool)
+                .build()
+                .generate();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+
+        stateSpaceGeneratorBuilder.setParallelism(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelismRequiresWorkerPool() {
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+
+        stateSpaceGeneratorBuilder
+                .setProgram(new ProgramImpl(programInstructions))
+                .addInitialState(new DefaultProgramState(hcFactory.getEmptyGraphWithConstants()))
+                .setParallelism(4)
+                .build();
+    }
+
+    @Test
+    public void testNonThreadSafeStrategyIsAppliedSequentially() throws StateSpaceGenerationAbortedException {
+
+        List<SemanticsCommand> programInstructions = new ArrayList<>();
+        programInstructions.add(new Skip(sceneObject, 1));
+        programInstructions.add(new Skip(sceneObject, 2));
+        programInstructions.add(new ReturnVoidStmt(sceneObject));
+        ProgramImpl mainProgram = new ProgramImpl(programInstructions);
+
+        Set<Thread> refiningThreads = ConcurrentHashMap.newKeySet();
+        StateSpace res = stateSpaceGeneratorBuilder
+                .setProgram(mainProgram)
+                .addInitialState(new DefaultProgramState(hcFactory.getEmptyGraphWithConstants()))
+                .setStateRefinementStrategy((semanticsCommand, state) -> {
+                    refiningThreads.add(Thread.currentThread());
+                    return state;
+                })
+                .setParallelism(4)
+                .setWorkerPool(workerPool)
+                .build()
+                .generate();
+
+        assertEquals(4, res.getStates().size());
+        assertEquals(1, refiningThreads.size());
+        assertTrue(refiningThreads.contains(Thread.currentThread()));
+    }
+
     @Test
     public void testGenerateIf() {
 